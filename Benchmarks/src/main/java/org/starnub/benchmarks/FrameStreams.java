@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.starnub.starbounddata.packets.Packets;
+import org.starnub.starbounddata.types.variants.VLQ;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Represents a builder for framed Starbound traffic used by the benchmarks.
+ * <p>
+ * Notes: The frame mix approximates a busy server connection, mostly small heartbeat, chat and entity update frames
+ * with the occasional large compressed world or entity payload. The stream is cut into TCP sized segments so large
+ * frames arrive across many reads just like they do on a socket.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public final class FrameStreams {
+
+    private FrameStreams() {
+    }
+
+    /**
+     * This will build a single frame with the given packet id and a random payload
+     *
+     * @param random Random representing the payload source
+     * @param packetId byte representing the packet id
+     * @param payloadLength int representing the payload length
+     * @param compressed boolean representing if the frame header should be marked compressed
+     * @return byte[] the complete frame
+     */
+    public static byte[] frame(Random random, byte packetId, int payloadLength, boolean compressed) {
+        byte[] vlq = VLQ.writeSignedVLQNoObject(compressed ? -payloadLength : payloadLength);
+        byte[] frame = new byte[1 + vlq.length + payloadLength];
+        frame[0] = packetId;
+        System.arraycopy(vlq, 0, frame, 1, vlq.length);
+        byte[] payload = new byte[payloadLength];
+        random.nextBytes(payload);
+        System.arraycopy(payload, 0, frame, 1 + vlq.length, payloadLength);
+        return frame;
+    }
+
+    /**
+     * This will build a stream of frames in the busy server mix
+     *
+     * @param seed long representing the random seed so each run sees the same stream
+     * @param frameCount int representing how many frames to build
+     * @return byte[] the concatenated frames
+     */
+    public static byte[] serverStream(long seed, int frameCount) {
+        Random random = new Random(seed);
+        ByteBuf stream = Unpooled.buffer();
+        for (int i = 0; i < frameCount; i++) {
+            int roll = random.nextInt(100);
+            if (roll < 40) {
+                stream.writeBytes(frame(random, Packets.HEARTBEAT.getPacketId(), 2, false));
+            } else if (roll < 60) {
+                stream.writeBytes(frame(random, Packets.CHATRECEIVE.getPacketId(), 30 + random.nextInt(120), false));
+            } else if (roll < 90) {
+                stream.writeBytes(frame(random, Packets.ENTITYUPDATE.getPacketId(), 20 + random.nextInt(400), false));
+            } else if (roll < 98) {
+                stream.writeBytes(frame(random, Packets.ENTITYCREATE.getPacketId(), 500 + random.nextInt(4000), true));
+            } else {
+                stream.writeBytes(frame(random, Packets.WORLDSTART.getPacketId(), 20000 + random.nextInt(80000), true));
+            }
+        }
+        byte[] bytes = new byte[stream.readableBytes()];
+        stream.readBytes(bytes);
+        stream.release();
+        return bytes;
+    }
+
+    /**
+     * This will cut a stream into segments, the final segment may be shorter
+     *
+     * @param stream byte[] representing the stream to cut
+     * @param segmentSize int representing the size of each segment
+     * @return List of byte[] representing the segments in order
+     */
+    public static List<byte[]> segment(byte[] stream, int segmentSize) {
+        List<byte[]> segments = new ArrayList<>();
+        for (int i = 0; i < stream.length; i += segmentSize) {
+            int length = Math.min(segmentSize, stream.length - i);
+            byte[] segment = new byte[length];
+            System.arraycopy(stream, i, segment, 0, length);
+            segments.add(segment);
+        }
+        return segments;
+    }
+}
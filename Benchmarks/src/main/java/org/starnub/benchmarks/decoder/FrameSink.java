@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.decoder;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Represents the end of a benchmark pipeline, frames are counted and released.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class FrameSink extends ChannelInboundHandlerAdapter {
+
+    private long frames;
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public void reset() {
+        frames = 0;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        frames++;
+        ReferenceCountUtil.release(msg);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.decoder;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+import org.starnub.benchmarks.FrameStreams;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a comparison of the {@link ReplayingFrameDecoder} and the {@link StreamingFrameDecoder} on the same
+ * framed traffic cut into different segment sizes.
+ * <p>
+ * Notes: A segment size of 1460 is a typical TCP segment, 64 stresses partial headers and 16384 is close to a
+ * large socket read. Each decoder has its own state so a decoder that loses frames only fails its own run, the original
+ * replaying decoder loses frames at small segment sizes because its saved packet id index goes stale when the cumulation
+ * buffer is reallocated
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketFrameDecoderBenchmark {
+
+    private static final int FRAME_COUNT = 2000;
+
+    @State(Scope.Thread)
+    public static class Segments {
+
+        @Param({"64", "1460", "16384"})
+        public int segmentSize;
+
+        private List<byte[]> segments;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            segments = FrameStreams.segment(FrameStreams.serverStream(622L, FRAME_COUNT), segmentSize);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Replaying extends DecoderChannel {
+
+        @Setup(Level.Trial)
+        public void setup(Segments segments) {
+            open(new ReplayingFrameDecoder(), segments);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Streaming extends DecoderChannel {
+
+        @Setup(Level.Trial)
+        public void setup(Segments segments) {
+            open(new StreamingFrameDecoder(), segments);
+        }
+    }
+
+    public abstract static class DecoderChannel {
+
+        private EmbeddedChannel channel;
+        private FrameSink sink;
+
+        protected void open(ChannelHandler decoder, Segments segments) {
+            sink = new FrameSink();
+            channel = new EmbeddedChannel(decoder, sink);
+            long frames = decode(segments);
+            if (frames != FRAME_COUNT) {
+                throw new IllegalStateException(decoder.getClass().getSimpleName() + " produced " + frames + " of " + FRAME_COUNT
+                        + " frames with " + segments.segmentSize + " byte segments.");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            channel.finish();
+        }
+
+        long decode(Segments segments) {
+            sink.reset();
+            ChannelPipeline pipeline = channel.pipeline();
+            for (byte[] segment : segments.segments) {
+                pipeline.fireChannelRead(Unpooled.wrappedBuffer(segment));
+                pipeline.fireChannelReadComplete();
+            }
+            return sink.getFrames();
+        }
+    }
+
+    @Benchmark
+    public long replayingDecoder(Replaying replaying, Segments segments) {
+        return replaying.decode(segments);
+    }
+
+    @Benchmark
+    public long streamingDecoder(Streaming streaming, Segments segments) {
+        return streaming.decode(segments);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.decoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ReplayingDecoder;
+
+import java.util.List;
+
+/**
+ * Represents the framing of the original {@link ReplayingDecoder} based proxy decoder, kept as a baseline.
+ * <p>
+ * Notes: The states, the saved packet id index and the VLQ loop are the proxy decoder as it was before it was moved to
+ * {@link org.starnub.starbounddata.packets.PacketFrameReader}, only the routing is replaced by emitting each frame as a
+ * retained slice
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class ReplayingFrameDecoder extends ReplayingDecoder<ReplayingFrameDecoder.DecoderState> {
+
+    private int vlqLength;
+    private int payloadLength;
+    private boolean compressed;
+    private int packetIDIndex;
+
+    public ReplayingFrameDecoder() {
+        super(DecoderState.READ_PACKET_ID);
+    }
+
+    public enum DecoderState {
+        READ_PACKET_ID,
+        READ_VLQ,
+        ROUTE_DATA,
+        READ_PAYLOAD
+    }
+
+    public void clearVLQ(){
+        vlqLength = 0;
+        payloadLength = 0;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        switch (state()) {
+            case READ_PACKET_ID: {
+                packetIDIndex = in.readerIndex();
+                in.getByte(packetIDIndex);
+                checkpoint(DecoderState.READ_VLQ);
+            }
+            case READ_VLQ: {
+                clearVLQ();
+                int tempIndexMarker = packetIDIndex + 1;
+                while (vlqLength <= 10) {
+                    int tmpByte = in.getByte(tempIndexMarker);
+                    payloadLength = (payloadLength << 7) | (tmpByte & 0x7f);
+                    vlqLength++;
+                    if ((tmpByte & 0x80) == 0) {
+                        break;
+                    }
+                    tempIndexMarker++;
+                }
+                if ((payloadLength & 1) == 0x00) {
+                    payloadLength = payloadLength >> 1;
+                } else {
+                    payloadLength = -((payloadLength >> 1) + 1);
+                }
+                compressed = payloadLength < 0;
+                if (compressed) {
+                    payloadLength = -payloadLength;
+                }
+                checkpoint(DecoderState.READ_PAYLOAD);
+            }
+            case READ_PAYLOAD: {
+                out.add(in.readSlice(1 + vlqLength + payloadLength).retain());
+                checkpoint(DecoderState.READ_PACKET_ID);
+                break;
+            }
+            default:
+                throw new Error("Error Decoding - Reached the unreachable void.");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.decoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.starnub.starbounddata.packets.PacketFrameReader;
+
+import java.util.List;
+
+/**
+ * Represents the framing of the proxy decoder using {@link PacketFrameReader}.
+ * <p>
+ * Notes: Frames are emitted as retained slices the same way the proxy passes them through.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class StreamingFrameDecoder extends ByteToMessageDecoder {
+
+    private final PacketFrameReader FRAME_READER = new PacketFrameReader();
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (FRAME_READER.readFrame(in)) {
+            out.add(in.readSlice(FRAME_READER.getFrameLength()).retain());
+            FRAME_READER.reset();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketCapture;
+import org.starnub.starbounddata.packets.Packets;
+
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the read, write and encode cost of single packets, one packet type per parameter.
+ * <p>
+ * Notes:
+ * - Payloads are built by {@link PacketSamples}, or when the system property starnub.capture names a {@link PacketCapture} file the
+ * first captured payload of the type is used, any decoded packet type can then be given with -p packetType=NAME
+ * - read reuses one pooled packet like the proxy, encode includes compression for payloads over the types threshold
+ * - Setup checks the payload writes back to the same bytes
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    @Param({"HEARTBEAT", "CHATRECEIVE", "CHATSEND", "CLIENTCONNECT", "UNIVERSETIMEUPDATE", "ENTITYCREATE", "ENTITYDESTROY", "WORLDSTART", "ENTITYUPDATE",
+            "CALLSCRIPTEDENTITY"})
+    public String packetType;
+
+    private Packet packet;
+    private ByteBuf payload;
+    private ByteBuf out;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Packets packets = Packets.valueOf(packetType);
+        byte[] payloadBytes;
+        String capturePath = System.getProperty("starnub.capture");
+        if (capturePath != null) {
+            payloadBytes = PacketSamples.fromCapture(PacketCapture.read(Paths.get(capturePath)), packets);
+            if (payloadBytes == null) {
+                throw new IllegalStateException("Capture " + capturePath + " has no " + packets + " frames.");
+            }
+        } else {
+            payloadBytes = PacketSamples.payload(PacketSamples.sample(packets, new Random(622L)));
+        }
+        packet = packets.getPacketFactory().newPacket(packets.getDirection(), null, null);
+        PacketSamples.checkRoundTrip(packet, payloadBytes);
+        payload = Unpooled.wrappedBuffer(payloadBytes);
+        out = Unpooled.buffer(payloadBytes.length * 2);
+    }
+
+    @Benchmark
+    public Packet read() {
+        payload.readerIndex(0);
+        packet.read(payload);
+        return packet;
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        out.clear();
+        packet.write(out);
+        return out;
+    }
+
+    @Benchmark
+    public int packetToMessageEncoder() {
+        ByteBuf frame = packet.packetToMessageEncoder();
+        int length = frame.readableBytes();
+        frame.release();
+        return length;
+    }
+}
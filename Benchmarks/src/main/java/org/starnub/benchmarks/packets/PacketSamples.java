@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.starnub.benchmarks.strings.ChatCorpus;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketCapture;
+import org.starnub.starbounddata.packets.PacketFrameReader;
+import org.starnub.starbounddata.packets.Packets;
+import org.starnub.starbounddata.packets.chat.ChatReceivePacket;
+import org.starnub.starbounddata.packets.chat.ChatSendPacket;
+import org.starnub.starbounddata.packets.connection.ClientConnectPacket;
+import org.starnub.starbounddata.packets.connection.HeartbeatPacket;
+import org.starnub.starbounddata.packets.entity.CallScriptedEntityPacket;
+import org.starnub.starbounddata.packets.entity.EntityCreatePacket;
+import org.starnub.starbounddata.packets.entity.EntityDestroyPacket;
+import org.starnub.starbounddata.packets.entity.EntityUpdatePacket;
+import org.starnub.starbounddata.packets.server.UniverseTimeUpdatePacket;
+import org.starnub.starbounddata.packets.world.WorldStartPacket;
+import org.starnub.starbounddata.types.chat.ChatSendMode;
+import org.starnub.starbounddata.types.chat.Mode;
+import org.starnub.starbounddata.types.entity.EntityType;
+import org.starnub.starbounddata.types.dungeon.ProtectedDungeonIds;
+import org.starnub.starbounddata.types.entity.EntityVLQId;
+import org.starnub.starbounddata.types.variants.Variant;
+import org.starnub.starbounddata.types.variants.VariantList;
+import org.starnub.starbounddata.types.variants.VariantMap;
+import org.starnub.starbounddata.types.variants.VariantType;
+import org.starnub.starbounddata.types.vectors.Vec2F;
+import org.starnub.utilities.compression.ByteBufZlib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+
+/**
+ * Represents a builder of real packets for the packet benchmarks, unlike {@link org.starnub.benchmarks.FrameStreams} every payload
+ * can be read by its packet.
+ * <p>
+ * Notes:
+ * - Only packets that are verified and do not print while reading are built, any other packet can be benchmarked from a
+ * {@link PacketCapture} with {@link #fromCapture(PacketCapture, Packets)}
+ * - Entity store data repeats short runs so it compresses about as well as real entity data
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public final class PacketSamples {
+
+    /**
+     * Represents the packets that {@link #sample(Packets, Random)} can build
+     */
+    public static final Packets[] SAMPLED = {Packets.HEARTBEAT, Packets.CHATRECEIVE, Packets.CHATSEND, Packets.CLIENTCONNECT,
+            Packets.UNIVERSETIMEUPDATE, Packets.ENTITYCREATE, Packets.ENTITYDESTROY, Packets.WORLDSTART, Packets.ENTITYUPDATE,
+            Packets.CALLSCRIPTEDENTITY};
+
+    private static final String[] SPECIES = {"human", "apex", "avian", "floran", "glitch", "hylotl", "novakid"};
+    private static final String[] SCRIPT_FUNCTIONS = {"setInteractive", "openDoor", "closeDoor", "setAnimationState", "damage"};
+
+    private PacketSamples() {
+    }
+
+    /**
+     * This will build a packet of a type with realistic field sizes
+     *
+     * @param packetType Packets representing the type to build, one of {@link #SAMPLED}
+     * @param random Random representing the field source
+     * @return Packet the built packet
+     * @throws IllegalArgumentException if the packet type can not be sampled
+     */
+    public static Packet sample(Packets packetType, Random random) {
+        List<String> messages = ChatCorpus.messages(random.nextLong(), 1);
+        List<String> names = ChatCorpus.names(random.nextLong(), 1);
+        switch (packetType) {
+            case HEARTBEAT:
+                return new HeartbeatPacket(random.nextInt(1 << 20));
+            case CHATRECEIVE:
+                return new ChatReceivePacket(Mode.BROADCAST, "", random.nextInt(64), names.get(0), messages.get(0));
+            case CHATSEND:
+                return new ChatSendPacket(ChatSendMode.BROADCAST, messages.get(0));
+            case CLIENTCONNECT:
+                return new ClientConnectPacket(bytes(random, 32, false), new UUID(random.nextLong(), random.nextLong()), names.get(0),
+                        SPECIES[random.nextInt(SPECIES.length)], bytes(random, 20000 + random.nextInt(40000), true), "");
+            case UNIVERSETIMEUPDATE:
+                return new UniverseTimeUpdatePacket(random.nextInt(1 << 24));
+            case ENTITYCREATE:
+                int storeLength = random.nextInt(10) == 0 ? 500 + random.nextInt(4000) : 20 + random.nextInt(80);
+                return new EntityCreatePacket(EntityType.values()[random.nextInt(EntityType.values().length)], bytes(random, storeLength, true),
+                        new EntityVLQId(random.nextInt(1 << 16) - (1 << 15)));
+            case ENTITYDESTROY:
+                return new EntityDestroyPacket(new EntityVLQId(random.nextInt(1 << 16) - (1 << 15)), random.nextBoolean());
+            case WORLDSTART:
+                return new WorldStartPacket(worldVariant(random, names.get(0)), bytes(random, 200 + random.nextInt(600), true),
+                        bytes(random, 50 + random.nextInt(200), true), new Vec2F(random.nextInt(4000), random.nextInt(1000)),
+                        new ProtectedDungeonIds(), worldVariant(random, names.get(0)), random.nextInt(64), random.nextBoolean());
+            case ENTITYUPDATE:
+                return new EntityUpdatePacket(new EntityVLQId(random.nextInt(1 << 16) - (1 << 15)), bytes(random, 8 + random.nextInt(56), false));
+            case CALLSCRIPTEDENTITY:
+                VariantList args = new VariantList();
+                args.add(variant(VariantType.INTEGER, (long) random.nextInt(1 << 16)));
+                args.add(variant(VariantType.BOOLEAN, random.nextBoolean()));
+                return new CallScriptedEntityPacket(new EntityVLQId(random.nextInt(1 << 16) - (1 << 15)),
+                        SCRIPT_FUNCTIONS[random.nextInt(SCRIPT_FUNCTIONS.length)], args);
+            default:
+                throw new IllegalArgumentException("Packet " + packetType + " can not be sampled, benchmark it from a capture.");
+        }
+    }
+
+    private static Variant worldVariant(Random random, String name) {
+        VariantMap map = new VariantMap();
+        map.put("seed", variant(VariantType.INTEGER, random.nextLong() & Long.MAX_VALUE));
+        map.put("name", variant(VariantType.STRING, name));
+        map.put("gravity", variant(VariantType.DOUBLE, random.nextDouble() * 100));
+        map.put("surface", variant(VariantType.BOOLEAN, random.nextBoolean()));
+        return variant(VariantType.MAP, map);
+    }
+
+    private static Variant variant(VariantType variantType, Object value) {
+        Variant variant = new Variant();
+        variant.setVariantType(variantType);
+        variant.setValue(value);
+        return variant;
+    }
+
+    private static byte[] bytes(Random random, int length, boolean compressible) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        if (compressible) {
+            for (int i = 8; i < length; i++) {
+                if (random.nextInt(4) != 0) {
+                    bytes[i] = bytes[i - 8];
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * This will write a packets payload without a header or compression
+     *
+     * @param packet Packet representing the packet to write
+     * @return byte[] the payload
+     */
+    public static byte[] payload(Packet packet) {
+        ByteBuf out = Unpooled.buffer();
+        packet.write(out);
+        byte[] payload = new byte[out.readableBytes()];
+        out.readBytes(payload);
+        return payload;
+    }
+
+    /**
+     * This will encode a packet into a frame exactly as the proxy would send it
+     *
+     * @param packet Packet representing the packet to encode
+     * @return byte[] the frame
+     */
+    public static byte[] frame(Packet packet) {
+        ByteBuf frame = packet.packetToMessageEncoder();
+        try {
+            byte[] bytes = new byte[frame.readableBytes()];
+            frame.readBytes(bytes);
+            return bytes;
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * This will return the uncompressed payload of the first frame of a packet type in a capture
+     *
+     * @param capture PacketCapture representing the recorded traffic
+     * @param packetType Packets representing the type to find
+     * @return byte[] the payload or null if the capture has no frame of this type
+     * @throws DataFormatException if the frame could not be decompressed
+     */
+    public static byte[] fromCapture(PacketCapture capture, Packets packetType) throws DataFormatException {
+        for (PacketCapture.Frame frame : capture.getFrames()) {
+            if (frame.getPACKET_ID() != packetType.getPacketId()) {
+                continue;
+            }
+            ByteBuf payload = frame.getPayload();
+            if (frame.isCOMPRESSED()) {
+                payload = ByteBufZlib.decompress(payload, PooledByteBufAllocator.DEFAULT, PacketFrameReader.MAX_PAYLOAD_LENGTH);
+            }
+            try {
+                byte[] bytes = new byte[payload.readableBytes()];
+                payload.readBytes(bytes);
+                return bytes;
+            } finally {
+                payload.release();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This will build a stream of frames heading to the Starbound client in a busy server mix, mostly heartbeats, chat and small
+     * entity packets with the odd large compressed entity
+     *
+     * @param seed long representing the random seed so each run sees the same stream
+     * @param frameCount int representing how many frames to build
+     * @return byte[] the concatenated frames
+     */
+    public static byte[] clientStream(long seed, int frameCount) {
+        Random random = new Random(seed);
+        List<byte[]> frames = new ArrayList<>(frameCount);
+        int length = 0;
+        for (int i = 0; i < frameCount; i++) {
+            int roll = random.nextInt(100);
+            Packets packetType;
+            if (roll < 30) {
+                packetType = Packets.HEARTBEAT;
+            } else if (roll < 50) {
+                packetType = Packets.CHATRECEIVE;
+            } else if (roll < 85) {
+                packetType = Packets.ENTITYCREATE;
+            } else if (roll < 95) {
+                packetType = Packets.ENTITYDESTROY;
+            } else {
+                packetType = Packets.UNIVERSETIMEUPDATE;
+            }
+            byte[] frame = frame(sample(packetType, random));
+            frames.add(frame);
+            length += frame.length;
+        }
+        byte[] stream = new byte[length];
+        int index = 0;
+        for (byte[] frame : frames) {
+            System.arraycopy(frame, 0, stream, index, frame.length);
+            index += frame.length;
+        }
+        return stream;
+    }
+
+    /**
+     * This will check a payload reads and writes back to the same bytes
+     *
+     * @param packet Packet representing a pooled packet to read into
+     * @param payload byte[] representing the payload
+     * @throws IllegalStateException if the bytes written differ
+     */
+    public static void checkRoundTrip(Packet packet, byte[] payload) {
+        packet.read(Unpooled.wrappedBuffer(payload));
+        byte[] written = payload(packet);
+        if (!Arrays.equals(payload, written)) {
+            throw new IllegalStateException("Packet " + Packets.fromPacketId(packet.getPACKET_ID()).name() + " wrote " + written.length
+                    + " bytes after reading " + payload.length + " that differ.");
+        }
+    }
+}
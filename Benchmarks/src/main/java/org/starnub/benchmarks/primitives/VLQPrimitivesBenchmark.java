@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.primitives;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.starnub.benchmarks.strings.ChatCorpus;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.types.variants.VLQ;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a comparison of the old byte[] VLQ and String primitives and the {@link VLQ} and {@link Packet} primitives that read
+ * and write straight to the {@link ByteBuf}.
+ * <p>
+ * Notes: Chat messages stand in for packet strings, a small set of repeating keys stands in for variant map keys and random blobs
+ * stand in for world start and entity update payloads. Setup checks both implementations give the same bytes and values.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VLQPrimitivesBenchmark {
+
+    private static final int CORPUS_SIZE = 1000;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String[] KEYS = {"id", "name", "level", "parameters", "species", "uniqueId", "position", "damageTeam",
+            "statusEffects", "description", "inventoryIcon", "shortdescription", "rarity", "price", "durability", "color"};
+
+    private List<String> strings;
+    private List<byte[]> blobs;
+    private ByteBuf out;
+    private ByteBuf stringBuffer;
+    private ByteBuf keyBuffer;
+    private ByteBuf blobBuffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        strings = ChatCorpus.messages(622L, CORPUS_SIZE);
+        Random random = new Random(622L);
+        blobs = new ArrayList<>();
+        for (int i = 0; i < CORPUS_SIZE / 10; i++) {
+            byte[] blob = new byte[random.nextInt(4096)];
+            random.nextBytes(blob);
+            blobs.add(blob);
+        }
+        out = Unpooled.buffer(1 << 20);
+        stringBuffer = Unpooled.buffer();
+        for (String string : strings) {
+            legacyWriteString(stringBuffer, string);
+        }
+        keyBuffer = Unpooled.buffer();
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            legacyWriteString(keyBuffer, KEYS[random.nextInt(KEYS.length)]);
+        }
+        blobBuffer = Unpooled.buffer();
+        for (byte[] blob : blobs) {
+            byte[] vlq = VLQ.writeUnsignedVLQNoObject(blob.length);
+            blobBuffer.writeBytes(vlq);
+            blobBuffer.writeBytes(blob);
+        }
+        for (String string : strings) {
+            out.clear();
+            legacyWriteString(out, string);
+            byte[] legacy = readableBytes(out);
+            out.clear();
+            Packet.writeStringVLQ(out, string);
+            check(Arrays.equals(legacy, readableBytes(out)), string);
+            check(VLQ.vlqStringLength(string) == legacy.length, string);
+        }
+        stringBuffer.markReaderIndex();
+        for (String string : strings) {
+            check(string.equals(Packet.readVLQString(stringBuffer)), string);
+        }
+        stringBuffer.resetReaderIndex();
+        keyBuffer.markReaderIndex();
+        ByteBuf keyCopy = keyBuffer.duplicate();
+        while (keyBuffer.isReadable()) {
+            String key = VLQ.readVLQString(keyBuffer, true);
+            check(key.equals(legacyReadString(keyCopy)), key);
+        }
+        keyBuffer.resetReaderIndex();
+        blobBuffer.markReaderIndex();
+        for (byte[] blob : blobs) {
+            check(Arrays.equals(blob, Packet.readVLQArray(blobBuffer)), "blob of " + blob.length);
+        }
+        blobBuffer.resetReaderIndex();
+    }
+
+    private static void check(boolean same, String input) {
+        if (!same) {
+            throw new IllegalStateException("Results differ for \"" + input + "\"");
+        }
+    }
+
+    private static byte[] readableBytes(ByteBuf in) {
+        byte[] bytes = new byte[in.readableBytes()];
+        in.getBytes(in.readerIndex(), bytes);
+        return bytes;
+    }
+
+    private static void legacyWriteString(ByteBuf out, String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeBytes(VLQ.writeUnsignedVLQNoObject(bytes.length));
+        out.writeBytes(bytes);
+    }
+
+    private static byte[] legacyReadArray(ByteBuf in) {
+        long len = VLQ.readUnsignedFromBufferNoObject(in);
+        ByteBuf bytes = in.readBytes((int) len);
+        byte[] array = new byte[bytes.readableBytes()];
+        bytes.readBytes(array);
+        bytes.release();
+        return array;
+    }
+
+    private static String legacyReadString(ByteBuf in) {
+        return new String(legacyReadArray(in), UTF_8);
+    }
+
+    @Benchmark
+    public ByteBuf legacyWriteStrings() {
+        out.clear();
+        for (String string : strings) {
+            legacyWriteString(out, string);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ByteBuf directWriteStrings() {
+        out.clear();
+        for (String string : strings) {
+            VLQ.writeVLQString(out, string);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public void legacyReadStrings(Blackhole blackhole) {
+        stringBuffer.readerIndex(0);
+        while (stringBuffer.isReadable()) {
+            blackhole.consume(legacyReadString(stringBuffer));
+        }
+    }
+
+    @Benchmark
+    public void directReadStrings(Blackhole blackhole) {
+        stringBuffer.readerIndex(0);
+        while (stringBuffer.isReadable()) {
+            blackhole.consume(VLQ.readVLQString(stringBuffer));
+        }
+    }
+
+    @Benchmark
+    public void legacyReadKeys(Blackhole blackhole) {
+        keyBuffer.readerIndex(0);
+        while (keyBuffer.isReadable()) {
+            blackhole.consume(legacyReadString(keyBuffer));
+        }
+    }
+
+    @Benchmark
+    public void cachedReadKeys(Blackhole blackhole) {
+        keyBuffer.readerIndex(0);
+        while (keyBuffer.isReadable()) {
+            blackhole.consume(VLQ.readVLQString(keyBuffer, true));
+        }
+    }
+
+    @Benchmark
+    public void legacyReadBlobs(Blackhole blackhole) {
+        blobBuffer.readerIndex(0);
+        while (blobBuffer.isReadable()) {
+            blackhole.consume(legacyReadArray(blobBuffer));
+        }
+    }
+
+    @Benchmark
+    public void directReadBlobs(Blackhole blackhole) {
+        blobBuffer.readerIndex(0);
+        while (blobBuffer.isReadable()) {
+            blackhole.consume(Packet.readVLQArray(blobBuffer));
+        }
+    }
+
+    @Benchmark
+    public ByteBuf legacyWriteBlobs() {
+        out.clear();
+        for (byte[] blob : blobs) {
+            out.writeBytes(VLQ.writeUnsignedVLQNoObject(blob.length));
+            out.writeBytes(blob);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ByteBuf directWriteBlobs() {
+        out.clear();
+        for (byte[] blob : blobs) {
+            Packet.writeVLQArray(out, blob);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.replay;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.starnub.benchmarks.FrameStreams;
+import org.starnub.benchmarks.packets.PacketSamples;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketCapture;
+import org.starnub.starbounddata.packets.PacketFrameReader;
+import org.starnub.starbounddata.packets.Packets;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the throughput of a whole connection replayed through the {@link ReplayHarness}, once passing every frame through and
+ * once decoding and writing again the packets in {@link ReplayHarness#decodedPackets()}.
+ * <p>
+ * Notes: The traffic is the {@link PacketCapture} named by the system property starnub.capture, or
+ * {@link PacketSamples#clientStream(long, int)} without it. Each operation replays the whole stream. Setup checks every frame
+ * reaches the fake server
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaptureReplayBenchmark {
+
+    private static final int FRAME_COUNT = 2000;
+
+    @Param({"1460", "16384"})
+    public int segmentSize;
+
+    private List<byte[]> segments;
+    private ReplayHarness passthroughHarness;
+    private ReplayHarness decodeHarness;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        String capturePath = System.getProperty("starnub.capture");
+        byte[] stream;
+        Packet.Direction direction;
+        if (capturePath != null) {
+            PacketCapture capture = PacketCapture.read(Paths.get(capturePath));
+            stream = capture.toStream();
+            direction = capture.getDIRECTION();
+        } else {
+            stream = PacketSamples.clientStream(622L, FRAME_COUNT);
+            direction = Packet.Direction.TO_STARBOUND_CLIENT;
+        }
+        segments = FrameStreams.segment(stream, segmentSize);
+        long frames = countFrames(stream);
+        passthroughHarness = new ReplayHarness(direction, Collections.<Packets>emptySet(), packet -> {});
+        Set<Packets> decodedPackets = ReplayHarness.decodedPackets();
+        decodeHarness = new ReplayHarness(direction, decodedPackets, packet -> {});
+        if (passthroughHarness.replay(segments) != frames || decodeHarness.replay(segments) != frames) {
+            throw new IllegalStateException("Replays did not forward all " + frames + " frames.");
+        }
+    }
+
+    private static long countFrames(byte[] stream) {
+        ByteBuf in = Unpooled.wrappedBuffer(stream);
+        PacketFrameReader frameReader = new PacketFrameReader();
+        long frames = 0;
+        while (frameReader.readFrame(in)) {
+            in.skipBytes(frameReader.getFrameLength());
+            frameReader.reset();
+            frames++;
+        }
+        return frames;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passthroughHarness.close();
+        decodeHarness.close();
+    }
+
+    @Benchmark
+    public long passthrough() {
+        return passthroughHarness.replay(segments);
+    }
+
+    @Benchmark
+    public long decode() {
+        return decodeHarness.replay(segments);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.replay;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import org.starnub.starbounddata.packets.PacketFrameReader;
+
+/**
+ * Represents the Starbound end of a replayed connection, or the client end for traffic heading to the client. Every write from the
+ * proxy is checked to be exactly one whole frame, counted and released.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class FakeStarboundServer extends ChannelOutboundHandlerAdapter {
+
+    private final PacketFrameReader FRAME_READER = new PacketFrameReader();
+    private final long[] FRAMES_BY_ID = new long[256];
+    private long frames;
+    private long bytes;
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @param packetId byte the packet id
+     * @return long the frames received with this packet id
+     */
+    public long getFrames(byte packetId) {
+        return FRAMES_BY_ID[packetId & 0xFF];
+    }
+
+    public void reset() {
+        frames = 0;
+        bytes = 0;
+        for (int i = 0; i < FRAMES_BY_ID.length; i++) {
+            FRAMES_BY_ID[i] = 0;
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        try {
+            if (!(msg instanceof ByteBuf)) {
+                throw new IllegalStateException("Expected a frame but was written " + msg);
+            }
+            ByteBuf frame = (ByteBuf) msg;
+            FRAME_READER.reset();
+            if (!FRAME_READER.readFrame(frame) || FRAME_READER.getFrameLength() != frame.readableBytes()) {
+                throw new IllegalStateException("Expected a single whole frame but was written " + frame.readableBytes() + " bytes.");
+            }
+            frames++;
+            bytes += frame.readableBytes();
+            FRAMES_BY_ID[FRAME_READER.getPacketId() & 0xFF]++;
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+        promise.trySuccess();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.replay;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketDecoder;
+import org.starnub.starbounddata.packets.PacketFrameReader;
+import org.starnub.starbounddata.packets.PacketRouter;
+import org.starnub.starbounddata.packets.Packets;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Represents the proxies TCPProxyServerPacketDecoder without the StarNub server around it. Both decode with the same
+ * {@link PacketDecoder}, frames of packets in the decoded set are read into pooled packets, handled and written again, every
+ * other frame is forwarded as a retained slice.
+ * <p>
+ * Notes: Connection setup, metrics, captures and async handlers need a running StarNub and are left out, a frame that can not
+ * be read fails the replay
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class ReplayDecoder extends ByteToMessageDecoder implements PacketRouter {
+
+    private final Set<Packets> DECODED_PACKETS;
+    private final Consumer<Packet> HANDLER;
+    private final PacketDecoder PACKET_DECODER;
+
+    /**
+     * @param PACKET_DIRECTION Packet.Direction the direction the replayed packets are heading
+     * @param DECODED_PACKETS Set of Packets the packet types to decode, as if each had a handler subscribed
+     * @param HANDLER Consumer of Packet called with every decoded packet, the proxies event handlers
+     * @param DESTINATION_CTX ChannelHandlerContext the context packets are written to
+     */
+    public ReplayDecoder(Packet.Direction PACKET_DIRECTION, Set<Packets> DECODED_PACKETS, Consumer<Packet> HANDLER, ChannelHandlerContext DESTINATION_CTX) {
+        this.DECODED_PACKETS = DECODED_PACKETS;
+        this.HANDLER = HANDLER;
+        Packet.Direction connectionSide = PacketDecoder.packetDirection(PACKET_DIRECTION);
+        this.PACKET_DECODER = new PacketDecoder(connectionSide, this, DESTINATION_CTX);
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        PACKET_DECODER.setPacketPool(ctx, DECODED_PACKETS);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        PACKET_DECODER.decode(ctx, in);
+    }
+
+    @Override
+    public void frameRead(ChannelHandlerContext ctx, ByteBuf in, PacketFrameReader frameReader) {
+    }
+
+    /**
+     * Only decoded packet types are pooled, so every pooled packet is handled
+     */
+    @Override
+    public boolean isHandled(byte packetId) {
+        return true;
+    }
+
+    @Override
+    public boolean handle(ChannelHandlerContext ctx, Packet packet) {
+        HANDLER.accept(packet);
+        return true;
+    }
+
+    @Override
+    public boolean isDecodeTimed(byte packetId) {
+        return false;
+    }
+
+    @Override
+    public void packetDecoded(byte packetId, int payloadLength, long decodeNanos) {
+    }
+
+    @Override
+    public void unreadablePacket(ChannelHandlerContext ctx, Packet packet, RuntimeException e) {
+        throw e;
+    }
+
+    @Override
+    public void badFrame(ChannelHandlerContext ctx, Exception e) {
+        throw new IllegalStateException("A replayed frame could not be read", e);
+    }
+}
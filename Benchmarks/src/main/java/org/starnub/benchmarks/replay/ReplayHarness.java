@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.replay;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.starnub.benchmarks.FrameStreams;
+import org.starnub.benchmarks.packets.PacketSamples;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketCapture;
+import org.starnub.starbounddata.packets.Packets;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Represents a proxy connection driven from recorded traffic. Segments are fed to a {@link ReplayDecoder} on one
+ * {@link EmbeddedChannel} which writes to a {@link FakeStarboundServer} on another, so a capture can be replayed without sockets or
+ * a running StarNub.
+ * <p>
+ * Notes: Run with java -cp benchmarks.jar org.starnub.benchmarks.replay.ReplayHarness capture.sncap... to print the capture contents
+ * and how fast it replays, {@link CaptureReplayBenchmark} measures the same thing under JMH
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class ReplayHarness {
+
+    private static final int SEGMENT_SIZE = 1460;
+    private static final int ROUNDS = 20;
+
+    private final FakeStarboundServer STARBOUND_SERVER = new FakeStarboundServer();
+    private final EmbeddedChannel SERVER_CHANNEL;
+    private final EmbeddedChannel PROXY_CHANNEL;
+
+    /**
+     * @param packetDirection Packet.Direction the direction the replayed packets are heading
+     * @param decodedPackets Set of Packets the packet types to decode, every other frame is passed through
+     * @param handler Consumer of Packet called with every decoded packet
+     */
+    public ReplayHarness(Packet.Direction packetDirection, Set<Packets> decodedPackets, Consumer<Packet> handler) {
+        /* The proxy writes to the last context so the write passes through the fake server on its way out */
+        SERVER_CHANNEL = new EmbeddedChannel(STARBOUND_SERVER, new ChannelInboundHandlerAdapter());
+        PROXY_CHANNEL = new EmbeddedChannel(new ReplayDecoder(packetDirection, decodedPackets, handler, SERVER_CHANNEL.pipeline().lastContext()));
+    }
+
+    public FakeStarboundServer getSTARBOUND_SERVER() {
+        return STARBOUND_SERVER;
+    }
+
+    /**
+     * This will feed segments to the proxy as socket reads
+     *
+     * @param segments List of byte[] representing the reads in order
+     * @return long the frames the fake server received during this replay
+     */
+    public long replay(List<byte[]> segments) {
+        STARBOUND_SERVER.reset();
+        ChannelPipeline pipeline = PROXY_CHANNEL.pipeline();
+        for (byte[] segment : segments) {
+            pipeline.fireChannelRead(Unpooled.wrappedBuffer(segment));
+            pipeline.fireChannelReadComplete();
+        }
+        PROXY_CHANNEL.checkException();
+        SERVER_CHANNEL.checkException();
+        return STARBOUND_SERVER.getFrames();
+    }
+
+    public void close() {
+        PROXY_CHANNEL.finish();
+        SERVER_CHANNEL.finish();
+    }
+
+    /**
+     * This will return the packets to decode from the system property starnub.decode, a comma separated list of packet names or ALL
+     * for every packet with a factory. Without the property the packets {@link PacketSamples} can build are decoded
+     *
+     * @return Set of Packets the packets to decode
+     */
+    public static Set<Packets> decodedPackets() {
+        String decode = System.getProperty("starnub.decode");
+        if (decode == null) {
+            return EnumSet.copyOf(Arrays.asList(PacketSamples.SAMPLED));
+        }
+        if (decode.equalsIgnoreCase("ALL")) {
+            return EnumSet.allOf(Packets.class);
+        }
+        if (decode.trim().isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Packets> decodedPackets = EnumSet.noneOf(Packets.class);
+        for (String name : decode.split(",")) {
+            decodedPackets.add(Packets.valueOf(name.trim().toUpperCase()));
+        }
+        return decodedPackets;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayHarness capture.sncap... [-Dstarnub.decode=ALL|NAME,NAME]");
+            return;
+        }
+        Set<Packets> decodedPackets = decodedPackets();
+        for (String arg : args) {
+            PacketCapture capture = PacketCapture.read(Paths.get(arg));
+            System.out.println(arg + ": " + capture.getDIRECTION() + ", " + capture.getFrames().size() + " frames, " + capture.getWireBytes() + " bytes");
+            List<byte[]> segments = FrameStreams.segment(capture.toStream(), SEGMENT_SIZE);
+            replay("  passthrough", capture, segments, Collections.emptySet());
+            ReplayHarness harness = replay("  decode", capture, segments, decodedPackets);
+            for (Packets packet : Packets.values()) {
+                long frames = harness.getSTARBOUND_SERVER().getFrames(packet.getPacketId());
+                if (frames > 0) {
+                    System.out.println("    " + packet.name() + ": " + frames + (decodedPackets.contains(packet) ? " decoded" : ""));
+                }
+            }
+        }
+    }
+
+    private static ReplayHarness replay(String name, PacketCapture capture, List<byte[]> segments, Set<Packets> decodedPackets) {
+        ReplayHarness harness = new ReplayHarness(capture.getDIRECTION(), decodedPackets, packet -> {});
+        long frames = harness.replay(segments);
+        if (frames != capture.getFrames().size()) {
+            throw new IllegalStateException(name.trim() + " replay forwarded " + frames + " of " + capture.getFrames().size() + " frames.");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            harness.replay(segments);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9D;
+        System.out.printf("%s: %.0f frames/s, %.1f MB/s%n", name, frames * ROUNDS / seconds, capture.getWireBytes() * ROUNDS / seconds / (1024 * 1024));
+        harness.close();
+        return harness;
+    }
+}
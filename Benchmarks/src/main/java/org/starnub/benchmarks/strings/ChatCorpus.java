@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.strings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Represents a builder for chat traffic used by the string benchmarks.
+ * <p>
+ * Notes: The mix approximates a busy server, mostly short plain chat with some colored names and messages, player names
+ * with symbols and numbers, the odd non ASCII name and server broadcasts with {tokens}.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public final class ChatCorpus {
+
+    private static final String[] WORDS = {"hey", "anyone", "want", "to", "trade", "my", "ship", "is", "over", "here", "lol", "gg",
+            "where", "the", "boss", "at", "need", "help", "with", "mining", "diamonds", "brb", "afk", "thanks", "ok", "no", "yes",
+            "server", "lag", "again", "who", "built", "this", "base", "nice", "come", "planet", "sector", "x", "alpha", "beta"};
+    private static final String[] COLORS = {"^#f5f5f5;", "^#990000;", "^red;", "^green;", "^yellow;", "^#00ff00;", "^reset;"};
+    private static final String[] NAMES = {"Underbalanced", "xX_Sn1p3r_Xx", "Dr. Who?!", "[AFK] Bob", "Cap'n Crunch", "~*Starry*~",
+            "Zo\u00eb \u00dcn\u00efc\u00f8d\u00e9", "r00t-s", "Player1234", "The Floran #1"};
+    private static final String[] PUNCTUATION = {"", "", "", "!", "?", "...", " :)", " <3", " ^^"};
+    private static final String[] TOKENS = {"{players}", "{server_name}", "{online}", "{uptime}"};
+
+    private ChatCorpus() {
+    }
+
+    /**
+     * This will build a list of chat messages in the busy server mix
+     *
+     * @param seed long representing the random seed so each run sees the same messages
+     * @param count int representing how many messages to build
+     * @return List of String the messages
+     */
+    public static List<String> messages(long seed, int count) {
+        Random random = new Random(seed);
+        List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            StringBuilder message = new StringBuilder();
+            if (roll < 20) {
+                message.append(COLORS[random.nextInt(COLORS.length)]);
+            }
+            if (roll < 10) {
+                message.append(NAMES[random.nextInt(NAMES.length)]).append(COLORS[random.nextInt(COLORS.length)]).append(": ");
+            }
+            int words = 1 + random.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    message.append(' ');
+                }
+                message.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            message.append(PUNCTUATION[random.nextInt(PUNCTUATION.length)]);
+            messages.add(message.toString());
+        }
+        return messages;
+    }
+
+    /**
+     * This will build a list of player names, some colored
+     *
+     * @param seed long representing the random seed
+     * @param count int representing how many names to build
+     * @return List of String the names
+     */
+    public static List<String> names(long seed, int count) {
+        Random random = new Random(seed);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            if (random.nextInt(100) < 30) {
+                name = COLORS[random.nextInt(COLORS.length)] + name + COLORS[random.nextInt(COLORS.length)];
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * This will build a list of server broadcasts with tokens, drawn from a small set of templates like a server configuration would have
+     *
+     * @param seed long representing the random seed
+     * @param count int representing how many broadcasts to build
+     * @return List of String the broadcasts
+     */
+    public static List<String> broadcasts(long seed, int count) {
+        Random random = new Random(seed);
+        String[] templates = new String[16];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = COLORS[random.nextInt(COLORS.length)] + "Welcome to " + TOKENS[1] + ", there are " + TOKENS[2]
+                    + " players online: " + TOKENS[0] + (i % 2 == 0 ? " - up for " + TOKENS[3] : "") + " {Missing}";
+        }
+        List<String> broadcasts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            broadcasts.add(templates[random.nextInt(templates.length)]);
+        }
+        return broadcasts;
+    }
+}
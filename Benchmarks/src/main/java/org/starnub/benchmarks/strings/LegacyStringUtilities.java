@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.strings;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Represents the original regular expression based string cleaning and token replacement, kept as a baseline.
+ * <p>
+ * Notes: These match StringUtilities and StringTokens before they were moved to single pass scanners, the token lookup takes a
+ * map in place of the StarNub token registry.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public final class LegacyStringUtilities {
+
+    private LegacyStringUtilities() {
+    }
+
+    public static String completeClean(String s){
+        return removeSpaces(removeSpecialCharacters(removeColors(s)));
+    }
+
+    public static boolean hasColors(String s) {
+        return Pattern.compile("\\^.+?;").matcher(s).find();
+    }
+
+    public static String removeColors(String s) {
+        return s.replaceAll("\\^.+?;", "");
+    }
+
+    public static boolean hasSpecialCharacters(String s) {
+        return Pattern.compile("[^a-zA-Z0-9\\s+]").matcher(s).find();
+    }
+
+    public static String removeSpecialCharacters(String s){
+        if (hasColors(s)) {
+            String newName = "";
+            for (int i = 0; i < s.length(); i++) {
+                char letter = s.charAt(i);
+                if (letter == '^') {
+                    while (letter != ';') {
+                        newName = newName + Character.toString(letter);
+                        i++;
+                        letter = s.charAt(i);
+                    }
+                    newName = newName + Character.toString(letter);
+                } else {
+                    if (!hasSpecialCharacters(Character.toString(letter)))
+                        newName = newName + Character.toString(letter);
+                }
+            }
+            return newName;
+        } else {
+            return s.replaceAll("[^a-zA-Z0-9\\s+]", "");
+        }
+    }
+
+    public static String removeSpaces(String s){
+        return s.replace(" ","");
+    }
+
+    public static String replaceTokens(String string, Map<String, Supplier<Object>> tokens) {
+        Pattern p = Pattern.compile("\\{.*?\\}");
+        Matcher m = p.matcher(string);
+        StringBuffer sb = new StringBuffer();
+        while (m.find()) {
+            String shortcut = m.group().toLowerCase();
+            Supplier<Object> token = tokens.get(shortcut);
+            Object results;
+            if (token == null){
+                results =  "**TOKEN MISSING**";
+            } else {
+                results = token.get();
+            }
+            m.appendReplacement(sb, results.toString());
+        }
+        return m.appendTail(sb).toString();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.benchmarks.strings;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.starnub.utilities.strings.StringUtilities;
+import org.starnub.utilities.strings.TokenTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Represents a comparison of the {@link LegacyStringUtilities} regular expressions and the {@link StringUtilities} scanners and
+ * {@link TokenTemplate} on the same chat traffic.
+ * <p>
+ * Notes: Each operation runs over the whole corpus. Setup checks both implementations give the same results before measuring.
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringScannerBenchmark {
+
+    private static final int CORPUS_SIZE = 1000;
+
+    private List<String> messages;
+    private List<String> names;
+    private List<String> broadcasts;
+    private Map<String, Supplier<Object>> tokens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        messages = ChatCorpus.messages(622L, CORPUS_SIZE);
+        names = ChatCorpus.names(622L, CORPUS_SIZE);
+        broadcasts = ChatCorpus.broadcasts(622L, CORPUS_SIZE);
+        tokens = new HashMap<>();
+        tokens.put("{players}", () -> "Underbalanced, r00t-s, Player1234");
+        tokens.put("{server_name}", () -> "StarNub Test Server");
+        tokens.put("{online}", () -> 3);
+        tokens.put("{uptime}", () -> "2 hours");
+        for (String name : names) {
+            check(LegacyStringUtilities.completeClean(name), StringUtilities.completeClean(name), name);
+        }
+        for (String message : messages) {
+            check(LegacyStringUtilities.removeColors(message), StringUtilities.removeColors(message), message);
+            check(LegacyStringUtilities.hasSpecialCharacters(message), StringUtilities.hasSpecialCharacters(message), message);
+        }
+        for (String broadcast : broadcasts) {
+            check(LegacyStringUtilities.replaceTokens(broadcast, tokens), TokenTemplate.of(broadcast).render(this::tokenResults), broadcast);
+        }
+    }
+
+    private static void check(Object legacy, Object scanner, String input) {
+        if (!legacy.equals(scanner)) {
+            throw new IllegalStateException("Results differ for \"" + input + "\": " + legacy + " != " + scanner);
+        }
+    }
+
+    @Benchmark
+    public void legacyCompleteClean(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyStringUtilities.completeClean(name));
+        }
+    }
+
+    @Benchmark
+    public void scannerCompleteClean(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(StringUtilities.completeClean(name));
+        }
+    }
+
+    @Benchmark
+    public void legacyRemoveColors(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LegacyStringUtilities.removeColors(message));
+        }
+    }
+
+    @Benchmark
+    public void scannerRemoveColors(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(StringUtilities.removeColors(message));
+        }
+    }
+
+    @Benchmark
+    public void legacyHasSpecialCharacters(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LegacyStringUtilities.hasSpecialCharacters(message));
+        }
+    }
+
+    @Benchmark
+    public void scannerHasSpecialCharacters(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(StringUtilities.hasSpecialCharacters(message));
+        }
+    }
+
+    @Benchmark
+    public void legacyReplaceTokens(Blackhole blackhole) {
+        for (String broadcast : broadcasts) {
+            blackhole.consume(LegacyStringUtilities.replaceTokens(broadcast, tokens));
+        }
+    }
+
+    @Benchmark
+    public void templateReplaceTokens(Blackhole blackhole) {
+        for (String broadcast : broadcasts) {
+            blackhole.consume(TokenTemplate.of(broadcast).render(this::tokenResults));
+        }
+    }
+
+    private Object tokenResults(String token) {
+        Supplier<Object> supplier = tokens.get(token);
+        return supplier == null ? "**TOKEN MISSING**" : supplier.get();
+    }
+}
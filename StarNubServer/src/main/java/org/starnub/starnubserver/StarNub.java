@@ -20,6 +20,8 @@ package org.starnub.starnubserver;
 
 import org.joda.time.DateTime;
 import org.starnub.starnubserver.events.events.StarNubEvent;
+import org.starnub.starnubserver.events.packet.PacketHandlerPool;
+import org.starnub.starnubserver.events.starnub.StarNubEventRouter;
 import org.starnub.starnubserver.logger.MultiOutputLogger;
 import org.starnub.starnubserver.pluggable.PluggableManager;
 import org.starnub.starnubserver.resources.ResourceManager;
@@ -54,6 +56,8 @@ public final class StarNub {
     private static final PluggableManager PLUGIN_MANAGER = PluggableManager.getInstance();
     private static final StarboundServer STARBOUND_SERVER = StarboundServer.getInstance();
 
+    private static boolean shutdown;
+
     private StarNub() {}
 
     public static long getStarnubStartTime() {
@@ -96,6 +100,7 @@ public final class StarNub {
         /* This Resource detector is for debugging only */
 //        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID); //NETTY.IO MEMORY DEBUGGING
         Thread.currentThread().setName("StarNub - Main");
+        Runtime.getRuntime().addShutdownHook(new Thread(StarNub::shutdown, "StarNub - Shutdown"));
 
         StarboundServer.getInstance().startServers();
 
@@ -138,6 +143,22 @@ public final class StarNub {
 
     }
 
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will stop the proxy servers, the StarNub worker pools and the event lanes so nothing is left holding the JVM open. This is also
+     * run by a shutdown hook and only stops things once
+     */
+    public static synchronized void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        STARBOUND_SERVER.stopServers();
+        PacketHandlerPool.getInstance().shutdown();
+        StarNubEventRouter.getInstance().shutdown();
+    }
+
     private static void setUptimeTask(){
         new StarNubTask("StarNub", "StarNub - Uptime", true, 15, 15, TimeUnit.SECONDS, () -> new StarNubEvent("StarNub_Uptime",  DateTime.now().getMillis() - STARNUB_START_TIME));
         new StarNubTask("StarNub", "Starbound - Uptime", true, 15, 15, TimeUnit.SECONDS, () -> new StarNubEvent("Starbound_Uptime", StarboundServer.getInstance().getUptime()));
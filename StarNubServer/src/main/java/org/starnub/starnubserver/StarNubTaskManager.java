@@ -33,7 +33,7 @@ public class StarNubTaskManager extends TaskManager {
     /**
      * Represents the only instance of this class - Singleton Pattern
      */
-    private static final StarNubTaskManager instance = new StarNubTaskManager();
+    private static final StarNubTaskManager instance = newInstance();
 
     /**
      * This constructor is private - Singleton Pattern
@@ -47,6 +47,30 @@ public class StarNubTaskManager extends TaskManager {
                 "StarNub - Events & Scheduled Task - Worker");
     }
 
+    /**
+     * This constructor is private - Singleton Pattern. This will time task on a wheel timer
+     */
+    private StarNubTaskManager(int tickMilliseconds, int ticksPerWheel) {
+        super(
+                (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "task_threads", "core_count"),
+                (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "task_threads", "max_count"),
+                (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "task_threads", "keep_alive_minutes"),
+                TimeUnit.MINUTES,
+                "StarNub - Events & Scheduled Task - Worker",
+                tickMilliseconds,
+                ticksPerWheel);
+    }
+
+    private static StarNubTaskManager newInstance() {
+        boolean wheelTimer = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "task_threads", "wheel_timer", "enabled");
+        if (wheelTimer) {
+            return new StarNubTaskManager(
+                    (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "task_threads", "wheel_timer", "tick_milliseconds"),
+                    (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "task_threads", "wheel_timer", "ticks_per_wheel"));
+        }
+        return new StarNubTaskManager();
+    }
+
     public static StarNubTaskManager getInstance() {
         return instance;
     }
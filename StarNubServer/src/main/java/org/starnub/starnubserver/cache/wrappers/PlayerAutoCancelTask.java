@@ -104,7 +104,7 @@ public class PlayerAutoCancelTask extends PlayerCtxCacheWrapper {
                 StarNubTask starNubTask = starNubTaskCache.getSTARNUB_TASK();
                 ScheduledFuture<?> scheduledFuture = starNubTask.getScheduledFuture();
                 if (!scheduledFuture.isDone()) {
-                    scheduledFuture.cancel(true);
+                    starNubTask.unregister();
                     PLAYER_CTX_CACHE.addCache(channelHandlerContext, new TimeCache());
                 }
                 new StarNubEvent("StarNub_Task_Cancelled_Player_Disconnect", this);
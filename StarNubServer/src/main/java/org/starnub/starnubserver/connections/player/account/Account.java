@@ -170,6 +170,10 @@ public class Account implements Serializable{
 
     /* Group Methods */
 
+    public HashSet<Group> getGROUP_ASSIGNMENTS() {
+        return GROUP_ASSIGNMENTS;
+    }
+
     public Set<String> getAllGroupNames(){
         return getAllGroups().stream().map(Group::getName).collect(Collectors.toSet());
     }
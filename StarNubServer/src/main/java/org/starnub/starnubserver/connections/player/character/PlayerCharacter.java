@@ -22,6 +22,7 @@ import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import org.joda.time.DateTime;
+import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.connections.player.account.Account;
 import org.starnub.starnubserver.connections.player.account.Settings;
 import org.starnub.starnubserver.database.tables.Accounts;
@@ -164,13 +165,13 @@ public class PlayerCharacter implements Serializable {
 
     public void updateLastSeen(DateTime lastSeen) {
         this.lastSeen = DateTime.now();
-        CHARACTERS_DB.update(this);
+        CHARACTERS_DB.updateLater(this, LAST_SEEN_COLUMN);
     }
 
     public void updatePlayedTimeLastSeen() {
         this.playedTime = this.playedTime + (DateTime.now().getMillis()-lastSeen.getMillis());
         this.lastSeen = DateTime.now();
-        CHARACTERS_DB.update(this);
+        CHARACTERS_DB.updateLater(this, PLAYED_TIME_COLUMN, LAST_SEEN_COLUMN);
     }
 
     /**
@@ -180,6 +181,7 @@ public class PlayerCharacter implements Serializable {
     public void setAccount(Account account) {
         this.account = account;
         CHARACTERS_DB.update(this);
+        StarNub.getConnections().getCONNECTED_PLAYERS().reindex(this);
     }
 
     /* DB Methods */
@@ -247,6 +247,10 @@ public class Group {
         return INHERITED_GROUPS;
     }
 
+    public HashSet<String> getINHERITED_GROUPS_STRINGS() {
+        return INHERITED_GROUPS_STRINGS;
+    }
+
     public void setINHERITED_GROUPS(){
         List<GroupInheritance> groupInheritancesDb = GroupInheritance.getGroupInheritanceByGroup(this);
         for (GroupInheritance groupInheritance : groupInheritancesDb){
@@ -270,11 +274,12 @@ public class Group {
             } catch (IOException | CollectionDoesNotExistException e) {
                 e.printStackTrace();
             }
+            GroupsManagement.getInstance().recomputeGroup(this.getName());
         }
     }
 
     public void removeGroupInheritance(String groupName){
-        Group group = GroupsManagement.getInstance().getGROUPS().remove(groupName);
+        Group group = GroupsManagement.getInstance().getGROUPS().get(groupName);
         if (group != null){
             GroupInheritance groupInheritance = GroupInheritance.getGroupInheritanceByGroupFirstMatch(this, group);
             groupInheritance.deleteFromDatabase();
@@ -285,6 +290,7 @@ public class Group {
             } catch (IOException e) {
                 e.printStackTrace();
             }
+            GroupsManagement.getInstance().recomputeGroup(this.getName());
         }
     }
 
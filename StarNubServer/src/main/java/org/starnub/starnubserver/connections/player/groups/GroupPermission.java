@@ -21,18 +21,10 @@ package org.starnub.starnubserver.connections.player.groups;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
-import org.starnub.starnubserver.StarNub;
-import org.starnub.starnubserver.connections.player.account.Account;
-import org.starnub.starnubserver.connections.player.session.PlayerSession;
 import org.starnub.starnubserver.database.tables.GroupPermissions;
-import org.starnub.starnubserver.StarNub;
-import org.starnub.starnubserver.connections.player.account.Account;
-import org.starnub.starnubserver.connections.player.session.PlayerSession;
-import org.starnub.starnubserver.database.tables.GroupPermissions;
-import org.starnub.starnubserver.resources.connections.Players;
+import org.starnub.starnubserver.resources.files.GroupsManagement;
 
 import java.util.List;
-import java.util.Set;
 
 @DatabaseTable(tableName = "GROUP_PERMISSIONS")
 public class GroupPermission {
@@ -139,22 +131,7 @@ public class GroupPermission {
     }
 
     public static void refreshAllRelatedPermissions(Group group){
-        Players connectedPlayers = StarNub.getConnections().getCONNECTED_PLAYERS();
-        for (PlayerSession playerSession : connectedPlayers.values()){
-            Account account = playerSession.getPlayerCharacter().getAccount();
-            if (account == null){
-                String groupType = group.getType();
-                if (groupType.equalsIgnoreCase("noaccount")) {
-                    playerSession.reloadPermissions();
-                }
-            } else {
-                Set<String> groupNames = account.getAllGroupNames();
-                String groupName = group.getName();
-                if (groupNames.contains(groupName)){
-                    playerSession.reloadPermissions();
-                }
-            }
-        }
+        GroupsManagement.getInstance().recomputeGroup(group.getName());
     }
 
     @Override
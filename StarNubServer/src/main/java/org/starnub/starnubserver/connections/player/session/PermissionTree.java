@@ -0,0 +1,214 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.connections.player.session;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a compiled, read only set of permissions for a Player Session.
+ * <p>
+ * Notes: Permissions are in the form {base}.{sub}.{full}, for example starnub.server.shutdown. Wildcards (*) are resolved
+ * when the tree is compiled so a check is at most three hash lookups. Trees are shared, every session compiled from the same
+ * permissions gets the same tree. Checks by the full permission string remember their answer so repeated checks do not split
+ * the string again
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public final class PermissionTree {
+
+    public static final PermissionTree EMPTY = new PermissionTree(Collections.emptyList());
+
+    /**
+     * Compiled trees shared between sessions, keyed by the ordered permissions they were compiled from
+     */
+    private static final ConcurrentHashMap<List<String>, PermissionTree> COMPILED = new ConcurrentHashMap<>();
+    private static final int MAX_COMPILED = 1024;
+    private static final int MAX_REMEMBERED_CHECKS = 4096;
+
+    private final boolean allPermissions;
+    private final HashMap<String, BaseNode> BASE_NODES = new HashMap<>();
+    private final ConcurrentHashMap<String, Boolean> WILDCARD_CHECKS = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Boolean> EXACT_CHECKS = new ConcurrentHashMap<>();
+
+    private PermissionTree(Collection<String> permissions) {
+        boolean allPermissions = false;
+        for (String permission : permissions) {
+            int firstDot = permission.indexOf('.');
+            String base = firstDot == -1 ? permission : permission.substring(0, firstDot);
+            if (base.equals("*")) {
+                allPermissions = true;
+            }
+            BaseNode baseNode = BASE_NODES.computeIfAbsent(base, key -> new BaseNode());
+            if (firstDot == -1) {
+                continue;
+            }
+            int secondDot = permission.indexOf('.', firstDot + 1);
+            String sub = secondDot == -1 ? permission.substring(firstDot + 1) : permission.substring(firstDot + 1, secondDot);
+            if (sub.equals("*")) {
+                baseNode.allSubs = true;
+            }
+            SubNode subNode = baseNode.SUB_NODES.computeIfAbsent(sub, key -> new SubNode());
+            if (secondDot == -1) {
+                continue;
+            }
+            String full = permission.substring(secondDot + 1);
+            if (full.equals("*")) {
+                subNode.allFull = true;
+            }
+            if (subNode.first == null) {
+                subNode.first = full;
+            }
+            subNode.FULL.add(full);
+        }
+        this.allPermissions = allPermissions;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will compile a set of permissions, if the same permissions were already compiled that tree is returned
+     *
+     * @param permissions Collection of String the permissions in the order they should be applied
+     * @return PermissionTree the compiled permissions
+     */
+    public static PermissionTree compile(Collection<String> permissions) {
+        if (permissions.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> key = Collections.unmodifiableList(new ArrayList<>(permissions));
+        PermissionTree permissionTree = COMPILED.get(key);
+        if (permissionTree == null) {
+            if (COMPILED.size() >= MAX_COMPILED) {
+                COMPILED.clear();
+            }
+            permissionTree = COMPILED.computeIfAbsent(key, PermissionTree::new);
+        }
+        return permissionTree;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will drop all shared trees, sessions keep the tree they have until they reload their permissions
+     */
+    public static void clearCompiled() {
+        COMPILED.clear();
+    }
+
+    public boolean hasAllPermissions() {
+        return allPermissions;
+    }
+
+    public boolean hasBasePermission(String basePermission) {
+        return allPermissions || BASE_NODES.containsKey(basePermission);
+    }
+
+    public boolean hasSubPermission(String basePermission, String subPermission, boolean checkWildCards) {
+        if (!checkWildCards) {
+            return false;
+        }
+        if (allPermissions) {
+            return true;
+        }
+        BaseNode baseNode = BASE_NODES.get(basePermission);
+        return baseNode != null && (baseNode.allSubs || baseNode.SUB_NODES.containsKey(subPermission));
+    }
+
+    public boolean hasFullPermission(String basePermission, String subPermission, String fullPermission, boolean checkWildCards) {
+        if (!checkWildCards) {
+            return false;
+        }
+        if (allPermissions) {
+            return true;
+        }
+        BaseNode baseNode = BASE_NODES.get(basePermission);
+        if (baseNode == null) {
+            return false;
+        }
+        if (baseNode.allSubs) {
+            return true;
+        }
+        SubNode subNode = baseNode.SUB_NODES.get(subPermission);
+        return subNode != null && (subNode.allFull || subNode.FULL.contains(fullPermission));
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will check a permission in its string form, {base}.{sub} or {base}.{sub}.{full}
+     *
+     * @param permission String the permission to check
+     * @param checkWildCards boolean if wildcards should be checked
+     * @return boolean if the permission is held
+     */
+    public boolean hasPermission(String permission, boolean checkWildCards) {
+        ConcurrentHashMap<String, Boolean> checks = checkWildCards ? WILDCARD_CHECKS : EXACT_CHECKS;
+        Boolean hasPermission = checks.get(permission);
+        if (hasPermission != null) {
+            return hasPermission;
+        }
+        int firstDot = permission.indexOf('.');
+        if (firstDot == -1) {
+            hasPermission = hasSubPermission(permission, null, checkWildCards);
+        } else {
+            String base = permission.substring(0, firstDot);
+            int secondDot = permission.indexOf('.', firstDot + 1);
+            if (secondDot == -1) {
+                hasPermission = hasSubPermission(base, permission.substring(firstDot + 1), checkWildCards);
+            } else {
+                hasPermission = hasFullPermission(base, permission.substring(firstDot + 1, secondDot), permission.substring(secondDot + 1), checkWildCards);
+            }
+        }
+        if (checks.size() < MAX_REMEMBERED_CHECKS) {
+            checks.put(permission, hasPermission);
+        }
+        return hasPermission;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return the first full permission under a sub permission, used for permission variables such as starnub.homes.5
+     *
+     * @param basePermission String the base permission
+     * @param subPermission String the sub permission
+     * @return String the first full permission or null if there is none
+     */
+    public String getSpecificPermission(String basePermission, String subPermission) {
+        BaseNode baseNode = BASE_NODES.get(basePermission);
+        if (baseNode == null) {
+            return null;
+        }
+        SubNode subNode = baseNode.SUB_NODES.get(subPermission);
+        return subNode == null ? null : subNode.first;
+    }
+
+    private static final class BaseNode {
+        private final HashMap<String, SubNode> SUB_NODES = new HashMap<>();
+        private boolean allSubs;
+    }
+
+    private static final class SubNode {
+        private final HashSet<String> FULL = new HashSet<>();
+        private String first;
+        private boolean allFull;
+    }
+}
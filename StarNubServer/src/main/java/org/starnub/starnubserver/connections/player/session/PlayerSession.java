@@ -21,7 +21,6 @@ package org.starnub.starnubserver.connections.player.session;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
-import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
@@ -53,7 +52,9 @@ import org.starnub.starnubserver.database.tables.PlayerSessionLog;
 import org.starnub.starnubserver.events.events.DisconnectEvent;
 import org.starnub.starnubserver.events.events.StarNubEvent;
 import org.starnub.starnubserver.resources.NameBuilder;
+import org.starnub.starnubserver.resources.connections.PacketBroadcaster;
 import org.starnub.starnubserver.resources.connections.Players;
+import org.starnub.starnubserver.resources.connections.RecipientSet;
 import org.starnub.starnubserver.resources.files.GroupsManagement;
 import org.starnub.utilities.cache.exceptions.CollectionDoesNotExistException;
 import org.starnub.utilities.connectivity.ConnectionType;
@@ -126,7 +127,8 @@ public class PlayerSession {
 
     private final Connection CONNECTION;
 
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, ArrayList<String>>> PERMISSIONS = new ConcurrentHashMap<>();
+    private volatile PermissionTree permissions = PermissionTree.EMPTY;
+    private volatile Set<String> permissionGroups = Collections.emptySet();
 
     /**
      * Constructor for database purposes
@@ -185,7 +187,7 @@ public class PlayerSession {
 
     public void setEndTimeUtc() {
         this.endTimeUtc = DateTime.now();
-        PlayerSessionLog.getInstance().update(this);
+        PlayerSessionLog.getInstance().updateLater(this, END_TIME_COLUMN);
     }
 
     public PlayerCharacter getPlayerCharacter() {
@@ -203,6 +205,7 @@ public class PlayerSession {
      */
     public void setStarboundClientId(long starboundClientId) {
         this.starboundClientId = starboundClientId;
+        StarNub.getConnections().getCONNECTED_PLAYERS().reindex(this);
     }
 
     public String getGameName() {
@@ -216,6 +219,7 @@ public class PlayerSession {
     public void setNickName(String nickName) {
         this.nickName = nickName;
         this.cleanNickName = StringUtilities.completeClean(nickName);
+        StarNub.getConnections().getCONNECTED_PLAYERS().reindex(this);
     }
 
     public String getCleanNickName() {
@@ -610,51 +614,37 @@ public class PlayerSession {
         sendPacketToGroup(packet, filter, false);
     }
 
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will send a low priority packet to everyone, players whose connection is backed up will not get it. Use this for
+     * packets that are fine to miss such as effects or frequent status updates
+     *
+     * @param packet      Packet representing the packet to be routed
+     * @param filter   Predicate is what filter you are using to send your message, null for everyone
+     */
+    public static void sendPacketToAllLowPriority(Packet packet, Predicate<PlayerSession> filter) {
+        PacketBroadcaster.broadcast(packet, Connections.getInstance().getCONNECTED_PLAYERS().getALL_RECIPIENTS(), filter, false, true);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will send this packet to a set of recipients that you keep, for example the players in a world
+     *
+     * @param packet      Packet representing the packet to be routed
+     * @param recipients RecipientSet the players to send to
+     * @param filter   Predicate is what filter you are using to send your message, null for everyone in the set
+     * @param flush boolean if the packet should be flushed right away
+     */
+    public static void sendPacketToRecipients(Packet packet, RecipientSet recipients, Predicate<PlayerSession> filter, boolean flush) {
+        PacketBroadcaster.broadcast(packet, recipients, filter, flush, false);
+    }
+
     private static void sendPacketToGroup(Packet packet, Predicate<PlayerSession> filter, boolean flush){
         Players connectedPlayers = Connections.getInstance().getCONNECTED_PLAYERS();
-        int onlinePlayers = connectedPlayers.size();
-        if (onlinePlayers > 0) {
-            ByteBuf byteBufPacket = packet.packetToMessageEncoder();
-            if (onlinePlayers > 1) {
-                int refCountChange = onlinePlayers - 1;
-                byteBufPacket.retain(refCountChange);
-            }
-            int remotePlayers = 0;
-            if (filter != null) {
-                for (PlayerSession playerSession : connectedPlayers.values()) {
-                    boolean notFilter = filter.test(playerSession);
-                    if (notFilter) {
-                        if (playerSession.getCONNECTION_TYPE() == ConnectionType.PROXY_IN_GAME) {
-                            ChannelHandlerContext ctx = playerSession.getCONNECTION().getCLIENT_CTX();
-                            if (flush) {
-                                ctx.writeAndFlush(byteBufPacket, ctx.voidPromise());
-                            } else {
-                                ctx.write(byteBufPacket, ctx.voidPromise());
-                            }
-                        } else {
-                            sendRemote(playerSession, packet);
-                            remotePlayers++;
-                        }
-                    }
-                }
-            } else {
-                for (PlayerSession playerSession : connectedPlayers.values()) {
-                    if (playerSession.getCONNECTION_TYPE() == ConnectionType.PROXY_IN_GAME) {
-                        ChannelHandlerContext ctx = playerSession.getCONNECTION().getCLIENT_CTX();
-                        if (flush) {
-                            ctx.writeAndFlush(byteBufPacket, ctx.voidPromise());
-                        } else {
-                            ctx.write(byteBufPacket, ctx.voidPromise());
-                        }
-                    } else {
-                        sendRemote(playerSession, packet);
-                        remotePlayers++;
-                    }
-                }
-            }
-            if(remotePlayers > 0) {
-                byteBufPacket.release(remotePlayers);
-            }
+        if (connectedPlayers.size() > 0) {
+            PacketBroadcaster.broadcast(packet, connectedPlayers.getALL_RECIPIENTS(), filter, flush, false);
         }
     }
 
@@ -713,27 +703,49 @@ public class PlayerSession {
     /* Permission Methods*/
 
     public void reloadPermissions() {
-        PERMISSIONS.clear();
         loadPermissions();
     }
 
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will collect this sessions account permissions and the permissions of its groups and compile them into
+     * a {@link PermissionTree}. Group inheritance comes already materialized from {@link GroupsManagement}, the groups and
+     * every group they inherit are applied from the highest rank down, sessions with the same permissions share one compiled tree
+     */
     public void loadPermissions(){
         Account account = playerCharacter.getAccount();
+        GroupsManagement groupsManagement = GroupsManagement.getInstance();
         LinkedHashSet<String> permissions = new LinkedHashSet<>();
+        List<Group> groups;
         if(account == null){
-            GroupsManagement.getInstance().getGROUPS().values().stream().filter(group -> group.getType().equalsIgnoreCase("noaccount")).forEach(group -> {
-                permissions.addAll(group.getGROUP_PERMISSIONS());
-            });
+            groups = groupsManagement.getGROUPS().values().stream().filter(group -> group.getType().equalsIgnoreCase("noaccount")).collect(Collectors.toList());
         } else {
             List<AccountPermission> accountPermissions = AccountPermission.getAccountPermissionsByAccount(account);
             permissions.addAll(accountPermissions.stream().map(AccountPermission::getPermission).collect(Collectors.toList()));
-            TreeMap<Integer, Group> allGroups = account.getAllGroupsOrderedByRank();
-            NavigableMap<Integer, Group> navigableMap = allGroups.descendingMap();
-            for (Group group : navigableMap.values()){
-                permissions.addAll(group.getGROUP_PERMISSIONS());
+            groups = new ArrayList<>(account.getGROUP_ASSIGNMENTS());
+        }
+        permissions.addAll(groupsManagement.getPermissionsByRank(groups));
+        Set<String> groupNames = groups.stream().map(Group::getName).collect(Collectors.toSet());
+        this.permissionGroups = Collections.unmodifiableSet(groupNames);
+        this.permissions = PermissionTree.compile(permissions);
+    }
+
+    /**
+     * @param groupNames Set of String group names
+     * @return boolean true if this sessions permissions were built from any of these groups
+     */
+    public boolean holdsAnyGroup(Set<String> groupNames) {
+        for (String groupName : permissionGroups) {
+            if (groupNames.contains(groupName)) {
+                return true;
             }
         }
-        permissions.forEach(this::addPermissionToMap);
+        return false;
+    }
+
+    public PermissionTree getPermissions() {
+        return permissions;
     }
 
     public String addPermission(String permission){
@@ -749,20 +761,6 @@ public class PlayerSession {
         return "Critical Error Adding Permission";
     }
 
-    private void addPermissionToMap(String permission){
-        String[] permissionBreak = permission.split("\\.", 3);
-        if (permissionBreak.length == 3) {
-            PERMISSIONS.putIfAbsent(permissionBreak[0], new ConcurrentHashMap<>());
-            PERMISSIONS.get(permissionBreak[0]).putIfAbsent(permissionBreak[1], new ArrayList<>());
-            PERMISSIONS.get(permissionBreak[0]).get(permissionBreak[1]).add(permissionBreak[2]);
-        } else if (permissionBreak.length == 2 ) {
-            PERMISSIONS.putIfAbsent(permissionBreak[0], new ConcurrentHashMap<>());
-            PERMISSIONS.get(permissionBreak[0]).putIfAbsent(permissionBreak[1], new ArrayList<>());
-        } else if (permissionBreak.length == 1){
-            PERMISSIONS.putIfAbsent(permissionBreak[0], new ConcurrentHashMap<>());
-        }
-    }
-
     public String deletePermission(String permission){
         Account account = playerCharacter.getAccount();
         if (account == null){
@@ -770,86 +768,23 @@ public class PlayerSession {
         }
         AccountPermission accountPermission = AccountPermission.getAccountPermissionByAccountFirstMatch(account, permission);
         accountPermission.deleteFromDatabase();
-        deletePermissionFromMap(permission);
+        reloadPermissions();
         if (hasPermission(permission, false)){
             return "Permission \"" + permission + "\" was deleted from \"" + playerCharacter.getName() + "\"'s account.";
         }
         return "Critical Error Adding Permission";
     }
 
-    private void deletePermissionFromMap(String permission){
-        String[] permissionBreak = permission.split("\\.", 3);
-        if (permissionBreak.length == 3) {
-            PERMISSIONS.get(permissionBreak[0]).get(permissionBreak[1]).remove(permissionBreak[2]);
-            if (PERMISSIONS.get(permissionBreak[0]).get(permissionBreak[1]).isEmpty()) {
-                PERMISSIONS.get(permissionBreak[0]).remove(permissionBreak[1]);
-                if (PERMISSIONS.get(permissionBreak[0]).isEmpty()){
-                    PERMISSIONS.remove(permissionBreak[0]);
-                }
-            }
-        } else if (permissionBreak.length == 2 ) {
-            PERMISSIONS.get(permissionBreak[0]).remove(permissionBreak[1]);
-            if (PERMISSIONS.get(permissionBreak[0]).isEmpty()) {
-                PERMISSIONS.remove(permissionBreak[0]);
-            }
-        } else if (permissionBreak.length == 1){
-            PERMISSIONS.remove(permissionBreak[0]);
-        }
-    }
-
     public boolean hasBasePermission(String basePermission) {
-        return op || PERMISSIONS.containsKey("*") || PERMISSIONS.containsKey(basePermission);
+        return op || permissions.hasBasePermission(basePermission);
     }
 
     public boolean hasSubPermission(String basePermission, String subPermission, boolean checkWildCards){
-        if (PERMISSIONS.containsKey("*") && checkWildCards){
-            return true;
-        }
-        ConcurrentHashMap<String, ArrayList<String>> concurrentHashMap = PERMISSIONS.get(basePermission);
-        if (concurrentHashMap == null){
-            return false;
-        }
-        if (checkWildCards){
-            return concurrentHashMap.containsKey("*") || concurrentHashMap.containsKey(subPermission);
-        } else {
-            return false;
-        }
-    }
-
-    private boolean hasFullPermission(String basePermission, String subPermission, String fullPermission, boolean checkWildCards){
-        if (PERMISSIONS.containsKey("*") && checkWildCards){
-            return true;
-        }
-        ConcurrentHashMap<String, ArrayList<String>> concurrentHashMap = PERMISSIONS.get(basePermission);
-        if (concurrentHashMap == null) {
-            return false;
-        }
-        if (concurrentHashMap.containsKey("*") && checkWildCards){
-            return true;
-        }
-        ArrayList<String> strings = concurrentHashMap.get(subPermission);
-        if (strings == null){
-            return false;
-        }
-        if (checkWildCards){
-            return strings.contains("*") || strings.contains(fullPermission);
-        } else {
-            return false;
-        }
+        return permissions.hasSubPermission(basePermission, subPermission, checkWildCards);
     }
 
     public boolean hasPermission(String permission, boolean checkWildCards) {
-        if (op && checkWildCards){
-            return true;
-        } else {
-            String[] permissions = permission.split("\\.", 3);
-            boolean fullPermission = permissions.length == 3;
-            if (fullPermission){
-                return hasFullPermission(permissions[0], permissions[1], permissions[2], checkWildCards);
-            } else {
-                return hasSubPermission(permissions[0], permissions[1], checkWildCards);
-            }
-        }
+        return op && checkWildCards || permissions.hasPermission(permission, checkWildCards);
     }
 
     /**
@@ -875,7 +810,7 @@ public class PlayerSession {
      * @return boolean if the account has the permission
      */
     public boolean hasPermission(String basePermission, String subPermission, String fullPermission, boolean checkWildCards) {
-        return op && checkWildCards || hasFullPermission(basePermission, subPermission, fullPermission, checkWildCards);
+        return op && checkWildCards || permissions.hasFullPermission(basePermission, subPermission, fullPermission, checkWildCards);
     }
 
     /**
@@ -904,15 +839,7 @@ public class PlayerSession {
     }
 
     public String getSpecificPermission(String basePermission, String subPermission) {
-        ConcurrentHashMap<String, ArrayList<String>> concurrentHashMap = PERMISSIONS.get(basePermission);
-        if (concurrentHashMap == null){
-            return null;
-        }
-        ArrayList<String> arrayList = concurrentHashMap.get(subPermission);
-        if (arrayList == null || arrayList.size() == 0){
-            return null;
-        }
-        return arrayList.get(0);
+        return permissions.getSpecificPermission(basePermission, subPermission);
     }
 
     public String getSpecificPermission(String permission){
@@ -0,0 +1,248 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.database;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Represents a size bounded, least recently used read through cache that sits in front of a {@link TableWrapper}
+ * <p>
+ * Notes: The cache only holds snapshots, the {@link TableWrapper} copies results before they are stored and again before
+ * they are handed out so cached objects are never shared between threads. A write through the table wrapper only drops
+ * the results that held the written row or that the row would now match. Results that found nothing expire after
+ * the negative time to live so rows added outside of StarNub are found. A query that started before a invalidation is never
+ * stored. This class can be extended and set with {@link TableWrapper#setTableCache(TableCache)} to change how results are kept
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class TableCache {
+
+    /**
+     * Represents a stored query result that found nothing
+     */
+    static final Object NULL_RESULT = new Object();
+
+    private final int MAX_ENTRIES;
+    private final long NEGATIVE_TTL_NANOS;
+    private final LinkedHashMap<QueryKey, CacheEntry> ENTRIES;
+    private final LongAdder HITS = new LongAdder();
+    private final LongAdder MISSES = new LongAdder();
+    private final LongAdder INVALIDATIONS = new LongAdder();
+    private long generation;
+
+    public TableCache(int MAX_ENTRIES, long negativeTtl, TimeUnit timeUnit) {
+        this.MAX_ENTRIES = MAX_ENTRIES;
+        this.NEGATIVE_TTL_NANOS = timeUnit.toNanos(negativeTtl);
+        this.ENTRIES = new LinkedHashMap<QueryKey, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, CacheEntry> eldest) {
+                return size() > TableCache.this.MAX_ENTRIES;
+            }
+        };
+    }
+
+    public int getMAX_ENTRIES() {
+        return MAX_ENTRIES;
+    }
+
+    public long getNegativeTtl(TimeUnit timeUnit) {
+        return timeUnit.convert(NEGATIVE_TTL_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    public long getHits() {
+        return HITS.sum();
+    }
+
+    public long getMisses() {
+        return MISSES.sum();
+    }
+
+    public long getInvalidations() {
+        return INVALIDATIONS.sum();
+    }
+
+    public synchronized int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return the current generation, it must be read before running a query and handed to
+     * {@link #put(long, QueryKey, Object, Collection)}
+     *
+     * @return long the current generation of this cache
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return a cached result and count the hit or miss, a expired empty result counts as a miss
+     *
+     * @param key QueryKey the query to look up
+     * @return Object the stored snapshot, {@link #NULL_RESULT} if the query was cached and found nothing, or null if it was not cached
+     */
+    public synchronized Object get(QueryKey key) {
+        CacheEntry entry = ENTRIES.get(key);
+        if (entry != null && entry.RESULT == NULL_RESULT && System.nanoTime() - entry.STORED > NEGATIVE_TTL_NANOS) {
+            ENTRIES.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            MISSES.increment();
+            return null;
+        }
+        HITS.increment();
+        return entry.RESULT;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will store a query result, it is dropped if the cache was invalidated since the generation was read
+     *
+     * @param generation long the generation read before the query was ran
+     * @param key QueryKey the query
+     * @param result Object a snapshot of the query result, null is stored as {@link #NULL_RESULT}
+     * @param ids Collection the ids of the rows in the result, used to find the result again when one of them is written
+     */
+    public synchronized void put(long generation, QueryKey key, Object result, Collection<?> ids) {
+        if (this.generation == generation) {
+            Set<Object> idSet = ids.isEmpty() ? Collections.emptySet() : new HashSet<>(ids);
+            ENTRIES.put(key, new CacheEntry(result == null ? NULL_RESULT : result, idSet, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will drop the results a write to one row can change, the results that held the row, the similar (LIKE)
+     * lookups and the exact lookups the row matches now
+     *
+     * @param id Object the id of the written row
+     * @param matches Predicate tests if the written row matches a exact lookup
+     */
+    public synchronized void invalidate(Object id, Predicate<QueryKey> matches) {
+        generation++;
+        Iterator<Map.Entry<QueryKey, CacheEntry>> iterator = ENTRIES.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<QueryKey, CacheEntry> entry = iterator.next();
+            QueryKey key = entry.getKey();
+            if (entry.getValue().IDS.contains(id) || !key.EXACT || matches.test(key)) {
+                iterator.remove();
+            }
+        }
+        INVALIDATIONS.increment();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will drop every cached result
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        ENTRIES.clear();
+        INVALIDATIONS.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "TableCache{" +
+                "MAX_ENTRIES=" + MAX_ENTRIES +
+                ", size=" + size() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", invalidations=" + getInvalidations() +
+                '}';
+    }
+
+    private static final class CacheEntry {
+
+        private final Object RESULT;
+        private final Set<Object> IDS;
+        private final long STORED;
+
+        private CacheEntry(Object RESULT, Set<Object> IDS, long STORED) {
+            this.RESULT = RESULT;
+            this.IDS = IDS;
+            this.STORED = STORED;
+        }
+    }
+
+    /**
+     * Represents a query type and its arguments used as a cache key. The columns are searched in the order of the arguments
+     * and exact is true when every column is compared with equals
+     */
+    public static final class QueryKey {
+
+        private final String QUERY;
+        private final String[] COLUMNS;
+        private final boolean EXACT;
+        private final Object[] ARGUMENTS;
+        private final int hash;
+
+        public QueryKey(String QUERY, String[] COLUMNS, boolean EXACT, Object... ARGUMENTS) {
+            this.QUERY = QUERY;
+            this.COLUMNS = COLUMNS;
+            this.EXACT = EXACT;
+            this.ARGUMENTS = ARGUMENTS;
+            this.hash = 31 * QUERY.hashCode() + Arrays.hashCode(ARGUMENTS);
+        }
+
+        public String[] getCOLUMNS() {
+            return COLUMNS.clone();
+        }
+
+        public boolean isEXACT() {
+            return EXACT;
+        }
+
+        public Object[] getARGUMENTS() {
+            return ARGUMENTS.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof QueryKey)) return false;
+            QueryKey queryKey = (QueryKey) o;
+            return QUERY.equals(queryKey.QUERY) && Arrays.equals(ARGUMENTS, queryKey.ARGUMENTS);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
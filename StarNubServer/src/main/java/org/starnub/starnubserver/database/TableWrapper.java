@@ -1,10 +1,18 @@
 package org.starnub.starnubserver.database;
 
+import com.j256.ormlite.dao.BaseDaoImpl;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.JdbcDatabaseConnection;
+import com.j256.ormlite.jdbc.TypeValMapper;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.Where;
 import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableInfo;
 import com.j256.ormlite.table.TableUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.joda.time.DateTime;
@@ -13,26 +21,156 @@ import org.starnub.starnubserver.logger.MultiOutputLogger;
 import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.logger.MultiOutputLogger;
 
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public abstract class TableWrapper<T1, T2> {
 
+    private static final String EQUALS = "= ";
+    private static final String LIKE = "LIKE ";
+    private static final ConcurrentHashMap<Class<?>, TableInfo<?, ?>> FOREIGN_TABLE_INFOS = new ConcurrentHashMap<>();
+
     private Dao<T1, T2> tableDao;
+    private final ConcurrentHashMap<Object, DirtyRow> dirtyRows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PreparedQuery<T1>> preparedQueries = new ConcurrentHashMap<>();
+    private volatile Set<String> cachedColumns = Collections.emptySet();
+    private volatile TableCache tableCache;
     final Class<T1> typeParameterDBClass;
     final Class<T2> typeParameterIDClass;
 
     public TableWrapper(Class<T1> typeParameterDBClass, Class<T2> typeParameterIDClass) {
         this.typeParameterDBClass = typeParameterDBClass;
         this.typeParameterIDClass = typeParameterIDClass;
+        this.tableCache = newConfiguredCache();
     }
 
     public TableWrapper(ConnectionSource connectionSource, int oldVersion, Class<T1> typeParameterDBClass, Class<T2> typeParameterIDClass) {
         this.typeParameterDBClass = typeParameterDBClass;
         this.typeParameterIDClass = typeParameterIDClass;
+        this.tableCache = newConfiguredCache();
         setTableWrapper(connectionSource, oldVersion);
     }
 
+    private static TableCache newConfiguredCache() {
+        if (StarNub.getConfiguration() == null || !(boolean) StarNub.getConfiguration().getNestedValue("databases", "cache", "enabled")) {
+            return null;
+        }
+        return new TableCache((int) StarNub.getConfiguration().getNestedValue("databases", "cache", "max_entries"),
+                (int) StarNub.getConfiguration().getNestedValue("databases", "cache", "negative_ttl_seconds"), TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return TableCache the cache in front of this table or null if this table is not cached
+     */
+    public TableCache getTableCache() {
+        return tableCache;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will replace the cache in front of this table, null will turn caching off for this table
+     *
+     * @param tableCache TableCache the cache to use
+     */
+    public void setTableCache(TableCache tableCache) {
+        this.tableCache = tableCache;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will declare which columns are looked up often enough to be cached. Lookups by id are always cached,
+     * a lookup on two columns is only cached if both are declared
+     *
+     * @param columnNames String the column names to cache lookups for
+     */
+    protected void setCachedColumns(String... columnNames) {
+        this.cachedColumns = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(columnNames)));
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will drop every cached query result for this table. Writes of objects through this wrapper only drop the
+     * results for that object, this only needs to be called if the table was changed some other way
+     */
+    public void invalidateCache() {
+        TableCache tableCache = this.tableCache;
+        if (tableCache != null) {
+            tableCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will drop the cached query results a write of this object can change. If the object can not be read
+     * the whole cache is dropped
+     *
+     * @param persistedClass T1 the object that was written
+     */
+    private void invalidateCache(T1 persistedClass) {
+        TableCache tableCache = this.tableCache;
+        if (tableCache == null) {
+            return;
+        }
+        try {
+            Object id = getTableInfo().getIdField().extractJavaFieldValue(persistedClass);
+            tableCache.invalidate(id, key -> matchesKey(key, persistedClass));
+        } catch (Exception e) {
+            tableCache.invalidateAll();
+        }
+    }
+
+    /* A row matches a exact lookup if every searched column holds the search term, a foreign object is compared by its id
+     * and strings are compared ignoring case as the database may. If a column can not be compared the row is treated as a match */
+    private boolean matchesKey(TableCache.QueryKey key, T1 persistedClass) {
+        String[] columns = key.getCOLUMNS();
+        Object[] arguments = key.getARGUMENTS();
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                FieldType fieldType = getTableInfo().getFieldTypeByColumnName(columns[i]);
+                Object argument = arguments[i];
+                if (argument != null && fieldType.isForeign() && fieldType.getType().isInstance(argument)) {
+                    argument = fieldType.getForeignIdField().extractJavaFieldValue(argument);
+                }
+                Object searchValue = fieldType.convertJavaFieldToSqlArgValue(argument);
+                Object rowValue = fieldType.extractJavaFieldToSqlArgValue(persistedClass);
+                if (searchValue instanceof String && rowValue instanceof String) {
+                    if (!((String) searchValue).equalsIgnoreCase((String) rowValue)) {
+                        return false;
+                    }
+                } else if (!Objects.equals(searchValue, rowValue)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private TableInfo<T1, T2> getTableInfo() {
+        return ((BaseDaoImpl<T1, T2>) tableDao).getTableInfo();
+    }
+
     public Dao<T1, T2> getTableDao() {
         return tableDao;
     }
@@ -84,6 +222,7 @@ public abstract class TableWrapper<T1, T2> {
     public void updateTable(String query){
         try {
             getTableDao().executeRaw(query);
+            invalidateCache();
         } catch (SQLException e) {
             if (ExceptionUtils.getRootCauseMessage(e).contains("Duplicate column name")){
                 /*  We don't care if it was a duplicate column so we will ignore this StackTrace */
@@ -102,6 +241,7 @@ public abstract class TableWrapper<T1, T2> {
     public boolean createIfNotExist(T1 persistedClass){
         try {
             tableDao.createIfNotExists(persistedClass);
+            invalidateCache(persistedClass);
             return true;
         } catch (SQLException e) {
             MultiOutputLogger logger = StarNub.getLogger();
@@ -117,6 +257,7 @@ public abstract class TableWrapper<T1, T2> {
     public boolean create(T1 persistedClass){
         try {
             tableDao.create(persistedClass);
+            invalidateCache(persistedClass);
             return true;
         } catch (SQLException e) {
             MultiOutputLogger logger = StarNub.getLogger();
@@ -132,6 +273,7 @@ public abstract class TableWrapper<T1, T2> {
     public boolean createOrUpdate(T1 persistedClass){
         try {
             tableDao.createOrUpdate(persistedClass);
+            invalidateCache(persistedClass);
             return true;
         } catch (SQLException e) {
             MultiOutputLogger logger = StarNub.getLogger();
@@ -147,6 +289,7 @@ public abstract class TableWrapper<T1, T2> {
     public boolean update(T1 persistedClass){
         try {
             tableDao.update(persistedClass);
+            invalidateCache(persistedClass);
             return true;
         } catch (SQLException e) {
             MultiOutputLogger logger = StarNub.getLogger();
@@ -159,9 +302,260 @@ public abstract class TableWrapper<T1, T2> {
         }
     }
 
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will set every field of the object to the values of its row. The row is read by id through the table cache
+     * so a cached row is not read from the database again, values waiting to be written behind are kept
+     *
+     * @param persistedClass T1 the object to refresh
+     * @return boolean true if the row was found and the object refreshed
+     */
     public boolean refresh(T1 persistedClass){
         try {
-            tableDao.refresh(persistedClass);
+            TableInfo<T1, T2> tableInfo = getTableInfo();
+            Object id = tableInfo.getIdField().extractJavaFieldValue(persistedClass);
+            if (this.tableCache == null || id == null) {
+                int refreshed = tableDao.refresh(persistedClass);
+                withPending(persistedClass);
+                return refreshed == 1;
+            }
+            T1 row = cachedQuery(true, getIdKey(id), () -> getTableDao().queryForId(typeParameterIDClass.cast(id)));
+            if (row == null) {
+                return false;
+            }
+            for (FieldType fieldType : tableInfo.getFieldTypes()) {
+                setField(tableInfo, fieldType, persistedClass, fieldType.extractRawJavaFieldValue(row));
+            }
+            return true;
+        } catch (Exception e) {
+            MultiOutputLogger logger = StarNub.getLogger();
+            if (logger != null) {
+                logger.cFatPrint("StarNub", ExceptionUtils.getMessage(e));
+            } else {
+                e.printStackTrace();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will update several objects of this table with one JDBC batch in one transaction, so the statements are sent
+     * to the database together and it only has to commit once. If any update fails none of them are kept
+     *
+     * @param persistedClasses Collection of T1 the objects to update
+     * @return boolean true if all the objects were updated
+     */
+    public boolean updateBatch(Collection<T1> persistedClasses){
+        if (persistedClasses.isEmpty()) {
+            return true;
+        }
+        ConnectionSource connectionSource = tableDao.getConnectionSource();
+        com.j256.ormlite.support.DatabaseConnection databaseConnection = null;
+        try {
+            databaseConnection = connectionSource.getReadWriteConnection();
+            Connection connection = ((JdbcDatabaseConnection) databaseConnection).getInternalConnection();
+            FieldType[] updateFields = getUpdateFields();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(getUpdateStatement(connectionSource, updateFields))) {
+                for (T1 persistedClass : persistedClasses) {
+                    for (int i = 0; i < updateFields.length; i++) {
+                        FieldType fieldType = updateFields[i];
+                        Object value = fieldType.extractJavaFieldToSqlArgValue(persistedClass);
+                        int typeVal = TypeValMapper.getTypeValForSqlType(fieldType.getSqlType());
+                        if (value == null) {
+                            preparedStatement.setNull(i + 1, typeVal);
+                        } else {
+                            preparedStatement.setObject(i + 1, value, typeVal);
+                        }
+                    }
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            persistedClasses.forEach(this::invalidateCache);
+            return true;
+        } catch (SQLException e) {
+            MultiOutputLogger logger = StarNub.getLogger();
+            if (logger != null) {
+                logger.cFatPrint("StarNub", ExceptionUtils.getMessage(e));
+            } else {
+                e.printStackTrace();
+            }
+            return false;
+        } finally {
+            if (databaseConnection != null) {
+                try {
+                    connectionSource.releaseConnection(databaseConnection);
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * The columns written by {@link #updateBatch(Collection)}, every updatable column followed by the id column for the where clause
+     */
+    private FieldType[] getUpdateFields() throws SQLException {
+        TableInfo<T1, T2> tableInfo = getTableInfo();
+        FieldType idField = tableInfo.getIdField();
+        if (idField == null) {
+            throw new SQLException("Cannot batch update " + tableInfo.getDataClass() + " because it doesn't have an id field");
+        }
+        List<FieldType> updateFields = new ArrayList<>();
+        for (FieldType fieldType : tableInfo.getFieldTypes()) {
+            if (fieldType != idField && !fieldType.isForeignCollection() && !fieldType.isReadOnly()) {
+                updateFields.add(fieldType);
+            }
+        }
+        updateFields.add(idField);
+        return updateFields.toArray(new FieldType[updateFields.size()]);
+    }
+
+    private String getUpdateStatement(ConnectionSource connectionSource, FieldType[] updateFields) {
+        DatabaseType databaseType = connectionSource.getDatabaseType();
+        StringBuilder sql = new StringBuilder("UPDATE ");
+        databaseType.appendEscapedEntityName(sql, getTableInfo().getTableName());
+        sql.append(" SET ");
+        for (int i = 0; i < updateFields.length - 1; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            databaseType.appendEscapedEntityName(sql, updateFields[i].getColumnName());
+            sql.append(" = ?");
+        }
+        sql.append(" WHERE ");
+        databaseType.appendEscapedEntityName(sql, updateFields[updateFields.length - 1].getColumnName());
+        sql.append(" = ?");
+        return sql.toString();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will mark columns of a row as dirty so they are written with the next {@link WriteBehind} flush instead of right away.
+     * Only the named columns are written, the values are taken now so marking the same row again from any object of that row
+     * before a flush only writes the newest values once. Until the flush every read through this wrapper returns the row with
+     * the pending values. If write behind is disabled this is the same as {@link #update(Object)}
+     * <p>
+     * Notes: The columns must hold immutable values (numbers, Strings, dates), the id and foreign columns can not be written behind
+     *
+     * @param persistedClass T1 the object holding the new values
+     * @param columnNames String the columns to write, if none are named every updatable column is written
+     */
+    public void updateLater(T1 persistedClass, String... columnNames){
+        WriteBehind writeBehind = WriteBehind.getInstance();
+        if (!writeBehind.isEnabled()) {
+            update(persistedClass);
+            return;
+        }
+        Object id;
+        Map<FieldType, Object> values = new HashMap<>();
+        try {
+            TableInfo<T1, T2> tableInfo = getTableInfo();
+            id = tableInfo.getIdField().extractJavaFieldValue(persistedClass);
+            if (columnNames.length == 0) {
+                FieldType[] updateFields = getUpdateFields();
+                columnNames = new String[updateFields.length - 1];
+                for (int i = 0; i < columnNames.length; i++) {
+                    columnNames[i] = updateFields[i].getColumnName();
+                }
+            }
+            for (String columnName : columnNames) {
+                FieldType fieldType = tableInfo.getFieldTypeByColumnName(columnName);
+                if (fieldType.isId() || fieldType.isGeneratedId() || fieldType.isForeign() || fieldType.isForeignCollection()) {
+                    throw new IllegalArgumentException("Column " + columnName + " of " + tableInfo.getTableName() + " can not be written behind");
+                }
+                values.put(fieldType, fieldType.extractRawJavaFieldValue(persistedClass));
+            }
+        } catch (SQLException e) {
+            StarNub.getLogger().cErrPrint("StarNub", ExceptionUtils.getMessage(e));
+            update(persistedClass);
+            return;
+        }
+        if (id == null) {
+            update(persistedClass);
+            return;
+        }
+        dirtyRows.merge(id, new DirtyRow(values), DirtyRow::merge);
+        writeBehind.register(this);
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will write every dirty row of this table in one transaction, one batch for each set of dirty columns. Rows
+     * that fail to write stay dirty and are tried again with the next flush, a row marked again while it was written stays
+     * dirty with its newer values
+     *
+     * @return int the amount of rows that were written
+     */
+    public int flushUpdates(){
+        if (dirtyRows.isEmpty()) {
+            return 0;
+        }
+        Map<Object, DirtyRow> toWrite = new HashMap<>(dirtyRows);
+        if (!writeDirtyRows(toWrite)) {
+            return 0;
+        }
+        toWrite.forEach(dirtyRows::remove);
+        return toWrite.size();
+    }
+
+    /* The cached results are dropped after the commit and before the rows stop being dirty, so a read in between
+     * still has the pending values laid over it */
+    private boolean writeDirtyRows(Map<Object, DirtyRow> toWrite){
+        Map<Set<FieldType>, List<Map.Entry<Object, DirtyRow>>> byColumns = new HashMap<>();
+        for (Map.Entry<Object, DirtyRow> entry : toWrite.entrySet()) {
+            byColumns.computeIfAbsent(entry.getValue().VALUES.keySet(), columns -> new ArrayList<>()).add(entry);
+        }
+        ConnectionSource connectionSource = tableDao.getConnectionSource();
+        com.j256.ormlite.support.DatabaseConnection databaseConnection = null;
+        try {
+            databaseConnection = connectionSource.getReadWriteConnection();
+            Connection connection = ((JdbcDatabaseConnection) databaseConnection).getInternalConnection();
+            FieldType idField = getTableInfo().getIdField();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<Set<FieldType>, List<Map.Entry<Object, DirtyRow>>> group : byColumns.entrySet()) {
+                    List<FieldType> updateFields = new ArrayList<>(group.getKey());
+                    updateFields.add(idField);
+                    FieldType[] fields = updateFields.toArray(new FieldType[updateFields.size()]);
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(getUpdateStatement(connectionSource, fields))) {
+                        for (Map.Entry<Object, DirtyRow> row : group.getValue()) {
+                            for (int i = 0; i < fields.length - 1; i++) {
+                                setParameter(preparedStatement, i + 1, fields[i], fields[i].convertJavaFieldToSqlArgValue(row.getValue().VALUES.get(fields[i])));
+                            }
+                            setParameter(preparedStatement, fields.length, idField, idField.convertJavaFieldToSqlArgValue(row.getKey()));
+                            preparedStatement.addBatch();
+                        }
+                        preparedStatement.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            TableCache tableCache = this.tableCache;
+            if (tableCache != null) {
+                for (Map.Entry<Object, DirtyRow> row : toWrite.entrySet()) {
+                    tableCache.invalidate(row.getKey(), key -> row.getValue().isSearched(key));
+                }
+            }
             return true;
         } catch (SQLException e) {
             MultiOutputLogger logger = StarNub.getLogger();
@@ -171,12 +565,61 @@ public abstract class TableWrapper<T1, T2> {
                 e.printStackTrace();
             }
             return false;
+        } finally {
+            if (databaseConnection != null) {
+                try {
+                    connectionSource.releaseConnection(databaseConnection);
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void setParameter(PreparedStatement preparedStatement, int index, FieldType fieldType, Object value) throws SQLException {
+        int typeVal = TypeValMapper.getTypeValForSqlType(fieldType.getSqlType());
+        if (value == null) {
+            preparedStatement.setNull(index, typeVal);
+        } else {
+            preparedStatement.setObject(index, value, typeVal);
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will lay the values still waiting on a {@link WriteBehind} flush over a object read from the database or cache
+     *
+     * @param persistedClass T1 the object that was read, may be null
+     * @return T1 the same object
+     * @throws SQLException if a field could not be read or set
+     */
+    private T1 withPending(T1 persistedClass) throws SQLException {
+        if (persistedClass == null || dirtyRows.isEmpty()) {
+            return persistedClass;
+        }
+        DirtyRow dirtyRow = dirtyRows.get(getTableInfo().getIdField().extractJavaFieldValue(persistedClass));
+        if (dirtyRow != null) {
+            for (Map.Entry<FieldType, Object> value : dirtyRow.VALUES.entrySet()) {
+                value.getKey().assignField(persistedClass, value.getValue(), false, null);
+            }
+        }
+        return persistedClass;
+    }
+
+    private List<T1> withPending(List<T1> persistedClasses) throws SQLException {
+        if (persistedClasses != null && !dirtyRows.isEmpty()) {
+            for (T1 persistedClass : persistedClasses) {
+                withPending(persistedClass);
+            }
         }
+        return persistedClasses;
     }
 
     public boolean delete(T1 persistedClass){
         try {
             tableDao.delete(persistedClass);
+            invalidateCache(persistedClass);
             return true;
         } catch (SQLException e) {
             MultiOutputLogger logger = StarNub.getLogger();
@@ -191,21 +634,22 @@ public abstract class TableWrapper<T1, T2> {
 
     public T1 getById(T2 id) {
         try {
-            return getTableDao().queryForId(id);
-        } catch (SQLException e) {
+            return cachedQuery(true, getIdKey(id), () -> getTableDao().queryForId(id));
+        } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
         }
     }
 
+    private TableCache.QueryKey getIdKey(Object id) {
+        return new TableCache.QueryKey("ID", new String[]{getTableInfo().getIdField().getColumnName()}, true, id);
+    }
+
     public T1 getFirstExact(String columnName, Object searchTerm) {
         try {
-            QueryBuilder<T1, T2> queryBuilder =
-                    getTableDao().queryBuilder();
-            queryBuilder.where()
-                    .eq(columnName, searchTerm);
-            PreparedQuery<T1> preparedQuery = queryBuilder.prepare();
-            return getTableDao().queryForFirst(preparedQuery);
+            PreparedQuery<T1> preparedQuery = getPreparedQuery(columnName, EQUALS, null, null);
+            return cachedQuery(isCachedColumn(columnName), new TableCache.QueryKey("FIRST " + EQUALS + columnName, new String[]{columnName}, true, searchTerm),
+                    () -> queryPreparedFirst(preparedQuery, searchTerm));
         } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
@@ -214,12 +658,9 @@ public abstract class TableWrapper<T1, T2> {
 
     public T1 getFirstSimilar(String columnName, Object searchTerm) {
         try {
-            QueryBuilder<T1, T2> queryBuilder =
-                    getTableDao().queryBuilder();
-            queryBuilder.where()
-                    .like(columnName, searchTerm);
-            PreparedQuery<T1> preparedQuery = queryBuilder.prepare();
-            return getTableDao().queryForFirst(preparedQuery);
+            PreparedQuery<T1> preparedQuery = getPreparedQuery(columnName, LIKE, null, null);
+            return cachedQuery(isCachedColumn(columnName), new TableCache.QueryKey("FIRST " + LIKE + columnName, new String[]{columnName}, false, searchTerm),
+                    () -> queryPreparedFirst(preparedQuery, searchTerm));
         } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
@@ -228,7 +669,7 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getAll(){
         try {
-            return getTableDao().queryForAll();
+            return withPending(getTableDao().queryForAll());
         } catch (SQLException e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
@@ -237,10 +678,10 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getAllExact(String columnName, Object searchTerm){
         try {
-            return getTableDao().queryBuilder().where()
-                    .eq(columnName, searchTerm)
-                    .query();
-        } catch (SQLException e) {
+            PreparedQuery<T1> preparedQuery = getPreparedQuery(columnName, EQUALS, null, null);
+            return cachedListQuery(isCachedColumn(columnName), new TableCache.QueryKey("ALL " + EQUALS + columnName, new String[]{columnName}, true, searchTerm),
+                    () -> queryPrepared(preparedQuery, searchTerm));
+        } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
         }
@@ -248,14 +689,11 @@ public abstract class TableWrapper<T1, T2> {
 
     public T1 getMatchingColumn1FirstSimilarColumn2(String columnName1, Object searchTerm1, String columnName2, Object searchTerm2) {
         try {
-            QueryBuilder<T1, T2> queryBuilder =
-                    getTableDao().queryBuilder();
-            queryBuilder.where()
-                    .eq(columnName1, searchTerm1)
-                    .and()
-                    .like(columnName2, searchTerm2);
-            PreparedQuery<T1> preparedQuery = queryBuilder.prepare();
-            return getTableDao().queryForFirst(preparedQuery);
+            PreparedQuery<T1> preparedQuery = getPreparedQuery(columnName1, EQUALS, columnName2, LIKE);
+            return cachedQuery(isCachedColumn(columnName1) && isCachedColumn(columnName2),
+                    new TableCache.QueryKey("FIRST " + EQUALS + columnName1 + " " + LIKE + columnName2,
+                            new String[]{columnName1, columnName2}, false, searchTerm1, searchTerm2),
+                    () -> queryPreparedFirst(preparedQuery, searchTerm1, searchTerm2));
         } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
@@ -264,14 +702,11 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getMatchingColumn1AllSimilarColumn2(String columnName1, Object searchTerm1, String columnName2, Object searchTerm2) {
         try {
-            QueryBuilder<T1, T2> queryBuilder =
-                    getTableDao().queryBuilder();
-            queryBuilder.where()
-                    .eq(columnName1, searchTerm1)
-                    .and()
-                    .like(columnName2, searchTerm2);
-            PreparedQuery<T1> preparedQuery = queryBuilder.prepare();
-            return getTableDao().query(preparedQuery);
+            PreparedQuery<T1> preparedQuery = getPreparedQuery(columnName1, EQUALS, columnName2, LIKE);
+            return cachedListQuery(isCachedColumn(columnName1) && isCachedColumn(columnName2),
+                    new TableCache.QueryKey("ALL " + EQUALS + columnName1 + " " + LIKE + columnName2,
+                            new String[]{columnName1, columnName2}, false, searchTerm1, searchTerm2),
+                    () -> queryPrepared(preparedQuery, searchTerm1, searchTerm2));
         } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
             return null;
@@ -280,10 +715,10 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getAllSimilar(String columnName, Object searchTerm){
         try {
-            return getTableDao().queryBuilder().where()
-                    .like(columnName, searchTerm)
-                    .query();
-        } catch (SQLException e) {
+            PreparedQuery<T1> preparedQuery = getPreparedQuery(columnName, LIKE, null, null);
+            return cachedListQuery(isCachedColumn(columnName), new TableCache.QueryKey("ALL " + LIKE + columnName, new String[]{columnName}, false, searchTerm),
+                    () -> queryPrepared(preparedQuery, searchTerm));
+        } catch (Exception e) {
             StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
         }
         return null;
@@ -291,9 +726,9 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getAllFromDateRangeToNow(String columnName, DateTime dateTime){
         try {
-            return getTableDao().queryBuilder().where()
+            return withPending(getTableDao().queryBuilder().where()
                     .between(columnName, dateTime, DateTime.now())
-                    .query();
+                    .query());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -302,9 +737,9 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getAllByDateRanges(String columnName, DateTime dateTime1, DateTime dateTime2){
         try {
-            return getTableDao().queryBuilder().where()
+            return withPending(getTableDao().queryBuilder().where()
                     .between(columnName, dateTime1, dateTime2)
-                    .query();
+                    .query());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -313,12 +748,233 @@ public abstract class TableWrapper<T1, T2> {
 
     public List<T1> getAllBetweenRange(String columnName, Object object1, Object object2){
         try {
-            return getTableDao().queryBuilder().where()
+            return withPending(getTableDao().queryBuilder().where()
                     .between(columnName, object1, object2)
-                    .query();
+                    .query());
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return null;
     }
+
+    private boolean isCachedColumn(String columnName) {
+        return cachedColumns.contains(columnName);
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will answer a query from the table cache if it can, otherwise it runs the query and caches the result.
+     * The cache keeps its own copy and every caller gets their own copy, so a object handed out can be changed freely.
+     * The cache holds the rows as they are in the database, values waiting to be written behind are laid over each copy handed out
+     *
+     * @param cacheable boolean if this query may be cached
+     * @param key TableCache.QueryKey the query and its arguments
+     * @param query Callable the query to run on a miss
+     * @return T1 the query result
+     * @throws Exception if the query fails
+     */
+    @SuppressWarnings("unchecked")
+    private T1 cachedQuery(boolean cacheable, TableCache.QueryKey key, Callable<T1> query) throws Exception {
+        TableCache tableCache = this.tableCache;
+        if (!cacheable || tableCache == null) {
+            return withPending(query.call());
+        }
+        Object cached = tableCache.get(key);
+        if (cached != null) {
+            return cached == TableCache.NULL_RESULT ? null : withPending(copyOf((T1) cached));
+        }
+        long generation = tableCache.getGeneration();
+        T1 result = query.call();
+        if (result == null) {
+            tableCache.put(generation, key, null, Collections.emptySet());
+        } else {
+            tableCache.put(generation, key, copyOf(result), Collections.singleton(getTableInfo().getIdField().extractJavaFieldValue(result)));
+        }
+        return withPending(result);
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: The same as {@link #cachedQuery(boolean, TableCache.QueryKey, Callable)} for queries that return a list
+     */
+    @SuppressWarnings("unchecked")
+    private List<T1> cachedListQuery(boolean cacheable, TableCache.QueryKey key, Callable<List<T1>> query) throws Exception {
+        TableCache tableCache = this.tableCache;
+        if (!cacheable || tableCache == null) {
+            return withPending(query.call());
+        }
+        Object cached = tableCache.get(key);
+        if (cached != null) {
+            return withPending(copyOf((List<T1>) cached));
+        }
+        long generation = tableCache.getGeneration();
+        List<T1> result = query.call();
+        List<Object> ids = new ArrayList<>(result.size());
+        for (T1 persistedClass : result) {
+            ids.add(getTableInfo().getIdField().extractJavaFieldValue(persistedClass));
+        }
+        tableCache.put(generation, key, Collections.unmodifiableList(copyOf(result)), ids);
+        return withPending(result);
+    }
+
+    private List<T1> copyOf(List<T1> persistedClasses) throws SQLException {
+        List<T1> copies = new ArrayList<>(persistedClasses.size());
+        for (T1 persistedClass : persistedClasses) {
+            copies.add(copyOf(persistedClass));
+        }
+        return copies;
+    }
+
+    private T1 copyOf(T1 persistedClass) throws SQLException {
+        return copyOf(getTableInfo(), persistedClass, new IdentityHashMap<>());
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will copy a database object field by field. Foreign objects are copied as well so the copy shares no
+     * object that can be changed with the original, other field values are shared as they are immutable (Strings,
+     * numbers, dates, UUIDs)
+     *
+     * @param tableInfo TableInfo the table information of the object
+     * @param persistedClass T the object to copy
+     * @param copies IdentityHashMap the objects already copied, so objects that reference each other are copied once
+     * @return T the copy
+     * @throws SQLException if the object could not be created or a field could not be read
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T copyOf(TableInfo<T, ?> tableInfo, T persistedClass, IdentityHashMap<Object, Object> copies) throws SQLException {
+        Object existing = copies.get(persistedClass);
+        if (existing != null) {
+            return (T) existing;
+        }
+        T copy = tableInfo.createObject();
+        copies.put(persistedClass, copy);
+        for (FieldType fieldType : tableInfo.getFieldTypes()) {
+            Object value = fieldType.extractRawJavaFieldValue(persistedClass);
+            if (value != null && fieldType.isForeign()) {
+                value = copyOf(getForeignTableInfo(fieldType.getType()), value, copies);
+            }
+            setField(tableInfo, fieldType, copy, value);
+        }
+        return copy;
+    }
+
+    private <T> void setField(TableInfo<T, ?> tableInfo, FieldType fieldType, T persistedClass, Object value) throws SQLException {
+        Field field = fieldType.getField();
+        try {
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+            field.set(persistedClass, value);
+        } catch (IllegalAccessException e) {
+            throw new SQLException("Could not copy field " + field.getName() + " of " + tableInfo.getDataClass(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TableInfo<Object, Object> getForeignTableInfo(Class<?> foreignClass) throws SQLException {
+        TableInfo<Object, Object> tableInfo = (TableInfo<Object, Object>) FOREIGN_TABLE_INFOS.get(foreignClass);
+        if (tableInfo == null) {
+            Dao<?, ?> foreignDao = DaoManager.createDao(tableDao.getConnectionSource(), foreignClass);
+            tableInfo = ((BaseDaoImpl<Object, Object>) foreignDao).getTableInfo();
+            FOREIGN_TABLE_INFOS.putIfAbsent(foreignClass, tableInfo);
+        }
+        return tableInfo;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return a prepared query for one or two column conditions, the arguments are left open so the same
+     * prepared query is reused for every lookup on these columns
+     *
+     * @param columnName1 String the first column
+     * @param operator1 String {@link #EQUALS} or {@link #LIKE}
+     * @param columnName2 String the second column or null
+     * @param operator2 String {@link #EQUALS} or {@link #LIKE}, ignored if there is no second column
+     * @return PreparedQuery the prepared query
+     * @throws SQLException if the query could not be prepared
+     */
+    private PreparedQuery<T1> getPreparedQuery(String columnName1, String operator1, String columnName2, String operator2) throws SQLException {
+        String statementKey = columnName2 == null ? operator1 + columnName1 : operator1 + columnName1 + " " + operator2 + columnName2;
+        PreparedQuery<T1> preparedQuery = preparedQueries.get(statementKey);
+        if (preparedQuery == null) {
+            QueryBuilder<T1, T2> queryBuilder = getTableDao().queryBuilder();
+            Where<T1, T2> where = queryBuilder.where();
+            addCondition(where, columnName1, operator1);
+            if (columnName2 != null) {
+                where.and();
+                addCondition(where, columnName2, operator2);
+            }
+            preparedQuery = queryBuilder.prepare();
+            PreparedQuery<T1> existing = preparedQueries.putIfAbsent(statementKey, preparedQuery);
+            if (existing != null) {
+                preparedQuery = existing;
+            }
+        }
+        return preparedQuery;
+    }
+
+    private void addCondition(Where<T1, T2> where, String columnName, String operator) throws SQLException {
+        if (operator.equals(LIKE)) {
+            where.like(columnName, new SelectArg());
+        } else {
+            where.eq(columnName, new SelectArg());
+        }
+    }
+
+    /* The arguments of a prepared query are shared, so it is locked while they are set and the query is ran */
+    private List<T1> queryPrepared(PreparedQuery<T1> preparedQuery, Object... searchTerms) throws SQLException {
+        synchronized (preparedQuery) {
+            setArguments(preparedQuery, searchTerms);
+            return getTableDao().query(preparedQuery);
+        }
+    }
+
+    private T1 queryPreparedFirst(PreparedQuery<T1> preparedQuery, Object... searchTerms) throws SQLException {
+        synchronized (preparedQuery) {
+            setArguments(preparedQuery, searchTerms);
+            return getTableDao().queryForFirst(preparedQuery);
+        }
+    }
+
+    private void setArguments(PreparedQuery<T1> preparedQuery, Object... searchTerms) throws SQLException {
+        for (int i = 0; i < searchTerms.length; i++) {
+            preparedQuery.setArgumentHolderValue(i, searchTerms[i]);
+        }
+    }
+
+    /**
+     * Represents the column values of one row waiting on a {@link WriteBehind} flush. A row marked again gets a new
+     * DirtyRow so a flush can tell if the row changed while it was written
+     */
+    private static final class DirtyRow {
+
+        private final Map<FieldType, Object> VALUES;
+
+        private DirtyRow(Map<FieldType, Object> VALUES) {
+            this.VALUES = Collections.unmodifiableMap(VALUES);
+        }
+
+        private static DirtyRow merge(DirtyRow older, DirtyRow newer) {
+            Map<FieldType, Object> values = new HashMap<>(older.VALUES);
+            values.putAll(newer.VALUES);
+            return new DirtyRow(values);
+        }
+
+        /* A exact lookup on a written column may match the row now */
+        private boolean isSearched(TableCache.QueryKey key) {
+            for (String column : key.getCOLUMNS()) {
+                for (FieldType fieldType : VALUES.keySet()) {
+                    if (fieldType.getColumnName().equals(column)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
 }
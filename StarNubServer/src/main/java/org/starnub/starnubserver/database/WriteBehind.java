@@ -0,0 +1,96 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.database;
+
+import org.starnub.starnubserver.StarNub;
+import org.starnub.starnubserver.StarNubTask;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents StarNubs database write behind, hot fields like played time and last seen are marked dirty with
+ * {@link TableWrapper#updateLater(Object, String...)} and written here on an interval, each table in a single transaction
+ * <p>
+ * Notes: Only the dirty columns are written, one pending entry is kept for each row. Dirty rows are also written when the JVM shuts down
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class WriteBehind {
+
+    /**
+     * Represents the only instance of this class - Singleton Pattern
+     */
+    private static final WriteBehind instance = new WriteBehind();
+
+    private final Set<TableWrapper<?, ?>> TABLES = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+
+    /**
+     * This constructor is private - Singleton Pattern
+     */
+    private WriteBehind() {
+        this.enabled = (boolean) StarNub.getConfiguration().getNestedValue("databases", "write_behind", "enabled");
+        if (enabled) {
+            int flushSeconds = (int) StarNub.getConfiguration().getNestedValue("databases", "write_behind", "flush_seconds");
+            new StarNubTask("StarNub", "StarNub - Database Write Behind", true, flushSeconds, flushSeconds, TimeUnit.SECONDS, this::flush);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "StarNub - Database Write Behind - Shutdown"));
+        }
+    }
+
+    /**
+     *
+     * @return WriteBehind Singleton Instance
+     */
+    public static WriteBehind getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will register a table that has dirty rows so it is flushed
+     *
+     * @param tableWrapper TableWrapper the table with dirty rows
+     */
+    void register(TableWrapper<?, ?> tableWrapper) {
+        TABLES.add(tableWrapper);
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will write all dirty rows now, one transaction per table
+     *
+     * @return int the amount of rows that were written
+     */
+    public synchronized int flush() {
+        int written = 0;
+        for (TableWrapper<?, ?> tableWrapper : TABLES) {
+            written += tableWrapper.flushUpdates();
+        }
+        return written;
+    }
+}
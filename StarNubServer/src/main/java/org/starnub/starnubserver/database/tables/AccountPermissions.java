@@ -44,6 +44,7 @@ public class AccountPermissions extends TableWrapper<AccountPermission, Integer>
      */
     private AccountPermissions(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, AccountPermission.class, Integer.class);
+        setCachedColumns("STARNUB_ID", "PERMISSION");
     }
 
     public static AccountPermissions getInstance() {
@@ -47,6 +47,7 @@ public class Accounts extends TableWrapper<Account, Integer> {
      */
     private Accounts(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, Account.class, Integer.class);
+        setCachedColumns("NAME");
     }
 
     public static Accounts getInstance() {
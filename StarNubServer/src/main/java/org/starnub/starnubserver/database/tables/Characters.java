@@ -45,6 +45,7 @@ public class Characters extends TableWrapper<PlayerCharacter, Integer> {
      */
     private Characters(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, PlayerCharacter.class, Integer.class);
+        setCachedColumns("NAME", "CLEAN_NAME", "UUID", "STARNUB_ID");
     }
 
     public static Characters getInstance() {
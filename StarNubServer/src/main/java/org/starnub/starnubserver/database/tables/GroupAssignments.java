@@ -45,6 +45,7 @@ public class GroupAssignments extends TableWrapper<GroupAssignment, Integer> {
      */
     private GroupAssignments(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, GroupAssignment.class, Integer.class);
+        setCachedColumns("STARNUB_ID", "GROUP_ID");
     }
 
     public static GroupAssignments getInstance() {
@@ -43,6 +43,7 @@ public class GroupInheritances extends TableWrapper<GroupInheritance, Integer> {
      */
     private GroupInheritances(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, GroupInheritance.class, Integer.class);
+        setCachedColumns("GROUP_ID", "INHERITED_GROUP_ID");
     }
 
     public static GroupInheritances getInstance() {
@@ -43,6 +43,7 @@ public class GroupPermissions extends TableWrapper<GroupPermission, Integer> {
      */
     private GroupPermissions(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, GroupPermission.class, Integer.class);
+        setCachedColumns("GROUP_ID", "PERMISSION");
     }
 
     public static GroupPermissions getInstance() {
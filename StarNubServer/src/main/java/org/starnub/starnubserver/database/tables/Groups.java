@@ -45,6 +45,7 @@ public class Groups extends TableWrapper<Group, String> {
      */
     private Groups(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, Group.class, String.class);
+        setCachedColumns("GROUP_NAME_ID", "TAG_ID", "LADDER_NAME");
     }
 
     public static Groups getInstance() {
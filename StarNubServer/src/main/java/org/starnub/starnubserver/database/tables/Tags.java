@@ -44,6 +44,7 @@ public class Tags extends TableWrapper<Tag, String> {
      */
     private Tags(){
         super(DatabaseConnection.getInstance().getStarnubConnection(), 0, Tag.class, String.class);
+        setCachedColumns("TAG_ID", "TYPE");
     }
 
     public static Tags getInstance() {
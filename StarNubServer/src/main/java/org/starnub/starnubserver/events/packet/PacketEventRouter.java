@@ -3,10 +3,17 @@ package org.starnub.starnubserver.events.packet;
 import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.Packets;
 import org.starnub.utilities.events.EventRouter;
+import org.starnub.utilities.events.EventSubscription;
+
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents StarNubs PacketEventRouter to be used with {@link PacketEventSubscription} and
  * {@link PacketEventHandler}
+ * <p>
+ * Notes: Along with the subscription map this router publishes a snapshot of subscriptions indexed by packet id. Each
+ * register or remove publishes a new snapshot, decoders only read the current one so they never hash or box a packet id
  *
  * @author Daniel (Underbalanced) (www.StarNub.org)
  * @since 1.0 Beta
@@ -23,6 +30,11 @@ public class PacketEventRouter extends EventRouter<Class<? extends Packet>, Pack
      */
     private static final Packets PACKETS_INSTANCE = Packets.PROTOCOLVERSION;
 
+    private static final EventSubscription[] NO_SUBSCRIPTIONS = new EventSubscription[0];
+
+    private volatile EventSubscription[][] subscriptionsByPacketId = new EventSubscription[256][];
+    private volatile long snapshotVersion;
+
     private PacketEventRouter() {
         super();
     }
@@ -31,6 +43,62 @@ public class PacketEventRouter extends EventRouter<Class<? extends Packet>, Pack
         return INSTANCE;
     }
 
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will return the subscriptions for a packet id from the current snapshot, sorted by priority
+     *
+     * @param packetId byte representing the packet id
+     * @return EventSubscription[] the subscriptions or null if there are none, this array must not be modified
+     */
+    public EventSubscription[] getPacketSubscriptions(byte packetId) {
+        return subscriptionsByPacketId[packetId & 0xFF];
+    }
+
+    @Override
+    public void registerEventSubscription(Class<? extends Packet> eventKey, EventSubscription eventSubscription) {
+        synchronized (this) {
+            super.registerEventSubscription(eventKey, eventSubscription);
+            publishSnapshot();
+        }
+    }
+
+    @Override
+    public void removeEventSubscription(String subscriberName) {
+        synchronized (this) {
+            super.removeEventSubscription(subscriberName);
+            publishSnapshot();
+        }
+    }
+
+    @Override
+    public void removeEventSubscription(EventSubscription eventSubscription) {
+        synchronized (this) {
+            super.removeEventSubscription(eventSubscription);
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * This will rebuild the packet id indexed snapshot from the subscription map and publish it
+     */
+    private void publishSnapshot() {
+        EventSubscription[][] snapshot = new EventSubscription[256][];
+        for (Map.Entry<Class<? extends Packet>, CopyOnWriteArrayList<EventSubscription>> subscriptionEntry : getEVENT_SUBSCRIPTION_MAP().entrySet()) {
+            Packets packet = Packets.fromClass(subscriptionEntry.getKey());
+            EventSubscription[] subscriptions = subscriptionEntry.getValue().toArray(NO_SUBSCRIPTIONS);
+            if (packet != null && subscriptions.length > 0) {
+                snapshot[packet.getPacketId() & 0xFF] = subscriptions;
+            }
+        }
+        subscriptionsByPacketId = snapshot;
+        snapshotVersion++;
+    }
+
     /**
      * This was implemented inline with the Packet Decoder.
      *
@@ -24,6 +24,10 @@ import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.events.events.StarNubEvent;
 import org.starnub.utilities.events.EventSubscription;
 import org.starnub.utilities.events.Priority;
+import org.starnub.utilities.time.LatencyHistogram;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents StarNubs PacketEventSubscription that can self register or be manually registered with the
@@ -35,6 +39,11 @@ import org.starnub.utilities.events.Priority;
 public class PacketEventSubscription extends EventSubscription<Packet> {
 
     private final Class<? extends Packet> EVENT_KEY;
+    private final LatencyHistogram HANDLER_TIME = new LatencyHistogram();
+    private final AtomicInteger BUDGET_VIOLATIONS = new AtomicInteger();
+    private volatile boolean async;
+    private volatile long budgetNanos = -1;
+    private volatile Executor executor;
 
     /**
      * Recommended: For Plugin Developers & Anyone else.
@@ -73,6 +82,114 @@ public class PacketEventSubscription extends EventSubscription<Packet> {
         }
     }
 
+    public Class<? extends Packet> getEVENT_KEY() {
+        return EVENT_KEY;
+    }
+
+    /**
+     * @return LatencyHistogram the time this subscriptions handler has taken per packet, recorded when packet metrics are enabled
+     */
+    public LatencyHistogram getHANDLER_TIME() {
+        return HANDLER_TIME;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will run this subscriptions handler on the {@link PacketHandlerPool} instead of the connections event loop. Use this for
+     * handlers that block (database, files, web). The connection waits for the handler and the packets after it are forwarded in order
+     * <p>
+     * Notes: Handlers after an async handler for the same packet also run on the pool. Making a subscription sync again clears its budget violations
+     *
+     * @param async boolean true to run the handler on the pool
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+        if (!async) {
+            BUDGET_VIOLATIONS.set(0);
+        }
+    }
+
+    /**
+     * @return Executor the executor this subscriptions handler runs on when async, the {@link PacketHandlerPool} unless one was set
+     */
+    public Executor getExecutor() {
+        Executor executor = this.executor;
+        return executor == null ? PacketHandlerPool.getInstance().getASYNC_EXECUTOR() : executor;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will run this subscriptions handler, and the handlers after it, on its own executor instead of the shared
+     * {@link PacketHandlerPool} and make it async. Use this for pipelines that must not wait behind plugin handlers
+     * <p>
+     * Notes: A executor that rejects the handler is retried for a short time, then the connection is closed
+     *
+     * @param executor Executor the executor to run on, null to use the shared pool again
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+        if (executor != null) {
+            this.async = true;
+        }
+    }
+
+    /**
+     * @return long the time in nanoseconds this subscriptions handler may take on the event loop, 0 or less means it is not budgeted
+     */
+    public long getBudgetNanos() {
+        return budgetNanos < 0 ? PacketHandlerPool.getInstance().getBudgetNanos() : budgetNanos;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will set the time this subscriptions handler may take on the event loop, replacing the configured default
+     *
+     * @param budgetMicroseconds long the budget in microseconds, 0 turns budgeting off for this subscription
+     */
+    public void setBudgetMicroseconds(long budgetMicroseconds) {
+        this.budgetNanos = budgetMicroseconds * 1000;
+    }
+
+    /**
+     * @return boolean true if this subscriptions handler is checked against a time budget when it runs on the event loop
+     */
+    public boolean isBudgeted() {
+        return !async && getBudgetNanos() > 0;
+    }
+
+    public int getBudgetViolations() {
+        return BUDGET_VIOLATIONS.get();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will check a handler run on the event loop against its budget, a subscription that goes over its budget too many times is
+     * made async and a "StarNub_Packet_Subscription_Made_Async" event is sent
+     *
+     * @param handlerNanos long the time the handler took
+     */
+    public void checkBudget(long handlerNanos) {
+        long budgetNanos = getBudgetNanos();
+        if (budgetNanos <= 0 || handlerNanos <= budgetNanos || async) {
+            return;
+        }
+        int budgetViolations = BUDGET_VIOLATIONS.incrementAndGet();
+        if (budgetViolations == PacketHandlerPool.getInstance().getViolationsBeforeAsync() && !getSUBSCRIBER_NAME().contains("StarNub")) {
+            async = true;
+            StarNub.getLogger().cWarnPrint("StarNub", getSUBSCRIBER_NAME() + "'s " + EVENT_KEY.getSimpleName() + " handler went over its time budget "
+                    + budgetViolations + " times and will now run on the packet handler pool.");
+            new StarNubEvent("StarNub_Packet_Subscription_Made_Async", this);
+        }
+    }
+
     /**
      * Recommended: For Plugin Developers & Anyone else.
      * <p>
@@ -81,9 +198,7 @@ public class PacketEventSubscription extends EventSubscription<Packet> {
     @Override
     public void register() {
         boolean decoding = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_decoding");
-        String packetClassString = EVENT_KEY.toString();
-        String subString = packetClassString.substring(packetClassString.lastIndexOf(".") + 1) + ".class";
-        Packets packet = Packets.fromString(subString);
+        Packets packet = Packets.fromClass(EVENT_KEY);
         boolean packetEventUsed = packet != null &&  packet.getDirection() != Packet.Direction.NOT_USED;
         if (decoding && packetEventUsed) {
             PacketEventRouter.getInstance().registerEventSubscription(EVENT_KEY, this);
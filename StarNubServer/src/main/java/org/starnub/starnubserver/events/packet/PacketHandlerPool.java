@@ -0,0 +1,109 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.events.packet;
+
+import org.starnub.starnubserver.StarNub;
+import org.starnub.utilities.concurrent.thread.NamedThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the worker pools and time budget settings for packet handlers. Handlers run on the connections event loop within a time
+ * budget, handlers marked async run on a pool while the connection waits for them.
+ * <p>
+ * Notes:
+ * - A subscription that goes over its budget {@link #getViolationsBeforeAsync()} times is made async, StarNub subscriptions
+ * are never made async
+ * - Player joins have their own pool so a slow plugin handler on the shared pool can not hold up joins
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketHandlerPool {
+
+    /**
+     * Represents the only instance of this class - Singleton Pattern
+     */
+    private static final PacketHandlerPool instance = new PacketHandlerPool();
+
+    private final ThreadPoolExecutor ASYNC_EXECUTOR;
+    private final ThreadPoolExecutor JOIN_EXECUTOR;
+    private final long budgetNanos;
+    private final int violationsBeforeAsync;
+
+    /**
+     * This constructor is private - Singleton Pattern
+     */
+    private PacketHandlerPool() {
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos((int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_handlers", "budget_microseconds"));
+        this.violationsBeforeAsync = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_handlers", "violations_before_async");
+        int asyncThreads = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_handlers", "async_threads");
+        int asyncQueueSize = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_handlers", "async_queue_size");
+        this.ASYNC_EXECUTOR = new ThreadPoolExecutor(asyncThreads, asyncThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(asyncQueueSize), new NamedThreadFactory("StarNub - Packet Handler - Worker"));
+        int joinThreads = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_handlers", "join_threads");
+        int joinQueueSize = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_handlers", "join_queue_size");
+        this.JOIN_EXECUTOR = new ThreadPoolExecutor(joinThreads, joinThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(joinQueueSize), new NamedThreadFactory("StarNub - Packet Handler - Join"));
+    }
+
+    /**
+     *
+     * @return PacketHandlerPool Singleton Instance
+     */
+    public static PacketHandlerPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return ThreadPoolExecutor the pool async handlers run on, it rejects work when its queue is full
+     */
+    public ThreadPoolExecutor getASYNC_EXECUTOR() {
+        return ASYNC_EXECUTOR;
+    }
+
+    /**
+     * @return ThreadPoolExecutor the pool the player join checks run on, it rejects work when its queue is full
+     */
+    public ThreadPoolExecutor getJOIN_EXECUTOR() {
+        return JOIN_EXECUTOR;
+    }
+
+    /**
+     * @return long the default handler time budget in nanoseconds, 0 or less means handlers are not budgeted
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public int getViolationsBeforeAsync() {
+        return violationsBeforeAsync;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will stop the pools once the handlers already given to them are done, connections that hand a packet to
+     * them after this are closed
+     */
+    public void shutdown() {
+        ASYNC_EXECUTOR.shutdown();
+        JOIN_EXECUTOR.shutdown();
+    }
+}
@@ -1,7 +1,8 @@
 package org.starnub.starnubserver.events.starnub;
 
 import org.starnub.starnubserver.StarNub;
-import org.starnub.starnubserver.StarNubTaskManager;
+import org.starnub.starnubserver.logger.MultiOutputLogger;
+import org.starnub.utilities.concurrent.thread.LaneExecutor;
 import org.starnub.utilities.events.EventRouter;
 import org.starnub.utilities.events.EventSubscription;
 import org.starnub.utilities.events.types.ObjectEvent;
@@ -11,6 +12,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
 /**
  * Represents StarNubs StarNubEventRouter to be used with {@link StarNubEventSubscription} and
  * {@link StarNubEventHandler}
+ * <p>
+ * Events are handled on a {@link LaneExecutor}. Events with the same key run on the same lane in the order they were
+ * created unless "ordered_by_key" is turned off. Events with no subscribers that will not be logged are dropped without
+ * being queued.
  *
  * @author Daniel (Underbalanced) (www.StarNub.org)
  * @since 1.0 Beta
@@ -22,6 +27,10 @@ public class StarNubEventRouter extends EventRouter<String, ObjectEvent> {
      */
     private static final StarNubEventRouter INSTANCE = new StarNubEventRouter();
 
+    private volatile LaneExecutor<ObjectEvent> eventLanes;
+    private volatile boolean orderedByKey = true;
+    private volatile boolean shutdown;
+
     private StarNubEventRouter(){
         super();
     }
@@ -30,16 +39,102 @@ public class StarNubEventRouter extends EventRouter<String, ObjectEvent> {
         return INSTANCE;
     }
 
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return the event lanes, creating them from the configuration on first use
+     *
+     * @return LaneExecutor the event lanes
+     */
+    private LaneExecutor<ObjectEvent> getEventLanes() {
+        LaneExecutor<ObjectEvent> eventLanes = this.eventLanes;
+        if (eventLanes == null) {
+            synchronized (this) {
+                eventLanes = this.eventLanes;
+                if (eventLanes == null) {
+                    int lanes = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "event_threads", "lanes");
+                    int batchSize = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "event_threads", "batch_size");
+                    orderedByKey = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "event_threads", "ordered_by_key");
+                    eventLanes = new LaneExecutor<>(lanes, batchSize, "StarNub - Events - Lane", this::handleEvent);
+                    this.eventLanes = eventLanes;
+                }
+            }
+        }
+        return eventLanes;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will check if a event would do anything, a event is only dispatched if it has subscribers or its "Event" log
+     * message is wanted
+     *
+     * @param eventKey Object the event key
+     * @return boolean true if the event should be dispatched
+     */
+    public boolean isDispatched(Object eventKey) {
+        if (getEVENT_SUBSCRIPTION_MAP().containsKey(eventKey)) {
+            return true;
+        }
+        MultiOutputLogger logger = StarNub.getLogger();
+        return logger != null && logger.isLogEventWanted() && !eventKey.equals("StarNub_Log_Event");
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will check if a event key has a subscriber other then the named subscriber
+     *
+     * @param eventKey Object the event key
+     * @param subscriberName String the subscriber to leave out
+     * @return boolean true if some other subscriber subscribes to this event key
+     */
+    public boolean hasOtherSubscribers(Object eventKey, String subscriberName) {
+        CopyOnWriteArrayList<EventSubscription> eventSubscriptions = getEVENT_SUBSCRIPTION_MAP().get(eventKey);
+        if (eventSubscriptions != null) {
+            for (EventSubscription eventSubscription : eventSubscriptions) {
+                if (!eventSubscription.getSUBSCRIBER_NAME().equals(subscriberName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public void eventNotify(ObjectEvent event){
-        StarNubTaskManager.getInstance().submit(() -> handleEvent(event));
+        Object eventKey = event.getEVENT_KEY();
+        if (!isDispatched(eventKey)) {
+            return;
+        }
+        if (shutdown) {
+            handleEvent(event);
+            return;
+        }
+        LaneExecutor<ObjectEvent> eventLanes = getEventLanes();
+        if (orderedByKey) {
+            eventLanes.submit(eventKey, event);
+        } else {
+            eventLanes.submit(event);
+        }
     }
 
     public void eventNotifyNullCheck(ObjectEvent event){
         if (StarNub.getConfiguration() != null) {
-            StarNubTaskManager starNubTaskManager = StarNubTaskManager.getInstance();
-            if (starNubTaskManager != null) {
-                starNubTaskManager.submit(() -> handleEvent(event));
-            }
+            eventNotify(event);
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will stop the event lanes, events still queued are dropped and events notified after this are handled on the
+     * thread that notifies them
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (eventLanes != null) {
+            eventLanes.shutdown();
+            eventLanes = null;
         }
     }
 
@@ -62,7 +157,7 @@ public class StarNubEventRouter extends EventRouter<String, ObjectEvent> {
                     }
                 }
             }
-            if (!eventKey.equals("StarNub_Log_Event") && StarNub.getLogger().isLogEvent()) {
+            if (!eventKey.equals("StarNub_Log_Event") && StarNub.getLogger().isLogEventWanted()) {
                 StarNub.getLogger().cEvePrint("StarNub", "Key: " + eventKey + ". Event Data Type: " + event.getClass().getSimpleName() + ".class. Event Data: " + event.getEVENT_DATA());
             }
     }
@@ -6,6 +6,7 @@ import org.starnub.starbounddata.types.chat.Mode;
 import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.StarNubTask;
 import org.starnub.starnubserver.events.events.StarNubEvent;
+import org.starnub.starnubserver.events.starnub.StarNubEventRouter;
 import org.starnub.starnubserver.events.starnub.StarNubEventSubscription;
 import org.starnub.starnubserver.resources.NameBuilder;
 import org.starnub.utilities.events.Priority;
@@ -716,6 +717,28 @@ public class MultiOutputLogger {
         return logFatal == 1 || logFatal == 3;
     }
 
+    /**
+     * A log message is only built if its log level is on or something other then this logger subscribes to its log event
+     *
+     * @param logging boolean true if this log level is on
+     * @param eventKey String the log event key
+     * @return boolean true if the log event should be sent
+     */
+    private boolean isWanted(boolean logging, String eventKey) {
+        return logging || StarNubEventRouter.getInstance().hasOtherSubscribers(eventKey, "StarNub");
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: Checks to see if "Event" messages are logged or subscribed to by something other then this logger
+     *
+     * @return boolean true if "Event" messages should be sent
+     */
+    public boolean isLogEventWanted() {
+        return isWanted(isLogEvent(), "StarNub_Log_Event");
+    }
+
     /**
      * This represents a higher level method for StarNubs API.
      * <p>
@@ -729,6 +752,9 @@ public class MultiOutputLogger {
      * @param message String that represents the Chat message
      */
     public void cEvePrint(Object sender, String message) {
+        if (!isLogEventWanted()) {
+            return;
+        }
         new StarNubEvent("StarNub_Log_Event", stringBuilder(sender, " Event", message));
     }
 
@@ -745,6 +771,9 @@ public class MultiOutputLogger {
      * @param message String that represents the Chat message
      */
     public void cDebPrint(Object sender, String message) {
+        if (!isWanted(isLogDebug(), "StarNub_Log_Debug")) {
+            return;
+        }
         new StarNubEvent("StarNub_Log_Debug", stringBuilder(sender, " Debug", message));
     }
 
@@ -763,6 +792,9 @@ public class MultiOutputLogger {
      * @param destination String where the message is going
      */
     public void cChatPrint(Object sender, Object destination, Object type, String message) {
+        if (!isWanted(isLogChat(), "StarNub_Log_Chat")) {
+            return;
+        }
         boolean charName = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "log_original_character_name_with_nick_name");
         String typeString = "Unknown";
         if (type instanceof Mode){
@@ -823,6 +855,9 @@ public class MultiOutputLogger {
      * @param message String message that was sent to the command sender, the reasons for failure
      */
     public void cCommandFailurePrint(Object sender, String message) {
+        if (!isWanted(isLogCommand(), "StarNub_Log_Command")) {
+            return;
+        }
         boolean charName = (boolean) StarNub.getConfiguration().getNestedValue("starnub_settings", "log_original_character_name_with_nick_name");
         new StarNubEvent("StarNub_Log_Command",
                 stringBuilder(
@@ -845,6 +880,9 @@ public class MultiOutputLogger {
      * @param message String representing the command that was successfully executed
      */
     public void cCommandSuccessPrint(Object sender, String message) {
+        if (!isWanted(isLogCommand(), "StarNub_Log_Command")) {
+            return;
+        }
         boolean charName = (boolean) StarNub.getConfiguration().getNestedValue("starnub_settings", "log_original_character_name_with_nick_name");
         new StarNubEvent("StarNub_Log_Command",
                 stringBuilder(
@@ -867,6 +905,9 @@ public class MultiOutputLogger {
      * @param message String that represents the Info message
      */
     public void cInfoPrint(Object sender, String message) {
+        if (!isWanted(isLogInformation(), "StarNub_Log_Information")) {
+            return;
+        }
         new StarNubEvent("StarNub_Log_Information", stringBuilder(sender, " Info", message));
     }
 
@@ -884,6 +925,9 @@ public class MultiOutputLogger {
      * @param message String that represents the error message
      */
     public void cWarnPrint(Object sender, String message) {
+        if (!isWanted(isLogWarning(), "StarNub_Log_Warning")) {
+            return;
+        }
         new StarNubEvent("StarNub_Log_Warning", stringBuilder(sender, " Warning", message));
     }
 
@@ -901,6 +945,9 @@ public class MultiOutputLogger {
      * @param message String that represents the error message
      */
     public void cErrPrint(Object sender, String message) {
+        if (!isWanted(isLogError(), "StarNub_Log_Error")) {
+            return;
+        }
         new StarNubEvent("StarNub_Log_Error", stringBuilder(sender, " Error", message));
     }
 
@@ -918,6 +965,9 @@ public class MultiOutputLogger {
      * @param message String that represents the error message
      */
     public void cFatPrint(Object sender, String message) {
+        if (!isWanted(isLogFatal(), "StarNub_Log_Fatal")) {
+            return;
+        }
         new StarNubEvent("StarNub_Log_Fatal", stringBuilder(sender, " Fatal", message));
     }
 
@@ -20,10 +20,9 @@ package org.starnub.starnubserver.resources;
 
 import org.starnub.starnubserver.resources.tokens.InternalTokens;
 import org.starnub.starnubserver.resources.tokens.StringToken;
+import org.starnub.utilities.strings.TokenTemplate;
 
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class StringTokens extends ConcurrentHashMap<String, StringToken>{
 
@@ -54,25 +53,24 @@ public class StringTokens extends ConcurrentHashMap<String, StringToken>{
      * <p>
      * Uses: This method will search for any string tokens {}, {players} and replace it with an object from the executed method
      * <p>
+     * Notes: Strings are parsed once into a {@link TokenTemplate} and cached, each token handler is still executed on every call
+     * <p>
      *
      * @param string String representing the whole entire message to be scanned for color shortcuts
      * @return String repenting the whole entire message with the shortcut colors replaced with hex colors for game display
      */
     public static String replaceTokens(String string) {
-        Pattern p = Pattern.compile("\\{.*?\\}");
-        Matcher m = p.matcher(string);
-        StringBuffer sb = new StringBuffer();
-        while (m.find()) {
-            String shortcut = m.group().toLowerCase();
-            StringToken stringToken = StringTokens.getInstance().get(shortcut);
-            Object results;
-            if (stringToken == null){
-                results =  "**TOKEN MISSING**";
-            } else {
-                results = stringToken.getTOKEN_HANDLER().getResults();
-            }
-            m.appendReplacement(sb, results.toString());
+        if (string.indexOf('{') < 0) {
+            return string;
+        }
+        return TokenTemplate.of(string).render(StringTokens::tokenResults);
+    }
+
+    private static Object tokenResults(String token) {
+        StringToken stringToken = instance.get(token);
+        if (stringToken == null){
+            return "**TOKEN MISSING**";
         }
-        return m.appendTail(sb).toString();
+        return stringToken.getTOKEN_HANDLER().getResults();
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starnubserver.resources.connections;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starnubserver.connections.player.session.PlayerSession;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Represents StarNubs packet broadcaster. A packet is encoded once and one task is handed to each event loop in the
+ * {@link RecipientSet}, that task writes to every channel on its loop.
+ * <p>
+ * Notes: Filters are tested on the recipients event loop. Each channel gets its own duplicate of the encoded packet so partial
+ * writes on one channel never move another channels reader index. Low priority broadcasts are dropped for channels that are
+ * not writable instead of growing their outbound buffer
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketBroadcaster {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    /**
+     * @return long the amount of low priority packets dropped because a channel was not writable
+     */
+    public static long getDropped() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will broadcast a packet to a set of recipients
+     *
+     * @param packet Packet the packet to broadcast
+     * @param recipients RecipientSet the recipients
+     * @param filter Predicate the filter a recipient must pass or null for everyone in the set
+     * @param flush boolean if each channel should be flushed after the write
+     * @param lowPriority boolean if this packet may be dropped for channels that are not writable
+     */
+    public static void broadcast(Packet packet, RecipientSet recipients, Predicate<PlayerSession> filter, boolean flush, boolean lowPriority) {
+        ByteBuf encodedPacket = packet.packetToMessageEncoder();
+        try {
+            for (Map.Entry<EventLoop, CopyOnWriteArrayList<PlayerSession>> eventLoopEntry : recipients.getByEventLoop()) {
+                CopyOnWriteArrayList<PlayerSession> playerSessions = eventLoopEntry.getValue();
+                if (playerSessions.isEmpty()) {
+                    continue;
+                }
+                EventLoop eventLoop = eventLoopEntry.getKey();
+                encodedPacket.retain();
+                if (eventLoop.inEventLoop()) {
+                    writeToEventLoop(encodedPacket, playerSessions, filter, flush, lowPriority);
+                } else {
+                    try {
+                        eventLoop.execute(() -> writeToEventLoop(encodedPacket, playerSessions, filter, flush, lowPriority));
+                    } catch (RejectedExecutionException e) {
+                        encodedPacket.release();
+                    }
+                }
+            }
+        } finally {
+            encodedPacket.release();
+        }
+        for (PlayerSession playerSession : recipients.getRemote()) {
+            if (filter == null || filter.test(playerSession)) {
+                playerSession.sendPacketToPlayer(packet);
+            }
+        }
+    }
+
+    /* Holds one reference of the encoded packet for the whole loop and releases it when done */
+    private static void writeToEventLoop(ByteBuf encodedPacket, List<PlayerSession> playerSessions, Predicate<PlayerSession> filter, boolean flush, boolean lowPriority) {
+        try {
+            for (PlayerSession playerSession : playerSessions) {
+                if (filter != null && !filter.test(playerSession)) {
+                    continue;
+                }
+                ChannelHandlerContext clientCTX = playerSession.getCONNECTION().getCLIENT_CTX();
+                Channel channel = clientCTX.channel();
+                if (!channel.isActive()) {
+                    continue;
+                }
+                if (lowPriority && !channel.isWritable()) {
+                    DROPPED.increment();
+                    continue;
+                }
+                encodedPacket.retain();
+                if (flush) {
+                    clientCTX.writeAndFlush(encodedPacket.duplicate(), clientCTX.voidPromise());
+                } else {
+                    clientCTX.write(encodedPacket.duplicate(), clientCTX.voidPromise());
+                }
+            }
+        } finally {
+            encodedPacket.release();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starnubserver.resources.connections;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.starnub.starnubserver.connections.player.StarNubProxyConnection;
+import org.starnub.starnubserver.connections.player.account.Account;
+import org.starnub.starnubserver.connections.player.character.PlayerCharacter;
+import org.starnub.starnubserver.connections.player.session.PlayerSession;
+import org.starnub.utilities.connectivity.ConnectionType;
+
+import java.net.InetAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the secondary indexes of the online {@link Players}. Each index maps a identifier to the online sessions,
+ * the identifiers a session was indexed under are remembered so a session can be moved or removed without searching.
+ * <p>
+ * Notes: Lookups do not lock, changes are made one session at a time under this indexes lock
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+class PlayerSessionIndex {
+
+    private final ConcurrentHashMap<UUID, PlayerSession> UUID_INDEX = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<InetAddress, Set<PlayerSession>> IP_INDEX = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<PlayerSession>> NAME_INDEX = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PlayerSession> STARBOUND_ID_INDEX = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, PlayerSession> STARNUB_ID_INDEX = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ChannelHandlerContext, PlayerSession> SERVER_CTX_INDEX = new ConcurrentHashMap<>();
+    private final HashMap<PlayerSession, IndexKeys> INDEXED_KEYS = new HashMap<>();
+
+    PlayerSession getByUUID(UUID uuid) {
+        return UUID_INDEX.get(uuid);
+    }
+
+    PlayerSession getByIP(InetAddress ip) {
+        return any(IP_INDEX.get(ip));
+    }
+
+    PlayerSession getByName(String name) {
+        return any(NAME_INDEX.get(normalizeName(name)));
+    }
+
+    PlayerSession getByStarboundClientId(long starboundClientId) {
+        return STARBOUND_ID_INDEX.get(starboundClientId);
+    }
+
+    PlayerSession getByStarNubId(int starnubId) {
+        return STARNUB_ID_INDEX.get(starnubId);
+    }
+
+    PlayerSession getByServerCTX(ChannelHandlerContext serverCTX) {
+        return SERVER_CTX_INDEX.get(serverCTX);
+    }
+
+    /**
+     * This will index or re index a session under its current identifiers
+     *
+     * @param playerSession PlayerSession the online session
+     */
+    synchronized void index(PlayerSession playerSession) {
+        remove(playerSession);
+        IndexKeys indexKeys = new IndexKeys(playerSession);
+        UUID_INDEX.put(indexKeys.uuid, playerSession);
+        if (indexKeys.ip != null) {
+            IP_INDEX.computeIfAbsent(indexKeys.ip, ip -> ConcurrentHashMap.newKeySet()).add(playerSession);
+        }
+        for (String name : indexKeys.names) {
+            NAME_INDEX.computeIfAbsent(name, n -> ConcurrentHashMap.newKeySet()).add(playerSession);
+        }
+        STARBOUND_ID_INDEX.put(indexKeys.starboundClientId, playerSession);
+        if (indexKeys.starnubId != null) {
+            STARNUB_ID_INDEX.put(indexKeys.starnubId, playerSession);
+        }
+        if (indexKeys.serverCTX != null) {
+            SERVER_CTX_INDEX.put(indexKeys.serverCTX, playerSession);
+        }
+        INDEXED_KEYS.put(playerSession, indexKeys);
+    }
+
+    /**
+     * This will remove a session from every index using the identifiers it was indexed under
+     *
+     * @param playerSession PlayerSession the session to remove
+     */
+    synchronized void remove(PlayerSession playerSession) {
+        IndexKeys indexKeys = INDEXED_KEYS.remove(playerSession);
+        if (indexKeys == null) {
+            return;
+        }
+        UUID_INDEX.remove(indexKeys.uuid, playerSession);
+        if (indexKeys.ip != null) {
+            removeFromSet(IP_INDEX, indexKeys.ip, playerSession);
+        }
+        for (String name : indexKeys.names) {
+            removeFromSet(NAME_INDEX, name, playerSession);
+        }
+        STARBOUND_ID_INDEX.remove(indexKeys.starboundClientId, playerSession);
+        if (indexKeys.starnubId != null) {
+            STARNUB_ID_INDEX.remove(indexKeys.starnubId, playerSession);
+        }
+        if (indexKeys.serverCTX != null) {
+            SERVER_CTX_INDEX.remove(indexKeys.serverCTX, playerSession);
+        }
+    }
+
+    synchronized boolean isIndexed(PlayerSession playerSession) {
+        return INDEXED_KEYS.containsKey(playerSession);
+    }
+
+    private static <K> void removeFromSet(ConcurrentHashMap<K, Set<PlayerSession>> index, K key, PlayerSession playerSession) {
+        index.computeIfPresent(key, (k, playerSessions) -> {
+            playerSessions.remove(playerSession);
+            return playerSessions.isEmpty() ? null : playerSessions;
+        });
+    }
+
+    private static PlayerSession any(Set<PlayerSession> playerSessions) {
+        if (playerSessions == null) {
+            return null;
+        }
+        Iterator<PlayerSession> iterator = playerSessions.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Represents the identifiers a session was indexed under
+     */
+    private static class IndexKeys {
+
+        private final UUID uuid;
+        private final InetAddress ip;
+        private final HashSet<String> names = new HashSet<>();
+        private final long starboundClientId;
+        private final Integer starnubId;
+        private final ChannelHandlerContext serverCTX;
+
+        private IndexKeys(PlayerSession playerSession) {
+            PlayerCharacter playerCharacter = playerSession.getPlayerCharacter();
+            this.uuid = playerCharacter.getUuid();
+            this.ip = playerSession.getCONNECTION().getClientIP();
+            addName(playerCharacter.getName());
+            addName(playerCharacter.getCleanName());
+            addName(playerSession.getNickName());
+            addName(playerSession.getCleanNickName());
+            addName(playerSession.getGameName());
+            this.starboundClientId = playerSession.getStarboundClientId();
+            Account account = playerCharacter.getAccount();
+            this.starnubId = account == null ? null : account.getStarnubId();
+            if (playerSession.getCONNECTION_TYPE() == ConnectionType.PROXY_IN_GAME) {
+                this.serverCTX = ((StarNubProxyConnection) playerSession.getCONNECTION()).getSERVER_CTX();
+            } else {
+                this.serverCTX = null;
+            }
+        }
+
+        private void addName(String name) {
+            if (name != null) {
+                names.add(normalizeName(name));
+            }
+        }
+    }
+}
@@ -25,22 +25,27 @@ import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.connection.ClientConnectPacket;
 import org.starnub.starbounddata.packets.connection.ConnectResponsePacket;
 import org.starnub.starbounddata.packets.connection.ServerDisconnectPacket;
+import org.starnub.starbounddata.packets.warp.PlayerWarp;
+import org.starnub.starbounddata.packets.world.WorldStartPacket;
+import org.starnub.starbounddata.packets.world.WorldStopPacket;
 import org.starnub.starnubdata.generic.DisconnectReason;
 import org.starnub.starnubserver.Connections;
 import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.StarNubTask;
 import org.starnub.starnubserver.cache.wrappers.PlayerCtxCacheWrapper;
-import org.starnub.starnubserver.connections.player.StarNubProxyConnection;
 import org.starnub.starnubserver.connections.player.character.PlayerCharacter;
 import org.starnub.starnubserver.connections.player.session.PlayerSession;
 import org.starnub.starnubserver.events.packet.PacketEventSubscription;
+import org.starnub.starnubserver.events.packet.PacketHandlerPool;
 import org.starnub.starnubserver.resources.connections.handlers.ClientConnectHandler;
 import org.starnub.starnubserver.resources.connections.handlers.ConnectionResponseHandler;
+import org.starnub.starnubserver.resources.connections.handlers.PlayerWarpHandler;
 import org.starnub.starnubserver.resources.connections.handlers.ServerDisconnectHandler;
+import org.starnub.starnubserver.resources.connections.handlers.WorldStartHandler;
+import org.starnub.starnubserver.resources.connections.handlers.WorldStopHandler;
 import org.starnub.starnubserver.resources.files.Operators;
 import org.starnub.starnubserver.resources.predicates.CTXPredicates;
 import org.starnub.starnubserver.resources.predicates.PSPredicates;
-import org.starnub.utilities.connectivity.ConnectionType;
 import org.starnub.utilities.events.Priority;
 
 import java.net.InetAddress;
@@ -61,6 +66,9 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
     private final Connections CONNECTIONS;
     private final PlayerCtxCacheWrapper ACCEPT_REJECT;
     private final Operators OPERATORS = Operators.getInstance();
+    private final PlayerSessionIndex INDEX = new PlayerSessionIndex();
+    private final RecipientSet ALL_RECIPIENTS = new RecipientSet();
+    private final WorldIndex WORLDS = new WorldIndex();
 
     /**
      * Creates a new, empty map with an initial table size based on
@@ -91,10 +99,15 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
 
     private void registerPacketHandlers(int concurrencyLevel){
         /* Connection Related */
-        new PacketEventSubscription("StarNub", Priority.CRITICAL, ClientConnectPacket.class, new ClientConnectHandler(CONNECTIONS, concurrencyLevel));
+        PacketEventSubscription clientConnect = new PacketEventSubscription("StarNub", Priority.CRITICAL, ClientConnectPacket.class, new ClientConnectHandler(CONNECTIONS, concurrencyLevel));
+        /* The join checks block on the database, they run on their own pool and the client is held by its decoder until they are done */
+        clientConnect.setExecutor(PacketHandlerPool.getInstance().getJOIN_EXECUTOR());
         new PacketEventSubscription("StarNub", Priority.CRITICAL, ConnectResponsePacket.class, new ConnectionResponseHandler(CONNECTIONS));
         new PacketEventSubscription("StarNub", Priority.CRITICAL, ServerDisconnectPacket.class, new ServerDisconnectHandler(CONNECTIONS));
-        // LOCATION TRACKING HANDLERS
+        /* Location Tracking */
+        new PacketEventSubscription("StarNub", Priority.CRITICAL, PlayerWarp.class, new PlayerWarpHandler(CONNECTIONS));
+        new PacketEventSubscription("StarNub", Priority.CRITICAL, WorldStartPacket.class, new WorldStartHandler(CONNECTIONS));
+        new PacketEventSubscription("StarNub", Priority.CRITICAL, WorldStopPacket.class, new WorldStopHandler(CONNECTIONS));
 
         /* Permission Related */ // ??
         packetDebug();
@@ -253,10 +266,99 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
         return ACCEPT_REJECT;
     }
 
+    /**
+     * @return RecipientSet every online player grouped by event loop, used for broadcast
+     */
+    public RecipientSet getALL_RECIPIENTS() {
+        return ALL_RECIPIENTS;
+    }
+
+    /**
+     * @return WorldIndex which world each online player is on, used for world broadcast and range lookups
+     */
+    public WorldIndex getWORLDS() {
+        return WORLDS;
+    }
+
     public Operators getOPERATORS() {
         return OPERATORS;
     }
 
+    /**
+     * Recommended: For connections use with StarNub.
+     * <p>
+     * Uses: This will add a online player and index it under all of its identifiers
+     *
+     * @param key ChannelHandlerContext the players client context
+     * @param value PlayerSession the players session
+     * @return PlayerSession the previous session for this context or null
+     */
+    @Override
+    public PlayerSession put(ChannelHandlerContext key, PlayerSession value) {
+        synchronized (INDEX) {
+            PlayerSession previous = super.put(key, value);
+            if (previous != null && previous != value) {
+                INDEX.remove(previous);
+                ALL_RECIPIENTS.remove(previous);
+                WORLDS.remove(previous);
+            }
+            INDEX.index(value);
+            ALL_RECIPIENTS.add(value);
+            return previous;
+        }
+    }
+
+    /**
+     * Recommended: For connections use with StarNub.
+     * <p>
+     * Uses: This will remove a online player and all of its index entries
+     *
+     * @param key Object the players client context
+     * @return PlayerSession the removed session or null
+     */
+    @Override
+    public PlayerSession remove(Object key) {
+        synchronized (INDEX) {
+            PlayerSession playerSession = super.remove(key);
+            if (playerSession != null) {
+                INDEX.remove(playerSession);
+                ALL_RECIPIENTS.remove(playerSession);
+                WORLDS.remove(playerSession);
+            }
+            return playerSession;
+        }
+    }
+
+    /**
+     * Recommended: For connections use with StarNub.
+     * <p>
+     * Uses: This will re index a online player after one of its identifiers changed (nick name, Starbound id, account), players that
+     * are not online are ignored
+     *
+     * @param playerSession PlayerSession the session to re index
+     */
+    public void reindex(PlayerSession playerSession) {
+        synchronized (INDEX) {
+            if (INDEX.isIndexed(playerSession)) {
+                INDEX.index(playerSession);
+            }
+        }
+    }
+
+    /**
+     * Recommended: For connections use with StarNub.
+     * <p>
+     * Uses: This will re index the online player of a character after the character changed
+     *
+     * @param playerCharacter PlayerCharacter the character that changed
+     */
+    public void reindex(PlayerCharacter playerCharacter) {
+        PlayerSession playerSession = INDEX.getByUUID(playerCharacter.getUuid());
+        if (playerSession != null) {
+            reindex(playerSession);
+        }
+    }
+
 
     /**
      * Recommended: For connections use with StarNub.
@@ -352,9 +454,14 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
     }
 
     private PlayerSession playerByPacket(Packet packet){
-        return this.values().stream()
-                   .filter(p -> p.getCONNECTION().getCLIENT_CTX() == packet.getSENDER_CTX() || p.getCONNECTION().getCLIENT_CTX() == packet.getDESTINATION_CTX())
-                   .findAny().orElse(null);
+        PlayerSession playerSession = null;
+        if (packet.getSENDER_CTX() != null) {
+            playerSession = this.get(packet.getSENDER_CTX());
+        }
+        if (playerSession == null && packet.getDESTINATION_CTX() != null) {
+            playerSession = this.get(packet.getDESTINATION_CTX());
+        }
+        return playerSession;
     }
 
     /**
@@ -382,12 +489,7 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
      * @return Player which represents the player that was retrieved by the provided uuid
      */
     private PlayerSession playerByUUID(UUID uuid) {
-        for (PlayerSession playerSessionSession : this.values()){
-            if (playerSessionSession.getPlayerCharacter().getUuid().equals(uuid)) {
-                return playerSessionSession;
-            }
-        }
-        return null;
+        return INDEX.getByUUID(uuid);
     }
 
     /**
@@ -399,12 +501,7 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
      * @return Player which represents the player that was retrieved by the provided InetAddress
      */
     private PlayerSession playerByIP(InetAddress ip) {
-        for (PlayerSession playerSessionSession : this.values()){
-            if (playerSessionSession.getCONNECTION().getClientIP().equals(ip)) {
-                return playerSessionSession;
-            }
-        }
-        return null;
+        return INDEX.getByIP(ip);
     }
 
     /**
@@ -417,14 +514,7 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
      * @return Player which represents the player that was retrieved by the provided String
      */
     private PlayerSession playerByName(String identifierString) {
-        for (PlayerSession playerSessionSession : this.values()){
-            if (playerSessionSession.getPlayerCharacter().getName().equalsIgnoreCase(identifierString) || playerSessionSession.getPlayerCharacter().getCleanName().equalsIgnoreCase(identifierString) ||
-                    playerSessionSession.getNickName().equalsIgnoreCase(identifierString) || playerSessionSession.getCleanNickName().equalsIgnoreCase(identifierString) ||
-                    playerSessionSession.getGameName().equalsIgnoreCase(identifierString)) {
-                return playerSessionSession;
-            }
-        }
-        return null;
+        return INDEX.getByName(identifierString);
     }
 
     /**
@@ -438,12 +528,7 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
      * @return Player which represents the player that was retrieved by the provided Integer
      */
     private PlayerSession playerByStarboundClientID(int starboundClientId) {
-        for (PlayerSession playerSessionSession : this.values()){
-            if (playerSessionSession.getStarboundClientId() == starboundClientId) {
-                return playerSessionSession;
-            }
-        }
-        return null;
+        return INDEX.getByStarboundClientId(starboundClientId);
     }
 
     /**
@@ -456,12 +541,7 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
      * @return Player which represents the player that was retrieved by the provided Integer
      */
     private PlayerSession playerByStarNubClientID(int starnubClientId) {
-        for (PlayerSession playerSessionSession : this.values()){
-            if (playerSessionSession.getPlayerCharacter().getAccount().getStarnubId() == starnubClientId) {
-                return playerSessionSession;
-            }
-        }
-        return null;
+        return INDEX.getByStarNubId(starnubClientId);
     }
 
     /**
@@ -475,13 +555,11 @@ public class Players extends ConcurrentHashMap<ChannelHandlerContext, PlayerSess
      * @return Player which represents the player that was retrieved by the provided ChannelHandlerContext
      */
     private PlayerSession playerByCTX(ChannelHandlerContext ctx) {
-        for (PlayerSession playerSessionSession : this.values()){
-            if (playerSessionSession.getCONNECTION().getCLIENT_CTX() == ctx
-                    || (playerSessionSession.getCONNECTION_TYPE() == ConnectionType.PROXY_IN_GAME && ((StarNubProxyConnection) playerSessionSession.getCONNECTION()).getSERVER_CTX() == ctx)) {
-                return playerSessionSession;
-            }
+        PlayerSession playerSession = this.get(ctx);
+        if (playerSession == null) {
+            playerSession = INDEX.getByServerCTX(ctx);
         }
-        return null;
+        return playerSession;
     }
 
     public ChannelHandlerContext[] getOnlinePlayersCtxs(){
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starnubserver.resources.connections;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import org.starnub.starnubserver.connections.player.session.PlayerSession;
+import org.starnub.utilities.connectivity.ConnectionType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Represents a set of broadcast recipients kept grouped by the event loop their client channel is on, so a broadcast to this set
+ * is a single task per event loop with no per broadcast sorting.
+ * <p>
+ * Notes: StarNub keeps a set for all online players in {@link Players#getALL_RECIPIENTS()}, plugins can build their own sets
+ * (a group, a world) and add and remove sessions as they change
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class RecipientSet {
+
+    private final ConcurrentHashMap<EventLoop, CopyOnWriteArrayList<PlayerSession>> BY_EVENT_LOOP = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<PlayerSession> REMOTE = new CopyOnWriteArrayList<>();
+
+    public RecipientSet() {
+    }
+
+    Set<Map.Entry<EventLoop, CopyOnWriteArrayList<PlayerSession>>> getByEventLoop() {
+        return BY_EVENT_LOOP.entrySet();
+    }
+
+    CopyOnWriteArrayList<PlayerSession> getRemote() {
+        return REMOTE;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will add a session to this set, a session is only added once
+     *
+     * @param playerSession PlayerSession the session to add
+     */
+    public void add(PlayerSession playerSession) {
+        if (playerSession.getCONNECTION_TYPE() == ConnectionType.PROXY_IN_GAME) {
+            ChannelHandlerContext clientCTX = playerSession.getCONNECTION().getCLIENT_CTX();
+            BY_EVENT_LOOP.computeIfAbsent(clientCTX.channel().eventLoop(), eventLoop -> new CopyOnWriteArrayList<>()).addIfAbsent(playerSession);
+        } else {
+            REMOTE.addIfAbsent(playerSession);
+        }
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will remove a session from this set
+     *
+     * @param playerSession PlayerSession the session to remove
+     */
+    public void remove(PlayerSession playerSession) {
+        if (playerSession.getCONNECTION_TYPE() == ConnectionType.PROXY_IN_GAME) {
+            ChannelHandlerContext clientCTX = playerSession.getCONNECTION().getCLIENT_CTX();
+            CopyOnWriteArrayList<PlayerSession> playerSessions = BY_EVENT_LOOP.get(clientCTX.channel().eventLoop());
+            if (playerSessions != null) {
+                playerSessions.remove(playerSession);
+            }
+        } else {
+            REMOTE.remove(playerSession);
+        }
+    }
+
+    public boolean contains(PlayerSession playerSession) {
+        if (REMOTE.contains(playerSession)) {
+            return true;
+        }
+        for (CopyOnWriteArrayList<PlayerSession> playerSessions : BY_EVENT_LOOP.values()) {
+            if (playerSessions.contains(playerSession)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        int size = REMOTE.size();
+        for (CopyOnWriteArrayList<PlayerSession> playerSessions : BY_EVENT_LOOP.values()) {
+            size += playerSessions.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        BY_EVENT_LOOP.clear();
+        REMOTE.clear();
+    }
+}
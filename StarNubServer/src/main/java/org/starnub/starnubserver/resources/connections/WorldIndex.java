@@ -0,0 +1,417 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.resources.connections;
+
+import org.starnub.starbounddata.packets.warp.PlayerWarp;
+import org.starnub.starbounddata.types.warp.ClientShipWorld;
+import org.starnub.starbounddata.types.warp.MissionWorld;
+import org.starnub.starbounddata.types.warp.WarpId;
+import org.starnub.starnubserver.StarNub;
+import org.starnub.starnubserver.connections.player.session.PlayerSession;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the index of which world each online player is on, kept up to date from the warp and world start and stop packets.
+ * Each world keeps its players as a set, a {@link RecipientSet} for world broadcast and a grid of positions for range lookups.
+ * <p>
+ * Notes:
+ * - World ids are built from the warp a player requested, "ClientShipWorld:uuid", "MissionWorld:name", or the warp id and the raw
+ * location for unique and celestial worlds. Warps that can not be resolved (orbited world) are indexed per player as "Unknown:uuid"
+ * - Positions come from the world start spawn point, plugins with better position data can call {@link #updatePosition(PlayerSession, float, float)}
+ * - Lookups do not lock, changes are made one session at a time under this indexes lock
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class WorldIndex {
+
+    private final ConcurrentHashMap<String, World> WORLDS = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<PlayerSession, Whereabouts> WHEREABOUTS = new ConcurrentHashMap<>();
+    private final int CELL_SIZE;
+
+    public WorldIndex() {
+        this((int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "world_index", "grid_cell_size"));
+    }
+
+    /**
+     * @param CELL_SIZE int the width and height in tiles of a grid cell, 0 or less disables the grid and range lookups scan the world
+     */
+    public WorldIndex(int CELL_SIZE) {
+        this.CELL_SIZE = CELL_SIZE;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the world id a player is on
+     *
+     * @param playerSession PlayerSession the player
+     * @return String the world id or null if the player has not started a world yet
+     */
+    public String getWorldId(PlayerSession playerSession) {
+        Whereabouts whereabouts = WHEREABOUTS.get(playerSession);
+        return whereabouts == null ? null : whereabouts.worldId;
+    }
+
+    /**
+     * @return Set of String the ids of every world with at least one player on it
+     */
+    public Set<String> getWorldIds() {
+        return Collections.unmodifiableSet(WORLDS.keySet());
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the players on a world, this is a live read only view and does not copy
+     *
+     * @param worldId String the world id
+     * @return Set of PlayerSession the players on the world, empty if there are none
+     */
+    public Set<PlayerSession> getPlayersOnWorld(String worldId) {
+        World world = WORLDS.get(worldId);
+        return world == null ? Collections.emptySet() : Collections.unmodifiableSet(world.PLAYERS);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the players on the same world as this player, including this player
+     *
+     * @param playerSession PlayerSession the player
+     * @return Set of PlayerSession the players on the world, empty if the player is not on a world
+     */
+    public Set<PlayerSession> getPlayersOnSameWorld(PlayerSession playerSession) {
+        String worldId = getWorldId(playerSession);
+        return worldId == null ? Collections.emptySet() : getPlayersOnWorld(worldId);
+    }
+
+    public int getPlayerCount(String worldId) {
+        World world = WORLDS.get(worldId);
+        return world == null ? 0 : world.PLAYERS.size();
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the broadcast recipients of a world, used with {@link PlayerSession#sendPacketToRecipients}
+     *
+     * @param worldId String the world id
+     * @return RecipientSet the players on the world or null if there are none
+     */
+    public RecipientSet getRecipients(String worldId) {
+        World world = WORLDS.get(worldId);
+        return world == null ? null : world.RECIPIENTS;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the players on a world within a square range of a position. Only players with a known position are returned
+     *
+     * @param worldId String the world id
+     * @param x float the x position in tiles
+     * @param y float the y position in tiles
+     * @param range float the distance in tiles on each axis
+     * @return List of PlayerSession the players in range
+     */
+    public List<PlayerSession> getPlayersInRange(String worldId, float x, float y, float range) {
+        World world = WORLDS.get(worldId);
+        if (world == null) {
+            return Collections.emptyList();
+        }
+        ArrayList<PlayerSession> inRange = new ArrayList<>();
+        if (CELL_SIZE <= 0) {
+            for (PlayerSession playerSession : world.PLAYERS) {
+                addIfInRange(inRange, playerSession, worldId, x, y, range);
+            }
+            return inRange;
+        }
+        int minCellX = cell(x - range);
+        int maxCellX = cell(x + range);
+        int minCellY = cell(y - range);
+        int maxCellY = cell(y + range);
+        long cells = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        if (cells > world.GRID.size()) {
+            for (Set<PlayerSession> cell : world.GRID.values()) {
+                for (PlayerSession playerSession : cell) {
+                    addIfInRange(inRange, playerSession, worldId, x, y, range);
+                }
+            }
+            return inRange;
+        }
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                Set<PlayerSession> cell = world.GRID.get(cellKey(cellX, cellY));
+                if (cell != null) {
+                    for (PlayerSession playerSession : cell) {
+                        addIfInRange(inRange, playerSession, worldId, x, y, range);
+                    }
+                }
+            }
+        }
+        return inRange;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the players on the same world within a square range of this players position, not including this player
+     *
+     * @param playerSession PlayerSession the player at the center
+     * @param range float the distance in tiles on each axis
+     * @return List of PlayerSession the players in range, empty if this players position is not known
+     */
+    public List<PlayerSession> getPlayersInRange(PlayerSession playerSession, float range) {
+        Whereabouts whereabouts = WHEREABOUTS.get(playerSession);
+        if (whereabouts == null || whereabouts.worldId == null || !whereabouts.positioned) {
+            return Collections.emptyList();
+        }
+        List<PlayerSession> inRange = getPlayersInRange(whereabouts.worldId, whereabouts.x, whereabouts.y, range);
+        inRange.remove(playerSession);
+        return inRange;
+    }
+
+    private void addIfInRange(List<PlayerSession> inRange, PlayerSession playerSession, String worldId, float x, float y, float range) {
+        Whereabouts whereabouts = WHEREABOUTS.get(playerSession);
+        if (whereabouts != null && whereabouts.positioned && worldId.equals(whereabouts.worldId)
+                && Math.abs(whereabouts.x - x) <= range && Math.abs(whereabouts.y - y) <= range) {
+            inRange.add(playerSession);
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub location tracking.
+     * <p>
+     * Uses: This will remember the world a player asked to warp to, the player is moved when the world starts
+     *
+     * @param playerSession PlayerSession the player warping
+     * @param playerWarp PlayerWarp the warp packet
+     */
+    public synchronized void warpRequested(PlayerSession playerSession, PlayerWarp playerWarp) {
+        Whereabouts whereabouts = WHEREABOUTS.computeIfAbsent(playerSession, p -> new Whereabouts());
+        whereabouts.pendingWorldId = worldIdOf(playerSession, playerWarp, whereabouts);
+    }
+
+    /**
+     * Recommended: For internal use with StarNub location tracking.
+     * <p>
+     * Uses: This will move a player to the world they warped to, or their own ship if this is the first world since connecting
+     *
+     * @param playerSession PlayerSession the player
+     * @param x float the spawn x position in tiles
+     * @param y float the spawn y position in tiles
+     */
+    public synchronized void worldStarted(PlayerSession playerSession, float x, float y) {
+        Whereabouts whereabouts = WHEREABOUTS.computeIfAbsent(playerSession, p -> new Whereabouts());
+        String worldId = whereabouts.pendingWorldId;
+        if (worldId == null) {
+            worldId = whereabouts.previousWorldId == null && whereabouts.worldId == null ? ownShip(playerSession) : unknown(playerSession);
+        }
+        whereabouts.pendingWorldId = null;
+        leaveWorld(playerSession, whereabouts);
+        whereabouts.worldId = worldId;
+        WORLDS.computeIfAbsent(worldId, World::new).add(playerSession);
+        setPosition(playerSession, whereabouts, x, y);
+    }
+
+    /**
+     * Recommended: For internal use with StarNub location tracking.
+     * <p>
+     * Uses: This will remove a player from the world they were on, the world is remembered for a return warp
+     *
+     * @param playerSession PlayerSession the player
+     */
+    public synchronized void worldStopped(PlayerSession playerSession) {
+        Whereabouts whereabouts = WHEREABOUTS.get(playerSession);
+        if (whereabouts != null) {
+            leaveWorld(playerSession, whereabouts);
+        }
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will update a players position on the world they are on, players not on a world are ignored
+     *
+     * @param playerSession PlayerSession the player
+     * @param x float the x position in tiles
+     * @param y float the y position in tiles
+     */
+    public synchronized void updatePosition(PlayerSession playerSession, float x, float y) {
+        Whereabouts whereabouts = WHEREABOUTS.get(playerSession);
+        if (whereabouts != null && whereabouts.worldId != null) {
+            setPosition(playerSession, whereabouts, x, y);
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will remove a player that disconnected from the index
+     *
+     * @param playerSession PlayerSession the player
+     */
+    public synchronized void remove(PlayerSession playerSession) {
+        Whereabouts whereabouts = WHEREABOUTS.remove(playerSession);
+        if (whereabouts != null) {
+            leaveWorld(playerSession, whereabouts);
+        }
+    }
+
+    private void leaveWorld(PlayerSession playerSession, Whereabouts whereabouts) {
+        if (whereabouts.worldId == null) {
+            return;
+        }
+        World world = WORLDS.get(whereabouts.worldId);
+        if (world != null) {
+            if (whereabouts.positioned) {
+                world.removeFromCell(whereabouts.cell, playerSession);
+            }
+            world.PLAYERS.remove(playerSession);
+            world.RECIPIENTS.remove(playerSession);
+            if (world.PLAYERS.isEmpty()) {
+                WORLDS.remove(whereabouts.worldId, world);
+            }
+        }
+        whereabouts.previousWorldId = whereabouts.worldId;
+        whereabouts.worldId = null;
+        whereabouts.positioned = false;
+    }
+
+    private void setPosition(PlayerSession playerSession, Whereabouts whereabouts, float x, float y) {
+        World world = WORLDS.get(whereabouts.worldId);
+        if (CELL_SIZE > 0 && world != null) {
+            long cell = cellKey(cell(x), cell(y));
+            if (!whereabouts.positioned || whereabouts.cell != cell) {
+                if (whereabouts.positioned) {
+                    world.removeFromCell(whereabouts.cell, playerSession);
+                }
+                world.GRID.computeIfAbsent(cell, c -> ConcurrentHashMap.newKeySet()).add(playerSession);
+                whereabouts.cell = cell;
+            }
+        }
+        whereabouts.x = x;
+        whereabouts.y = y;
+        whereabouts.positioned = true;
+    }
+
+    private int cell(float position) {
+        return (int) Math.floor(position / CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * This will build the world id for a warp, null if the destination can not be known from the packet
+     */
+    private static String worldIdOf(PlayerSession playerSession, PlayerWarp playerWarp, Whereabouts whereabouts) {
+        if (playerWarp.getWarpType() == null) {
+            return null;
+        }
+        switch (playerWarp.getWarpType()) {
+            case WARP_TO_OWN_SHIP: return ownShip(playerSession);
+            case WARP_TO_HOMEWORLD: return "HomeWorld:" + playerSession.getPlayerCharacter().getUuid();
+            case WARP_RETURN: return whereabouts.previousWorldId;
+            case WARP_TO_ORBITED_WORLD: return null;
+            default: break;
+        }
+        WarpId warpId = playerWarp.getWarpId();
+        Object locationId = playerWarp.getLocationId();
+        if (warpId == null || locationId == null) {
+            return null;
+        }
+        switch (warpId) {
+            case CLIENT_SHIP_WORLD: {
+                UUID uuid = ((ClientShipWorld) locationId).getUuid();
+                return uuid == null ? ownShip(playerSession) : "ClientShipWorld:" + uuid;
+            }
+            case MISSION_WORLD: {
+                MissionWorld missionWorld = (MissionWorld) locationId;
+                return "MissionWorld:" + missionWorld.getName() + (missionWorld.getUuid() == null ? "" : ":" + missionWorld.getUuid());
+            }
+            case UNIQUE_WORLD:
+            case CELESTIAL_WORLD: {
+                return warpId.name() + ":" + Base64.getEncoder().encodeToString((byte[]) locationId);
+            }
+            default: return null;
+        }
+    }
+
+    private static String ownShip(PlayerSession playerSession) {
+        return "ClientShipWorld:" + playerSession.getPlayerCharacter().getUuid();
+    }
+
+    private static String unknown(PlayerSession playerSession) {
+        return "Unknown:" + playerSession.getPlayerCharacter().getUuid();
+    }
+
+    /**
+     * Represents where a player is, guarded by the indexes lock for changes
+     */
+    private static class Whereabouts {
+
+        private volatile String worldId;
+        private volatile String pendingWorldId;
+        private volatile String previousWorldId;
+        private volatile boolean positioned;
+        private volatile float x;
+        private volatile float y;
+        private long cell;
+    }
+
+    /**
+     * Represents the players on a single world
+     */
+    private static class World {
+
+        private final String WORLD_ID;
+        private final Set<PlayerSession> PLAYERS = ConcurrentHashMap.newKeySet();
+        private final RecipientSet RECIPIENTS = new RecipientSet();
+        private final ConcurrentHashMap<Long, Set<PlayerSession>> GRID = new ConcurrentHashMap<>();
+
+        private World(String WORLD_ID) {
+            this.WORLD_ID = WORLD_ID;
+        }
+
+        private void add(PlayerSession playerSession) {
+            PLAYERS.add(playerSession);
+            RECIPIENTS.add(playerSession);
+        }
+
+        private void removeFromCell(long cell, PlayerSession playerSession) {
+            GRID.computeIfPresent(cell, (c, playerSessions) -> {
+                playerSessions.remove(playerSession);
+                return playerSessions.isEmpty() ? null : playerSessions;
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "World{" +
+                    "WORLD_ID='" + WORLD_ID + '\'' +
+                    ", PLAYERS=" + PLAYERS.size() +
+                    '}';
+        }
+    }
+}
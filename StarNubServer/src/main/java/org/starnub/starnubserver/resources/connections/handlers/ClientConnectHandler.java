@@ -80,6 +80,10 @@ public class ClientConnectHandler implements PacketEventHandler {
      * Recommended: For connections use with StarNub
      * <p>
      * Uses: Handles Client Connection Packets for connection attempts. Step 1 of 2 (ConnectionResponsePacket is Part 2).
+     * <p>
+     * Notes: This subscription is async, it runs on the join pool of the {@link org.starnub.starnubserver.events.packet.PacketHandlerPool}
+     * because the player session and the connection checks touch the database. The decoder does not read from the client until this
+     * returns, the accept or reject cache is filled before the packet is forwarded to Starbound
      *
      * @param eventData Packet representing the packet being routed
      */
@@ -90,6 +94,28 @@ public class ClientConnectHandler implements PacketEventHandler {
 
         StarNubProxyConnection starnubProxyConnection = (StarNubProxyConnection) StarNub.getConnections().getOPEN_CONNECTIONS().remove(clientCTX);
 
+        try {
+            RejectionCache rejectionCache = joinChecks(starnubProxyConnection, clientConnectPacket);
+            rejectionCache.getPLAYERSession().getPlayerCharacter().updateLastSeen(DateTime.now());
+            addToRejections(rejectionCache, clientConnectPacket);
+        } catch (Exception e) {
+            StarNub.getLogger().cErrPrint("StarNub", "An error occurred processing a connection attempt from " + clientConnectPacket.getPlayerName() + ": " + e.getMessage());
+            clientConnectPacket.recycle();
+            clientCTX.close();
+        }
+    }
+
+    /**
+     * Recommended: For connections use with StarNub
+     * <p>
+     * Uses: This will build the players session and run each of the connection checks in order, this blocks on the database
+     * and should never be called from a event loop
+     *
+     * @param starnubProxyConnection StarNubProxyConnection the connection this player is connecting on
+     * @param clientConnectPacket ClientConnectPacket representing the starnubclient connection packet
+     * @return RejectionCache the rejection cache for this connection attempt, it is not a rejection if the player is allowed
+     */
+    private RejectionCache joinChecks(StarNubProxyConnection starnubProxyConnection, ClientConnectPacket clientConnectPacket) {
         String playerName = clientConnectPacket.getPlayerName();
         UUID playerUUID = clientConnectPacket.getPlayerUuid();
 
@@ -106,40 +132,35 @@ public class ClientConnectHandler implements PacketEventHandler {
         /* Server Restarting Check */
         rejectionCache = restartingCheck(playerSession, header, footer);
         if (rejectionCache != null) {
-            addToRejections(rejectionCache, clientConnectPacket);
-            return;
+            return rejectionCache;
         }
 
         /* Player Whitelist Check */
         rejectionCache = whitelist(playerSession, header, footer);
         if (rejectionCache != null) {
-            addToRejections(rejectionCache, clientConnectPacket);
-            return;
+            return rejectionCache;
         }
 
         /* Player Ban Check */
         rejectionCache = bannedCheck(playerSession, header, footer);
         if (rejectionCache != null) {
-            addToRejections(rejectionCache, clientConnectPacket);
-            return;
+            return rejectionCache;
         }
 
         /* Already Logged On */
         rejectionCache = alreadyLoggedOn(playerSession, header, footer);
         if (rejectionCache != null) {
-            addToRejections(rejectionCache, clientConnectPacket);
-            return;
+            return rejectionCache;
         }
 
         /* Server Full Check */
         rejectionCache = serverFull(playerSession, header, footer);
         if (rejectionCache != null) {
-            addToRejections(rejectionCache, clientConnectPacket);
-            return;
+            return rejectionCache;
         }
 
         /* Allow Connection */
-        addToRejections(new RejectionCache(false, playerSession), clientConnectPacket);
+        return new RejectionCache(false, playerSession);
     }
 
     /**
@@ -154,7 +175,6 @@ public class ClientConnectHandler implements PacketEventHandler {
     private ClientConnectPacket addToRejections(RejectionCache rejectionCache, ClientConnectPacket clientConnectPacket) {
         PlayerSession playerSession = rejectionCache.getPLAYERSession();
         ChannelHandlerContext clientCTX = playerSession.getCONNECTION().getCLIENT_CTX();
-        playerSession.getPlayerCharacter().updateLastSeen(DateTime.now());
         new StarNubEvent("Player_Connection_Attempt", this);
         StarNub.getLogger().cDebPrint("StarNub", "A player named "+ playerSession.getPlayerCharacter().getCleanName() +" is attempting to connect to the server on IP: " + playerSession.getSessionIpString() + ".");
         CONNECTIONS.getCONNECTED_PLAYERS().getACCEPT_REJECT().addCache(clientCTX, rejectionCache);
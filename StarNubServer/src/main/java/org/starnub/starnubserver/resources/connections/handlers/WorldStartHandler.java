@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starnubserver.resources.connections.handlers;
+
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.world.WorldStartPacket;
+import org.starnub.starbounddata.types.vectors.Vec2F;
+import org.starnub.starnubserver.Connections;
+import org.starnub.starnubserver.connections.player.session.PlayerSession;
+import org.starnub.starnubserver.events.packet.PacketEventHandler;
+
+public class WorldStartHandler implements PacketEventHandler {
+
+    private final Connections CONNECTIONS;
+
+    public WorldStartHandler(Connections CONNECTIONS) {
+        this.CONNECTIONS = CONNECTIONS;
+    }
+
+    /**
+     * Recommended: For connections use with StarNub
+     * <p>
+     * Uses: This is used to move a player to the world they started in the world index
+     *
+     * @param eventData Packet representing the packet being routed
+     */
+    @Override
+    public void onEvent(Packet eventData) {
+        WorldStartPacket worldStartPacket = (WorldStartPacket) eventData;
+        PlayerSession playerSession = CONNECTIONS.getCONNECTED_PLAYERS().get(worldStartPacket.getDESTINATION_CTX());
+        if (playerSession != null){
+            Vec2F playerStart = worldStartPacket.getPlayerStart();
+            CONNECTIONS.getCONNECTED_PLAYERS().getWORLDS().worldStarted(playerSession, playerStart.getX(), playerStart.getY());
+        }
+    }
+}
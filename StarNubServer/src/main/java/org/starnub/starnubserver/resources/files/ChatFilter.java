@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starnubserver.resources.files;
+
+import org.starnub.starnubserver.StarNub;
+import org.starnub.starnubserver.resources.ResourceManager;
+import org.starnub.starnubserver.resources.StarNubYamlWrapper;
+import org.starnub.utilities.cache.exceptions.CollectionDoesNotExistException;
+import org.starnub.utilities.strings.WordFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Represents StarNubs ChatFilter instance extending YAMLWrapper
+ * <p>
+ * Notes: The words are compiled into a {@link WordFilter} that is rebuilt and swapped in whenever the words are changed or reloaded,
+ * matching whole words and fuzzy edits are set in advanced_settings, resources, word_filters
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class ChatFilter extends StarNubYamlWrapper {
+
+    /**
+     * Represents the only instance of this class - Singleton Pattern
+     */
+    private static final ChatFilter instance = new ChatFilter();
+
+    private volatile WordFilter wordFilter;
+
+    /**
+     * This constructor is private - Singleton Pattern
+     */
+    public ChatFilter() {
+        super(
+                "StarNub",
+                (String) ResourceManager.getInstance().getListNestedValue(0, "chat_filter", "file"),
+                ResourceManager.getInstance().getNestedValue("chat_filter", "map"),
+                (String) ResourceManager.getInstance().getListNestedValue(1, "chat_filter", "file"),
+                false,
+                true,
+                true,
+                true,
+                true
+        );
+        rebuildWordFilter();
+    }
+
+    /**
+     * This returns this Singleton - Singleton Pattern
+     */
+    public static ChatFilter getInstance() {
+        return instance;
+    }
+
+    /**
+     * This method will add a word to your ChatFilter
+     *
+     * @param value the Object that you would like to add to your list or set
+     * @return boolean if the items was added to the list or set
+     * @throws java.io.IOException throws an exception if an issue happens with the YAML or File - Only if DUMP_ON_MODIFICATION is turned on
+     */
+    public boolean addToChatFilter(Object value) throws IOException, CollectionDoesNotExistException {
+        boolean added = super.addToCollection(value, false, false, "words");
+        if (added) {
+            rebuildWordFilter();
+        }
+        return added;
+    }
+
+    /**
+     * This method will remove a word from your ChatFilter
+     *
+     * @param value the Object that you would like to remove to your list or set
+     * @return boolean if the items was removed from the list or set
+     * @throws java.io.IOException throws an exception if an issue happens with the YAML or File - Only if DUMP_ON_MODIFICATION is turned on
+     */
+    public boolean removeFromChatFilter(Object value) throws IOException {
+        boolean removed = super.removeFromCollection(value, "words");
+        if (removed) {
+            rebuildWordFilter();
+        }
+        return removed;
+    }
+
+    /**
+     * This method will check to see if your ChatFilter has a specific word
+     *
+     * @param value Object to check the list or set for
+     * @return boolean if the list or set contains the word
+     * @throws java.io.IOException throws an exception if an issue happens with the YAML or File - Only if DUMP_ON_MODIFICATION is turned on
+     */
+    public boolean chatFilterContains(Object value) throws IOException, NullPointerException {
+        return super.collectionContains(value, "words");
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will check a message for filtered words
+     *
+     * @param message String the message to check
+     * @return boolean true if the message contains a filtered word
+     */
+    public boolean hasFilteredWords(String message) {
+        return wordFilter.matches(message);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will mask the letters and digits of filtered words with "*", color tags and separators are kept
+     *
+     * @param message String the message to clean
+     * @return String the cleaned message, the same String if nothing was filtered
+     */
+    public String filter(String message) {
+        return wordFilter.replace(message, "*", true);
+    }
+
+    /**
+     * @return WordFilter the compiled words, replaced with a new filter when the words change
+     */
+    public WordFilter getWordFilter() {
+        return wordFilter;
+    }
+
+    @Override
+    public void reload() throws Exception {
+        super.reload();
+        rebuildWordFilter();
+    }
+
+    @Override
+    public void reloadFromDisk() throws Exception {
+        super.reloadFromDisk();
+        rebuildWordFilter();
+    }
+
+    private void rebuildWordFilter() {
+        Object words = getValue("words");
+        boolean wholeWords = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "word_filters", "chat_whole_words");
+        int maxEdits = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "word_filters", "chat_max_edits");
+        wordFilter = words instanceof Collection ? new WordFilter(new ArrayList<>((Collection<?>) words), wholeWords, maxEdits) : WordFilter.EMPTY;
+    }
+}
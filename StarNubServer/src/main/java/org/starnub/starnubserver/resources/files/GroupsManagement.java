@@ -18,15 +18,15 @@
 
 package org.starnub.starnubserver.resources.files;
 
+import org.starnub.starnubserver.Connections;
 import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.connections.player.groups.Group;
+import org.starnub.starnubserver.connections.player.session.PlayerSession;
 import org.starnub.starnubserver.database.tables.Groups;
 import org.starnub.starnubserver.resources.ResourceManager;
 import org.starnub.starnubserver.resources.StarNubYamlWrapper;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -43,6 +43,14 @@ public class GroupsManagement extends StarNubYamlWrapper {
     private static final GroupsManagement instance = new GroupsManagement(); //DEBUG
 
     private final ConcurrentHashMap<String, Group> GROUPS = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<Group>> EFFECTIVE_GROUPS = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> EFFECTIVE_PERMISSIONS = new ConcurrentHashMap<>();
+    private volatile boolean materialized;
+
+    /**
+     * Orders groups from the highest ladder rank down, groups with the same rank by name
+     */
+    private static final Comparator<Group> RANK_ORDER = Comparator.comparingInt(Group::getLadderRank).reversed().thenComparing(Group::getName);
 
     /**
      * This constructor is private - Singleton Pattern
@@ -75,7 +83,9 @@ public class GroupsManagement extends StarNubYamlWrapper {
 
     public String reloadAndSynchronizeGroups() throws Exception {
         loadOnConstruct(true);
-        return groupSynchronizeFileToDB();
+        String result = groupSynchronizeFileToDB();
+        notifySessions(materializeAllGroups());
+        return result;
     }
 
     public String groupSynchronizeFileToDB(){
@@ -115,6 +125,7 @@ public class GroupsManagement extends StarNubYamlWrapper {
     public void groupSetup(){
         setGroupInheritances();
         setGroupPermissions();
+        notifySessions(materializeAllGroups());
     }
 
     public void setGroupInheritances(){
@@ -124,4 +135,187 @@ public class GroupsManagement extends StarNubYamlWrapper {
     public void setGroupPermissions(){
         GROUPS.values().forEach(Group::setGROUP_PERMISSIONS);
     }
+
+    /* Effective Permission Methods */
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return a group and every group it inherits from directly or indirectly, ordered from the highest ladder
+     * rank down. The list is shared and read only
+     *
+     * @param groupName String the group name
+     * @return List of Group the effective groups, empty if the group does not exist
+     */
+    public List<Group> getEffectiveGroups(String groupName) {
+        List<Group> groups = EFFECTIVE_GROUPS.get(groupName);
+        return groups == null ? Collections.emptyList() : groups;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return a groups effective permissions, the permissions of its effective groups from the highest ladder
+     * rank down. The set is shared and read only
+     *
+     * @param groupName String the group name
+     * @return Set of String the effective permissions, empty if the group does not exist
+     */
+    public Set<String> getEffectivePermissions(String groupName) {
+        Set<String> permissions = EFFECTIVE_PERMISSIONS.get(groupName);
+        return permissions == null ? Collections.emptySet() : permissions;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will collect the permissions of several groups and everything they inherit. Every group is applied once and
+     * all of them are applied from the highest ladder rank down, the same order permissions were always applied in, so the
+     * first permission found for a base permission comes from the highest ranked group that has it
+     * <p>
+     * Notes: Inheritance is followed through every level, groups with the same ladder rank are ordered by name
+     *
+     * @param groups Collection of Group the groups to collect permissions for
+     * @return LinkedHashSet of String the permissions in rank order
+     */
+    public LinkedHashSet<String> getPermissionsByRank(Collection<Group> groups) {
+        if (groups.size() == 1) {
+            return new LinkedHashSet<>(getEffectivePermissions(groups.iterator().next().getName()));
+        }
+        TreeSet<Group> effectiveGroups = new TreeSet<>(RANK_ORDER);
+        for (Group group : groups) {
+            effectiveGroups.addAll(getEffectiveGroups(group.getName()));
+        }
+        LinkedHashSet<String> permissions = new LinkedHashSet<>();
+        for (Group group : effectiveGroups) {
+            permissions.addAll(group.getGROUP_PERMISSIONS());
+        }
+        return permissions;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will recompute the effective permissions of every group
+     *
+     * @return Set of String the names of the groups whose effective permissions changed or were removed
+     */
+    public synchronized Set<String> materializeAllGroups() {
+        HashSet<String> changedGroups = new HashSet<>();
+        for (Group group : GROUPS.values()) {
+            if (recomputeEffectivePermissions(group)) {
+                changedGroups.add(group.getName());
+            }
+        }
+        for (String groupName : EFFECTIVE_PERMISSIONS.keySet()) {
+            if (!GROUPS.containsKey(groupName)) {
+                removeEffectivePermissions(groupName);
+                changedGroups.add(groupName);
+            }
+        }
+        materialized = true;
+        return changedGroups;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will recompute the effective permissions of a group that was edited and of every group that inherits from it,
+     * then reload the permissions of only the online players that hold a group that changed. This does nothing until
+     * {@link #groupSetup()} has ran
+     * <p>
+     * Notes: The sessions are picked while the groups are locked but reloaded after, as reloading reads the database
+     *
+     * @param groupName String the group that was edited
+     */
+    public void recomputeGroup(String groupName) {
+        List<PlayerSession> sessionsToReload;
+        synchronized (this) {
+            if (!materialized) {
+                return;
+            }
+            HashSet<String> changedGroups = new HashSet<>();
+            for (String affectedGroupName : getInheritingGroups(groupName)) {
+                Group affectedGroup = GROUPS.get(affectedGroupName);
+                if (affectedGroup == null) {
+                    if (removeEffectivePermissions(affectedGroupName)) {
+                        changedGroups.add(affectedGroupName);
+                    }
+                } else if (recomputeEffectivePermissions(affectedGroup)) {
+                    changedGroups.add(affectedGroupName);
+                }
+            }
+            sessionsToReload = getSessionsHolding(changedGroups);
+        }
+        sessionsToReload.forEach(PlayerSession::reloadPermissions);
+    }
+
+    private boolean removeEffectivePermissions(String groupName) {
+        EFFECTIVE_GROUPS.remove(groupName);
+        return EFFECTIVE_PERMISSIONS.remove(groupName) != null;
+    }
+
+    private boolean recomputeEffectivePermissions(Group group) {
+        TreeSet<Group> effectiveGroups = new TreeSet<>(RANK_ORDER);
+        effectiveGroups.add(group);
+        HashSet<String> visited = new HashSet<>();
+        visited.add(group.getName());
+        ArrayDeque<String> toVisit = new ArrayDeque<>(group.getINHERITED_GROUPS_STRINGS());
+        while (!toVisit.isEmpty()) {
+            String inheritedGroupName = toVisit.poll();
+            if (!visited.add(inheritedGroupName)) {
+                continue;
+            }
+            Group inheritedGroup = GROUPS.get(inheritedGroupName);
+            if (inheritedGroup != null) {
+                effectiveGroups.add(inheritedGroup);
+                toVisit.addAll(inheritedGroup.getINHERITED_GROUPS_STRINGS());
+            }
+        }
+        LinkedHashSet<String> permissions = new LinkedHashSet<>();
+        for (Group effectiveGroup : effectiveGroups) {
+            permissions.addAll(effectiveGroup.getGROUP_PERMISSIONS());
+        }
+        EFFECTIVE_GROUPS.put(group.getName(), Collections.unmodifiableList(new ArrayList<>(effectiveGroups)));
+        Set<String> previousPermissions = EFFECTIVE_PERMISSIONS.put(group.getName(), Collections.unmodifiableSet(permissions));
+        return previousPermissions == null || !new ArrayList<>(permissions).equals(new ArrayList<>(previousPermissions));
+    }
+
+    /**
+     * @param groupName String the group name
+     * @return Set of String the group and every group that inherits from it directly or indirectly
+     */
+    private Set<String> getInheritingGroups(String groupName) {
+        LinkedHashSet<String> inheritingGroups = new LinkedHashSet<>();
+        inheritingGroups.add(groupName);
+        ArrayDeque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(groupName);
+        while (!toVisit.isEmpty()) {
+            String inheritedGroupName = toVisit.poll();
+            for (Group group : GROUPS.values()) {
+                if (group.getINHERITED_GROUPS_STRINGS().contains(inheritedGroupName) && inheritingGroups.add(group.getName())) {
+                    toVisit.add(group.getName());
+                }
+            }
+        }
+        return inheritingGroups;
+    }
+
+    private void notifySessions(Set<String> changedGroups) {
+        getSessionsHolding(changedGroups).forEach(PlayerSession::reloadPermissions);
+    }
+
+    private List<PlayerSession> getSessionsHolding(Set<String> changedGroups) {
+        Connections connections = StarNub.getConnections();
+        if (changedGroups.isEmpty() || connections == null) {
+            return Collections.emptyList();
+        }
+        List<PlayerSession> sessions = new ArrayList<>();
+        for (PlayerSession playerSession : connections.getCONNECTED_PLAYERS().values()) {
+            if (playerSession.holdsAnyGroup(changedGroups)) {
+                sessions.add(playerSession);
+            }
+        }
+        return sessions;
+    }
 }
@@ -18,14 +18,21 @@
 
 package org.starnub.starnubserver.resources.files;
 
+import org.starnub.starnubserver.StarNub;
 import org.starnub.starnubserver.resources.ResourceManager;
 import org.starnub.starnubserver.resources.StarNubYamlWrapper;
 import org.starnub.utilities.cache.exceptions.CollectionDoesNotExistException;
+import org.starnub.utilities.strings.WordFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Represents StarNubs IllegalNames instance extending YAMLWrapper
+ * <p>
+ * Notes: The names are compiled into a {@link WordFilter} that is rebuilt and swapped in whenever the names are changed or reloaded,
+ * so checking a name never waits on a change
  *
  * @author Daniel (Underbalanced) (www.StarNub.org)
  * @since 1.0 Beta
@@ -37,6 +44,8 @@ public class IllegalNames extends StarNubYamlWrapper {
      */
     private static final IllegalNames instance = new IllegalNames();
 
+    private volatile WordFilter wordFilter;
+
     /**
      * This constructor is private - Singleton Pattern
      */
@@ -52,6 +61,7 @@ public class IllegalNames extends StarNubYamlWrapper {
                 true,
                 true
         );
+        rebuildWordFilter();
     }
 
     /**
@@ -69,7 +79,11 @@ public class IllegalNames extends StarNubYamlWrapper {
      * @throws java.io.IOException throws an exception if an issue happens with the YAML or File - Only if DUMP_ON_MODIFICATION is turned on
      */
     public boolean addToIllegalNames(Object value) throws IOException, CollectionDoesNotExistException {
-        return super.addToCollection(value, false, false, "names");
+        boolean added = super.addToCollection(value, false, false, "names");
+        if (added) {
+            rebuildWordFilter();
+        }
+        return added;
     }
 
     /**
@@ -80,7 +94,11 @@ public class IllegalNames extends StarNubYamlWrapper {
      * @throws java.io.IOException throws an exception if an issue happens with the YAML or File - Only if DUMP_ON_MODIFICATION is turned on
      */
     public boolean removeFromIllegalNames(Object value) throws IOException {
-        return super.removeFromCollection(value, "names");
+        boolean removed = super.removeFromCollection(value, "names");
+        if (removed) {
+            rebuildWordFilter();
+        }
+        return removed;
     }
 
     /**
@@ -93,4 +111,46 @@ public class IllegalNames extends StarNubYamlWrapper {
     public boolean illegalNamesContains(Object value) throws IOException, NullPointerException {
         return super.collectionContains(value, "names");
     }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will check a name against the illegal names, color tags and leetspeak are ignored
+     * <p>
+     * Notes: With illegal_names_whole_words on (the default) a illegal name must be a whole word of the name, so "Server Admin" is
+     * found and "Badminton" is not. Separators are dropped inside of a word but still end it, so "A.d.m.i.n" is found and "Throw Nerf"
+     * does not match "owner". With it off a illegal name is found anywhere, across separators and inside of longer words
+     *
+     * @param name String the name to check
+     * @return boolean true if the name contains an illegal name
+     */
+    public boolean isIllegalName(String name) {
+        return wordFilter.matches(name);
+    }
+
+    /**
+     * @return WordFilter the compiled illegal names, replaced with a new filter when the names change
+     */
+    public WordFilter getWordFilter() {
+        return wordFilter;
+    }
+
+    @Override
+    public void reload() throws Exception {
+        super.reload();
+        rebuildWordFilter();
+    }
+
+    @Override
+    public void reloadFromDisk() throws Exception {
+        super.reloadFromDisk();
+        rebuildWordFilter();
+    }
+
+    private void rebuildWordFilter() {
+        Object names = getValue("names");
+        boolean wholeWords = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "word_filters", "illegal_names_whole_words");
+        int maxEdits = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "resources", "word_filters", "illegal_names_max_edits");
+        wordFilter = names instanceof Collection ? new WordFilter(new ArrayList<>((Collection<?>) names), wholeWords, maxEdits) : WordFilter.EMPTY;
+    }
 }
@@ -22,7 +22,9 @@ import org.starnub.starnubserver.connections.player.session.PlayerSession;
 import org.starnub.utilities.connectivity.ConnectionType;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -49,6 +51,11 @@ public class PSPredicates {
         return ps -> ps.getCONNECTION_TYPE() == ConnectionType.REMOTE;
     }
 
+    public static Predicate<PlayerSession> inGroup(String groupName) {
+        Set<String> groupNames = Collections.singleton(groupName);
+        return ps -> ps.holdsAnyGroup(groupNames);
+    }
+
     public static Predicate<PlayerSession> hasPermissionBase(String basePermission) {
         return ps -> ps.hasBasePermission(basePermission);
     }
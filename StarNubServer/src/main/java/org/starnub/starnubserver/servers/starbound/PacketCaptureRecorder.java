@@ -0,0 +1,134 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.servers.starbound;
+
+import io.netty.channel.Channel;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketCapture;
+import org.starnub.starbounddata.packets.PacketCaptureWriter;
+import org.starnub.starnubserver.StarNub;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Represents the packet capture settings for the proxy. When enabled each {@link TCPProxyServerPacketDecoder} records the raw frames
+ * it reads to a {@link PacketCapture} file in StarNub/Captures/, one file per connection and direction.
+ * <p>
+ * Notes: Captures are meant for diagnosing and benchmarking, the Benchmarks module can replay them. Captures hold everything the
+ * players sent, including chat and account names, and should be treated like logs. Frames are written to disk on the connections
+ * event loop, a slow disk stalls the connection, so captures should only be enabled while debugging
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketCaptureRecorder {
+
+    /**
+     * Represents the only instance of this class - Singleton Pattern
+     */
+    private static final PacketCaptureRecorder instance = new PacketCaptureRecorder();
+
+    private static final String CAPTURE_DIRECTORY = "StarNub/Captures/";
+
+    private final boolean enabled;
+    private final long maxBytes;
+
+    /**
+     * This constructor is private - Singleton Pattern
+     */
+    private PacketCaptureRecorder() {
+        this.enabled = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_capture", "enabled");
+        this.maxBytes = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_capture", "max_megabytes") * 1024L * 1024L;
+    }
+
+    /**
+     *
+     * @return PacketCaptureRecorder Singleton Instance
+     */
+    public static PacketCaptureRecorder getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return long the most bytes a single capture file may take
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will open a capture for packets heading in a direction on a connection, files for both directions of a connection
+     * share the clients address in their names
+     *
+     * @param clientChannel Channel the channel of the Starbound client this connection belongs to
+     * @param direction Packet.Direction the direction the recorded packets are heading
+     * @return PacketCaptureWriter the writer or null if capturing is disabled or the file could not be created
+     */
+    PacketCaptureWriter open(Channel clientChannel, Packet.Direction direction) {
+        if (!enabled) {
+            return null;
+        }
+        Path file = Paths.get(CAPTURE_DIRECTORY, new DateTime().toString(DateTimeFormat.forPattern("dd-MMM-yy_HH-mm-ss")) + "_"
+                + clientName(clientChannel.remoteAddress()) + "_" + direction + PacketCapture.FILE_EXTENSION);
+        try {
+            return new PacketCaptureWriter(file, direction, maxBytes);
+        } catch (IOException e) {
+            StarNub.getLogger().cErrPrint("StarNub", "Packet capture " + file + " could not be created: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will close a capture, logging instead of throwing if it could not be closed
+     *
+     * @param captureWriter PacketCaptureWriter the writer to close or null
+     */
+    void close(PacketCaptureWriter captureWriter) {
+        if (captureWriter == null) {
+            return;
+        }
+        try {
+            captureWriter.close();
+        } catch (IOException e) {
+            StarNub.getLogger().cErrPrint("StarNub", "Packet capture " + captureWriter.getFILE() + " could not be closed: " + e.getMessage());
+        }
+    }
+
+    private static String clientName(SocketAddress socketAddress) {
+        if (socketAddress instanceof InetSocketAddress) {
+            InetSocketAddress inetSocketAddress = (InetSocketAddress) socketAddress;
+            return inetSocketAddress.getAddress().getHostAddress().replace(':', '-') + "-" + inetSocketAddress.getPort();
+        }
+        return String.valueOf(socketAddress).replace('/', '-').replace(':', '-');
+    }
+}
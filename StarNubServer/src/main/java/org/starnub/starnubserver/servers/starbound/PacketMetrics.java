@@ -0,0 +1,319 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starnubserver.servers.starbound;
+
+import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.Packets;
+import org.starnub.starnubserver.StarNub;
+import org.starnub.starnubserver.StarNubTask;
+import org.starnub.starnubserver.events.packet.PacketEventRouter;
+import org.starnub.starnubserver.events.packet.PacketEventSubscription;
+import org.starnub.starnubserver.logger.FileLog;
+import org.starnub.utilities.events.EventSubscription;
+import org.starnub.utilities.time.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the proxies packet metrics. Every frame is counted per packet id and direction by the {@link TCPProxyServerPacketDecoder},
+ * decoded packets also record their decode time and every {@link PacketEventSubscription} records its handlers time.
+ * <p>
+ * Notes:
+ * - Counters are {@link LongAdder}s and histograms are {@link LatencyHistogram}s so recording from many event loops does not contend
+ * - Metrics can be pulled at any time with {@link #getActivePacketStats()}, {@link #getPacketSubscriptions()} and {@link #report()},
+ * and are written to StarNub/Logs/Metrics/ on an interval
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketMetrics {
+
+    /**
+     * Represents the only instance of this class - Singleton Pattern
+     */
+    private static final PacketMetrics instance = new PacketMetrics();
+
+    private final boolean enabled;
+    private final PacketStats[] TO_STARBOUND_CLIENT = new PacketStats[256];
+    private final PacketStats[] TO_STARBOUND_SERVER = new PacketStats[256];
+    private volatile long resetTime = System.currentTimeMillis();
+    private FileLog metricsLog;
+
+    /**
+     * This constructor is private - Singleton Pattern
+     */
+    private PacketMetrics() {
+        for (int i = 0; i < 256; i++) {
+            TO_STARBOUND_CLIENT[i] = new PacketStats(Packet.Direction.TO_STARBOUND_CLIENT, (byte) i);
+            TO_STARBOUND_SERVER[i] = new PacketStats(Packet.Direction.TO_STARBOUND_SERVER, (byte) i);
+        }
+        this.enabled = (boolean) StarNub.getConfiguration().getNestedValue("advanced_settings", "metrics", "enabled");
+        int dumpMinutes = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "metrics", "dump_minutes");
+        if (enabled && dumpMinutes > 0) {
+            new StarNubTask("StarNub", "StarNub - Packet Metrics Dump", true, dumpMinutes, dumpMinutes, TimeUnit.MINUTES, this::dump);
+        }
+    }
+
+    /**
+     *
+     * @return PacketMetrics Singleton Instance
+     */
+    public static PacketMetrics getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will return the stats indexed by packet id for packets heading in a direction, used by the decoder so a frame is
+     * counted with a single array read
+     *
+     * @param direction Packet.Direction the direction the packets are heading
+     * @return PacketStats[] the stats indexed by packet id, or null if metrics are disabled
+     */
+    PacketStats[] getPacketStatsById(Packet.Direction direction) {
+        if (!enabled) {
+            return null;
+        }
+        return direction == Packet.Direction.TO_STARBOUND_CLIENT ? TO_STARBOUND_CLIENT : TO_STARBOUND_SERVER;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the live stats for a packet id heading in a direction
+     *
+     * @param direction Packet.Direction the direction the packets are heading
+     * @param packetId byte the packet id
+     * @return PacketStats the stats
+     */
+    public PacketStats getPacketStats(Packet.Direction direction, byte packetId) {
+        return direction == Packet.Direction.TO_STARBOUND_CLIENT ? TO_STARBOUND_CLIENT[packetId & 0xFF] : TO_STARBOUND_SERVER[packetId & 0xFF];
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the stats of every packet id and direction that has been seen, largest byte count first
+     *
+     * @return List of PacketStats the live stats
+     */
+    public List<PacketStats> getActivePacketStats() {
+        ArrayList<PacketStats> activePacketStats = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            if (TO_STARBOUND_CLIENT[i].getFrames() > 0) {
+                activePacketStats.add(TO_STARBOUND_CLIENT[i]);
+            }
+            if (TO_STARBOUND_SERVER[i].getFrames() > 0) {
+                activePacketStats.add(TO_STARBOUND_SERVER[i]);
+            }
+        }
+        activePacketStats.sort(Comparator.comparingLong(PacketStats::getWireBytes).reversed());
+        return activePacketStats;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return every registered packet subscription, the most total handler time first. Each subscriptions handler
+     * time is available from {@link PacketEventSubscription#getHANDLER_TIME()}
+     *
+     * @return List of PacketEventSubscription the registered subscriptions
+     */
+    public List<PacketEventSubscription> getPacketSubscriptions() {
+        ArrayList<PacketEventSubscription> packetSubscriptions = new ArrayList<>();
+        for (CopyOnWriteArrayList<EventSubscription> eventSubscriptions : PacketEventRouter.getInstance().getEVENT_SUBSCRIPTION_MAP().values()) {
+            for (EventSubscription eventSubscription : eventSubscriptions) {
+                if (eventSubscription instanceof PacketEventSubscription) {
+                    packetSubscriptions.add((PacketEventSubscription) eventSubscription);
+                }
+            }
+        }
+        packetSubscriptions.sort(Comparator.comparingLong((PacketEventSubscription p) -> p.getHANDLER_TIME().getTotal()).reversed());
+        return packetSubscriptions;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will build a readable report of the packet and handler metrics since they were last reset
+     *
+     * @return String the report
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("Packet Metrics - ").append((System.currentTimeMillis() - resetTime) / 1000).append(" seconds\n");
+        report.append("Packets: direction, packet, frames, wire_bytes, compressed_frames, decoded_frames, decoded_bytes, decode_time\n");
+        for (PacketStats packetStats : getActivePacketStats()) {
+            report.append(packetStats).append('\n');
+        }
+        report.append("Handlers: subscriber, packet, handler_time\n");
+        for (PacketEventSubscription packetSubscription : getPacketSubscriptions()) {
+            LatencyHistogram handlerTime = packetSubscription.getHANDLER_TIME();
+            if (handlerTime.getCount() > 0) {
+                report.append(packetSubscription.getSUBSCRIBER_NAME()).append(", ")
+                        .append(packetSubscription.getEVENT_KEY().getSimpleName()).append(", ")
+                        .append(handlerTime.snapshot()).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will zero every packet and handler metric
+     */
+    public void reset() {
+        for (int i = 0; i < 256; i++) {
+            TO_STARBOUND_CLIENT[i].reset();
+            TO_STARBOUND_SERVER[i].reset();
+        }
+        for (PacketEventSubscription packetSubscription : getPacketSubscriptions()) {
+            packetSubscription.getHANDLER_TIME().reset();
+        }
+        resetTime = System.currentTimeMillis();
+    }
+
+    private synchronized void dump() {
+        try {
+            if (metricsLog == null) {
+                metricsLog = new FileLog("StarNub/Logs/Metrics/");
+            }
+            metricsLog.getFileWriter().writeToBuffer(report());
+            metricsLog.getFileWriter().flushLogs();
+        } catch (Exception e) {
+            StarNub.getLogger().cErrPrint("StarNub", "Packet metrics could not be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Represents the counts for a single packet id heading in a single direction
+     */
+    public static class PacketStats {
+
+        private final Packet.Direction DIRECTION;
+        private final byte PACKET_ID;
+        private final LongAdder FRAMES = new LongAdder();
+        private final LongAdder WIRE_BYTES = new LongAdder();
+        private final LongAdder COMPRESSED_FRAMES = new LongAdder();
+        private final LongAdder DECODED_FRAMES = new LongAdder();
+        private final LongAdder DECODED_BYTES = new LongAdder();
+        private volatile LatencyHistogram decodeTime;
+
+        private PacketStats(Packet.Direction DIRECTION, byte PACKET_ID) {
+            this.DIRECTION = DIRECTION;
+            this.PACKET_ID = PACKET_ID;
+        }
+
+        public Packet.Direction getDIRECTION() {
+            return DIRECTION;
+        }
+
+        public byte getPACKET_ID() {
+            return PACKET_ID;
+        }
+
+        public String getPacketName() {
+            Packets packet = Packets.fromPacketId(PACKET_ID);
+            return packet == null ? "UNKNOWN_" + (PACKET_ID & 0xFF) : packet.name();
+        }
+
+        public long getFrames() {
+            return FRAMES.sum();
+        }
+
+        public long getWireBytes() {
+            return WIRE_BYTES.sum();
+        }
+
+        public long getCompressedFrames() {
+            return COMPRESSED_FRAMES.sum();
+        }
+
+        public long getDecodedFrames() {
+            return DECODED_FRAMES.sum();
+        }
+
+        /**
+         * @return long the uncompressed payload bytes of decoded frames
+         */
+        public long getDecodedBytes() {
+            return DECODED_BYTES.sum();
+        }
+
+        /**
+         * @return LatencyHistogram the time spent decompressing and reading decoded frames, null if none have been decoded
+         */
+        public LatencyHistogram getDecodeTime() {
+            return decodeTime;
+        }
+
+        void recordFrame(int frameLength, boolean compressed) {
+            FRAMES.increment();
+            WIRE_BYTES.add(frameLength);
+            if (compressed) {
+                COMPRESSED_FRAMES.increment();
+            }
+        }
+
+        void recordDecode(int payloadLength, long nanos) {
+            DECODED_FRAMES.increment();
+            DECODED_BYTES.add(payloadLength);
+            LatencyHistogram decodeTime = this.decodeTime;
+            if (decodeTime == null) {
+                synchronized (this) {
+                    decodeTime = this.decodeTime;
+                    if (decodeTime == null) {
+                        this.decodeTime = decodeTime = new LatencyHistogram();
+                    }
+                }
+            }
+            decodeTime.record(nanos);
+        }
+
+        private void reset() {
+            FRAMES.reset();
+            WIRE_BYTES.reset();
+            COMPRESSED_FRAMES.reset();
+            DECODED_FRAMES.reset();
+            DECODED_BYTES.reset();
+            LatencyHistogram decodeTime = this.decodeTime;
+            if (decodeTime != null) {
+                decodeTime.reset();
+            }
+        }
+
+        @Override
+        public String toString() {
+            LatencyHistogram decodeTime = this.decodeTime;
+            return DIRECTION + ", " + getPacketName() + ", " + getFrames() + ", " + getWireBytes() + ", " + getCompressedFrames() + ", "
+                    + getDecodedFrames() + ", " + getDecodedBytes() + ", " + (decodeTime == null ? "-" : decodeTime.snapshot());
+        }
+    }
+}
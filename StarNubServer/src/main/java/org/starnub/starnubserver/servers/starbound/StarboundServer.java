@@ -18,6 +18,7 @@
 
 package org.starnub.starnubserver.servers.starbound;
 
+import org.starnub.starbounddata.packets.Packets;
 import org.starnub.starboundmanager.StarboundManager;
 import org.starnub.starboundmanager.StarboundStatus;
 import org.starnub.starnubserver.StarNub;
@@ -27,6 +28,7 @@ import org.starnub.utilities.file.simplejson.parser.ParseException;
 
 import java.io.IOException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -70,12 +72,37 @@ public class StarboundServer extends StarboundManager {
         int starnubPort = (int) StarNub.getConfiguration().getNestedValue("starnub_settings", "starnub_port");
         int starboundPort = (int) StarNub.getConfiguration().getNestedValue("starnub_settings", "starbound_port");
         String starboundAddress = "127.0.0.1";
+        setPacketCompressionThresholds();
 
         this.udpProxyServer = new UDPProxyServer(starnubPort, starboundAddress, starboundPort);
-        new Thread(this.udpProxyServer, "StarNub - UDP Proxy : Connection_Worker Thread").start();
+        this.udpProxyServer.start();
         startTCPServer(starnubPort, starboundAddress, starboundPort);
     }
 
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will set the per packet type compression thresholds from the configuration. Entries in the packet_thresholds
+     * list are written as PACKETNAME:bytes, for example WORLDSTART:64
+     */
+    @SuppressWarnings("unchecked")
+    public void setPacketCompressionThresholds() {
+        int defaultThreshold = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_compression", "default_threshold");
+        for (Packets packets : Packets.values()) {
+            packets.setCompressionThreshold(defaultThreshold);
+        }
+        List<String> packetThresholds = (List<String>) StarNub.getConfiguration().getNestedValue("advanced_settings", "packet_compression", "packet_thresholds");
+        for (String packetThreshold : packetThresholds) {
+            String[] packetAndThreshold = packetThreshold.split(":");
+            try {
+                Packets packets = Packets.valueOf(packetAndThreshold[0].trim().toUpperCase());
+                packets.setCompressionThreshold(Integer.parseInt(packetAndThreshold[1].trim()));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                StarNub.getLogger().cErrPrint("StarNub", "Invalid packet compression threshold \"" + packetThreshold + "\", expected PACKETNAME:bytes.");
+            }
+        }
+    }
+
     public void startTCPServer(int starnubPort, String starboundAdress, int starboundPort){
         this.tcpProxyServer = new TCPProxyServer(starnubPort, starboundAdress, starboundPort);
         this.tcpProxyServer.start();
@@ -90,7 +117,9 @@ public class StarboundServer extends StarboundManager {
     }
 
     public void stopTCPServer() {
-        this.tcpProxyServer.shutdown();
+        if (tcpProxyServer != null) {
+            this.tcpProxyServer.shutdown();
+        }
     }
 
     public void stopServers(){
@@ -99,7 +128,9 @@ public class StarboundServer extends StarboundManager {
     }
 
     private void stopUDPServer() {
-        udpProxyServer.setStopping(true);
+        if (udpProxyServer != null) {
+            udpProxyServer.shutdown();
+        }
     }
 
     /**
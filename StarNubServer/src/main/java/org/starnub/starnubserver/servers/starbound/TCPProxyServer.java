@@ -23,8 +23,14 @@ import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.starnub.starnubserver.StarNub;
 import org.starnub.utilities.concurrent.thread.NamedThreadFactory;
 
 
@@ -33,8 +39,10 @@ import org.starnub.utilities.concurrent.thread.NamedThreadFactory;
  * <p>
  * This class SHOULD NOT BE REUSED.
  * <p>
- * The NioEventLoopGroup specifies a specific amount
- * of threads. The default amount of threads are (CPUs * 2).
+ * The native epoll transport is used on Linux when "use_linux_epoll" is set and the
+ * native library loads, otherwise NIO is used. The worker group has one thread per CPU,
+ * the outbound Starbound connection of each player is registered on the same event loop
+ * as the inbound connection so a proxied pair never crosses threads.
  * <p>
  * Credit goes to Netty.io (Asynchronous API) examples.
  * <p>
@@ -49,7 +57,8 @@ class TCPProxyServer {
     private final int starboundPort;
     private EventLoopGroup connectionBossGroup;
     private EventLoopGroup connectionWorkerGroup;
-    private Class<NioServerSocketChannel> channelClass;
+    private Class<? extends ServerChannel> channelClass;
+    private boolean epoll;
     private final int serverBacklog = 9999;
     private final boolean noDelay = true;
     private final PooledByteBufAllocator socketBuffer = new PooledByteBufAllocator(true);
@@ -86,21 +95,40 @@ class TCPProxyServer {
         return connectionBossGroup;
     }
 
+    public boolean isEpoll() {
+        return epoll;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will select the epoll or NIO transport and create the boss and worker event loop groups. Netty's epoll transport
+     * is always edge-triggered.
+     */
     public void setNetworkThreading() {
-//        boolean useEpoll = false; //(boolean) StarNub.getConfiguration().getNestedValue("starnub_settings", "use_linux_epoll");
-//        if (useEpoll && isLinux){
-////            channelClass = EpollServerSocketChannel.class;
-////            connectionBossGroup = new EpollEventLoopGroup(1, (new NamedThreadFactory("StarNub - TCP Proxy : Connection Thread")));
-////            connectionWorkerGroup = new EpollEventLoopGroup(500, new NamedThreadFactory("StarNub - TCP Proxy : Worker Thread"));
-//        } else {
+        int workerThreads = Runtime.getRuntime().availableProcessors();
+        boolean useEpoll = (boolean) StarNub.getConfiguration().getNestedValue("starnub_settings", "use_linux_epoll");
+        if (useEpoll && Epoll.isAvailable()) {
+            epoll = true;
+            channelClass = EpollServerSocketChannel.class;
+            connectionBossGroup = new EpollEventLoopGroup(1, new NamedThreadFactory("StarNub - TCP Proxy : Connection Thread"));
+            connectionWorkerGroup = new EpollEventLoopGroup(workerThreads, new NamedThreadFactory("StarNub - TCP Proxy : Worker Thread"));
+        } else {
+            if (useEpoll) {
+                StarNub.getLogger().cErrPrint("StarNub", "Linux epoll is not available, using NIO. Cause: " + Epoll.unavailabilityCause());
+            }
+            epoll = false;
             channelClass = NioServerSocketChannel.class;
-            connectionBossGroup = new NioEventLoopGroup(1, (new NamedThreadFactory("StarNub - TCP Proxy : Connection Thread")));
-            connectionWorkerGroup = new NioEventLoopGroup(500, new NamedThreadFactory("StarNub - TCP Proxy : Worker Thread"));
-//        }
-    }//con closed
+            connectionBossGroup = new NioEventLoopGroup(1, new NamedThreadFactory("StarNub - TCP Proxy : Connection Thread"));
+            connectionWorkerGroup = new NioEventLoopGroup(workerThreads, new NamedThreadFactory("StarNub - TCP Proxy : Worker Thread"));
+        }
+    }
 
     public void start() {
         ServerBootstrap starNubInbound_TCP_Socket = new ServerBootstrap();
+        if (epoll) {
+            starNubInbound_TCP_Socket.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
         serverChannel = starNubInbound_TCP_Socket
                 .group(connectionBossGroup, connectionWorkerGroup)
                 .channel(channelClass)
@@ -24,8 +24,12 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOption;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import org.starnub.starbounddata.packets.Packet;
+import org.starnub.starbounddata.packets.PacketCaptureWriter;
+import org.starnub.starbounddata.packets.PacketDecoder;
+import org.starnub.starbounddata.packets.PacketFrameReader;
+import org.starnub.starbounddata.packets.PacketRouter;
 import org.starnub.starbounddata.packets.Packets;
 import org.starnub.starnubdata.generic.DisconnectReason;
 import org.starnub.starnubserver.StarNub;
@@ -34,22 +38,22 @@ import org.starnub.starnubserver.connections.player.StarNubProxyConnection;
 import org.starnub.starnubserver.connections.player.session.PlayerSession;
 import org.starnub.starnubserver.events.events.StarNubEvent;
 import org.starnub.starnubserver.events.packet.PacketEventRouter;
+import org.starnub.starnubserver.events.packet.PacketEventSubscription;
+import org.starnub.starnubserver.events.packet.PacketHandlerPool;
 import org.starnub.utilities.cache.exceptions.CacheWrapperOperationException;
 import org.starnub.utilities.cache.objects.IntegerCache;
 import org.starnub.utilities.connectivity.connection.ProxyConnection;
 import org.starnub.utilities.events.EventSubscription;
 import org.starnub.utilities.numbers.RandomNumber;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
-
-import static org.starnub.utilities.compression.Zlib.decompress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the Packet Decoder for StarNub Client and Server Connections.
@@ -66,124 +70,281 @@ import static org.starnub.utilities.compression.Zlib.decompress;
  * @author Daniel (Underbalanced) (www.StarNub.org)
  * @since 1.0
  */
-class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketDecoder.DecoderState> {
+class TCPProxyServerPacketDecoder extends ByteToMessageDecoder implements PacketRouter {
+
+    /**
+     * How long and how often a handed off packet waits for a full executor before its connection is closed
+     */
+    private static final long ASYNC_RETRY_MILLIS = 50;
+    private static final int ASYNC_RETRIES = 40;
 
     private final String starboundAddress;
     private final int starboundPort;
 
-    private ChannelHandlerContext destinationCTX;
     private final Packet.Direction CONNECTION_SIDE;
-    private final HashMap<Byte, Packet> PACKET_POOL = new HashMap<>();
+    private final PacketDecoder PACKET_DECODER;
     private final PacketEventRouter PACKET_EVENT_ROUTER = PacketEventRouter.getInstance();
-    private int vlqLength;
-    private int payloadLength;
-    private boolean compressed;
-    private int packetIDIndex;
-    private Packet packet;
+    private final PacketMetrics.PacketStats[] PACKET_STATS;
+    private final PacketHandlerPool HANDLER_POOL = PacketHandlerPool.getInstance();
+    private final PacketCaptureRecorder CAPTURE_RECORDER = PacketCaptureRecorder.getInstance();
+    private PacketCaptureWriter captureWriter;
 
     private StarNubProxyConnection starNubProxyConnection;
 
     public TCPProxyServerPacketDecoder(String starboundAddress, int starboundPort, Packet.Direction connectionSide) {
-        super(DecoderState.READ_PACKET_ID );
         this.starboundAddress = starboundAddress;
         this.starboundPort = starboundPort;
         this.CONNECTION_SIDE = connectionSide;
+        this.PACKET_DECODER = new PacketDecoder(connectionSide, this, null);
+        this.PACKET_STATS = PacketMetrics.getInstance().getPacketStatsById(PacketDecoder.packetDirection(connectionSide));
     }
 
     private TCPProxyServerPacketDecoder(Packet.Direction connectionSide, ChannelHandlerContext clientCTX) {
-        super(DecoderState.READ_PACKET_ID );
         this.starboundAddress = null;
         this.starboundPort = 0;
         this.CONNECTION_SIDE = connectionSide;
-        this.destinationCTX = clientCTX;
+        this.PACKET_DECODER = new PacketDecoder(connectionSide, this, clientCTX);
+        this.PACKET_STATS = PacketMetrics.getInstance().getPacketStatsById(PacketDecoder.packetDirection(connectionSide));
+    }
+
+    /**
+     * This will decode one frame at a time once the entire frame has arrived with the {@link PacketDecoder}, which calls back
+     * into this class as its {@link PacketRouter}. Nothing is decoded while a packet is with an async handler so packets are
+     * always forwarded in order.
+     * <p>
+     * Notes: A header that can not be framed or a compressed payload that can not be inflated closes the connection
+     *
+     * @param ctx ChannelHandlerContext represents the context this handler is attached to
+     * @param in ByteBuf representing the cumulated bytes from the socket
+     * @param out List of Object which is not used as frames are routed directly to the destination
+     * @throws Exception
+     */
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        PACKET_DECODER.decode(ctx, in);
     }
 
-    public enum DecoderState {
-        READ_PACKET_ID,
-        READ_VLQ,
-        ROUTE_DATA,
-        READ_PAYLOAD
+    /**
+     * This will record the whole frame before it is handled and count it in the metrics
+     */
+    @Override
+    public void frameRead(ChannelHandlerContext ctx, ByteBuf in, PacketFrameReader frameReader) {
+        if (captureWriter != null) {
+            captureFrame(in, frameReader.getFrameLength());
+        }
+        if (PACKET_STATS != null) {
+            PacketMetrics.PacketStats packetStats = PACKET_STATS[frameReader.getPacketId() & 0xFF];
+            if (packetStats != null) {
+                packetStats.recordFrame(frameReader.getFrameLength(), frameReader.isCompressed());
+            }
+        }
     }
 
-    public void clearVLQ(){
-        vlqLength = 0;
-        payloadLength = 0;
+    /**
+     * Only packets with a events handler are decoded
+     */
+    @Override
+    public boolean isHandled(byte packetId) {
+        return PACKET_EVENT_ROUTER.getPacketSubscriptions(packetId) != null;
     }
 
+    /**
+     * This will run the packets handlers on the event loop until the first async subscription, the rest are handed to that
+     * subscriptions executor, the {@link PacketHandlerPool} unless it has its own
+     */
     @SuppressWarnings("unchecked")
     @Override
-    public void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        switch (state()) {
-            case READ_PACKET_ID: {
-                packetIDIndex = in.readerIndex();
-                byte packetId = in.getByte(packetIDIndex);
-                packet = PACKET_POOL.get(packetId);
-                checkpoint(DecoderState.READ_VLQ);
+    public boolean handle(ChannelHandlerContext ctx, Packet packet) {
+        EventSubscription[] subscriptions = PACKET_EVENT_ROUTER.getPacketSubscriptions(packet.getPACKET_ID());
+        if (subscriptions == null) {
+            return true;
+        }
+        int asyncFrom = handlePacket(packet, subscriptions, 0, true);
+        return asyncFrom < 0 || handleAsync(ctx, packet, subscriptions, asyncFrom);
+    }
+
+    @Override
+    public boolean isDecodeTimed(byte packetId) {
+        return PACKET_STATS != null && PACKET_STATS[packetId & 0xFF] != null;
+    }
+
+    @Override
+    public void packetDecoded(byte packetId, int payloadLength, long decodeNanos) {
+        PACKET_STATS[packetId & 0xFF].recordDecode(payloadLength, decodeNanos);
+    }
+
+    /**
+     * A packet that fails to read was fully taken from the stream, its original frame is forwarded without running its handlers
+     */
+    @Override
+    public void unreadablePacket(ChannelHandlerContext ctx, Packet packet, RuntimeException e) {
+        StarNub.getLogger().cErrPrint("StarNub", packet.getClass().getSimpleName() + " could not be read and was forwarded without being handled: " + e);
+    }
+
+    /**
+     * A frame that can not be read leaves the stream at a unknown position, the connection is closed
+     */
+    @Override
+    public void badFrame(ChannelHandlerContext ctx, Exception e) {
+        StarNub.getLogger().cErrPrint("StarNub", "Closing connection " + ctx.channel().remoteAddress() + ", a packet frame could not be read: " + e.getMessage());
+        closeConnection(ctx);
+        ctx.close();
+    }
+
+    /**
+     * This will record the whole frame at the reader index before it is handled, a capture that can not be written is closed
+     *
+     * @param in ByteBuf representing the cumulated bytes from the socket
+     * @param frameLength int the length of the frame
+     */
+    private void captureFrame(ByteBuf in, int frameLength) {
+        try {
+            captureWriter.write(in, in.readerIndex(), frameLength);
+        } catch (IOException e) {
+            StarNub.getLogger().cErrPrint("StarNub", "Packet capture " + captureWriter.getFILE() + " could not be written: " + e.getMessage());
+            CAPTURE_RECORDER.close(captureWriter);
+            captureWriter = null;
+        }
+    }
+
+    /**
+     * This will run a packets handlers in priority order starting at a index. On the event loop each handler is checked against its
+     * time budget and handling stops at the first async subscription so the rest can be handed to the {@link PacketHandlerPool}.
+     * A handler is only timed if metrics are enabled or it has a budget to check
+     *
+     * @param packet Packet the packet being handled
+     * @param subscriptions EventSubscription[] the subscriptions for this packet
+     * @param from int the index of the first subscription to run
+     * @param onEventLoop boolean true if this is running on the connections event loop
+     * @return int the index of the first async subscription or -1 if every handler ran or the packet was recycled
+     */
+    @SuppressWarnings("unchecked")
+    private int handlePacket(Packet packet, EventSubscription[] subscriptions, int from, boolean onEventLoop) {
+        for (int i = from; i < subscriptions.length; i++) {
+            if (packet.isRecycle()) {
+                break;
             }
-            case READ_VLQ: {
-                clearVLQ();
-                int tempIndexMarker = packetIDIndex + 1;
-                while (vlqLength <= 10) {
-                    int tmpByte = in.getByte(tempIndexMarker);
-                    payloadLength = (payloadLength << 7) | (tmpByte & 0x7f);
-                    vlqLength++;
-                    if ((tmpByte & 0x80) == 0) {
-                        break;
-                    }
-                    tempIndexMarker++;
-                }
-                if ((payloadLength & 1) == 0x00) {
-                    payloadLength = payloadLength >> 1;
-                } else {
-                    payloadLength = -((payloadLength >> 1) + 1);
+            EventSubscription<Packet> eventSubscription = subscriptions[i];
+            PacketEventSubscription packetEventSubscription = eventSubscription instanceof PacketEventSubscription ? (PacketEventSubscription) eventSubscription : null;
+            if (onEventLoop && packetEventSubscription != null && packetEventSubscription.isAsync()) {
+                return i;
+            }
+            boolean budgeted = onEventLoop && packetEventSubscription != null && packetEventSubscription.isBudgeted();
+            boolean timed = budgeted || (PACKET_STATS != null && packetEventSubscription != null);
+            long handlerStart = timed ? System.nanoTime() : 0;
+            try {
+                eventSubscription.getEVENT_HANDLER().onEvent(packet);
+            } catch (Exception e){
+                e.printStackTrace();
+            }
+            if (timed) {
+                long handlerNanos = System.nanoTime() - handlerStart;
+                if (PACKET_STATS != null) {
+                    packetEventSubscription.getHANDLER_TIME().record(handlerNanos);
                 }
-                compressed = payloadLength < 0;
-                if (compressed) {
-                    payloadLength = -payloadLength;
+                if (budgeted) {
+                    packetEventSubscription.checkBudget(handlerNanos);
                 }
-                checkpoint(DecoderState.READ_PAYLOAD);
             }
-            case READ_PAYLOAD: {
-                if (packet != null) {
-                    CopyOnWriteArrayList<EventSubscription> hashSet = PACKET_EVENT_ROUTER.getEVENT_SUBSCRIPTION_MAP().get(packet.getClass());
-                    /* Handle Packet if there is an events handler for it, else do not create objects */
-                    if (hashSet != null) {
-                        in.skipBytes(1 + vlqLength);
-                        if (compressed) {
-                            packet.read(Unpooled.wrappedBuffer(1, decompress(in.readBytes(payloadLength).array())));
-                        } else {
-                            packet.read(in.readBytes(payloadLength));
-                        }
-                        for (EventSubscription<Packet> packetEventSubscription : hashSet) {
-                            if (packet.isRecycle()) {
-                                break;
-                            }
+        }
+        return -1;
+    }
+
+    /**
+     * This will hand a packet and its remaining handlers to the executor of the first async subscription. Reading from this side
+     * stops until the handlers are done, then the packet is forwarded and decoding resumes on the event loop.
+     *
+     * @param ctx ChannelHandlerContext represents the context this handler is attached to
+     * @param packet Packet the packet being handled
+     * @param subscriptions EventSubscription[] the subscriptions for this packet
+     * @param asyncFrom int the index of the first async subscription
+     * @return boolean always false, the packet is handed off
+     */
+    private boolean handleAsync(ChannelHandlerContext ctx, Packet packet, EventSubscription[] subscriptions, int asyncFrom) {
+        ctx.channel().config().setAutoRead(false);
+        submitAsync(ctx, packet, subscriptions, asyncFrom, 0);
+        return false;
+    }
+
+    /**
+     * This will submit the async handlers of a handed off packet. Handlers never run on the event loop, a full executor is retried
+     * every {@link #ASYNC_RETRY_MILLIS} while reading stays off and the connection is closed once {@link #ASYNC_RETRIES} are used up
+     *
+     * @param ctx ChannelHandlerContext represents the context this handler is attached to
+     * @param packet Packet the packet being handled
+     * @param subscriptions EventSubscription[] the subscriptions for this packet
+     * @param asyncFrom int the index of the first async subscription
+     * @param attempt int the number of times the executor has rejected these handlers
+     */
+    private void submitAsync(ChannelHandlerContext ctx, Packet packet, EventSubscription[] subscriptions, int asyncFrom, int attempt) {
+        if (attempt > 0 && (ctx.isRemoved() || !ctx.channel().isActive())) {
+            PACKET_DECODER.releaseHandOff();
+            return;
+        }
+        Executor executor = subscriptions[asyncFrom] instanceof PacketEventSubscription ?
+                ((PacketEventSubscription) subscriptions[asyncFrom]).getExecutor() : HANDLER_POOL.getASYNC_EXECUTOR();
+        try {
+            executor.execute(() -> {
+                try {
+                    handlePacket(packet, subscriptions, asyncFrom, false);
+                } finally {
+                    try {
+                        ctx.channel().eventLoop().execute(() -> {
                             try {
-                                packetEventSubscription.getEVENT_HANDLER().onEvent(packet);
-                            } catch (Exception e){
-                                e.printStackTrace();
+                                PACKET_DECODER.finishHandOff();
+                            } finally {
+                                ctx.channel().config().setAutoRead(true);
                             }
-                        }
-                        /* Write packet out, if not recycling */
-                        if (!packet.isRecycle()) {
-                            packet.routeToDestination();
-                        } else {
-                            packet.resetRecycle();
-                        }
-                    } else {
-                        destinationCTX.writeAndFlush(in.readSlice(1 + vlqLength + payloadLength).retain(), destinationCTX.voidPromise());
+                            resumeDecoding(ctx);
+                        });
+                    } catch (RejectedExecutionException e) {
+                        PACKET_DECODER.releaseHandOff();
                     }
-                } else {
-                    destinationCTX.writeAndFlush(in.readSlice(1 + vlqLength + payloadLength).retain(), destinationCTX.voidPromise());
                 }
-                checkpoint(DecoderState.READ_PACKET_ID);
-                break;
+            });
+        } catch (RejectedExecutionException e) {
+            if (attempt < ASYNC_RETRIES) {
+                ctx.channel().eventLoop().schedule(() -> submitAsync(ctx, packet, subscriptions, asyncFrom, attempt + 1), ASYNC_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+                return;
             }
-            default:
-                throw new Error("Error Decoding - Reached the unreachable void.");
+            StarNub.getLogger().cErrPrint("StarNub", "Closing connection " + ctx.channel().remoteAddress() + ", the packet handlers for "
+                    + packet.getClass().getSimpleName() + " were rejected " + (attempt + 1) + " times.");
+            PACKET_DECODER.releaseHandOff();
+            closeConnection(ctx);
+            ctx.close();
         }
     }
 
+    /**
+     * This will decode the frames that arrived while a packet was with an async handler
+     */
+    private void resumeDecoding(ChannelHandlerContext ctx) {
+        if (ctx.isRemoved()) {
+            return;
+        }
+        try {
+            channelRead(ctx, Unpooled.EMPTY_BUFFER);
+        } catch (Exception e) {
+            e.printStackTrace();
+            closeConnection(ctx);
+        }
+    }
+
+    /**
+     * While a packet is with an async handler the decoder must not request more reads, the frames already read wait in the cumulation
+     *
+     * @param ctx ChannelHandlerContext represents the context this handler is attached to
+     * @throws Exception
+     */
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        if (PACKET_DECODER.isHandOffPending()) {
+            ctx.fireChannelReadComplete();
+            return;
+        }
+        super.channelReadComplete(ctx);
+    }
+
     /**
      * When we add this handler we want to set the routing information for both
      * sides, if the handler is instantiated on the StarNub Server Socket,
@@ -199,7 +360,12 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
             new StarNubEvent("StarNub_Socket_Connection_Attempt_Client", ctx);
             setClientConnection(ctx);
         }
-        setPACKET_POOL(ctx);
+        PACKET_DECODER.setPacketPool(ctx, Arrays.asList(Packets.values()));
+        /* The server side is added before it connects, so both sides name their capture after the client channel */
+        ChannelHandlerContext clientCTX = CONNECTION_SIDE == Packet.Direction.TO_STARBOUND_CLIENT ? ctx : PACKET_DECODER.getDestinationCTX();
+        if (CAPTURE_RECORDER.isEnabled() && clientCTX.channel().isOpen()) {
+            captureWriter = CAPTURE_RECORDER.open(clientCTX.channel(), PacketDecoder.packetDirection(CONNECTION_SIDE));
+        }
     }
 
     private void setClientConnection(ChannelHandlerContext ctx) throws CacheWrapperOperationException {
@@ -237,6 +403,7 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
 
     private boolean openServerConnection(ChannelHandlerContext ctx){
         new StarNubEvent("StarNub_Socket_Connection_Attempt_Server", ctx);
+        /* The outbound channel uses the inbound channels event loop and transport so both sides of the proxy stay on one thread */
         Bootstrap starNubMainOutboundSocket = new Bootstrap();
         starNubMainOutboundSocket
                 .group(ctx.channel().eventLoop())
@@ -245,7 +412,8 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
                 .option(ChannelOption.ALLOCATOR, StarboundServer.getInstance().getTcpProxyServer().getSocketBuffer())
                 .handler(new TCPProxyServerPacketDecoder(Packet.Direction.TO_STARBOUND_SERVER, ctx));
         ChannelFuture f = starNubMainOutboundSocket.connect(starboundAddress, starboundPort);
-        destinationCTX = f.channel().pipeline().firstContext();
+        ChannelHandlerContext destinationCTX = f.channel().pipeline().firstContext();
+        PACKET_DECODER.setDestinationCTX(destinationCTX);
         if (destinationCTX != null) {
             new StarNubEvent("StarNub_Socket_Connection_Success_Server", ctx);
             StarNubProxyConnection.ConnectionProcessingType connectionProcessingType = null;
@@ -262,36 +430,6 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
         }
     }
 
-    /**
-     * Recommended: For connections StarNub usage.
-     * <p>
-     * Uses: This will create new packets from the packet cache and insert them into a HashMap Packet Pool to be used in
-     * this sockets connection.
-     *
-     * @param ctx ChannelHandlerContext representing this chanels context
-     */
-    @SuppressWarnings("unchecked")
-    private void setPACKET_POOL(ChannelHandlerContext ctx) {
-        HashMap<Packets, Class> packetClasses = Packets.getPacketClasses();
-        for (Map.Entry<Packets, Class> packetsClassEntry : packetClasses.entrySet()) {
-            Class packetClass = packetsClassEntry.getValue();
-            Packets packet = packetsClassEntry.getKey();
-            Constructor constructor;
-            Packet packetToConstruct = null;
-            Packet.Direction direction = null;
-            if (packet.getDirection() != CONNECTION_SIDE) {
-                direction = CONNECTION_SIDE == Packet.Direction.TO_STARBOUND_CLIENT ? Packet.Direction.TO_STARBOUND_SERVER : Packet.Direction.TO_STARBOUND_CLIENT;
-                try {
-                    constructor = packetClass.getConstructor(Packet.Direction.class, ChannelHandlerContext.class, ChannelHandlerContext.class);
-                    packetToConstruct = (Packet) constructor.newInstance(direction, ctx, destinationCTX);
-                    PACKET_POOL.put(packet.getPacketId(), packetToConstruct);
-                } catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-    }
-
     @Override
     public void channelInactive (ChannelHandlerContext ctx) {
         closeConnection(ctx);
@@ -306,7 +444,7 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
      */
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        if (!cause.getMessage().contains("forcibly closed by the remote")){
+        if (cause.getMessage() == null || !cause.getMessage().contains("forcibly closed by the remote")){
             cause.printStackTrace(); /* Debug Print */
             closeConnection(ctx);
         }
@@ -318,6 +456,10 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
     }
 
     private void closeConnection(ChannelHandlerContext ctx){
+        if (captureWriter != null) {
+            CAPTURE_RECORDER.close(captureWriter);
+            captureWriter = null;
+        }
         PlayerSession playerSession = StarNub.getConnections().getCONNECTED_PLAYERS().getOnlinePlayerByAnyIdentifier(ctx);
         if (playerSession != null) {
             playerSession.disconnectReason(DisconnectReason.DECODER_CLOSED);
@@ -327,6 +469,7 @@ class TCPProxyServerPacketDecoder extends ReplayingDecoder<TCPProxyServerPacketD
         if (proxyConnection != null) {
             proxyConnection.disconnect();
         } else {
+            ChannelHandlerContext destinationCTX = PACKET_DECODER.getDestinationCTX();
             if (destinationCTX != null) {
                 destinationCTX.close();
             }
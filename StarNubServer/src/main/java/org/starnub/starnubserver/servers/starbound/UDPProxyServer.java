@@ -15,83 +15,165 @@
 * have received a copy of the GNU General Public License in
 * this CodeHome Software.  If not, see <http://www.gnu.org/licenses/>.
 */
-
 package org.starnub.starnubserver.servers.starbound;
 
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.starnub.starnubserver.StarNub;
+import org.starnub.utilities.concurrent.thread.NamedThreadFactory;
 
-import java.net.*;
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
 * This class will simply pass UDP traffic to the Starbound server. This is
 * is solely meant to forward Query Traffic.
 * <p>
+* Each client address gets a {@link UDPProxySession} with its own socket to the Starbound server, so replies are
+* routed back to the right client and a slow or lost reply never holds up other clients. Sessions that have not
+* seen traffic for {@link #SESSION_IDLE_TIMEOUT} seconds are closed. Once advanced_settings.udp_proxy.max_sessions
+* sessions are open, datagrams from new client addresses are dropped until a session expires.
+* <p>
 *
 * @author Daniel (Underbalanced) (www.StarNub.org)
 * @since 1.0
 *
 */
-final class UDPProxyServer implements Runnable {
+final class UDPProxyServer {
+
+    /**
+     * Seconds a client session may be idle before it is closed
+     */
+    static final int SESSION_IDLE_TIMEOUT = 60;
 
     private final int starnubPort;
-    private final String starboundAddress;
-    private final int starboundPort;
-    private boolean stopping = false;
+    private final InetSocketAddress starboundSocketAddress;
+    private final PooledByteBufAllocator socketBuffer = PooledByteBufAllocator.DEFAULT;
+    private final ConcurrentHashMap<InetSocketAddress, UDPProxySession> SESSIONS = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private boolean sessionLimitReached;
+    private EventLoopGroup eventLoopGroup;
+    private Channel serverChannel;
+    private ScheduledFuture<?> sessionExpiryTask;
 
     public UDPProxyServer(int starnubPort, String starboundAddress,  int starboundPort) {
         this.starnubPort = starnubPort;
-        this.starboundAddress = starboundAddress;
-        this.starboundPort = starboundPort;
+        this.starboundSocketAddress = new InetSocketAddress(starboundAddress, starboundPort);
+        this.maxSessions = (int) StarNub.getConfiguration().getNestedValue("advanced_settings", "udp_proxy", "max_sessions");
     }
 
-    public boolean isStopping() {
-        return stopping;
+    public Channel getServerChannel() {
+        return serverChannel;
     }
 
-    public void setStopping(boolean stopping) {
-        this.stopping = stopping;
+    public InetSocketAddress getStarboundSocketAddress() {
+        return starboundSocketAddress;
     }
 
-    public void run() {
-        InetAddress IPAddress;
-        DatagramSocket ds;
-        try {
-            ds = new DatagramSocket(starnubPort);
-            IPAddress = InetAddress.getByName(starboundAddress);
-        } catch (SocketException | UnknownHostException e1) {
-            StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e1));
-            e1.printStackTrace();
-            return;
-        }
-
-        byte[] request = new byte[1024];
-        byte[] reply = new byte[4096];
-
-        while (!stopping) {
-            try {
-                DatagramPacket from_client = new DatagramPacket(request, request.length);
-                ds.receive(from_client);
+    public PooledByteBufAllocator getSocketBuffer() {
+        return socketBuffer;
+    }
 
-                byte[] real_request = new byte[from_client.getLength()];
-                System.arraycopy(request, 0, real_request, 0, from_client.getLength());
+    public ConcurrentHashMap<InetSocketAddress, UDPProxySession> getSESSIONS() {
+        return SESSIONS;
+    }
 
-                DatagramPacket sendPacket = new DatagramPacket(real_request, real_request.length, IPAddress, starboundPort);
-                ds.send(sendPacket);
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will bind the public UDP socket and start expiring idle client sessions
+     */
+    public void start() {
+        eventLoopGroup = new NioEventLoopGroup(1, new NamedThreadFactory("StarNub - UDP Proxy : Connection_Worker Thread"));
+        Bootstrap starNubInbound_UDP_Socket = new Bootstrap();
+        ChannelFuture channelFuture = starNubInbound_UDP_Socket
+                .group(eventLoopGroup)
+                .channel(NioDatagramChannel.class)
+                .option(ChannelOption.ALLOCATOR, socketBuffer)
+                .handler(new UDPProxyServerHandler(this))
+                .bind(starnubPort).syncUninterruptibly();
+        if (!channelFuture.isSuccess()) {
+            StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(channelFuture.cause()));
+            eventLoopGroup.shutdownGracefully();
+            return;
+        }
+        serverChannel = channelFuture.channel();
+        sessionExpiryTask = serverChannel.eventLoop().scheduleAtFixedRate(this::expireSessions, SESSION_IDLE_TIMEOUT, SESSION_IDLE_TIMEOUT / 2, TimeUnit.SECONDS);
+    }
 
-                DatagramPacket from_server = new DatagramPacket(reply, reply.length);
-                ds.receive(from_server);
-                byte[] real_reply = new byte[from_server.getLength()];
-                System.arraycopy(reply, 0, real_reply, 0, from_server.getLength());
+    /**
+     * Recommended: For internal use with StarNub.
+     * <p>
+     * Uses: This will return the session for a client address, opening a new socket to the Starbound server if the client has none
+     * <p>
+     * Notes: This runs on the servers event loop
+     *
+     * @param clientAddress InetSocketAddress the address of the client
+     * @return UDPProxySession the clients session or null if the client has none and the session limit is reached
+     */
+    UDPProxySession getOrCreateSession(InetSocketAddress clientAddress) {
+        UDPProxySession cachedSession = SESSIONS.get(clientAddress);
+        if (cachedSession != null) {
+            return cachedSession;
+        }
+        if (SESSIONS.size() >= maxSessions) {
+            if (!sessionLimitReached) {
+                sessionLimitReached = true;
+                StarNub.getLogger().cWarnPrint("StarNub", "The UDP proxy reached its limit of " + maxSessions + " client sessions, datagrams from new clients are dropped until a session expires.");
+            }
+            return null;
+        }
+        sessionLimitReached = false;
+        UDPProxySession udpProxySession = new UDPProxySession(serverChannel, clientAddress);
+        Bootstrap starNubOutbound_UDP_Socket = new Bootstrap();
+        ChannelFuture channelFuture = starNubOutbound_UDP_Socket
+                .group(serverChannel.eventLoop())
+                .channel(NioDatagramChannel.class)
+                .option(ChannelOption.ALLOCATOR, socketBuffer)
+                .handler(udpProxySession)
+                .connect(starboundSocketAddress);
+        udpProxySession.setChannelFuture(channelFuture);
+        channelFuture.channel().closeFuture().addListener(future -> SESSIONS.remove(clientAddress, udpProxySession));
+        SESSIONS.put(clientAddress, udpProxySession);
+        return udpProxySession;
+    }
 
-                InetAddress address = from_client.getAddress();
-                int port = from_client.getPort();
-                DatagramPacket to_client = new DatagramPacket(real_reply, real_reply.length, address, port);
-                ds.send(to_client);
-            } catch (Exception e) {
-                StarNub.getLogger().cFatPrint("StarNub", ExceptionUtils.getMessage(e));
-                return;
+    private void expireSessions() {
+        long expiredBefore = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(SESSION_IDLE_TIMEOUT);
+        Iterator<Map.Entry<InetSocketAddress, UDPProxySession>> iterator = SESSIONS.entrySet().iterator();
+        while (iterator.hasNext()) {
+            UDPProxySession udpProxySession = iterator.next().getValue();
+            if (udpProxySession.getLastActive() < expiredBefore) {
+                iterator.remove();
+                udpProxySession.close();
             }
         }
     }
-}
\ No newline at end of file
+
+    public void shutdown() {
+        if (sessionExpiryTask != null) {
+            sessionExpiryTask.cancel(false);
+        }
+        for (UDPProxySession udpProxySession : SESSIONS.values()) {
+            udpProxySession.close();
+        }
+        SESSIONS.clear();
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        if (eventLoopGroup != null) {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+}
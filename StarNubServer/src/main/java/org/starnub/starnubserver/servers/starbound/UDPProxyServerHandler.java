@@ -0,0 +1,54 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this CodeHome Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.starnub.starnubserver.servers.starbound;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+
+/**
+ * Represents the handler for datagrams sent by clients to StarNub's public UDP socket.
+ * <p>
+ * Each datagram is handed to the session of the client that sent it and forwarded to the Starbound server without
+ * being copied. Datagrams from a client that can not get a session are dropped.
+ * <p>
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+class UDPProxyServerHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private final UDPProxyServer UDP_PROXY_SERVER;
+
+    public UDPProxyServerHandler(UDPProxyServer udpProxyServer) {
+        this.UDP_PROXY_SERVER = udpProxyServer;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) throws Exception {
+        UDPProxySession udpProxySession = UDP_PROXY_SERVER.getOrCreateSession(msg.sender());
+        if (udpProxySession == null) {
+            return;
+        }
+        udpProxySession.sendToStarbound(msg.content().retain(), UDP_PROXY_SERVER.getStarboundSocketAddress());
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        cause.printStackTrace(); /* Debug Print */
+    }
+}
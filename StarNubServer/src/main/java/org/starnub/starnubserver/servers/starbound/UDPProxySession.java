@@ -0,0 +1,104 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this CodeHome Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.starnub.starnubserver.servers.starbound;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Represents a UDP client session. The session owns a socket connected to the Starbound server and relays every
+ * reply received on it back to the client through StarNub's public UDP socket.
+ * <p>
+ * Notes: All session sockets are registered on the public sockets event loop, so a session is only ever used by one thread
+ * <p>
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+class UDPProxySession extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private final Channel SERVER_CHANNEL;
+    private final InetSocketAddress CLIENT_ADDRESS;
+    private ChannelFuture channelFuture;
+    private volatile long lastActive;
+
+    public UDPProxySession(Channel serverChannel, InetSocketAddress clientAddress) {
+        this.SERVER_CHANNEL = serverChannel;
+        this.CLIENT_ADDRESS = clientAddress;
+        this.lastActive = System.currentTimeMillis();
+    }
+
+    public InetSocketAddress getCLIENT_ADDRESS() {
+        return CLIENT_ADDRESS;
+    }
+
+    public long getLastActive() {
+        return lastActive;
+    }
+
+    void setChannelFuture(ChannelFuture channelFuture) {
+        this.channelFuture = channelFuture;
+    }
+
+    /**
+     * Recommended: For internal use with the UDP Proxy.
+     * <p>
+     * Uses: This will send a client datagram to the Starbound server once this sessions socket is connected. The buffer is released
+     * if the socket could not connect
+     *
+     * @param content ByteBuf the datagram content, ownership is passed to this method
+     * @param starboundAddress InetSocketAddress the Starbound server address
+     */
+    void sendToStarbound(ByteBuf content, InetSocketAddress starboundAddress) {
+        lastActive = System.currentTimeMillis();
+        if (channelFuture.isSuccess()) {
+            channelFuture.channel().writeAndFlush(new DatagramPacket(content, starboundAddress), channelFuture.channel().voidPromise());
+        } else {
+            channelFuture.addListener(future -> {
+                if (future.isSuccess()) {
+                    channelFuture.channel().writeAndFlush(new DatagramPacket(content, starboundAddress), channelFuture.channel().voidPromise());
+                } else {
+                    content.release();
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) throws Exception {
+        lastActive = System.currentTimeMillis();
+        SERVER_CHANNEL.writeAndFlush(new DatagramPacket(msg.content().retain(), CLIENT_ADDRESS), SERVER_CHANNEL.voidPromise());
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        /* ICMP port unreachable while Starbound is restarting surfaces here, the session is closed and recreated on the next query */
+        ctx.close();
+    }
+
+    public void close() {
+        if (channelFuture != null) {
+            channelFuture.channel().close();
+        }
+    }
+}
@@ -30,12 +30,18 @@ import java.util.UUID;
 
 public class ByteBufferUtilities {
 
+    private static byte[] readableBytes(ByteBuf in){
+        byte[] bytes = new byte[in.readableBytes()];
+        in.getBytes(in.readerIndex(), bytes);
+        return bytes;
+    }
+
     public static void print(ByteBuf in){
         print(in, false);
     }
 
     public static void print(ByteBuf in, boolean stringDump){
-        byte[] bytes = in.array();
+        byte[] bytes = readableBytes(in);
         System.err.println(Arrays.toString(bytes));
         if (stringDump) {
             System.err.println(new String(bytes, Charset.forName("UTF-8")));
@@ -66,7 +72,7 @@ public class ByteBufferUtilities {
     }
 
     public static void search(ByteBuf in, byte[] byteArray){
-        byte[] searchable = in.array();
+        byte[] searchable = readableBytes(in);
         int searchableBytesSize = searchable.length;
         int searchBytesSize = byteArray.length;
         byte[] vlqByteArray = VLQ.writeUnsignedVLQNoObject(searchBytesSize);
@@ -22,13 +22,10 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import org.starnub.starbounddata.types.variants.VLQ;
-import org.starnub.utilities.compression.Zlib;
+import org.starnub.utilities.compression.ByteBufZlib;
 
-import java.nio.charset.Charset;
 import java.util.UUID;
 
-import static org.starnub.starbounddata.types.variants.VLQ.writeUnsignedVLQNoObject;
-
 /**
  * Represents a basic packet that all packets should inherit.
  * <p>
@@ -43,11 +40,19 @@ import static org.starnub.starbounddata.types.variants.VLQ.writeUnsignedVLQNoObj
  */
 public abstract class Packet {
 
+    /**
+     * Largest packet header, a one byte packet id and a five byte s{@link org.starnub.starbounddata.types.variants.VLQ} payload length
+     */
+    public static final int MAX_HEADER_LENGTH = 6;
+
     private final Direction DIRECTION;
     private final byte PACKET_ID;
     private final ChannelHandlerContext SENDER_CTX;
     private final ChannelHandlerContext DESTINATION_CTX;
     private boolean recycle = false;
+    private ByteBuf lazyFrame;
+    private ByteBuf lazyPayload;
+    private boolean modified = false;
 
     /**
      * Recommended: For internal use with StarNub Player Sessions
@@ -134,6 +139,96 @@ public abstract class Packet {
         this.recycle = false;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: Packets that return true are not read when they are decoded, they keep the payload and read it the first time a
+     * field is accessed. Their getters and {@link #write(ByteBuf)} must call {@link #decodeLazy()} and their setters must call {@link #setModified()}
+     * <p>
+     * Notes: When a lazily decoded packet has not been modified it is routed with its original bytes instead of being written
+     * again. Changes made to an object returned by a getter are not tracked unless that getter calls {@link #setModified()}
+     *
+     * @return boolean representing if this packet type supports lazy decoding
+     */
+    public boolean isLazyDecoding() {
+        return false;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: This will hand this packet its frame and payload to be read on first access. The buffers are owned by the caller and
+     * must stay readable until {@link #clearLazy()} is called
+     *
+     * @param frame   ByteBuf representing the entire original frame, header and payload
+     * @param payload ByteBuf representing the uncompressed payload
+     */
+    public void readLazy(ByteBuf frame, ByteBuf payload) {
+        this.lazyFrame = frame;
+        this.lazyPayload = payload;
+        this.modified = false;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: This will drop the references to the frame and payload handed to {@link #readLazy(ByteBuf, ByteBuf)}
+     */
+    public void clearLazy() {
+        this.lazyFrame = null;
+        this.lazyPayload = null;
+        this.modified = false;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read the pending payload into this packets fields if this packet is lazily decoded and has not been read
+     */
+    protected final void decodeLazy() {
+        if (lazyPayload != null) {
+            ByteBuf payload = lazyPayload;
+            lazyPayload = null;
+            read(payload.duplicate());
+        }
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This returns a independent view of the pending payload for reading a single field without reading the whole packet
+     *
+     * @return ByteBuf the payload view or null if this packet has already been read
+     */
+    protected final ByteBuf getLazyPayload() {
+        return lazyPayload == null ? null : lazyPayload.duplicate();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: This returns the original frame if this packet was lazily decoded and has not been modified, so it can be routed as is
+     *
+     * @return ByteBuf the original frame or null if this packet must be written
+     */
+    public ByteBuf getUnmodifiedFrame() {
+        return modified ? null : lazyFrame;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will mark this packet as modified so it will be written again when routed, any pending payload is read first
+     */
+    public final void setModified() {
+        decodeLazy();
+        this.modified = true;
+    }
+
+    public boolean isModified() {
+        return modified;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -203,39 +298,52 @@ public abstract class Packet {
      * <p>
      * Uses: This method will write to a {@link io.netty.buffer.ByteBuf} using this packets fields
      * <p>
+     * Notes: The payload is written once after space reserved for the largest header, the header is then written
+     * in front of the payload. Payloads larger then the packet types compression threshold are compressed straight
+     * into the returned buffer. A lazily decoded packet is read first so a pooled packet never writes the fields of its last frame
+     * <p>
      *
      * @return ByteBuf representing the ByteBuf to write to socket
      */
     public ByteBuf packetToMessageEncoder() {
+        decodeLazy();
         ByteBuf msgOut = PooledByteBufAllocator.DEFAULT.directBuffer();
+        msgOut.writerIndex(MAX_HEADER_LENGTH);
         this.write(msgOut);
-        int payloadLengthOut = msgOut.readableBytes();
-        byte[] dataOut;
-        if (payloadLengthOut > 100) {
-            dataOut = Zlib.compress(msgOut.readBytes(payloadLengthOut).array());
-            payloadLengthOut = -dataOut.length;
-        } else {
-            dataOut = msgOut.readBytes(payloadLengthOut).array();
+        int payloadLengthOut = msgOut.writerIndex() - MAX_HEADER_LENGTH;
+        Packets packetType = Packets.fromPacketId(PACKET_ID);
+        int compressionThreshold = packetType == null ? Packets.DEFAULT_COMPRESSION_THRESHOLD : packetType.getCompressionThreshold();
+        if (payloadLengthOut > compressionThreshold) {
+            ByteBuf compressedOut = PooledByteBufAllocator.DEFAULT.heapBuffer(MAX_HEADER_LENGTH + payloadLengthOut);
+            compressedOut.writerIndex(MAX_HEADER_LENGTH);
+            msgOut.readerIndex(MAX_HEADER_LENGTH);
+            try {
+                ByteBufZlib.compress(msgOut, compressedOut);
+            } catch (RuntimeException e) {
+                compressedOut.release();
+                throw e;
+            } finally {
+                msgOut.release();
+            }
+            msgOut = compressedOut;
+            payloadLengthOut = -(msgOut.writerIndex() - MAX_HEADER_LENGTH);
         }
-        msgOut.clear();
-        msgOut.writeByte(PACKET_ID);
-        writeSVLQPacketEncoder(msgOut, payloadLengthOut);
-        msgOut.writeBytes(dataOut);
+        writePacketHeader(msgOut, PACKET_ID, payloadLengthOut);
         return msgOut;
     }
 
     /**
-     * Recommended: For internal use with StarNub packet decoding
-     * <p>
-     * Uses: This will write a s{@link org.starnub.starbounddata.types.variants.VLQ} to a {@link io.netty.buffer.ByteBuf}
+     * Recommended: For internal use with StarNub packet encoding
      * <p>
-     * Notes: This will not create a VLQ object and should be used
+     * Uses: This will write the packet id and payload length s{@link org.starnub.starbounddata.types.variants.VLQ} directly in front
+     * of a payload that starts at {@link #MAX_HEADER_LENGTH} and set the reader index to the packet id
      * <p>
      *
-     * @param out   ByteBuf in which is to be read
-     * @param value long representing the VLQ value to be written out
+     * @param out   ByteBuf with the payload written after {@link #MAX_HEADER_LENGTH} reserved bytes
+     * @param packetId byte representing the packet id
+     * @param value long representing the VLQ value to be written out, negative if the payload is compressed
      */
-    protected static void writeSVLQPacketEncoder(ByteBuf out, long value) {
+    protected static void writePacketHeader(ByteBuf out, byte packetId, long value) {
         if (value < 0) {
             value = ((-(value + 1)) << 1) | 1;
         } else {
@@ -246,15 +354,17 @@ public abstract class Packet {
         if (numBytes == 0) {
             numBytes = 1;
         }
-        out.writerIndex(numBytes + 1); /* Sets the write index at the number of bytes + 1 byte for packet id */
+        int headerIndex = MAX_HEADER_LENGTH - 1 - numBytes;
+        out.setByte(headerIndex, packetId);
         for (int i = numBytes - 1; i >= 0; i--) {
             int curByte = (int) (value & 0x7F);
             if (i != (numBytes - 1)) {
                 curByte |= 0x80;
             }
-            out.setByte(i + 1, curByte); /* Sets the byte at index + 1 byte for packet id */
+            out.setByte(headerIndex + 1 + i, curByte);
             value >>>= 7;
         }
+        out.readerIndex(headerIndex);
     }
 
     /**
@@ -292,8 +402,22 @@ public abstract class Packet {
      * @return String the String that was read
      */
     public static String readVLQString(ByteBuf in) {
-        byte[] bytes = readVLQArray(in);
-        return new String(bytes, Charset.forName("UTF-8"));
+        return VLQ.readVLQString(in);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read a VLQ and then a String like {@link #readVLQString(ByteBuf)}, short strings that repeat such as keys
+     * can be read through a shared cache so they are not decoded again
+     * <p>
+     *
+     * @param in ByteBuf representing the data to be read
+     * @param cached boolean true to use the shared string cache
+     * @return String the String that was read
+     */
+    public static String readVLQString(ByteBuf in, boolean cached) {
+        return VLQ.readVLQString(in, cached);
     }
 
     /**
@@ -304,10 +428,47 @@ public abstract class Packet {
      *
      * @param in ByteBuf representing the data to be read
      * @return byte[] the byte[] that was read
+     * @throws IndexOutOfBoundsException if the buffer does not hold the whole array
+     */
+    public static byte[] readVLQArray(ByteBuf in) throws IndexOutOfBoundsException {
+        long length = VLQ.readUnsignedFromBufferNoObject(in);
+        if (length > in.readableBytes() || length < 0) {
+            throw new IndexOutOfBoundsException("Array length " + length + " exceeds the " + in.readableBytes() + " readable bytes");
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read every readable byte left in a {@link io.netty.buffer.ByteBuf} into a byte[] of exactly that size
+     * <p>
+     *
+     * @param in ByteBuf representing the data to be read
+     * @return byte[] the byte[] that was read
+     */
+    public static byte[] readRemainingBytes(ByteBuf in) {
+        byte[] bytes = new byte[in.readableBytes()];
+        in.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read a VLQ and then return a retained slice of that many bytes, the bytes are not copied
+     * <p>
+     * Notes: The slice shares the buffers memory and keeps it from being freed, the caller MUST release the slice when finished with it
+     * and should copy the bytes instead if they are kept past the current packet
+     *
+     * @param in ByteBuf representing the data to be read
+     * @return ByteBuf a retained slice of the bytes
      */
-    public static byte[] readVLQArray(ByteBuf in) {
-        long len = VLQ.readUnsignedFromBufferNoObject(in);
-        return in.readBytes((int) len).array();
+    public static ByteBuf readVLQSlice(ByteBuf in) {
+        int length = (int) VLQ.readUnsignedFromBufferNoObject(in);
+        return in.readSlice(length).retain();
     }
 
     /**
@@ -334,7 +495,7 @@ public abstract class Packet {
      * @param value String value to be written to the buffer
      */
     public static void writeStringVLQ(ByteBuf out, String value) {
-        writeVLQArray(out, value.getBytes(Charset.forName("UTF-8")));
+        VLQ.writeVLQString(out, value);
     }
 
     /**
@@ -347,11 +508,25 @@ public abstract class Packet {
      * @param bytes bytes[] value to be written to the buffer
      */
     public static void writeVLQArray(ByteBuf out, byte[] bytes) {
-        byte[] vlqBytes = writeUnsignedVLQNoObject(bytes.length);
-        out.writeBytes(vlqBytes);
+        VLQ.writeUnsignedVLQ(out, bytes.length);
         out.writeBytes(bytes);
     }
 
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will write a VLQ and then the readable bytes of a {@link io.netty.buffer.ByteBuf}, the source readers index is not moved
+     * <p>
+     *
+     * @param out   ByteBuf representing the buffer to be written to
+     * @param bytes ByteBuf the bytes to be written, such as a slice from {@link #readVLQSlice(ByteBuf)}
+     */
+    public static void writeVLQBytes(ByteBuf out, ByteBuf bytes) {
+        int length = bytes.readableBytes();
+        VLQ.writeUnsignedVLQ(out, length);
+        out.writeBytes(bytes, bytes.readerIndex(), length);
+    }
+
     @Override
     public String toString() {
         return "Packet{" +
@@ -0,0 +1,235 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.starnub.starbounddata.types.variants.VLQ;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a recording of the raw framed traffic heading in one direction of a proxied connection, as written by a
+ * {@link PacketCaptureWriter}.
+ * <p>
+ * Notes:
+ * - A capture starts with the 4 byte magic "SNPC", a version byte, the {@link Packet.Direction} ordinal byte and the capture
+ * start time in epoch milliseconds as a long
+ * - Each record is a u{@link VLQ} of the microseconds since the previous record followed by the frame exactly as it was on the
+ * wire, packet id, s{@link VLQ} payload length and payload. Compressed payloads stay compressed
+ * - A record cut short by the capture being closed or filling up is dropped when read
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketCapture {
+
+    public static final byte[] MAGIC = {'S', 'N', 'P', 'C'};
+    public static final byte VERSION = 1;
+    public static final int HEADER_LENGTH = MAGIC.length + 2 + 8;
+    public static final String FILE_EXTENSION = ".sncap";
+
+    private final Packet.Direction DIRECTION;
+    private final long START_TIME;
+    private final List<Frame> FRAMES;
+
+    private PacketCapture(Packet.Direction DIRECTION, long START_TIME, List<Frame> FRAMES) {
+        this.DIRECTION = DIRECTION;
+        this.START_TIME = START_TIME;
+        this.FRAMES = Collections.unmodifiableList(FRAMES);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read a whole capture file into memory
+     *
+     * @param path Path the capture file
+     * @return PacketCapture the capture
+     * @throws IOException if the file could not be read or is not a capture
+     */
+    public static PacketCapture read(Path path) throws IOException {
+        return read(Unpooled.wrappedBuffer(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read a capture from a buffer, each frame is copied out so the buffer can be released afterwards
+     *
+     * @param in ByteBuf the capture bytes starting at the magic
+     * @return PacketCapture the capture
+     * @throws IOException if the bytes are not a capture of a known version
+     */
+    public static PacketCapture read(ByteBuf in) throws IOException {
+        if (in.readableBytes() < HEADER_LENGTH) {
+            throw new IOException("Capture is shorter then its " + HEADER_LENGTH + " byte header.");
+        }
+        for (byte magicByte : MAGIC) {
+            if (in.readByte() != magicByte) {
+                throw new IOException("Capture does not start with the StarNub capture magic.");
+            }
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Capture version " + version + " is not supported, expected " + VERSION + ".");
+        }
+        int directionOrdinal = in.readByte();
+        Packet.Direction[] directions = Packet.Direction.values();
+        if (directionOrdinal < 0 || directionOrdinal >= directions.length) {
+            throw new IOException("Capture direction " + directionOrdinal + " is unknown.");
+        }
+        long startTime = in.readLong();
+        List<Frame> frames = new ArrayList<>();
+        PacketFrameReader frameReader = new PacketFrameReader();
+        long timeMicros = 0;
+        while (in.isReadable()) {
+            int recordStart = in.readerIndex();
+            long deltaMicros;
+            try {
+                deltaMicros = VLQ.readUnsignedFromBufferNoObject(in);
+            } catch (IndexOutOfBoundsException e) {
+                in.readerIndex(recordStart);
+                break;
+            }
+            frameReader.reset();
+            if (!frameReader.readFrame(in)) {
+                in.readerIndex(recordStart);
+                break;
+            }
+            timeMicros += deltaMicros;
+            byte[] frame = new byte[frameReader.getFrameLength()];
+            in.readBytes(frame);
+            frames.add(new Frame(timeMicros, frameReader.getPacketId(), frameReader.getHeaderLength(), frameReader.isCompressed(), frame));
+        }
+        return new PacketCapture(directions[directionOrdinal], startTime, frames);
+    }
+
+    /**
+     * @return Packet.Direction the direction the captured packets were heading
+     */
+    public Packet.Direction getDIRECTION() {
+        return DIRECTION;
+    }
+
+    /**
+     * @return long the time the capture started in epoch milliseconds
+     */
+    public long getSTART_TIME() {
+        return START_TIME;
+    }
+
+    /**
+     * @return List of Frame the captured frames in the order they arrived
+     */
+    public List<Frame> getFrames() {
+        return FRAMES;
+    }
+
+    /**
+     * @return long the total bytes of every captured frame as they were on the wire
+     */
+    public long getWireBytes() {
+        long wireBytes = 0;
+        for (Frame frame : FRAMES) {
+            wireBytes += frame.FRAME.length;
+        }
+        return wireBytes;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will join every frame back into the byte stream that was read from the socket, used to replay the capture
+     *
+     * @return byte[] the captured frames one after another
+     */
+    public byte[] toStream() {
+        byte[] stream = new byte[(int) getWireBytes()];
+        int index = 0;
+        for (Frame frame : FRAMES) {
+            System.arraycopy(frame.FRAME, 0, stream, index, frame.FRAME.length);
+            index += frame.FRAME.length;
+        }
+        return stream;
+    }
+
+    @Override
+    public String toString() {
+        return "PacketCapture{" +
+                "DIRECTION=" + DIRECTION +
+                ", START_TIME=" + START_TIME +
+                ", FRAMES=" + FRAMES.size() +
+                '}';
+    }
+
+    /**
+     * Represents a single captured frame
+     */
+    public static class Frame {
+
+        private final long TIME_MICROS;
+        private final byte PACKET_ID;
+        private final int HEADER_LENGTH;
+        private final boolean COMPRESSED;
+        private final byte[] FRAME;
+
+        private Frame(long TIME_MICROS, byte PACKET_ID, int HEADER_LENGTH, boolean COMPRESSED, byte[] FRAME) {
+            this.TIME_MICROS = TIME_MICROS;
+            this.PACKET_ID = PACKET_ID;
+            this.HEADER_LENGTH = HEADER_LENGTH;
+            this.COMPRESSED = COMPRESSED;
+            this.FRAME = FRAME;
+        }
+
+        /**
+         * @return long the microseconds between the capture starting and this frame arriving
+         */
+        public long getTIME_MICROS() {
+            return TIME_MICROS;
+        }
+
+        public byte getPACKET_ID() {
+            return PACKET_ID;
+        }
+
+        public boolean isCOMPRESSED() {
+            return COMPRESSED;
+        }
+
+        /**
+         * @return byte[] the whole frame, this is not a copy and should not be changed
+         */
+        public byte[] getFRAME() {
+            return FRAME;
+        }
+
+        /**
+         * @return ByteBuf a buffer wrapping the payload as it was on the wire, still compressed if {@link #isCOMPRESSED()}
+         */
+        public ByteBuf getPayload() {
+            return Unpooled.wrappedBuffer(FRAME, HEADER_LENGTH, FRAME.length - HEADER_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.starnub.starbounddata.types.variants.VLQ;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a writer of the raw frames heading in one direction of a connection to a {@link PacketCapture} file.
+ * <p>
+ * Notes:
+ * - This class is not thread safe, a writer should only be used from the event loop of the connection it records
+ * - Writes block on disk I/O on the calling thread, which for the proxy is the connections event loop, so capture is for debugging
+ * and not for servers under load
+ * - Frames are buffered and written as they are, nothing is decoded or decompressed, so recording is a copy per frame
+ * - Once the capture reaches its byte limit further frames are ignored so a busy connection can not fill the disk
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketCaptureWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path FILE;
+    private final DataOutputStream OUT;
+    private final long MAX_BYTES;
+    private final ByteBuf VLQ_SCRATCH = Unpooled.buffer(10, 10);
+    private long bytesWritten;
+    private long framesWritten;
+    private long lastFrameNanos;
+    private boolean full;
+    private boolean closed;
+
+    /**
+     * Recommended: For internal use with StarNub packet capture
+     * <p>
+     * Uses: This will create the capture file, and any missing directories, and write the capture header
+     *
+     * @param FILE Path the file to create, an existing file is replaced
+     * @param direction Packet.Direction the direction the recorded packets are heading
+     * @param MAX_BYTES long the most bytes the capture may take, 0 or less for no limit
+     * @throws IOException if the file could not be created
+     */
+    public PacketCaptureWriter(Path FILE, Packet.Direction direction, long MAX_BYTES) throws IOException {
+        this.FILE = FILE;
+        this.MAX_BYTES = MAX_BYTES <= 0 ? Long.MAX_VALUE : MAX_BYTES;
+        Path parent = FILE.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.OUT = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(FILE), BUFFER_SIZE));
+        OUT.write(PacketCapture.MAGIC);
+        OUT.writeByte(PacketCapture.VERSION);
+        OUT.writeByte(direction.ordinal());
+        OUT.writeLong(System.currentTimeMillis());
+        this.bytesWritten = PacketCapture.HEADER_LENGTH;
+        this.lastFrameNanos = System.nanoTime();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet capture
+     * <p>
+     * Uses: This will record a whole frame, the buffers reader index is not moved
+     *
+     * @param in ByteBuf holding the frame
+     * @param index int the index of the frames packet id
+     * @param frameLength int the length of the frame including its header
+     * @return boolean true if the frame was recorded, false if the capture is closed or full
+     * @throws IOException if the frame could not be written, the capture should then be closed
+     */
+    public boolean write(ByteBuf in, int index, int frameLength) throws IOException {
+        if (closed || full) {
+            return false;
+        }
+        long now = System.nanoTime();
+        VLQ_SCRATCH.clear();
+        VLQ.writeUnsignedVLQ(VLQ_SCRATCH, TimeUnit.NANOSECONDS.toMicros(now - lastFrameNanos));
+        int recordLength = VLQ_SCRATCH.readableBytes() + frameLength;
+        if (bytesWritten + recordLength > MAX_BYTES) {
+            full = true;
+            OUT.flush();
+            return false;
+        }
+        VLQ_SCRATCH.readBytes(OUT, VLQ_SCRATCH.readableBytes());
+        in.getBytes(index, OUT, frameLength);
+        lastFrameNanos = now;
+        bytesWritten += recordLength;
+        framesWritten++;
+        return true;
+    }
+
+    public Path getFILE() {
+        return FILE;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getFramesWritten() {
+        return framesWritten;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Uses: This will flush and close the capture file, closing a closed writer does nothing
+     *
+     * @throws IOException if the file could not be flushed or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        OUT.close();
+    }
+}
@@ -0,0 +1,304 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import org.starnub.utilities.compression.ByteBufZlib;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * Represents the decode path of one side of a proxied connection, the packet pool, framing, full and lazy decoding and routing.
+ * The {@link PacketRouter} decides which packets are decoded and handles them, frames of every other packet are forwarded as
+ * retained slices without creating objects.
+ * <p>
+ * Notes:
+ * - This is not a channel handler, the owning decoder keeps the cumulation and calls {@link #decode(ChannelHandlerContext, ByteBuf)}
+ * - The frame reader is reset as soon as a frame is taken from the cumulation, so a packet that fails to read can not leave the
+ * stream part way through a frame
+ * - A packet the router hands off keeps its frame and payload until {@link #finishHandOff()}, nothing is decoded until then
+ * so packets are always forwarded in order
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketDecoder {
+
+    private final Packet.Direction CONNECTION_SIDE;
+    private final PacketRouter PACKET_ROUTER;
+    private final Packet[] PACKET_POOL = new Packet[256];
+    private final PacketFrameReader FRAME_READER = new PacketFrameReader();
+    private ChannelHandlerContext destinationCTX;
+
+    private boolean handOffPending;
+    private Packet handOffPacket;
+    private ByteBuf handOffFrame;
+    private ByteBuf handOffPayload;
+
+    /**
+     * @param CONNECTION_SIDE Packet.Direction the side of the proxy being decoded, packets read here head to the other side
+     * @param PACKET_ROUTER PacketRouter the router that handles the decoded packets
+     * @param destinationCTX ChannelHandlerContext the context packets are written to, null if it is set later
+     */
+    public PacketDecoder(Packet.Direction CONNECTION_SIDE, PacketRouter PACKET_ROUTER, ChannelHandlerContext destinationCTX) {
+        this.CONNECTION_SIDE = CONNECTION_SIDE;
+        this.PACKET_ROUTER = PACKET_ROUTER;
+        this.destinationCTX = destinationCTX;
+    }
+
+    /**
+     * Packets read on one side of the proxy are heading to the other side
+     *
+     * @param connectionSide Packet.Direction the side of the proxy
+     * @return Packet.Direction the direction of the packets read on that side
+     */
+    public static Packet.Direction packetDirection(Packet.Direction connectionSide) {
+        return connectionSide == Packet.Direction.TO_STARBOUND_CLIENT ? Packet.Direction.TO_STARBOUND_SERVER : Packet.Direction.TO_STARBOUND_CLIENT;
+    }
+
+    public Packet.Direction getCONNECTION_SIDE() {
+        return CONNECTION_SIDE;
+    }
+
+    public ChannelHandlerContext getDestinationCTX() {
+        return destinationCTX;
+    }
+
+    public void setDestinationCTX(ChannelHandlerContext destinationCTX) {
+        this.destinationCTX = destinationCTX;
+    }
+
+    /**
+     * @return boolean true while a packet is handed off, no frames are decoded until it is finished
+     */
+    public boolean isHandOffPending() {
+        return handOffPending;
+    }
+
+    /**
+     * Recommended: For connections StarNub usage.
+     * <p>
+     * Uses: This will create new packets from each packet types {@link PacketFactory} and insert them into the packet pool
+     * indexed by packet id. Packet types heading to this side or that are not used are left out
+     *
+     * @param ctx ChannelHandlerContext the context packets are read from
+     * @param packets Iterable of Packets the packet types to pool
+     */
+    public void setPacketPool(ChannelHandlerContext ctx, Iterable<Packets> packets) {
+        Packet.Direction direction = packetDirection(CONNECTION_SIDE);
+        for (Packets packet : packets) {
+            PacketFactory packetFactory = packet.getPacketFactory();
+            if (packetFactory != null && packet.getDirection() != CONNECTION_SIDE && packet.getDirection() != Packet.Direction.NOT_USED) {
+                PACKET_POOL[packet.getPacketId() & 0xFF] = packetFactory.newPacket(direction, ctx, destinationCTX);
+            }
+        }
+    }
+
+    /**
+     * Recommended: For connections StarNub usage.
+     * <p>
+     * Uses: This will decode one frame once the entire frame has arrived. The header is read incrementally by the
+     * {@link PacketFrameReader} so partial frames return without throwing or re-reading what was already seen
+     *
+     * @param ctx ChannelHandlerContext the context the bytes were read from
+     * @param in ByteBuf representing the cumulated bytes from the socket
+     */
+    public void decode(ChannelHandlerContext ctx, ByteBuf in) {
+        if (handOffPending) {
+            return;
+        }
+        try {
+            if (!FRAME_READER.readFrame(in)) {
+                return;
+            }
+        } catch (IllegalStateException e) {
+            badFrame(ctx, in, e);
+            return;
+        }
+        PACKET_ROUTER.frameRead(ctx, in, FRAME_READER);
+        byte packetId = FRAME_READER.getPacketId();
+        Packet packet = PACKET_POOL[packetId & 0xFF];
+        /* Handle Packet if there is a router handler for it, else do not create objects */
+        if (packet == null || !PACKET_ROUTER.isHandled(packetId)) {
+            ByteBuf frame = in.readSlice(FRAME_READER.getFrameLength()).retain();
+            FRAME_READER.reset();
+            destinationCTX.writeAndFlush(frame, destinationCTX.voidPromise());
+            return;
+        }
+        if (packet.isLazyDecoding()) {
+            lazyDecode(ctx, in, packet);
+            return;
+        }
+        ByteBuf frame = in.readSlice(FRAME_READER.getFrameLength());
+        ByteBuf payload = frame.slice(FRAME_READER.getHeaderLength(), FRAME_READER.getPayloadLength());
+        boolean compressed = FRAME_READER.isCompressed();
+        FRAME_READER.reset();
+        boolean timed = PACKET_ROUTER.isDecodeTimed(packetId);
+        long decodeStart = timed ? System.nanoTime() : 0;
+        int payloadLength;
+        try {
+            if (compressed) {
+                payload = ByteBufZlib.decompress(payload, ctx.alloc(), PacketFrameReader.MAX_PAYLOAD_LENGTH);
+                try {
+                    payloadLength = payload.readableBytes();
+                    packet.read(payload);
+                } finally {
+                    payload.release();
+                }
+            } else {
+                payloadLength = payload.readableBytes();
+                packet.read(payload);
+            }
+        } catch (DataFormatException e) {
+            badFrame(ctx, in, e);
+            return;
+        } catch (RuntimeException e) {
+            PACKET_ROUTER.unreadablePacket(ctx, packet, e);
+            destinationCTX.writeAndFlush(frame.retain(), destinationCTX.voidPromise());
+            return;
+        }
+        if (timed) {
+            PACKET_ROUTER.packetDecoded(packetId, payloadLength, System.nanoTime() - decodeStart);
+        }
+        if (PACKET_ROUTER.handle(ctx, packet)) {
+            routePacket(packet);
+        } else {
+            handOff(packet, null, null);
+        }
+    }
+
+    /**
+     * This will hand a lazily decoded packet its frame and payload without reading it. If no handler modifies the packet
+     * the original frame is routed as is, so packets that are only inspected are never written again.
+     *
+     * @param ctx ChannelHandlerContext the context the bytes were read from
+     * @param in ByteBuf representing the cumulated bytes from the socket
+     * @param packet Packet the pooled packet for this frames packet id
+     */
+    private void lazyDecode(ChannelHandlerContext ctx, ByteBuf in, Packet packet) {
+        byte packetId = FRAME_READER.getPacketId();
+        ByteBuf frame = in.readSlice(FRAME_READER.getFrameLength());
+        ByteBuf payload = frame.slice(FRAME_READER.getHeaderLength(), FRAME_READER.getPayloadLength());
+        boolean compressed = FRAME_READER.isCompressed();
+        FRAME_READER.reset();
+        boolean timed = PACKET_ROUTER.isDecodeTimed(packetId);
+        long decodeStart = timed ? System.nanoTime() : 0;
+        if (compressed) {
+            try {
+                payload = ByteBufZlib.decompress(payload, ctx.alloc(), PacketFrameReader.MAX_PAYLOAD_LENGTH);
+            } catch (DataFormatException e) {
+                badFrame(ctx, in, e);
+                return;
+            }
+        }
+        if (timed) {
+            PACKET_ROUTER.packetDecoded(packetId, payload.readableBytes(), System.nanoTime() - decodeStart);
+        }
+        boolean handedOff = false;
+        try {
+            packet.readLazy(frame, payload);
+            if (PACKET_ROUTER.handle(ctx, packet)) {
+                routePacket(packet);
+            } else {
+                /* The frame is retained so the cumulation is not compacted under it while the packet is handed off */
+                handedOff = true;
+                handOff(packet, frame.retain(), compressed ? payload : null);
+            }
+        } finally {
+            if (!handedOff) {
+                packet.clearLazy();
+                if (compressed) {
+                    payload.release();
+                }
+            }
+        }
+    }
+
+    private void handOff(Packet packet, ByteBuf frame, ByteBuf payload) {
+        handOffPending = true;
+        handOffPacket = packet;
+        handOffFrame = frame;
+        handOffPayload = payload;
+    }
+
+    /**
+     * Recommended: For connections StarNub usage.
+     * <p>
+     * Uses: This will route a packet the router handed off and release what it held, decoding can be resumed after this.
+     * This must be called on the connections event loop
+     */
+    public void finishHandOff() {
+        try {
+            routePacket(handOffPacket);
+        } finally {
+            releaseHandOff();
+        }
+    }
+
+    /**
+     * Recommended: For connections StarNub usage.
+     * <p>
+     * Uses: This will release a handed off packets frame and payload without routing it, used when the connection is gone
+     */
+    public void releaseHandOff() {
+        if (handOffFrame != null) {
+            handOffPacket.clearLazy();
+            handOffFrame.release();
+        }
+        if (handOffPayload != null) {
+            handOffPayload.release();
+        }
+        handOffPacket = null;
+        handOffFrame = null;
+        handOffPayload = null;
+        handOffPending = false;
+    }
+
+    /**
+     * A frame that can not be read leaves the stream at a unknown position, the rest of the cumulation is dropped
+     *
+     * @param ctx ChannelHandlerContext the context the bytes were read from
+     * @param in ByteBuf representing the cumulated bytes from the socket
+     * @param e Exception the reason the frame could not be read
+     */
+    private void badFrame(ChannelHandlerContext ctx, ByteBuf in, Exception e) {
+        FRAME_READER.reset();
+        in.skipBytes(in.readableBytes());
+        PACKET_ROUTER.badFrame(ctx, e);
+    }
+
+    /**
+     * This will write a handled packet out, if not recycling. The original frame of a lazy packet is used if the packet was not modified
+     *
+     * @param packet Packet the handled packet
+     */
+    private void routePacket(Packet packet) {
+        if (!packet.isRecycle()) {
+            ByteBuf unmodifiedFrame = packet.getUnmodifiedFrame();
+            if (unmodifiedFrame != null) {
+                destinationCTX.writeAndFlush(unmodifiedFrame.retain(), destinationCTX.voidPromise());
+            } else {
+                packet.routeToDestination();
+            }
+        } else {
+            packet.resetRecycle();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Represents a factory that constructs a packet for a specific side of a connection.
+ * <p>
+ * Notes: Factories are generated once per packet type by {@link Packets} from the packets
+ * (Direction, ChannelHandlerContext, ChannelHandlerContext) constructor so building a connections packet pool does not use reflection
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+@FunctionalInterface
+public interface PacketFactory {
+
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: This will construct a new packet for a specific side of a connection
+     *
+     * @param DIRECTION       Direction representing the direction the packet is heading
+     * @param SENDER_CTX      ChannelHandlerContext which represents the sender of this packets context
+     * @param DESTINATION_CTX ChannelHandlerContext which represents the destination of this packets context
+     * @return Packet the newly constructed packet
+     */
+    Packet newPacket(Packet.Direction DIRECTION, ChannelHandlerContext SENDER_CTX, ChannelHandlerContext DESTINATION_CTX);
+}
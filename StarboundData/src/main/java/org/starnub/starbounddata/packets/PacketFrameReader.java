@@ -0,0 +1,162 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Represents a incremental reader for Starbound packet frames.
+ * <p>
+ * Notes:
+ * - A frame is a single byte packet id, a signed {@link org.starnub.starbounddata.types.variants.VLQ} payload length and the payload
+ * - A negative payload length means the payload is zlib compressed
+ * - This reader never moves the buffers reader index, header bytes already seen are remembered between calls so a
+ * partial header is never parsed twice. This makes it safe to use with a cumulating decoder without replaying
+ * <p>
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public class PacketFrameReader {
+
+    /**
+     * Maximum bytes a signed VLQ representing an int payload length can take
+     */
+    private static final int MAX_VLQ_LENGTH = 5;
+
+    /**
+     * Largest payload a frame may declare, a longer length can only come from a corrupt or hostile stream and would otherwise
+     * be cumulated until it arrived. Compressed payloads may not inflate past this either
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 64 * 1024 * 1024;
+
+    private byte packetId;
+    private int vlqLength;
+    private long vlqValue;
+    private boolean headerComplete;
+    private int payloadLength;
+    private boolean compressed;
+
+    public PacketFrameReader() {
+    }
+
+    public byte getPacketId() {
+        return packetId;
+    }
+
+    public int getVlqLength() {
+        return vlqLength;
+    }
+
+    public int getHeaderLength() {
+        return 1 + vlqLength;
+    }
+
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    public int getFrameLength() {
+        return 1 + vlqLength + payloadLength;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public boolean isHeaderComplete() {
+        return headerComplete;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will continue reading the frame header starting at the buffers reader index and report if the entire frame
+     * is readable. The reader index is not moved, the caller should consume {@link #getFrameLength()} bytes and then
+     * call {@link #reset()} before reading the next frame
+     * <p>
+     *
+     * @param in ByteBuf representing the cumulated bytes of the socket
+     * @return boolean true if the entire frame (header and payload) can be read from the buffer
+     * @throws IllegalStateException if the payload length VLQ is longer then a int payload length can be or the payload length
+     *                               is over {@link #MAX_PAYLOAD_LENGTH}, the stream can not be read any further
+     */
+    public boolean readFrame(ByteBuf in) throws IllegalStateException {
+        int readerIndex = in.readerIndex();
+        int readableBytes = in.readableBytes();
+        if (!headerComplete) {
+            if (readableBytes < 1) {
+                return false;
+            }
+            packetId = in.getByte(readerIndex);
+            while (true) {
+                if (readableBytes <= 1 + vlqLength) {
+                    return false;
+                }
+                int tmpByte = in.getByte(readerIndex + 1 + vlqLength);
+                vlqValue = (vlqValue << 7) | (tmpByte & 0x7f);
+                vlqLength++;
+                if ((tmpByte & 0x80) == 0) {
+                    break;
+                }
+                if (vlqLength >= MAX_VLQ_LENGTH) {
+                    throw new IllegalStateException("Packet frame length VLQ exceeded " + MAX_VLQ_LENGTH + " bytes for packet id " + packetId + ".");
+                }
+            }
+            long signedLength;
+            if ((vlqValue & 1) == 0x00) {
+                signedLength = vlqValue >> 1;
+            } else {
+                signedLength = -((vlqValue >> 1) + 1);
+            }
+            compressed = signedLength < 0;
+            long length = compressed ? -signedLength : signedLength;
+            if (length > MAX_PAYLOAD_LENGTH) {
+                throw new IllegalStateException("Packet frame payload length " + length + " exceeded " + MAX_PAYLOAD_LENGTH + " bytes for packet id " + packetId + ".");
+            }
+            payloadLength = (int) length;
+            headerComplete = true;
+        }
+        return readableBytes >= getFrameLength();
+    }
+
+    /**
+     * Recommended: For internal use with StarNub packet decoding
+     * <p>
+     * Uses: This will reset this reader so that the next frame can be read
+     */
+    public void reset() {
+        packetId = 0;
+        vlqLength = 0;
+        vlqValue = 0;
+        headerComplete = false;
+        payloadLength = 0;
+        compressed = false;
+    }
+
+    @Override
+    public String toString() {
+        return "PacketFrameReader{" +
+                "packetId=" + packetId +
+                ", vlqLength=" + vlqLength +
+                ", headerComplete=" + headerComplete +
+                ", payloadLength=" + payloadLength +
+                ", compressed=" + compressed +
+                '}';
+    }
+}
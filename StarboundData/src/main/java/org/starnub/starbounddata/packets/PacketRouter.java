@@ -0,0 +1,94 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Represents what a {@link PacketDecoder} does with the frames it reads, which packets are decoded, who handles them and what
+ * is done with frames that can not be read.
+ * <p>
+ * Notes: Every method is called on the event loop of the connection being decoded
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+public interface PacketRouter {
+
+    /**
+     * Uses: This is called for every whole frame before it is handled, the buffers reader index is at the start of the frame
+     *
+     * @param ctx ChannelHandlerContext the context the frame was read from
+     * @param in ByteBuf the cumulated bytes holding the frame, this must not be moved
+     * @param frameReader PacketFrameReader the header of the frame
+     */
+    void frameRead(ChannelHandlerContext ctx, ByteBuf in, PacketFrameReader frameReader);
+
+    /**
+     * @param packetId byte the packet id of the frame
+     * @return boolean true if this packet is decoded and handed to {@link #handle(ChannelHandlerContext, Packet)}, false forwards the frame as is
+     */
+    boolean isHandled(byte packetId);
+
+    /**
+     * Uses: This will handle a decoded packet
+     * <p>
+     * Notes: A router that returns false has taken the packet and must call {@link PacketDecoder#finishHandOff()} or
+     * {@link PacketDecoder#releaseHandOff()} once it is done with it, no further frames are decoded until then
+     *
+     * @param ctx ChannelHandlerContext the context the packet was read from
+     * @param packet Packet the decoded packet
+     * @return boolean true if the packet was handled and can be routed now, false if it was handed off
+     */
+    boolean handle(ChannelHandlerContext ctx, Packet packet);
+
+    /**
+     * @param packetId byte the packet id of the frame
+     * @return boolean true if the time it takes to decode this packet is wanted by {@link #packetDecoded(byte, int, long)}
+     */
+    boolean isDecodeTimed(byte packetId);
+
+    /**
+     * Uses: This is called once a timed packet is decompressed and read, or for a lazy packet decompressed
+     *
+     * @param packetId byte the packet id
+     * @param payloadLength int the uncompressed payload length
+     * @param decodeNanos long the time it took to decode
+     */
+    void packetDecoded(byte packetId, int payloadLength, long decodeNanos);
+
+    /**
+     * Uses: This is called when a packet could not be read, its original frame is forwarded after this without being handled
+     *
+     * @param ctx ChannelHandlerContext the context the packet was read from
+     * @param packet Packet the pooled packet that failed to read
+     * @param e RuntimeException the reason the packet could not be read
+     */
+    void unreadablePacket(ChannelHandlerContext ctx, Packet packet, RuntimeException e);
+
+    /**
+     * Uses: This is called when a frame header can not be framed or a payload can not be inflated. The stream is at a unknown
+     * position and the rest of the cumulation was dropped, the connection should be closed
+     *
+     * @param ctx ChannelHandlerContext the context the frame was read from
+     * @param e Exception the reason the frame could not be read
+     */
+    void badFrame(ChannelHandlerContext ctx, Exception e);
+}
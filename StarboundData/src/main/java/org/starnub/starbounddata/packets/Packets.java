@@ -18,10 +18,57 @@
 
 package org.starnub.starbounddata.packets;
 
-import org.reflections.Reflections;
+import io.netty.channel.ChannelHandlerContext;
+import org.starnub.starbounddata.packets.celestial.CelestialRequestPacket;
+import org.starnub.starbounddata.packets.celestial.CelestialResponsePacket;
+import org.starnub.starbounddata.packets.chat.ChatReceivePacket;
+import org.starnub.starbounddata.packets.chat.ChatSendPacket;
+import org.starnub.starbounddata.packets.client.ClientContextUpdatePacket;
+import org.starnub.starbounddata.packets.connection.ClientConnectPacket;
+import org.starnub.starbounddata.packets.connection.ClientDisconnectRequestPacket;
+import org.starnub.starbounddata.packets.connection.ConnectResponsePacket;
+import org.starnub.starbounddata.packets.connection.HandshakeChallengePacket;
+import org.starnub.starbounddata.packets.connection.HandshakeResponsePacket;
+import org.starnub.starbounddata.packets.connection.HeartbeatPacket;
+import org.starnub.starbounddata.packets.connection.ServerDisconnectPacket;
+import org.starnub.starbounddata.packets.container.BurnContainerPacket;
+import org.starnub.starbounddata.packets.container.ClearContainerPacket;
+import org.starnub.starbounddata.packets.container.CloseContainerPacket;
+import org.starnub.starbounddata.packets.container.OpenContainerPacket;
+import org.starnub.starbounddata.packets.container.StartCraftingInContainerPacket;
+import org.starnub.starbounddata.packets.container.StopCraftingInContainerPacket;
+import org.starnub.starbounddata.packets.damage.DamageNotificationPacket;
+import org.starnub.starbounddata.packets.damage.DamageRequestPacket;
+import org.starnub.starbounddata.packets.dungeon.UpdateTileProtectionPacket;
+import org.starnub.starbounddata.packets.entity.CallScriptedEntityPacket;
+import org.starnub.starbounddata.packets.entity.EntityCreatePacket;
+import org.starnub.starbounddata.packets.entity.EntityDestroyPacket;
+import org.starnub.starbounddata.packets.entity.EntityInteractPacket;
+import org.starnub.starbounddata.packets.entity.EntityInteractResultPacket;
+import org.starnub.starbounddata.packets.entity.EntityUpdatePacket;
+import org.starnub.starbounddata.packets.entity.SpawnEntityPacket;
+import org.starnub.starbounddata.packets.hit.HitRequestPacket;
+import org.starnub.starbounddata.packets.liquid.CollectLiquidPacket;
+import org.starnub.starbounddata.packets.liquid.TileLiquidUpdatePacket;
+import org.starnub.starbounddata.packets.misc.GiveItemPacket;
+import org.starnub.starbounddata.packets.misc.RequestDropPacket;
+import org.starnub.starbounddata.packets.server.ProtocolVersionPacket;
+import org.starnub.starbounddata.packets.server.UniverseTimeUpdatePacket;
+import org.starnub.starbounddata.packets.ship.FlyShipPacket;
+import org.starnub.starbounddata.packets.structure.CentralStructureUpdatePacket;
+import org.starnub.starbounddata.packets.tile.DamageTileGroupPacket;
+import org.starnub.starbounddata.packets.warp.PlayerWarp;
+import org.starnub.starbounddata.packets.wires.ConnectWirePacket;
+import org.starnub.starbounddata.packets.wires.DisconnectAllWiresPacket;
+import org.starnub.starbounddata.packets.world.WorldStartPacket;
+import org.starnub.starbounddata.packets.world.WorldStopPacket;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.HashMap;
-import java.util.Set;
 
 /**
  * Represents all of the packets and methods to generate a packet data for StarNub and Plugins
@@ -32,67 +79,86 @@ import java.util.Set;
  * @since 1.0 Beta
  */
 public enum Packets {
-    PROTOCOLVERSION("ProtocolVersionPacket.class", Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
-    SERVERDISCONNECT("ServerDisconnectPacket.class", Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
-    CONNECTRESPONSE("ConnectResponsePacket.class", Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
-    HANDSHAKECHALLENGE("HandshakeChallengePacket.class", Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
-    CHATRECEIVE("ChatReceivePacket.class", Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
-    UNIVERSETIMEUPDATE("UniverseTimeUpdatePacket.class", Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
-    CELESTIALRESPONSE("CelestialResponsePacket.class", Packet.Direction.TO_STARBOUND_CLIENT), //DEBUG - ALL DATA, TWO BYE ANOMALY and UNDOCUMENTED WORLD VISITABLE PTR
-    CLIENTCONNECT("ClientConnectPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    CLIENTDISCONNECTREQUEST("ClientDisconnectRequestPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    HANDSHAKERESPONSE("HandshakeResponsePacket.class", Packet.Direction.TO_STARBOUND_SERVER), /* Verified 26 Jan 15 */
-    PLAYERWARP("PlayerWarp.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - LocationsIds - Remaining - UNIQUE_WORLD & CELESTIAL_WORLD
-    FLYSHIP("FlyShipPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - Direction and test warping to planets that do not exist
-    CHATSEND("ChatSendPacket.class", Packet.Direction.TO_STARBOUND_SERVER), /* Verified 26 Jan 15 */
-    CELESTIALREQUEST("CelestialRequestPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    CLIENTCONTEXTUPDATE("ClientContextUpdatePacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - All data needs debugged
-    WORLDSTART("WorldStartPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - ALL DATA
-    WORLDSTOP("WorldStopPacket.class", Packet.Direction.TO_STARBOUND_CLIENT),
-    CENTRALSTRUCTUREUPDATE("CentralStructureUpdatePacket.class", Packet.Direction.TO_STARBOUND_CLIENT),
-    TILEARRAYUPDATE("", Packet.Direction.NOT_USED), // NetTile - Will be done once documents are corrected - STARBOUND DOCUMENTS NOT CORRECT
-    TILEUPDATE("", Packet.Direction.NOT_USED), // NetTile - Will be done once documents are corrected - STARBOUND DOCUMENTS NOT CORRECT
-    TILELIQUIDUPDATE("TileLiquidUpdatePacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - STARBOUND DOCUMENTS NOT CORRECT
-    TILEDAMAGEUPDATE("", Packet.Direction.NOT_USED),
-    TILEMODIFICATIONFAILURE("", Packet.Direction.NOT_USED),
-    GIVEITEM("GiveItemPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - item descriptor
-    SWAPINCONTAINERRESULT("", Packet.Direction.NOT_USED), //Item Descriptor issues
-    ENVIRONMENTUPDATE("", Packet.Direction.NOT_USED),
-    ENTITYINTERACTRESULT("EntityInteractResultPacket.class", Packet.Direction.TO_STARBOUND_CLIENT), //DEBUG - STARBOUND DOCUMENTS NOT CORRECT
-    UPDATETILEPROTECTION("UpdateTileProtectionPacket.class", Packet.Direction.BIDIRECTIONAL),//DEBUG DIRECTION AND DATA
-    MODIFYTILELIST("", Packet.Direction.NOT_USED),
-    DAMAGETILEGROUP("DamageTileGroupPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    COLLECTLIQUID("CollectLiquidPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    REQUESTDROP("RequestDropPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    SPAWNENTITY("SpawnEntityPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG DIRECTION AND DATA
-    ENTITYINTERACT("EntityInteractPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG DIRECTION
-    CONNECTWIRE("ConnectWirePacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
-    DISCONNECTALLWIRES("DisconnectAllWiresPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
-    OPENCONTAINER("OpenContainerPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    CLOSECONTAINER("CloseContainerPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    SWAPINCONTAINER("", Packet.Direction.NOT_USED), //Item Descriptor issues
-    ITEMAPPLYINCONTAINER("", Packet.Direction.NOT_USED), //Item Descriptor issues
-    STARTCRAFTINGINCONTAINER("StartCraftingInContainerPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    STOPCRAFTINGINCONTAINER("StopCraftingInContainerPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
-    BURNCONTAINER("BurnContainerPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
-    CLEARCONTAINER("ClearContainerPacket.class", Packet.Direction.TO_STARBOUND_SERVER),
-    WORLDCLIENTSTATEUPDATE("", Packet.Direction.NOT_USED),
-    ENTITYCREATE("EntityCreatePacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG Data Issues // BROKEN BECAUSE SOME ARE NOT BYTE ARRAYS
-    ENTITYUPDATE("EntityUpdatePacket.class", Packet.Direction.BIDIRECTIONAL), // DEBUG Delta and direction
-    ENTITYDESTROY("EntityDestroyPacket.class", Packet.Direction.BIDIRECTIONAL),
-    HITREQUEST("HitRequestPacket.class", Packet.Direction.BIDIRECTIONAL),
-    DAMAGEREQUEST("DamageRequestPacket.class", Packet.Direction.NOT_USED), //BI DIRECTIONAL  -DEBUG - Data Issues PROBABLE DOUBLE
-    DAMAGENOTIFICATION("DamageNotificationPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - Data Issues PROBABLE DOUBLE
-    CALLSCRIPTEDENTITY("CallScriptedEntityPacket.class", Packet.Direction.BIDIRECTIONAL), //DEBUG - ALL DATA
-    UPDATEWORLDPROPERTIES("", Packet.Direction.NOT_USED), //BIDIRECTIONAL
-    HEARTBEAT("HeartbeatPacket.class", Packet.Direction.BIDIRECTIONAL); /* Verified 26 Jan 15 */
-
-    private static HashMap<Packets, Class> packetClasses = setPrePacketCache();
+    PROTOCOLVERSION(ProtocolVersionPacket.class, ProtocolVersionPacket::new, Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
+    SERVERDISCONNECT(ServerDisconnectPacket.class, ServerDisconnectPacket::new, Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
+    CONNECTRESPONSE(ConnectResponsePacket.class, ConnectResponsePacket::new, Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
+    HANDSHAKECHALLENGE(HandshakeChallengePacket.class, HandshakeChallengePacket::new, Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
+    CHATRECEIVE(ChatReceivePacket.class, ChatReceivePacket::new, Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
+    UNIVERSETIMEUPDATE(UniverseTimeUpdatePacket.class, UniverseTimeUpdatePacket::new, Packet.Direction.TO_STARBOUND_CLIENT), /* Verified 26 Jan 15 */
+    CELESTIALRESPONSE(CelestialResponsePacket.class, CelestialResponsePacket::new, Packet.Direction.TO_STARBOUND_CLIENT), //DEBUG - ALL DATA, TWO BYE ANOMALY and UNDOCUMENTED WORLD VISITABLE PTR
+    CLIENTCONNECT(ClientConnectPacket.class, ClientConnectPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    CLIENTDISCONNECTREQUEST(ClientDisconnectRequestPacket.class, ClientDisconnectRequestPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    HANDSHAKERESPONSE(HandshakeResponsePacket.class, HandshakeResponsePacket::new, Packet.Direction.TO_STARBOUND_SERVER), /* Verified 26 Jan 15 */
+    PLAYERWARP(PlayerWarp.class, PlayerWarp::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - LocationsIds - Remaining - UNIQUE_WORLD & CELESTIAL_WORLD
+    FLYSHIP(FlyShipPacket.class, FlyShipPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - Direction and test warping to planets that do not exist
+    CHATSEND(ChatSendPacket.class, ChatSendPacket::new, Packet.Direction.TO_STARBOUND_SERVER), /* Verified 26 Jan 15 */
+    CELESTIALREQUEST(CelestialRequestPacket.class, CelestialRequestPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    CLIENTCONTEXTUPDATE(ClientContextUpdatePacket.class, ClientContextUpdatePacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - All data needs debugged
+    WORLDSTART(WorldStartPacket.class, WorldStartPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - ALL DATA
+    WORLDSTOP(WorldStopPacket.class, WorldStopPacket::new, Packet.Direction.TO_STARBOUND_CLIENT),
+    CENTRALSTRUCTUREUPDATE(CentralStructureUpdatePacket.class, CentralStructureUpdatePacket::new, Packet.Direction.TO_STARBOUND_CLIENT),
+    TILEARRAYUPDATE(null, null, Packet.Direction.NOT_USED), // NetTile - Will be done once documents are corrected - STARBOUND DOCUMENTS NOT CORRECT
+    TILEUPDATE(null, null, Packet.Direction.NOT_USED), // NetTile - Will be done once documents are corrected - STARBOUND DOCUMENTS NOT CORRECT
+    TILELIQUIDUPDATE(TileLiquidUpdatePacket.class, TileLiquidUpdatePacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - STARBOUND DOCUMENTS NOT CORRECT
+    TILEDAMAGEUPDATE(null, null, Packet.Direction.NOT_USED),
+    TILEMODIFICATIONFAILURE(null, null, Packet.Direction.NOT_USED),
+    GIVEITEM(GiveItemPacket.class, GiveItemPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - item descriptor
+    SWAPINCONTAINERRESULT(null, null, Packet.Direction.NOT_USED), //Item Descriptor issues
+    ENVIRONMENTUPDATE(null, null, Packet.Direction.NOT_USED),
+    ENTITYINTERACTRESULT(EntityInteractResultPacket.class, EntityInteractResultPacket::new, Packet.Direction.TO_STARBOUND_CLIENT), //DEBUG - STARBOUND DOCUMENTS NOT CORRECT
+    UPDATETILEPROTECTION(UpdateTileProtectionPacket.class, UpdateTileProtectionPacket::new, Packet.Direction.BIDIRECTIONAL),//DEBUG DIRECTION AND DATA
+    MODIFYTILELIST(null, null, Packet.Direction.NOT_USED),
+    DAMAGETILEGROUP(DamageTileGroupPacket.class, DamageTileGroupPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    COLLECTLIQUID(CollectLiquidPacket.class, CollectLiquidPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    REQUESTDROP(RequestDropPacket.class, RequestDropPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    SPAWNENTITY(SpawnEntityPacket.class, SpawnEntityPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG DIRECTION AND DATA
+    ENTITYINTERACT(EntityInteractPacket.class, EntityInteractPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG DIRECTION
+    CONNECTWIRE(ConnectWirePacket.class, ConnectWirePacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
+    DISCONNECTALLWIRES(DisconnectAllWiresPacket.class, DisconnectAllWiresPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
+    OPENCONTAINER(OpenContainerPacket.class, OpenContainerPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    CLOSECONTAINER(CloseContainerPacket.class, CloseContainerPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    SWAPINCONTAINER(null, null, Packet.Direction.NOT_USED), //Item Descriptor issues
+    ITEMAPPLYINCONTAINER(null, null, Packet.Direction.NOT_USED), //Item Descriptor issues
+    STARTCRAFTINGINCONTAINER(StartCraftingInContainerPacket.class, StartCraftingInContainerPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    STOPCRAFTINGINCONTAINER(StopCraftingInContainerPacket.class, StopCraftingInContainerPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
+    BURNCONTAINER(BurnContainerPacket.class, BurnContainerPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG Direction and Data
+    CLEARCONTAINER(ClearContainerPacket.class, ClearContainerPacket::new, Packet.Direction.TO_STARBOUND_SERVER),
+    WORLDCLIENTSTATEUPDATE(null, null, Packet.Direction.NOT_USED),
+    ENTITYCREATE(EntityCreatePacket.class, EntityCreatePacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG Data Issues // BROKEN BECAUSE SOME ARE NOT BYTE ARRAYS
+    ENTITYUPDATE(EntityUpdatePacket.class, EntityUpdatePacket::new, Packet.Direction.BIDIRECTIONAL), // DEBUG Delta and direction
+    ENTITYDESTROY(EntityDestroyPacket.class, EntityDestroyPacket::new, Packet.Direction.BIDIRECTIONAL),
+    HITREQUEST(HitRequestPacket.class, HitRequestPacket::new, Packet.Direction.BIDIRECTIONAL),
+    DAMAGEREQUEST(DamageRequestPacket.class, DamageRequestPacket::new, Packet.Direction.NOT_USED), //BI DIRECTIONAL  -DEBUG - Data Issues PROBABLE DOUBLE
+    DAMAGENOTIFICATION(DamageNotificationPacket.class, DamageNotificationPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - Data Issues PROBABLE DOUBLE
+    CALLSCRIPTEDENTITY(CallScriptedEntityPacket.class, CallScriptedEntityPacket::new, Packet.Direction.BIDIRECTIONAL), //DEBUG - ALL DATA
+    UPDATEWORLDPROPERTIES(null, null, Packet.Direction.NOT_USED), //BIDIRECTIONAL
+    HEARTBEAT(HeartbeatPacket.class, HeartbeatPacket::new, Packet.Direction.BIDIRECTIONAL); /* Verified 26 Jan 15 */
+
+    /**
+     * Payloads larger then this many bytes are compressed when a packet is encoded, unless set per packet type
+     */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 100;
+
+    private static final Packets[] PACKETS_BY_ID = values();
+    private static volatile HashMap<Packets, Class> packetClasses = setPrePacketCache();
+    private static volatile HashMap<String, Packets> packetsByClassString;
+    private static volatile HashMap<Class, Packets> packetsByClass;
+    private final Class<? extends Packet> PACKET_CLASS;
+    private final PacketFactory PACKET_CLASS_FACTORY;
     private String classString;
     private Packet.Direction direction;
+    private volatile int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    private volatile PacketFactory packetFactory;
 
-    Packets(String classString, Packet.Direction direction) {
-        this.classString = classString;
+    static {
+        indexClassStrings();
+        setPacketFactories(packetClasses);
+    }
+
+    Packets(Class<? extends Packet> PACKET_CLASS, PacketFactory PACKET_CLASS_FACTORY, Packet.Direction direction) {
+        this.PACKET_CLASS = PACKET_CLASS;
+        this.PACKET_CLASS_FACTORY = PACKET_CLASS_FACTORY;
+        this.classString = PACKET_CLASS == null ? "" : PACKET_CLASS.getSimpleName() + ".class";
         this.direction = direction;
     }
 
@@ -102,6 +168,14 @@ public enum Packets {
 
     public static void setPacketClasses(HashMap<Packets, Class> packetClasses) {
         Packets.packetClasses = packetClasses;
+        setPacketFactories(packetClasses);
+    }
+
+    /**
+     * @return Class the packet class this packet type was declared with, null if it does not have one
+     */
+    public Class<? extends Packet> getPacketClass() {
+        return PACKET_CLASS;
     }
 
     public String getClassString() {
@@ -110,6 +184,7 @@ public enum Packets {
 
     public void setClassString(String classString) {
         this.classString = classString;
+        indexClassStrings();
     }
 
     public Packet.Direction getDirection() {
@@ -124,39 +199,140 @@ public enum Packets {
         return (byte) this.ordinal();
     }
 
+    public PacketFactory getPacketFactory() {
+        return packetFactory;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will set the payload size in bytes above which this packet type is compressed when encoded
+     *
+     * @param compressionThreshold int representing the payload size, payloads larger then this are compressed
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the packet type for a packet id without copying the enum values
+     *
+     * @param packetId byte representing the packet id
+     * @return Packets the packet type or null if the id is not a known packet
+     */
+    public static Packets fromPacketId(byte packetId) {
+        int index = packetId & 0xFF;
+        return index < PACKETS_BY_ID.length ? PACKETS_BY_ID[index] : null;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the packet type a packet class is cached for
+     *
+     * @param packetClass Class representing the packet class
+     * @return Packets the packet type or null if the class is not cached, packet types that are not used are never cached
+     */
+    public static Packets fromClass(Class packetClass) {
+        return packetsByClass.get(packetClass);
+    }
+
     /**
      * Recommended: For internal use with StarNub Player Sessions
      * <p>
-     * Uses: This method will scan the class path starbounddata.packets and this enum and match class paths with packet types
-     * to be pre loaded for incoming connections
+     * Uses: This will return the packet classes to be pre loaded for incoming connections from the packet types declared in this
+     * enum, packet types without a class or that are not used are left out
+     * <p>
+     * Notes: The classes are listed with each packet type so no class path scanning is done at start up
      */
     public static HashMap<Packets, Class> setPrePacketCache() {
-        Reflections reflections = new Reflections("org.starnub.starbounddata.packets");
-        Set<Class<? extends Packet>> allClasses = reflections.getSubTypesOf(Packet.class);
-        HashMap<String, Class> packetPaths = new HashMap<String, Class>();
-        for (Class c : allClasses) {
-            String className = c.getName();
-            packetPaths.put(className.substring(className.lastIndexOf(".") + 1), c);
-        }
         HashMap<Packets, Class> packetCacheToSet = new HashMap<>();
-        for (Packets packet : Packets.values()) {
-            if (!packet.classString.isEmpty() && !(packet.classString.length() < 6) && packet.direction != Packet.Direction.NOT_USED) {
-                String packetName = packet.classString.substring(0, packet.classString.lastIndexOf("."));
-                Class packetPath = packetPaths.get(packetName);
-                packetCacheToSet.put(packet, packetPath);
+        for (Packets packet : values()) {
+            if (packet.PACKET_CLASS != null && packet.direction != Packet.Direction.NOT_USED) {
+                packetCacheToSet.put(packet, packet.PACKET_CLASS);
             }
         }
         return packetCacheToSet;
     }
 
-    public static Packets fromString(String string){
-        for(Packets p : Packets.values()){
-            String packetClassString = p.getClassString();
-            if (packetClassString.equalsIgnoreCase(string)){
-                return p;
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: This will set the {@link PacketFactory} for each packet class so packets can be constructed without reflection,
+     * packet types keeping their declared class use the declared constructor, other classes have a factory generated. Packet
+     * types without a class have their factory cleared
+     *
+     * @param packetClasses HashMap representing the packet types and their classes
+     */
+    private static void setPacketFactories(HashMap<Packets, Class> packetClasses) {
+        HashMap<Class, Packets> packetsByClassToSet = new HashMap<>();
+        for (Packets packet : PACKETS_BY_ID) {
+            Class packetClass = packetClasses.get(packet);
+            if (packetClass == null) {
+                packet.packetFactory = null;
+            } else {
+                packet.packetFactory = packetClass == packet.PACKET_CLASS ? packet.PACKET_CLASS_FACTORY : generatePacketFactory(packetClass);
+                packetsByClassToSet.put(packetClass, packet);
             }
         }
-        return null;
+        packetsByClass = packetsByClassToSet;
+    }
+
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: This will bind a packet classes (Direction, ChannelHandlerContext, ChannelHandlerContext) constructor to a
+     * {@link PacketFactory} lambda
+     *
+     * @param packetClass Class representing the packet class
+     * @return PacketFactory the factory or null if the packet class does not have the constructor
+     */
+    private static PacketFactory generatePacketFactory(Class packetClass) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType constructorType = MethodType.methodType(void.class, Packet.Direction.class, ChannelHandlerContext.class, ChannelHandlerContext.class);
+            MethodHandle constructor = lookup.findConstructor(packetClass, constructorType);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "newPacket",
+                    MethodType.methodType(PacketFactory.class),
+                    MethodType.methodType(Packet.class, Packet.Direction.class, ChannelHandlerContext.class, ChannelHandlerContext.class),
+                    constructor,
+                    constructor.type());
+            return (PacketFactory) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * The index is rebuilt and swapped in whole when a class string changes, so lookups read it without locking
+     */
+    private static synchronized void indexClassStrings() {
+        HashMap<String, Packets> packetsByClassStringToSet = new HashMap<>();
+        for (Packets packet : PACKETS_BY_ID) {
+            packetsByClassStringToSet.putIfAbsent(packet.classString.toLowerCase(), packet);
+        }
+        packetsByClassString = packetsByClassStringToSet;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return the packet type for a class string such as "ChatSendPacket.class", case is ignored
+     *
+     * @param string String representing the class string
+     * @return Packets the packet type or null if no packet type has this class string
+     */
+    public static Packets fromString(String string){
+        return packetsByClassString.get(string.toLowerCase());
     }
 
     @Override
@@ -166,4 +342,4 @@ public enum Packets {
                 ", direction=" + direction +
                 "} " + super.toString();
     }
-}
\ No newline at end of file
+}
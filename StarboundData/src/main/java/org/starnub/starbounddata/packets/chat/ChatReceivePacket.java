@@ -87,44 +87,70 @@ public class ChatReceivePacket extends Packet {
      */
     public ChatReceivePacket(ChatReceivePacket packet) {
         super(packet);
-        this.messageContext = packet.getMessageContext();
-        this.clientId = packet.getClientId();
-        this.fromName = packet.getFromName();
-        this.message = packet.getMessage();
+        packet.decodeLazy();
+        this.messageContext = packet.messageContext;
+        this.clientId = packet.clientId;
+        this.fromName = packet.fromName;
+        this.message = packet.message;
     }
 
+    /**
+     * The message context is mutable so accessing it marks this packet as modified
+     *
+     * @return MessageContext the message context
+     */
     public MessageContext getMessageContext() {
+        setModified();
         return messageContext;
     }
 
     public void setMessageContext(MessageContext messageContext) {
+        setModified();
         this.messageContext = messageContext;
     }
 
     public int getClientId() {
+        decodeLazy();
         return clientId;
     }
 
     public void setClientId(int clientId) {
+        setModified();
         this.clientId = clientId;
     }
 
     public String getFromName() {
+        decodeLazy();
         return fromName;
     }
 
     public void setFromName(String fromName) {
+        setModified();
         this.fromName = fromName;
     }
 
     public String getMessage() {
+        decodeLazy();
         return message;
     }
 
     public void setMessage(String message) {
+        setModified();
         this.message = message;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: Chat is only read when a handler accesses it and is routed with its original bytes unless modified
+     *
+     * @return boolean true, this packet supports lazy decoding
+     */
+    @Override
+    public boolean isLazyDecoding() {
+        return true;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -162,6 +188,7 @@ public class ChatReceivePacket extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
+        decodeLazy();
         messageContext.write(out);
         out.writeInt(this.clientId);
         writeStringVLQ(out, this.fromName);
@@ -170,6 +197,7 @@ public class ChatReceivePacket extends Packet {
 
     @Override
     public String toString() {
+        decodeLazy();
         return "ChatReceivePacket{" +
                 "messageContext=" + messageContext +
                 ", clientId=" + clientId +
@@ -79,26 +79,43 @@ public class ChatSendPacket extends Packet {
      */
     public ChatSendPacket(ChatSendPacket packet) {
         super(packet);
-        this.message = packet.getMessage();
-        this.chatSendMode = packet.getChatSendMode();
+        packet.decodeLazy();
+        this.message = packet.message;
+        this.chatSendMode = packet.chatSendMode;
     }
 
     public String getMessage() {
+        decodeLazy();
         return message;
     }
 
     public void setMessage(String message) {
+        setModified();
         this.message = message;
     }
 
     public ChatSendMode getChatSendMode() {
+        decodeLazy();
         return chatSendMode;
     }
 
     public void setChatSendMode(ChatSendMode chatSendMode) {
+        setModified();
         this.chatSendMode = chatSendMode;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: Chat is only read when a handler accesses it and is routed with its original bytes unless modified
+     *
+     * @return boolean true, this packet supports lazy decoding
+     */
+    @Override
+    public boolean isLazyDecoding() {
+        return true;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -134,12 +151,14 @@ public class ChatSendPacket extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
+        decodeLazy();
         writeStringVLQ(out, this.message);
         out.writeByte(this.chatSendMode.ordinal());
     }
 
     @Override
     public String toString() {
+        decodeLazy();
         return "ChatSendPacket{" +
                 "message='" + message + '\'' +
                 ", chatSendMode=" + chatSendMode +
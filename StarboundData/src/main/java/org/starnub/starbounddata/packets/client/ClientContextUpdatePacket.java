@@ -133,7 +133,7 @@ public class ClientContextUpdatePacket extends Packet {
 //            System.out.println(VLQ.readUnsignedFromBufferNoObject(duplicate));
 //        }
 //        this.entityId.read(in);
-        this.delta = in.readBytes(in.readableBytes()).array();
+        this.delta = readRemainingBytes(in);
     }
 
     /**
@@ -171,7 +171,7 @@ public class ConnectResponsePacket extends Packet {
     @Override
     public void write(ByteBuf out) {
         out.writeBoolean(this.success);
-        out.writeBytes(VLQ.writeSignedVLQNoObject(this.clientId));
+        VLQ.writeUnsignedVLQ(out, this.clientId);
         writeStringVLQ(out, this.rejectionReason);
         if (celestialBaseInformation == null){
             out.writeBoolean(false);
@@ -116,7 +116,7 @@ public class HeartbeatPacket extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
-        out.writeBytes(VLQ.writeSignedVLQNoObject(this.currentStep));
+        VLQ.writeUnsignedVLQ(out, this.currentStep);
     }
 
     @Override
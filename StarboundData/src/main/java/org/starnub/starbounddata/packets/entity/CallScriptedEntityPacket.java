@@ -20,7 +20,6 @@ package org.starnub.starbounddata.packets.entity;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import org.starnub.starbounddata.ByteBufferUtilities;
 import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.Packets;
 import org.starnub.starbounddata.types.entity.EntityVLQId;
@@ -130,7 +129,6 @@ public class CallScriptedEntityPacket extends Packet {
      */
     @Override
     public void read(ByteBuf in) {
-        ByteBufferUtilities.print(in, true);
         this.entityId.read(in);
         this.function = readVLQString(in);
         this.args.read(in);
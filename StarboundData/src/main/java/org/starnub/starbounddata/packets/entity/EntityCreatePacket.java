@@ -20,11 +20,11 @@ package org.starnub.starbounddata.packets.entity;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import org.starnub.starbounddata.ByteBufferUtilities;
 import org.starnub.starbounddata.types.entity.EntityVLQId;
 import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.Packets;
 import org.starnub.starbounddata.types.entity.EntityType;
+import org.starnub.starbounddata.types.variants.VLQ;
 
 /**
  * Represents the EntityCreate and methods to generate a packet data for StarNub and Plugins
@@ -82,35 +82,78 @@ public class EntityCreatePacket extends Packet {
      */
     public EntityCreatePacket(EntityCreatePacket packet) {
         super(packet);
-        this.entityType = packet.getEntityType();
-        this.storeData = packet.getStoreData().clone();
-        this.entityId = packet.getEntityId();
+        packet.decodeLazy();
+        this.entityType = packet.entityType;
+        this.storeData = packet.storeData.clone();
+        this.entityId = new EntityVLQId(packet.entityId);
     }
 
+    /**
+     * If this packet has not been read only the entity type byte is read
+     *
+     * @return EntityType the entity type
+     */
     public EntityType getEntityType() {
+        ByteBuf payload = getLazyPayload();
+        if (payload != null) {
+            return EntityType.values()[payload.readUnsignedByte()];
+        }
         return entityType;
     }
 
     public void setEntityType(EntityType entityType) {
+        setModified();
         this.entityType = entityType;
     }
 
+    /**
+     * The store data is mutable so accessing it marks this packet as modified
+     *
+     * @return byte[] the store data
+     */
     public byte[] getStoreData() {
+        setModified();
         return storeData;
     }
 
     public void setStoreData(byte[] storeData) {
+        setModified();
         this.storeData = storeData;
     }
 
+    /**
+     * If this packet has not been read the store data is skipped and a new entity id is read from the payload, the packets own
+     * entity id is left alone. Changes to the returned entity id must be set with {@link #setEntityId(EntityVLQId)}
+     *
+     * @return EntityVLQId the entity id
+     */
     public EntityVLQId getEntityId() {
+        ByteBuf payload = getLazyPayload();
+        if (payload != null) {
+            payload.skipBytes(1);
+            payload.skipBytes((int) VLQ.readUnsignedFromBufferNoObject(payload));
+            return new EntityVLQId(payload);
+        }
         return entityId;
     }
 
     public void setEntityId(EntityVLQId entityId) {
+        setModified();
         this.entityId = entityId;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: Entities are only read when a handler accesses them and are routed with their original bytes unless modified
+     *
+     * @return boolean true, this packet supports lazy decoding
+     */
+    @Override
+    public boolean isLazyDecoding() {
+        return true;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -130,8 +173,6 @@ public class EntityCreatePacket extends Packet {
      */
     @Override
     public void read(ByteBuf in) {
-        ByteBufferUtilities.print(in);
-        System.out.println(in.readableBytes());
         this.entityType =  EntityType.values()[in.readUnsignedByte()];
         this.storeData = readVLQArray(in);
         this.entityId.read(in);
@@ -147,14 +188,15 @@ public class EntityCreatePacket extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
+        decodeLazy();
         out.writeByte(entityType.ordinal());
         writeVLQArray(out, storeData);
         this.entityId.write(out);
-        System.err.println(out.readableBytes());
     }
 
     @Override
     public String toString() {
+        decodeLazy();
         return "EntityCreatePacket{" +
                 "entityType=" + entityType +
 //                ", storeData=" + Arrays.toString(storeData) +
@@ -20,7 +20,6 @@ package org.starnub.starbounddata.packets.entity;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import org.starnub.starbounddata.ByteBufferUtilities;
 import org.starnub.starbounddata.types.entity.EntityVLQId;
 import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.Packets;
@@ -120,7 +119,6 @@ public class EntityUpdatePacket extends Packet {
      */
     @Override
     public void read(ByteBuf in) {
-        ByteBufferUtilities.print(in, true);
 //        ByteBuf duplicate = in.duplicate();
 //        VLQ.readUnsignedFromBufferNoObject(duplicate);
 //        VLQ.readUnsignedFromBufferNoObject(duplicate);
@@ -133,7 +131,7 @@ public class EntityUpdatePacket extends Packet {
 //            System.out.println(VLQ.readUnsignedFromBufferNoObject(duplicate));
 //        }
         this.entityId.read(in);
-        this.delta = in.readBytes(in.readableBytes()).array();
+        this.delta = readRemainingBytes(in);
     }
 
     /**
@@ -2,7 +2,6 @@ package org.starnub.starbounddata.packets.warp;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import org.starnub.starbounddata.ByteBufferUtilities;
 import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.Packets;
 import org.starnub.starbounddata.types.warp.ClientShipWorld;
@@ -64,35 +63,82 @@ public class PlayerWarp extends Packet {
      */
     public PlayerWarp(PlayerWarp packet) {
         super(packet);
-        this.warpType = packet.getWarpType();
-        this.warpId = packet.getWarpId();
-        this.locationId = packet.getLocationId();
+        packet.decodeLazy();
+        this.warpType = packet.warpType;
+        this.warpId = packet.warpId;
+        this.locationId = packet.locationId;
     }
 
+    /**
+     * If this packet has not been read only the warp type byte is read
+     *
+     * @return WarpType the warp type
+     */
     public WarpType getWarpType() {
+        ByteBuf payload = getLazyPayload();
+        if (payload != null) {
+            return WarpType.values()[payload.readUnsignedByte()];
+        }
         return warpType;
     }
 
     public void setWarpType(WarpType warpType) {
+        setModified();
         this.warpType = warpType;
     }
 
+    /**
+     * If this packet has not been read only the warp id byte is read
+     *
+     * @return WarpId the warp id
+     */
     public WarpId getWarpId() {
+        ByteBuf payload = getLazyPayload();
+        if (payload != null) {
+            payload.skipBytes(1);
+            return WarpId.values()[payload.readUnsignedByte()];
+        }
         return warpId;
     }
 
     public void setWarpId(WarpId warpId) {
+        setModified();
         this.warpId = warpId;
     }
 
+    /**
+     * If this packet has not been read a new location is read from the payload, the packets own location is left alone.
+     * Changes to the returned location must be set with {@link #setLocationId(Object)}
+     *
+     * @return Object the location, a {@link ClientShipWorld}, {@link MissionWorld} or byte[] for the other warp ids
+     */
     public Object getLocationId() {
+        ByteBuf payload = getLazyPayload();
+        if (payload != null) {
+            payload.skipBytes(1);
+            return readLocationId(WarpId.values()[payload.readUnsignedByte()], payload);
+        }
         return locationId;
     }
 
     public void setLocationId(Object locationId) {
+        setModified();
         this.locationId = locationId;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: Warps are tracked by StarNub for every player, they are only read when a handler accesses them and are routed
+     * with their original bytes unless modified
+     *
+     * @return boolean true, this packet supports lazy decoding
+     */
+    @Override
+    public boolean isLazyDecoding() {
+        return true;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -115,18 +161,17 @@ public class PlayerWarp extends Packet {
      */
     @Override
     public void read(ByteBuf in) {
-        ByteBufferUtilities.print(in, true);
         this.warpType = WarpType.values()[in.readUnsignedByte()];
         this.warpId =  WarpId.values()[in.readUnsignedByte()];
-            switch (warpId){
-                case CLIENT_SHIP_WORLD: {
-                    this.locationId = new ClientShipWorld(in); break;
-                }
-                case MISSION_WORLD: {
-                    this.locationId = new MissionWorld(in); break;
-                }
-                default: locationId = in.readBytes(in.readableBytes()).array(); break;
-            }
+        this.locationId = readLocationId(warpId, in);
+    }
+
+    private static Object readLocationId(WarpId warpId, ByteBuf in) {
+        switch (warpId){
+            case CLIENT_SHIP_WORLD: return new ClientShipWorld(in);
+            case MISSION_WORLD: return new MissionWorld(in);
+            default: return readRemainingBytes(in);
+        }
     }
 
     /**
@@ -139,6 +184,7 @@ public class PlayerWarp extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
+        decodeLazy();
         out.writeByte(warpType.ordinal());
         out.writeByte(warpId.ordinal());
             switch (warpId){
@@ -154,6 +200,7 @@ public class PlayerWarp extends Packet {
 
     @Override
     public String toString() {
+        decodeLazy();
         return "PlayerWarp{" +
                 "warpType=" + warpType +
                 ", warpId=" + warpId +
@@ -20,11 +20,11 @@ package org.starnub.starbounddata.packets.world;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import org.starnub.starbounddata.ByteBufferUtilities;
 import org.starnub.starbounddata.types.variants.Variant;
 import org.starnub.starbounddata.packets.Packet;
 import org.starnub.starbounddata.packets.Packets;
 import org.starnub.starbounddata.types.dungeon.ProtectedDungeonIds;
+import org.starnub.starbounddata.types.variants.VLQ;
 import org.starnub.starbounddata.types.vectors.Vec2F;
 
 import java.util.Arrays;
@@ -32,7 +32,9 @@ import java.util.Arrays;
 /**
  * Represents the WorldStopPacket and methods to generate a packet data for StarNub and Plugins
  * <p>
- * Notes: This packet cannot be edited freely or sent to a client out of stream
+ * Notes: This packet cannot be edited freely or sent to a client out of stream. The protected dungeon ids and the fields
+ * after the player start have not been verified against the 1.0 protocol, so this packet is routed with its original bytes
+ * unless it is modified
  * <p>
  * Packet Direction: Server -> Client //DEBUG ALL PACKET PARTS
  * <p>
@@ -101,80 +103,123 @@ public class WorldStartPacket extends Packet {
      */
     public WorldStartPacket(WorldStartPacket packet) {
         super(packet);
-        this.templateData = packet.getTemplateData().copy();
-        this.skyData = packet.getSkyData().clone();
-        this.weatherData = packet.getWeatherData().clone();
-        this.playerStart = packet.getPlayerStart().copy();
-        this.protectedDungeonIds = packet.getProtectedDungeonIds().copy();
-        this.worldProperties = packet.getWorldProperties().copy();
-        this.clientId = packet.getClientId();
-        this.localInterpolationMode = packet.isLocalInterpolationMode();
+        packet.decodeLazy();
+        this.templateData = packet.templateData.copy();
+        this.skyData = packet.skyData.clone();
+        this.weatherData = packet.weatherData.clone();
+        this.playerStart = packet.playerStart.copy();
+        this.protectedDungeonIds = packet.protectedDungeonIds.copy();
+        this.worldProperties = packet.worldProperties.copy();
+        this.clientId = packet.clientId;
+        this.localInterpolationMode = packet.localInterpolationMode;
     }
 
     public Variant getTemplateData() {
+        setModified();
         return templateData;
     }
 
     public void setTemplateData(Variant templateData) {
+        setModified();
         this.templateData = templateData;
     }
 
     public byte[] getSkyData() {
+        setModified();
         return skyData;
     }
 
     public void setSkyData(byte[] skyData) {
+        setModified();
         this.skyData = skyData;
     }
 
     public byte[] getWeatherData() {
+        setModified();
         return weatherData;
     }
 
     public void setWeatherData(byte[] weatherData) {
+        setModified();
         this.weatherData = weatherData;
     }
 
+    /**
+     * If this packet has not been read the template, sky and weather data are skipped and a new player start is read from the
+     * payload, the packets own player start is left alone. Changes to the returned player start must be set with
+     * {@link #setPlayerStart(Vec2F)}
+     *
+     * @return Vec2F the player start
+     */
     public Vec2F getPlayerStart() {
+        ByteBuf payload = getLazyPayload();
+        if (payload != null) {
+            new Variant(payload);
+            payload.skipBytes((int) VLQ.readUnsignedFromBufferNoObject(payload));
+            payload.skipBytes((int) VLQ.readUnsignedFromBufferNoObject(payload));
+            return new Vec2F(payload);
+        }
         return playerStart;
     }
 
     public void setPlayerStart(Vec2F playerStart) {
+        setModified();
         this.playerStart = playerStart;
     }
 
     public ProtectedDungeonIds getProtectedDungeonIds() {
+        setModified();
         return protectedDungeonIds;
     }
 
     public void setProtectedDungeonIds(ProtectedDungeonIds protectedDungeonIds) {
+        setModified();
         this.protectedDungeonIds = protectedDungeonIds;
     }
 
     public Variant getWorldProperties() {
+        setModified();
         return worldProperties;
     }
 
     public void setWorldProperties(Variant worldProperties) {
+        setModified();
         this.worldProperties = worldProperties;
     }
 
     public int getClientId() {
+        decodeLazy();
         return clientId;
     }
 
     public void setClientId(int clientId) {
+        setModified();
         this.clientId = clientId;
     }
 
     public boolean isLocalInterpolationMode() {
+        decodeLazy();
         return localInterpolationMode;
     }
 
     public void setLocalInterpolationMode(boolean localInterpolationMode) {
+        setModified();
         this.localInterpolationMode = localInterpolationMode;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: World starts are tracked by StarNub for every player, they are only read when a handler accesses them and are
+     * routed with their original bytes unless modified
+     *
+     * @return boolean true, this packet supports lazy decoding
+     */
+    @Override
+    public boolean isLazyDecoding() {
+        return true;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -196,7 +241,6 @@ public class WorldStartPacket extends Packet {
      */
     @Override
     public void read(ByteBuf in) {
-        ByteBufferUtilities.print(in, true);
         this.templateData.read(in);
         this.skyData = readVLQArray(in);
         this.weatherData = readVLQArray(in);
@@ -217,6 +261,7 @@ public class WorldStartPacket extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
+        decodeLazy();
         this.templateData.write(out);
         writeVLQArray(out, this.skyData);
         writeVLQArray(out, this.weatherData);
@@ -229,6 +274,7 @@ public class WorldStartPacket extends Packet {
 
     @Override
     public String toString() {
+        decodeLazy();
         return "WorldStartPacket{" +
                 "templateData=" + templateData +
                 ", skyData=" + Arrays.toString(skyData) +
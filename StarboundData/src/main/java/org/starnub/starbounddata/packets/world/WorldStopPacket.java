@@ -74,17 +74,33 @@ public class WorldStopPacket extends Packet {
      */
     public WorldStopPacket(WorldStopPacket packet) {
         super(packet);
-        this.reason = packet.getReason();
+        packet.decodeLazy();
+        this.reason = packet.reason;
     }
 
     public String getReason() {
+        decodeLazy();
         return reason;
     }
 
     public void setReason(String reason) {
+        setModified();
         this.reason = reason;
     }
 
+    /**
+     * Recommended: For internal use with StarNub Player Sessions
+     * <p>
+     * Uses: World stops are tracked by StarNub for every player, only the destination is needed so the reason is only read
+     * when a handler accesses it and the packet is routed with its original bytes unless modified
+     *
+     * @return boolean true, this packet supports lazy decoding
+     */
+    @Override
+    public boolean isLazyDecoding() {
+        return true;
+    }
+
     /**
      * This will provide a new object while copying all of the internal data as well into this
      * new Object
@@ -119,11 +135,13 @@ public class WorldStopPacket extends Packet {
      */
     @Override
     public void write(ByteBuf out) {
+        decodeLazy();
         writeStringVLQ(out, this.reason);
     }
 
     @Override
     public String toString() {
+        decodeLazy();
         return "WorldStopPacket{" +
                 "reason='" + reason + '\'' +
                 "} " + super.toString();
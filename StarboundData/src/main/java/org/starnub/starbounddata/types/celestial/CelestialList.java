@@ -57,8 +57,7 @@ public class CelestialList extends ArrayList<Variant> implements SbDataInterface
     @Override
     public void write(ByteBuf out) {
         long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, size);
         for (Variant variant : this) {
             variant.write(out);
         }
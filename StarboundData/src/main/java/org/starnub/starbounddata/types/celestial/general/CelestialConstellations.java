@@ -57,8 +57,7 @@ public class CelestialConstellations extends ArrayList<CelestialConstellationLis
     @Override
     public void write(ByteBuf out) {
         long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, size);
         for (CelestialConstellationList celestialConstellationList : this) {
             celestialConstellationList.write(out);
         }
@@ -99,8 +99,7 @@ public class CelestialParameters extends SbData<CelestialParameters> {
     @Override
     public void write(ByteBuf out) {
         this.coordinate.write(out);
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(seed);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, seed);
         writeStringVLQ(out, name);
         this.parameters.write(out);
     }
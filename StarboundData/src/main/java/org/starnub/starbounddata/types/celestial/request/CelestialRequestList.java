@@ -57,8 +57,7 @@ public class CelestialRequestList extends ArrayList<CelestialRequest> implements
     @Override
     public void write(ByteBuf out) {
         long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, size);
         for (CelestialRequest celestialRequest : this) {
             celestialRequest.write(out);
         }
@@ -57,8 +57,7 @@ public class CelestialResponseList extends ArrayList<CelestialResponse> implemen
     @Override
     public void write(ByteBuf out) {
         long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, size);
         for (CelestialResponse celestialResponse : this) {
             celestialResponse.write(out);
         }
@@ -58,7 +58,7 @@ public class EphemeralStatusEffects extends ArrayList<EphemeralStatusEffect> imp
 
     @Override
     public void write(ByteBuf out) {
-        out.writeBytes(VLQ.writeUnsignedVLQNoObject((long) this.size()));
+        VLQ.writeUnsignedVLQ(out, (long) this.size());
         for (EphemeralStatusEffect ephemeralStatusEffect : this) {
             ephemeralStatusEffect.write(out);
         }
@@ -56,8 +56,7 @@ public class DungeonId extends SbData<DungeonId> {
 
     @Override
     public void write(ByteBuf out){
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(dungeonId);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, dungeonId);
     }
 
     @Override
@@ -53,8 +53,7 @@ public class ProtectedDungeonIds extends HashSet<DungeonId> implements SbDataInt
     @Override
     public void write(ByteBuf out) {
         long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        VLQ.writeUnsignedVLQ(out, size);
         for (DungeonId dungeonId : this) {
             dungeonId.write(out);
         }
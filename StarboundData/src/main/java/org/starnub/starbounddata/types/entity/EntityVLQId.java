@@ -61,8 +61,7 @@ public class EntityVLQId extends SbData<EntityVLQId> {
 
     @Override
     public void write(ByteBuf out){
-        byte[] bytes = VLQ.writeSignedVLQNoObject(entityId);
-        out.writeBytes(bytes);
+        VLQ.writeSignedVLQ(out, entityId);
     }
 
     @Override
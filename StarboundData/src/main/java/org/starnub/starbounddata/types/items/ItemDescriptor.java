@@ -28,7 +28,6 @@ import java.util.List;
 
 import static org.starnub.starbounddata.packets.Packet.readVLQString;
 import static org.starnub.starbounddata.packets.Packet.writeStringVLQ;
-import static org.starnub.starbounddata.types.variants.VLQ.writeUnsignedVLQNoObject;
 
 /**
  * Starbound 1.0 Compliant (Versions 622, Update 1)
@@ -113,7 +112,7 @@ public class ItemDescriptor extends SbData<ItemDescriptor>{
     @Override
     public void write(ByteBuf out){
         writeStringVLQ(out, this.name);
-        out.writeBytes(writeUnsignedVLQNoObject(this.count));
+        VLQ.writeUnsignedVLQ(out, this.count);
         this.parameters.write(out);
 //        boolean hasParametersShae256 =  parametersSha256 != null;
         if(itemDescriptors.size() > 0){
@@ -19,6 +19,7 @@
 package org.starnub.starbounddata.types.variants;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
 
 /**
  * Represents a Variant Length Quantity(VLQ).
@@ -84,9 +85,9 @@ public class VLQ {
         VLQ value = unsignedFromBuffer(in);
         long val = value.getValue();
         if ((value.getValue() & 1) == 0x00)
-            val = val >> 1;
+            val = val >>> 1;
         else
-            val = -((val >> 1) + 1);
+            val = -((val >>> 1) + 1);
         value.setValue(val);
         return value;
     }
@@ -132,9 +133,9 @@ public class VLQ {
     public static long readSignedFromBufferNoObject(ByteBuf in) {
         long payloadLength = readUnsignedFromBufferNoObject(in);
         if ((payloadLength & 1) == 0x00) {
-            payloadLength = payloadLength >> 1;
+            payloadLength = payloadLength >>> 1;
         } else {
-            payloadLength = -((payloadLength >> 1) + 1);
+            payloadLength = -((payloadLength >>> 1) + 1);
         }
         return payloadLength;
     }
@@ -212,6 +213,177 @@ public class VLQ {
         return output;
     }
 
+    ///////////////////     REPRESENTS NO ALLOCATION BUFFER METHODS     ///////////////////
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes a u{@link VLQ} of this value takes
+     *
+     * @param value long the value of the VLQ
+     * @return int the length of the VLQ from 1 to 10 bytes
+     */
+    public static int unsignedVLQLength(long value) {
+        int numBytes = (64 - Long.numberOfLeadingZeros(value) + 6) / 7;
+        return numBytes == 0 ? 1 : numBytes;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes a s{@link VLQ} of this value takes
+     *
+     * @param value long the value of the VLQ
+     * @return int the length of the VLQ from 1 to 10 bytes
+     */
+    public static int signedVLQLength(long value) {
+        return unsignedVLQLength(signedToUnsigned(value));
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will write a u{@link VLQ} straight into a {@link io.netty.buffer.ByteBuf}
+     * <p>
+     * Notes: This will not create a VLQ object or a byte[] and should be used
+     *
+     * @param out ByteBuf the buffer to write to
+     * @param value long the value of the VLQ
+     */
+    public static void writeUnsignedVLQ(ByteBuf out, long value) {
+        for (int shift = (unsignedVLQLength(value) - 1) * 7; shift > 0; shift -= 7) {
+            out.writeByte((int) ((value >>> shift) & 0x7F) | 0x80);
+        }
+        out.writeByte((int) (value & 0x7F));
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will write a s{@link VLQ} straight into a {@link io.netty.buffer.ByteBuf}
+     * <p>
+     * Notes: This will not create a VLQ object or a byte[] and should be used
+     *
+     * @param out ByteBuf the buffer to write to
+     * @param value long the value of the VLQ
+     */
+    public static void writeSignedVLQ(ByteBuf out, long value) {
+        writeUnsignedVLQ(out, signedToUnsigned(value));
+    }
+
+    private static long signedToUnsigned(long value) {
+        return value < 0 ? ((-(value + 1)) << 1) | 1 : value << 1;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes a String takes once UTF-8 encoded, without encoding it
+     * <p>
+     * Notes: Unpaired surrogates count as 1 byte as they are written as "?"
+     *
+     * @param value String the string to measure
+     * @return int the UTF-8 length
+     */
+    public static int utf8Length(String value) {
+        int length = value.length();
+        int utf8Length = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    utf8Length += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    utf8Length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    utf8Length += 2;
+                }
+            }
+        }
+        return utf8Length;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes a String takes once written as a u{@link VLQ} length and UTF-8 bytes
+     *
+     * @param value String the string to measure
+     * @return int the VLQ length plus the UTF-8 length
+     */
+    public static int vlqStringLength(String value) {
+        int utf8Length = utf8Length(value);
+        return unsignedVLQLength(utf8Length) + utf8Length;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will write a u{@link VLQ} length and then the UTF-8 bytes of a String into a {@link io.netty.buffer.ByteBuf}
+     * <p>
+     * Notes: The length is written without creating a byte[], the String is encoded with {@link String#getBytes(java.nio.charset.Charset)}
+     * as it is faster than encoding it char by char into the buffer
+     *
+     * @param out ByteBuf the buffer to write to
+     * @param value String the string to write
+     */
+    public static void writeVLQString(ByteBuf out, String value) {
+        byte[] bytes = value.getBytes(CharsetUtil.UTF_8);
+        writeUnsignedVLQ(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read a u{@link VLQ} length and then that many UTF-8 bytes as a String from a {@link io.netty.buffer.ByteBuf}
+     * <p>
+     * Notes: The bytes are decoded straight from the buffer without being copied to a byte[] first
+     *
+     * @param in ByteBuf the buffer to read from
+     * @return String the string that was read
+     * @throws IndexOutOfBoundsException if the buffer does not hold the whole string
+     */
+    public static String readVLQString(ByteBuf in) throws IndexOutOfBoundsException {
+        int utf8Length = (int) readUnsignedFromBufferNoObject(in);
+        if (utf8Length > in.readableBytes() || utf8Length < 0) {
+            throw new IndexOutOfBoundsException("String length " + utf8Length + " exceeds the " + in.readableBytes() + " readable bytes");
+        }
+        String value = in.toString(in.readerIndex(), utf8Length, CharsetUtil.UTF_8);
+        in.skipBytes(utf8Length);
+        return value;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will read a u{@link VLQ} length and then that many UTF-8 bytes as a String from a {@link io.netty.buffer.ByteBuf},
+     * optionally through a shared cache for strings that repeat such as map keys
+     * <p>
+     * Notes: Only strings of 32 bytes or less are cached, a cached string is returned without decoding or allocating
+     *
+     * @param in ByteBuf the buffer to read from
+     * @param cached boolean true to use the shared string cache
+     * @return String the string that was read
+     * @throws IndexOutOfBoundsException if the buffer does not hold the whole string
+     */
+    public static String readVLQString(ByteBuf in, boolean cached) throws IndexOutOfBoundsException {
+        if (!cached) {
+            return readVLQString(in);
+        }
+        int utf8Length = (int) readUnsignedFromBufferNoObject(in);
+        if (utf8Length > in.readableBytes() || utf8Length < 0) {
+            throw new IndexOutOfBoundsException("String length " + utf8Length + " exceeds the " + in.readableBytes() + " readable bytes");
+        }
+        if (utf8Length > VLQStringCache.MAX_CACHED_LENGTH) {
+            String value = in.toString(in.readerIndex(), utf8Length, CharsetUtil.UTF_8);
+            in.skipBytes(utf8Length);
+            return value;
+        }
+        return VLQStringCache.read(in, utf8Length);
+    }
+
     @Override
     public String toString() {
         return "VLQ{" +
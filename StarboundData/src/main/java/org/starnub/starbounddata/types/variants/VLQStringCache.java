@@ -0,0 +1,94 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.starbounddata.types.variants;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+/**
+ * Represents a small shared cache of decoded strings keyed by their UTF-8 bytes, used for strings that repeat across packets such as
+ * {@link VariantMap} keys so a repeated string is matched against the buffer and returned without being decoded again.
+ * <p>
+ * Notes: The cache is direct mapped, a new string replaces whatever was in its slot. Entries never change once made so threads
+ * can share the cache without locking, at worst a thread misses an entry another thread just made
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0 Beta
+ */
+final class VLQStringCache {
+
+    /**
+     * Strings longer then this many UTF-8 bytes are not cached
+     */
+    static final int MAX_CACHED_LENGTH = 32;
+    private static final int SLOTS = 1024;
+    private static final CachedString[] CACHE = new CachedString[SLOTS];
+
+    private VLQStringCache() {
+    }
+
+    /**
+     * Uses: This will read a string of a known UTF-8 length from the buffer, returning the cached string when the bytes match
+     *
+     * @param in ByteBuf the buffer positioned at the first byte of the string
+     * @param utf8Length int the UTF-8 length, no more then {@link #MAX_CACHED_LENGTH}
+     * @return String the string that was read
+     */
+    static String read(ByteBuf in, int utf8Length) {
+        int start = in.readerIndex();
+        int hash = utf8Length;
+        for (int i = 0; i < utf8Length; i++) {
+            hash = 31 * hash + in.getByte(start + i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+        CachedString cachedString = CACHE[slot];
+        if (cachedString != null && cachedString.matches(in, start, utf8Length)) {
+            in.skipBytes(utf8Length);
+            return cachedString.VALUE;
+        }
+        byte[] bytes = new byte[utf8Length];
+        in.readBytes(bytes);
+        String value = new String(bytes, CharsetUtil.UTF_8);
+        CACHE[slot] = new CachedString(bytes, value);
+        return value;
+    }
+
+    private static final class CachedString {
+
+        private final byte[] BYTES;
+        private final String VALUE;
+
+        private CachedString(byte[] BYTES, String VALUE) {
+            this.BYTES = BYTES;
+            this.VALUE = VALUE;
+        }
+
+        private boolean matches(ByteBuf in, int start, int length) {
+            if (BYTES.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (BYTES[i] != in.getByte(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
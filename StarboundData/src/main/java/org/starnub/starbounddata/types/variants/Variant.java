@@ -22,13 +22,14 @@ import io.netty.buffer.ByteBuf;
 import org.starnub.starbounddata.types.exceptions.VariantUnknownType;
 import org.starnub.starbounddata.types.SbData;
 
-import static org.starnub.starbounddata.packets.Packet.readVLQString;
-import static org.starnub.starbounddata.packets.Packet.writeStringVLQ;
-
 /**
  * Represents a Variant  which can be a byte, string, boolean, double, variant array, variant map.
  * <p>
  * This is a complex data type.
+ * <p>
+ * Notes: Writing does not change the variant so it can be written again, the serialized size is worked out first so the buffer
+ * grows at most once for the whole tree. Numbers are written with {@link Number#longValue()} and {@link Number#doubleValue()}
+ * so any Number can be used for INTEGER and DOUBLE values
  *
  * Starbound 1.0 Compliant (Versions 622, Update 1)
  */
@@ -67,6 +68,7 @@ public class Variant extends SbData<Variant>{
 
     public Variant(Variant variant) {
         VariantType type = variant.variantType;
+        this.variantType = type;
         Object variantValue = variant.getValue();
         switch (type){
             case LIST: {
@@ -102,7 +104,7 @@ public class Variant extends SbData<Variant>{
 
     @Override
     public void read(ByteBuf in) {
-        this.variantType = VariantType.values()[in.readUnsignedByte()];
+        this.variantType = VariantType.fromTypeId(in.readUnsignedByte());
         switch (variantType) {
             case NIL: {
                 value = null;
@@ -121,7 +123,7 @@ public class Variant extends SbData<Variant>{
                 break;
             }
             case STRING: {
-                value = readVLQString(in);
+                value = VLQ.readVLQString(in);
                 break;
             }
             case LIST: {
@@ -136,15 +138,56 @@ public class Variant extends SbData<Variant>{
         }
     }
 
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes this variant takes once written, without writing it
+     *
+     * @return int the serialized size in bytes
+     */
+    public int serializedSize() {
+        switch (variantType) {
+            case DOUBLE: {
+                return 1 + 8;
+            }
+            case BOOLEAN: {
+                return 1 + 1;
+            }
+            case INTEGER: {
+                return 1 + VLQ.unsignedVLQLength(((Number) value).longValue());
+            }
+            case STRING: {
+                return 1 + VLQ.vlqStringLength((String) value);
+            }
+            case LIST: {
+                return 1 + ((VariantList) value).serializedSize();
+            }
+            case MAP: {
+                return 1 + ((VariantMap) value).serializedSize();
+            }
+            default: {
+                return 1;
+            }
+        }
+    }
+
     @Override
     public void write(ByteBuf out) {
+        out.ensureWritable(serializedSize());
+        writeTo(out);
+    }
+
+    /**
+     * This writes the variant without making room first, used when the whole tree has already been made room for
+     */
+    void writeTo(ByteBuf out) {
         out.writeByte(variantType.ordinal());
         switch (variantType) {
             case NIL: {
                 break;
             }
             case DOUBLE: {
-                out.writeDouble((Double) value);
+                out.writeDouble(((Number) value).doubleValue());
                 break;
             }
             case BOOLEAN: {
@@ -152,20 +195,19 @@ public class Variant extends SbData<Variant>{
                 break;
             }
             case INTEGER: {
-                byte[] bytes = VLQ.writeUnsignedVLQNoObject((Long) value);
-                out.writeBytes(bytes);
+                VLQ.writeUnsignedVLQ(out, ((Number) value).longValue());
                 break;
             }
             case STRING: {
-                writeStringVLQ(out, (String) value);
+                VLQ.writeVLQString(out, (String) value);
                 break;
             }
             case LIST: {
-                ((VariantList) value).write(out);
+                ((VariantList) value).writeTo(out);
                 break;
             }
             case MAP:
-                ((VariantMap) value).write(out);
+                ((VariantMap) value).writeTo(out);
                 break;
             default:
                 System.err.println("Unknown Variant Type: " + variantType);
@@ -25,6 +25,8 @@ import java.util.ArrayList;
 
 /**
  * Starbound 1.0 Compliant (Versions 622, Update 1)
+ * <p>
+ * Notes: Reading replaces the contents of the list and writing leaves the list as it is
  */
 public class VariantList extends ArrayList<Variant> implements SbDataInterface<VariantList> {
 
@@ -45,6 +47,7 @@ public class VariantList extends ArrayList<Variant> implements SbDataInterface<V
 
     @Override
     public void read(ByteBuf in){
+        this.clear();
         long arrayLength = VLQ.readUnsignedFromBufferNoObject(in);
         for (int i = 0; i < arrayLength; i++) {
             Variant variant = new Variant(in);
@@ -52,15 +55,32 @@ public class VariantList extends ArrayList<Variant> implements SbDataInterface<V
         }
     }
 
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes this list takes once written, without writing it
+     *
+     * @return int the serialized size in bytes
+     */
+    public int serializedSize() {
+        int serializedSize = VLQ.unsignedVLQLength(this.size());
+        for (Variant variant : this) {
+            serializedSize += variant.serializedSize();
+        }
+        return serializedSize;
+    }
+
     @Override
     public void write(ByteBuf out) {
-        long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        out.ensureWritable(serializedSize());
+        writeTo(out);
+    }
+
+    void writeTo(ByteBuf out) {
+        VLQ.writeUnsignedVLQ(out, this.size());
         for (Variant variant : this) {
-            variant.write(out);
+            variant.writeTo(out);
         }
-        this.clear();
     }
 
     @Override
@@ -23,11 +23,10 @@ import org.starnub.starbounddata.types.SbDataInterface;
 
 import java.util.HashMap;
 
-import static org.starnub.starbounddata.packets.Packet.readVLQString;
-import static org.starnub.starbounddata.packets.Packet.writeStringVLQ;
-
 /**
  * Starbound 1.0 Compliant (Versions 622, Update 1)
+ * <p>
+ * Notes: Reading replaces the contents of the map and writing leaves the map as it is
  */
 public class VariantMap extends HashMap<String, Variant> implements SbDataInterface<VariantMap> {
 
@@ -50,26 +49,42 @@ public class VariantMap extends HashMap<String, Variant> implements SbDataInterf
 
     @Override
     public void read(ByteBuf in) {
+        this.clear();
         long mapLength = VLQ.readUnsignedFromBufferNoObject(in);
         for (int i = 0; i < mapLength; i++) {
-            String key = readVLQString(in);
+            String key = VLQ.readVLQString(in, true);
             Variant variant = new Variant(in);
             this.put(key, variant);
         }
     }
 
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will return how many bytes this map takes once written, without writing it
+     *
+     * @return int the serialized size in bytes
+     */
+    public int serializedSize() {
+        int serializedSize = VLQ.unsignedVLQLength(this.size());
+        for (Entry<String, Variant> entry : this.entrySet()) {
+            serializedSize += VLQ.vlqStringLength(entry.getKey()) + entry.getValue().serializedSize();
+        }
+        return serializedSize;
+    }
+
     @Override
     public void write(ByteBuf out) {
-        long size = (long) this.size();
-        byte[] bytes = VLQ.writeUnsignedVLQNoObject(size);
-        out.writeBytes(bytes);
+        out.ensureWritable(serializedSize());
+        writeTo(out);
+    }
+
+    void writeTo(ByteBuf out) {
+        VLQ.writeUnsignedVLQ(out, this.size());
         for (Entry<String, Variant> entry : this.entrySet()){
-            String key = entry.getKey();
-            writeStringVLQ(out, key);
-            Variant variant = entry.getValue();
-            variant.write(out);
+            VLQ.writeVLQString(out, entry.getKey());
+            entry.getValue().writeTo(out);
         }
-        this.clear();
     }
 
     @Override
@@ -29,5 +29,21 @@ public enum VariantType {
     INTEGER,
     STRING,
     LIST,
-    MAP
+    MAP;
+
+    private static final VariantType[] VARIANT_TYPES = values();
+
+    /**
+     * Uses: This will return the variant type for a type byte without copying the enum values
+     *
+     * @param typeId int the unsigned type byte
+     * @return VariantType the type
+     * @throws IndexOutOfBoundsException if the type byte is not a known type
+     */
+    public static VariantType fromTypeId(int typeId) throws IndexOutOfBoundsException {
+        if (typeId < 0 || typeId >= VARIANT_TYPES.length) {
+            throw new IndexOutOfBoundsException("Unknown Variant Type, Variant Byte: " + typeId);
+        }
+        return VARIANT_TYPES[typeId];
+    }
 }
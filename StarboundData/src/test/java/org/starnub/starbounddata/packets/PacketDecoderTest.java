@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.starnub.starbounddata.packets.chat.ChatReceivePacket;
+import org.starnub.starbounddata.packets.connection.HeartbeatPacket;
+import org.starnub.starbounddata.types.chat.Mode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PacketDecoderTest {
+
+    private static final byte HEARTBEAT = Packets.HEARTBEAT.getPacketId();
+    private static final byte CHAT_RECEIVE = Packets.CHATRECEIVE.getPacketId();
+    private static final byte CHAT_SEND = Packets.CHATSEND.getPacketId();
+
+    private RecordingRouter router;
+    private DestinationHandler destination;
+    private EmbeddedChannel destinationChannel;
+    private DecodingHandler decoding;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        router = new RecordingRouter();
+        destination = new DestinationHandler();
+        destinationChannel = new EmbeddedChannel(destination);
+        PacketDecoder packetDecoder = new PacketDecoder(PacketDecoder.packetDirection(Packet.Direction.TO_STARBOUND_CLIENT), router, destination.ctx);
+        router.packetDecoder = packetDecoder;
+        decoding = new DecodingHandler(packetDecoder);
+        channel = new EmbeddedChannel(decoding);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        channel.finish();
+        destinationChannel.finish();
+    }
+
+    @Test
+    public void testUnhandledFramesAreForwardedAsIs() throws Exception {
+        byte[][] frames = {encode(new HeartbeatPacket(1)), encode(chat(5)), encode(chat(500)), rawFrame(CHAT_SEND, 40)};
+        writeInChunks(concat(frames), 7);
+        for (byte[] frame : frames) {
+            assertArrayEquals(frame, readOutbound());
+        }
+        assertNull(destinationChannel.readOutbound());
+        assertTrue(router.handled.isEmpty());
+    }
+
+    @Test
+    public void testHandledPacketIsRead() throws Exception {
+        router.decoded.add(HEARTBEAT);
+        byte[] frame = encode(new HeartbeatPacket(123456789));
+        writeInChunks(frame, 1);
+        assertEquals(1, router.handled.size());
+        assertEquals(123456789L, router.heartbeatSteps.get(0).longValue());
+        assertArrayEquals(frame, readOutbound());
+    }
+
+    @Test
+    public void testCompressedLazyPacketRoutesOriginalFrame() throws Exception {
+        router.decoded.add(CHAT_RECEIVE);
+        ChatReceivePacket chat = chat(600);
+        byte[] frame = encode(chat);
+        assertTrue("the frame is compressed", frame[1] % 2 != 0);
+        writeInChunks(frame, 64);
+        assertEquals(chat.getMessage(), router.messages.get(0));
+        assertArrayEquals(frame, readOutbound());
+    }
+
+    @Test
+    public void testModifiedLazyPacketIsWrittenAgain() throws Exception {
+        router.decoded.add(CHAT_RECEIVE);
+        router.replaceMessage = "replaced";
+        channel.writeInbound(Unpooled.wrappedBuffer(encode(chat(10))));
+        ChatReceivePacket written = new ChatReceivePacket(Packet.Direction.TO_STARBOUND_CLIENT, null, null);
+        ByteBuf frame = Unpooled.wrappedBuffer(readOutbound());
+        PacketFrameReader frameReader = new PacketFrameReader();
+        assertTrue(frameReader.readFrame(frame));
+        written.read(frame.skipBytes(frameReader.getHeaderLength()));
+        assertEquals("replaced", written.getMessage());
+    }
+
+    @Test
+    public void testHandOffHoldsLaterFrames() throws Exception {
+        router.decoded.add(HEARTBEAT);
+        router.handOff = true;
+        byte[] heartbeat = encode(new HeartbeatPacket(42));
+        byte[] chatSend = rawFrame(CHAT_SEND, 12);
+        channel.writeInbound(Unpooled.wrappedBuffer(concat(heartbeat, chatSend)));
+        assertTrue(router.packetDecoder.isHandOffPending());
+        assertNull("nothing is forwarded while a packet is handed off", destinationChannel.readOutbound());
+        assertEquals(chatSend.length, decoding.cumulation.readableBytes());
+
+        router.handOff = false;
+        router.packetDecoder.finishHandOff();
+        assertFalse(router.packetDecoder.isHandOffPending());
+        decoding.resume();
+        assertArrayEquals(heartbeat, readOutbound());
+        assertArrayEquals(chatSend, readOutbound());
+    }
+
+    @Test
+    public void testLazyHandOffKeepsFrameUntilFinished() throws Exception {
+        router.decoded.add(CHAT_RECEIVE);
+        router.handOff = true;
+        byte[] frame = encode(chat(600));
+        channel.writeInbound(Unpooled.wrappedBuffer(frame));
+        assertTrue(router.packetDecoder.isHandOffPending());
+        assertEquals("the handed off frame is retained", 2, decoding.cumulation.refCnt());
+        router.packetDecoder.finishHandOff();
+        assertArrayEquals(frame, readOutbound());
+        assertEquals("the routed frame was the last reference", 1, decoding.cumulation.refCnt());
+    }
+
+    @Test
+    public void testReleasedHandOffIsNotRouted() throws Exception {
+        router.decoded.add(CHAT_RECEIVE);
+        router.handOff = true;
+        channel.writeInbound(Unpooled.wrappedBuffer(encode(chat(600))));
+        router.packetDecoder.releaseHandOff();
+        assertFalse(router.packetDecoder.isHandOffPending());
+        assertEquals(1, decoding.cumulation.refCnt());
+        assertNull(destinationChannel.readOutbound());
+    }
+
+    @Test
+    public void testUnreadablePacketIsForwarded() throws Exception {
+        router.decoded.add(HEARTBEAT);
+        byte[] empty = rawFrame(HEARTBEAT, 0);
+        byte[] next = rawFrame(CHAT_SEND, 3);
+        channel.writeInbound(Unpooled.wrappedBuffer(concat(empty, next)));
+        assertEquals(1, router.unreadable.size());
+        assertTrue(router.handled.isEmpty());
+        assertArrayEquals(empty, readOutbound());
+        assertArrayEquals(next, readOutbound());
+    }
+
+    @Test
+    public void testBadHeaderDropsCumulation() throws Exception {
+        byte[] overLong = {HEARTBEAT, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        channel.writeInbound(Unpooled.wrappedBuffer(concat(overLong, rawFrame(CHAT_SEND, 3))));
+        assertEquals(1, router.badFrames.size());
+        assertFalse(decoding.cumulation.isReadable());
+        assertNull(destinationChannel.readOutbound());
+    }
+
+    @Test
+    public void testCorruptCompressedPayloadIsBadFrame() throws Exception {
+        router.decoded.add(HEARTBEAT);
+        ByteBuf frame = PacketFrameReaderTest.frame(HEARTBEAT, -16, 16);
+        channel.writeInbound(frame);
+        assertEquals(1, router.badFrames.size());
+        assertTrue(router.handled.isEmpty());
+        assertNull(destinationChannel.readOutbound());
+    }
+
+    private static ChatReceivePacket chat(int messageLength) {
+        char[] message = new char[messageLength];
+        for (int i = 0; i < messageLength; i++) {
+            message[i] = (char) ('a' + i % 26);
+        }
+        return new ChatReceivePacket(Mode.BROADCAST, "", 3, "Underbalanced", new String(message));
+    }
+
+    private static byte[] encode(Packet packet) {
+        return bytes(packet.packetToMessageEncoder());
+    }
+
+    private static byte[] rawFrame(byte packetId, int payloadLength) {
+        return bytes(PacketFrameReaderTest.frame(packetId, payloadLength, payloadLength));
+    }
+
+    private static byte[] bytes(ByteBuf buf) {
+        try {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        ByteBuf out = Unpooled.buffer();
+        for (byte[] array : arrays) {
+            out.writeBytes(array);
+        }
+        return bytes(out);
+    }
+
+    private void writeInChunks(byte[] stream, int chunkSize) {
+        for (int i = 0; i < stream.length; i += chunkSize) {
+            channel.writeInbound(Unpooled.copiedBuffer(stream, i, Math.min(chunkSize, stream.length - i)));
+        }
+    }
+
+    private byte[] readOutbound() {
+        ByteBuf frame = (ByteBuf) destinationChannel.readOutbound();
+        assertTrue("a frame was forwarded", frame != null);
+        return bytes(frame);
+    }
+
+    /**
+     * Represents the cumulation a ByteToMessageDecoder keeps around the PacketDecoder
+     */
+    private static class DecodingHandler extends ChannelInboundHandlerAdapter {
+
+        private final PacketDecoder PACKET_DECODER;
+        private final ByteBuf cumulation = Unpooled.buffer();
+        private ChannelHandlerContext ctx;
+
+        private DecodingHandler(PacketDecoder PACKET_DECODER) {
+            this.PACKET_DECODER = PACKET_DECODER;
+        }
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+            this.ctx = ctx;
+            PACKET_DECODER.setPacketPool(ctx, Arrays.asList(Packets.values()));
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            ByteBuf in = (ByteBuf) msg;
+            cumulation.writeBytes(in);
+            in.release();
+            resume();
+        }
+
+        private void resume() {
+            while (cumulation.isReadable() && !PACKET_DECODER.isHandOffPending()) {
+                int readableBytes = cumulation.readableBytes();
+                PACKET_DECODER.decode(ctx, cumulation);
+                if (readableBytes == cumulation.readableBytes()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static class DestinationHandler extends ChannelInboundHandlerAdapter {
+
+        private ChannelHandlerContext ctx;
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+            this.ctx = ctx;
+        }
+    }
+
+    private static class RecordingRouter implements PacketRouter {
+
+        private final Set<Byte> decoded = new HashSet<>();
+        private final List<Packet> handled = new ArrayList<>();
+        private final List<Long> heartbeatSteps = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+        private final List<RuntimeException> unreadable = new ArrayList<>();
+        private final List<Exception> badFrames = new ArrayList<>();
+        private PacketDecoder packetDecoder;
+        private boolean handOff;
+        private String replaceMessage;
+
+        @Override
+        public void frameRead(ChannelHandlerContext ctx, ByteBuf in, PacketFrameReader frameReader) {
+        }
+
+        @Override
+        public boolean isHandled(byte packetId) {
+            return decoded.contains(packetId);
+        }
+
+        @Override
+        public boolean handle(ChannelHandlerContext ctx, Packet packet) {
+            handled.add(packet);
+            if (packet instanceof HeartbeatPacket) {
+                heartbeatSteps.add(((HeartbeatPacket) packet).getCurrentStep());
+            } else if (packet instanceof ChatReceivePacket) {
+                ChatReceivePacket chat = (ChatReceivePacket) packet;
+                messages.add(chat.getMessage());
+                if (replaceMessage != null) {
+                    chat.setMessage(replaceMessage);
+                }
+            }
+            return !handOff;
+        }
+
+        @Override
+        public boolean isDecodeTimed(byte packetId) {
+            return false;
+        }
+
+        @Override
+        public void packetDecoded(byte packetId, int payloadLength, long decodeNanos) {
+        }
+
+        @Override
+        public void unreadablePacket(ChannelHandlerContext ctx, Packet packet, RuntimeException e) {
+            unreadable.add(e);
+        }
+
+        @Override
+        public void badFrame(ChannelHandlerContext ctx, Exception e) {
+            badFrames.add(e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.starbounddata.packets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import org.starnub.starbounddata.types.variants.VLQ;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PacketFrameReaderTest {
+
+    /**
+     * This will build a frame header and payload, a negative length marks the payload as compressed
+     */
+    static ByteBuf frame(int packetId, int signedLength, int payloadLength) {
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(packetId);
+        VLQ.writeSignedVLQ(frame, signedLength);
+        for (int i = 0; i < payloadLength; i++) {
+            frame.writeByte(i);
+        }
+        return frame;
+    }
+
+    @Test
+    public void testSplitAtEveryOffset() throws Exception {
+        ByteBuf whole = frame(7, 300, 300);
+        int frameLength = whole.readableBytes();
+        for (int split = 0; split < frameLength; split++) {
+            PacketFrameReader reader = new PacketFrameReader();
+            ByteBuf cumulation = Unpooled.buffer();
+            cumulation.writeBytes(whole, 0, split);
+            assertFalse("split at " + split, reader.readFrame(cumulation));
+            cumulation.writeBytes(whole, split, frameLength - split);
+            assertTrue("split at " + split, reader.readFrame(cumulation));
+            assertEquals(7, reader.getPacketId());
+            assertEquals(300, reader.getPayloadLength());
+            assertEquals(3, reader.getHeaderLength());
+            assertEquals(frameLength, reader.getFrameLength());
+            assertFalse(reader.isCompressed());
+            assertEquals("the reader index is never moved", 0, cumulation.readerIndex());
+        }
+    }
+
+    @Test
+    public void testOneByteAtATime() throws Exception {
+        ByteBuf whole = frame(3, 20000, 20000);
+        PacketFrameReader reader = new PacketFrameReader();
+        ByteBuf cumulation = Unpooled.buffer();
+        for (int i = 0; i < whole.readableBytes() - 1; i++) {
+            cumulation.writeByte(whole.getByte(i));
+            assertFalse(reader.readFrame(cumulation));
+        }
+        cumulation.writeByte(whole.getByte(whole.readableBytes() - 1));
+        assertTrue(reader.readFrame(cumulation));
+        assertEquals(20000, reader.getPayloadLength());
+        assertEquals(4, reader.getHeaderLength());
+    }
+
+    @Test
+    public void testFramesBackToBack() throws Exception {
+        ByteBuf cumulation = Unpooled.buffer();
+        cumulation.writeBytes(frame(1, 0, 0));
+        cumulation.writeBytes(frame(2, 5, 5));
+        cumulation.writeBytes(frame(3, -4, 4));
+        PacketFrameReader reader = new PacketFrameReader();
+        int[] ids = {1, 2, 3};
+        int[] lengths = {0, 5, 4};
+        for (int i = 0; i < ids.length; i++) {
+            assertTrue(reader.readFrame(cumulation));
+            assertEquals(ids[i], reader.getPacketId());
+            assertEquals(lengths[i], reader.getPayloadLength());
+            cumulation.skipBytes(reader.getFrameLength());
+            reader.reset();
+        }
+        assertFalse(reader.readFrame(cumulation));
+    }
+
+    @Test
+    public void testNegativeLengthIsCompressed() throws Exception {
+        for (int length : new int[]{1, 2, 63, 64, 65, 8191, 8192, 100000}) {
+            PacketFrameReader reader = new PacketFrameReader();
+            ByteBuf frame = frame(9, -length, length);
+            assertTrue(reader.readFrame(frame));
+            assertTrue(reader.isCompressed());
+            assertEquals(length, reader.getPayloadLength());
+            assertEquals(1 + VLQ.signedVLQLength(-length), reader.getHeaderLength());
+        }
+    }
+
+    @Test
+    public void testFiveByteLengthIsRead() throws Exception {
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(4);
+        frame.writeBytes(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x02});
+        frame.writeByte(0);
+        PacketFrameReader reader = new PacketFrameReader();
+        assertTrue(reader.readFrame(frame));
+        assertEquals(1, reader.getPayloadLength());
+        assertEquals(6, reader.getHeaderLength());
+    }
+
+    @Test
+    public void testOverLongLength() throws Exception {
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(4);
+        frame.writeBytes(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x02});
+        PacketFrameReader reader = new PacketFrameReader();
+        try {
+            reader.readFrame(frame);
+            fail("A six byte length was read");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testOverLongLengthSplit() throws Exception {
+        PacketFrameReader reader = new PacketFrameReader();
+        ByteBuf cumulation = Unpooled.buffer();
+        cumulation.writeByte(4);
+        for (int i = 0; i < 4; i++) {
+            cumulation.writeByte(0x80);
+            assertFalse(reader.readFrame(cumulation));
+        }
+        cumulation.writeByte(0x80);
+        try {
+            reader.readFrame(cumulation);
+            fail("A length continuing past five bytes was read");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testMaxPayloadLength() throws Exception {
+        PacketFrameReader reader = new PacketFrameReader();
+        ByteBuf header = frame(5, PacketFrameReader.MAX_PAYLOAD_LENGTH, 0);
+        assertFalse(reader.readFrame(header));
+        assertEquals(PacketFrameReader.MAX_PAYLOAD_LENGTH, reader.getPayloadLength());
+        reader.reset();
+        header = frame(5, -PacketFrameReader.MAX_PAYLOAD_LENGTH, 0);
+        assertFalse(reader.readFrame(header));
+        assertTrue(reader.isCompressed());
+    }
+
+    @Test
+    public void testOverMaxPayloadLength() throws Exception {
+        for (int length : new int[]{PacketFrameReader.MAX_PAYLOAD_LENGTH + 1, -PacketFrameReader.MAX_PAYLOAD_LENGTH - 1, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            PacketFrameReader reader = new PacketFrameReader();
+            try {
+                reader.readFrame(frame(5, length, 0));
+                fail("Length " + length + " was accepted");
+            } catch (IllegalStateException expected) {
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.starnub.starbounddata.types.variants;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class VLQTest {
+
+    private static final long[] UNSIGNED_VALUES = {0, 1, 127, 128, 16383, 16384, (1L << 21) - 1, 1L << 21, Integer.MAX_VALUE,
+            (1L << 56) - 1, 1L << 56, (1L << 63) - 1, -1, Long.MIN_VALUE};
+    private static final int[] UNSIGNED_LENGTHS = {1, 1, 1, 2, 2, 3, 3, 4, 5, 8, 9, 9, 10, 10};
+
+    private static final long[] SIGNED_VALUES = {0, -1, 1, 63, -64, 64, -65, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            1L << 62, -(1L << 62), (1L << 62) - 1, -(1L << 62) - 1, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1, Long.MAX_VALUE, Long.MIN_VALUE};
+    private static final int[] SIGNED_LENGTHS = {1, 1, 1, 1, 1, 2, 2, 5, 5, 10, 9, 9, 10, 10, 10, 10, 10};
+
+    private static byte[] bytes(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testUnsignedBoundaries() {
+        for (int i = 0; i < UNSIGNED_VALUES.length; i++) {
+            long value = UNSIGNED_VALUES[i];
+            ByteBuf buf = Unpooled.buffer();
+            VLQ.writeUnsignedVLQ(buf, value);
+            assertEquals("length of " + value, UNSIGNED_LENGTHS[i], buf.readableBytes());
+            assertEquals("length of " + value, UNSIGNED_LENGTHS[i], VLQ.unsignedVLQLength(value));
+            assertArrayEquals("bytes of " + value, VLQ.writeUnsignedVLQNoObject(value), bytes(buf));
+            VLQ vlq = VLQ.unsignedFromBuffer(buf.duplicate());
+            assertEquals(value, vlq.getValue());
+            assertEquals(UNSIGNED_LENGTHS[i], vlq.getLength());
+            assertEquals(value, VLQ.readUnsignedFromBufferNoObject(buf));
+            assertFalse(buf.isReadable());
+        }
+    }
+
+    @Test
+    public void testSignedBoundaries() {
+        for (int i = 0; i < SIGNED_VALUES.length; i++) {
+            long value = SIGNED_VALUES[i];
+            ByteBuf buf = Unpooled.buffer();
+            VLQ.writeSignedVLQ(buf, value);
+            assertEquals("length of " + value, SIGNED_LENGTHS[i], buf.readableBytes());
+            assertEquals("length of " + value, SIGNED_LENGTHS[i], VLQ.signedVLQLength(value));
+            assertArrayEquals("bytes of " + value, VLQ.writeSignedVLQNoObject(value), bytes(buf));
+            VLQ vlq = VLQ.signedFromBuffer(buf.duplicate());
+            assertEquals(value, vlq.getValue());
+            assertEquals(SIGNED_LENGTHS[i], vlq.getLength());
+            assertEquals(value, VLQ.readSignedFromBufferNoObject(buf));
+            assertFalse(buf.isReadable());
+        }
+    }
+
+    @Test
+    public void testTruncatedVLQ() {
+        ByteBuf buf = Unpooled.buffer();
+        VLQ.writeUnsignedVLQ(buf, 16384);
+        buf.writerIndex(buf.writerIndex() - 1);
+        try {
+            VLQ.readUnsignedFromBufferNoObject(buf);
+            fail("A VLQ missing its last byte was read");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    @Test
+    public void testStringLengths() {
+        String[] values = {"", "key", "\u00e9t\u00e9", "\u65e5\u672c", "\uD83D\uDE00", "a\uD800b", "\uDC00", "\uD800"};
+        for (String value : values) {
+            byte[] utf8 = value.getBytes(CharsetUtil.UTF_8);
+            assertEquals(utf8.length, VLQ.utf8Length(value));
+            ByteBuf buf = Unpooled.buffer();
+            VLQ.writeVLQString(buf, value);
+            assertEquals(VLQ.vlqStringLength(value), buf.readableBytes());
+            assertEquals(new String(utf8, CharsetUtil.UTF_8), VLQ.readVLQString(buf.duplicate()));
+            assertEquals(new String(utf8, CharsetUtil.UTF_8), VLQ.readVLQString(buf, true));
+        }
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longString.append('x');
+        }
+        ByteBuf buf = Unpooled.buffer();
+        VLQ.writeVLQString(buf, longString.toString());
+        assertEquals(202, buf.readableBytes());
+        assertEquals(longString.toString(), VLQ.readVLQString(buf, true));
+    }
+
+    @Test
+    public void testStringLongerThenBuffer() {
+        ByteBuf buf = Unpooled.buffer();
+        VLQ.writeUnsignedVLQ(buf, 10);
+        buf.writeBytes("short".getBytes(CharsetUtil.US_ASCII));
+        try {
+            VLQ.readVLQString(buf);
+            fail("A string longer then the buffer was read");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    @Test
+    public void testStringCacheHit() {
+        ByteBuf buf = Unpooled.buffer();
+        VLQ.writeVLQString(buf, "cachedKey");
+        VLQ.writeVLQString(buf, "cachedKey");
+        String first = VLQ.readVLQString(buf, true);
+        assertEquals("cachedKey", first);
+        assertSame(first, VLQ.readVLQString(buf, true));
+        assertFalse(buf.isReadable());
+    }
+
+    @Test
+    public void testStringCacheSlotCollisions() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            values.add(i % 3 == 0 ? "k" + i : i % 3 == 1 ? "\u00fc" + i : "key-" + i);
+        }
+        ByteBuf buf = Unpooled.buffer();
+        for (int round = 0; round < 2; round++) {
+            for (String value : values) {
+                VLQ.writeVLQString(buf, value);
+            }
+        }
+        for (int round = 0; round < 2; round++) {
+            for (String value : values) {
+                assertEquals(value, VLQ.readVLQString(buf, true));
+            }
+        }
+        assertFalse(buf.isReadable());
+    }
+}
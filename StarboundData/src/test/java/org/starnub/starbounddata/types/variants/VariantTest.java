@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.starnub.starbounddata.types.variants;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VariantTest {
+
+    private static Variant variant(VariantType variantType, Object value) {
+        Variant variant = new Variant();
+        variant.setVariantType(variantType);
+        variant.setValue(value);
+        return variant;
+    }
+
+    private static VariantMap tree() {
+        VariantList list = new VariantList();
+        list.add(variant(VariantType.NIL, null));
+        list.add(variant(VariantType.DOUBLE, 1.5d));
+        list.add(variant(VariantType.BOOLEAN, true));
+        list.add(variant(VariantType.INTEGER, 0L));
+        list.add(variant(VariantType.INTEGER, 128));
+        list.add(variant(VariantType.INTEGER, Long.MAX_VALUE));
+        list.add(variant(VariantType.INTEGER, -1L));
+        list.add(variant(VariantType.STRING, ""));
+        list.add(variant(VariantType.STRING, "\u00e9t\u00e9 \u65e5\u672c \uD83D\uDE00"));
+        list.add(variant(VariantType.LIST, new VariantList()));
+        VariantMap inner = new VariantMap();
+        inner.put("\u043a\u043b\u044e\u0447", variant(VariantType.STRING, "value"));
+        inner.put("\uD83D\uDE00", variant(VariantType.BOOLEAN, false));
+        inner.put("", variant(VariantType.MAP, new VariantMap()));
+        VariantMap map = new VariantMap();
+        map.put("list", variant(VariantType.LIST, list));
+        map.put("inner", variant(VariantType.MAP, inner));
+        map.put("float", variant(VariantType.DOUBLE, 2.25f));
+        StringBuilder longKey = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longKey.append('k');
+        }
+        map.put(longKey.toString(), variant(VariantType.INTEGER, 300));
+        return map;
+    }
+
+    private static void assertVariantEquals(Variant expected, Variant actual) {
+        assertEquals(expected.getVariantType(), actual.getVariantType());
+        Object expectedValue = expected.getValue();
+        Object actualValue = actual.getValue();
+        switch (expected.getVariantType()) {
+            case NIL: {
+                assertNull(actualValue);
+                break;
+            }
+            case DOUBLE: {
+                assertEquals(((Number) expectedValue).doubleValue(), ((Number) actualValue).doubleValue(), 0d);
+                break;
+            }
+            case INTEGER: {
+                assertEquals(((Number) expectedValue).longValue(), ((Number) actualValue).longValue());
+                break;
+            }
+            case LIST: {
+                assertListEquals((VariantList) expectedValue, (VariantList) actualValue);
+                break;
+            }
+            case MAP: {
+                assertMapEquals((VariantMap) expectedValue, (VariantMap) actualValue);
+                break;
+            }
+            default: {
+                assertEquals(expectedValue, actualValue);
+            }
+        }
+    }
+
+    private static void assertListEquals(VariantList expected, VariantList actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertVariantEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static void assertMapEquals(VariantMap expected, VariantMap actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, Variant> entry : expected.entrySet()) {
+            assertVariantEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testSerializedSizeMatchesWrite() {
+        VariantMap map = tree();
+        ByteBuf buf = Unpooled.buffer(0);
+        map.write(buf);
+        assertEquals(map.serializedSize(), buf.readableBytes());
+        for (Variant variant : map.values()) {
+            ByteBuf variantBuf = Unpooled.buffer(0);
+            variant.write(variantBuf);
+            assertEquals(variant.serializedSize(), variantBuf.readableBytes());
+        }
+        VariantList list = (VariantList) map.get("list").getValue();
+        ByteBuf listBuf = Unpooled.buffer(0);
+        list.write(listBuf);
+        assertEquals(list.serializedSize(), listBuf.readableBytes());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        VariantMap map = tree();
+        Variant variant = variant(VariantType.MAP, map);
+        ByteBuf buf = Unpooled.buffer();
+        variant.write(buf);
+        Variant read = new Variant(buf);
+        assertFalse(buf.isReadable());
+        assertVariantEquals(variant, read);
+        assertTrue(((Variant) ((VariantList) ((VariantMap) read.getValue()).get("list").getValue()).get(1)).getValue() instanceof Double);
+    }
+
+    @Test
+    public void testWriteSameTreeTwice() {
+        VariantMap map = tree();
+        ByteBuf buf = Unpooled.buffer();
+        map.write(buf);
+        int firstLength = buf.readableBytes();
+        map.write(buf);
+        assertEquals(2 * firstLength, buf.readableBytes());
+        assertEquals(buf.slice(0, firstLength), buf.slice(firstLength, firstLength));
+        VariantMap first = new VariantMap(buf);
+        VariantMap second = new VariantMap(buf);
+        assertFalse(buf.isReadable());
+        assertMapEquals(map, first);
+        assertMapEquals(map, second);
+        assertMapEquals(tree(), map);
+    }
+
+    @Test
+    public void testReadReplacesContents() {
+        ByteBuf buf = Unpooled.buffer();
+        tree().write(buf);
+        VariantMap map = new VariantMap();
+        map.put("stale", variant(VariantType.BOOLEAN, true));
+        map.read(buf);
+        assertMapEquals(tree(), map);
+        VariantList list = (VariantList) tree().get("list").getValue();
+        list.write(buf);
+        VariantList readList = new VariantList();
+        readList.add(variant(VariantType.NIL, null));
+        readList.read(buf);
+        assertListEquals(list, readList);
+    }
+
+    @Test
+    public void testUnpairedSurrogateKeys() {
+        VariantMap map = new VariantMap();
+        map.put("a\uD800b", variant(VariantType.INTEGER, 1));
+        map.put("\uDC00", variant(VariantType.INTEGER, 2));
+        map.put("end\uD83D", variant(VariantType.INTEGER, 3));
+        ByteBuf buf = Unpooled.buffer(0);
+        map.write(buf);
+        assertEquals(map.serializedSize(), buf.readableBytes());
+        VariantMap read = new VariantMap(buf);
+        assertFalse(buf.isReadable());
+        assertEquals(3, read.size());
+        assertEquals(1L, read.get("a?b").getValue());
+        assertEquals(2L, read.get("?").getValue());
+        assertEquals(3L, read.get("end?").getValue());
+    }
+
+    @Test
+    public void testCopyIsDeep() {
+        VariantMap map = tree();
+        VariantMap copy = map.copy();
+        ((VariantList) copy.get("list").getValue()).clear();
+        ((VariantMap) copy.get("inner").getValue()).clear();
+        assertMapEquals(tree(), map);
+    }
+}
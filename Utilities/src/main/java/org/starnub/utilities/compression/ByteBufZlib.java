@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.utilities.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Represents a Zlib Compress and Decompress that works directly on {@link io.netty.buffer.ByteBuf}
+ * <p>
+ * Notes:
+ * - Each thread keeps one {@link java.util.zip.Inflater} and one {@link java.util.zip.Deflater} which are reset between
+ * uses, so native zlib memory is not allocated per packet. Netty event loop threads are long lived so this is one pair per loop
+ * - Output buffers come from the supplied allocator and are array backed so zlib can write straight into them, when
+ * compressing into a supplied direct buffer the output goes through a small per thread scratch array
+ * - Input that is array backed is read in place, direct input is copied once into a per thread scratch array. The
+ * NIO {@link java.nio.ByteBuffer} zlib methods would avoid that copy but they are not available on Java 8
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+public class ByteBufZlib {
+
+    /**
+     * Scratch arrays larger then this are not kept by the thread after use
+     */
+    private static final int MAX_SCRATCH_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<ByteBufZlib> CODECS = new ThreadLocal<ByteBufZlib>() {
+        @Override
+        protected ByteBufZlib initialValue() {
+            return new ByteBufZlib();
+        }
+    };
+
+    private final Inflater INFLATER = new Inflater();
+    private final Deflater DEFLATER = new Deflater();
+    private final byte[] outScratch = new byte[8192];
+    private byte[] scratch = new byte[1024];
+
+    private ByteBufZlib() {}
+
+    /**
+     * This will compress the readable bytes of a buffer into a new buffer. The reader index of the input will be advanced
+     * to its writer index
+     *
+     * @param in ByteBuf representing the data to compress
+     * @param alloc ByteBufAllocator representing the allocator for the compressed buffer
+     * @return ByteBuf representing the compressed data, the caller must release it
+     */
+    public static ByteBuf compress(ByteBuf in, ByteBufAllocator alloc) {
+        int length = in.readableBytes();
+        ByteBuf out = alloc.heapBuffer(length + (length >> 10) + 16);
+        try {
+            compress(in, out);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+        return out;
+    }
+
+    /**
+     * This will compress the readable bytes of a buffer and write them to the end of another buffer. The reader index of
+     * the input will be advanced to its writer index
+     * <p>
+     * Notes: Array backed output is written to in place, direct output is written through a per thread scratch array
+     *
+     * @param in ByteBuf representing the data to compress
+     * @param out ByteBuf representing the buffer the compressed data will be written to
+     */
+    public static void compress(ByteBuf in, ByteBuf out) {
+        CODECS.get().deflate(in, out);
+    }
+
+    /**
+     * This will decompress the readable bytes of a buffer into a new buffer. The reader index of the input will be advanced
+     * to its writer index
+     * <p>
+     * Notes: The output is never grown past maxLength, a few bytes of zlib can inflate to gigabytes so input from a socket
+     * must always be bounded
+     *
+     * @param in ByteBuf representing the data to decompress
+     * @param alloc ByteBufAllocator representing the allocator for the decompressed buffer
+     * @param maxLength int representing the most bytes the data may inflate to
+     * @return ByteBuf representing the decompressed data, the caller must release it
+     * @throws DataFormatException if the data is not valid zlib data, is truncated or inflates to more then maxLength bytes
+     */
+    public static ByteBuf decompress(ByteBuf in, ByteBufAllocator alloc, int maxLength) throws DataFormatException {
+        return CODECS.get().inflate(in, alloc, maxLength);
+    }
+
+    private void deflate(ByteBuf in, ByteBuf out) {
+        int length = in.readableBytes();
+        setInput(in, length, true);
+        try {
+            DEFLATER.finish();
+            while (!DEFLATER.finished()) {
+                out.ensureWritable(Math.max(64, length >> 3));
+                if (out.hasArray()) {
+                    int count = DEFLATER.deflate(out.array(), out.arrayOffset() + out.writerIndex(), out.writableBytes());
+                    out.writerIndex(out.writerIndex() + count);
+                } else {
+                    int count = DEFLATER.deflate(outScratch, 0, Math.min(outScratch.length, out.writableBytes()));
+                    out.writeBytes(outScratch, 0, count);
+                }
+            }
+        } finally {
+            DEFLATER.reset();
+            releaseScratch();
+        }
+        in.skipBytes(length);
+    }
+
+    private ByteBuf inflate(ByteBuf in, ByteBufAllocator alloc, int maxLength) throws DataFormatException {
+        int length = in.readableBytes();
+        setInput(in, length, false);
+        ByteBuf out = alloc.heapBuffer(Math.min(maxLength, Math.max(1024, length << 2)), maxLength);
+        try {
+            while (!INFLATER.finished()) {
+                if (out.maxWritableBytes() == 0) {
+                    if (INFLATER.inflate(outScratch, 0, 1) != 0) {
+                        throw new DataFormatException("Zlib data inflated to more then " + maxLength + " bytes.");
+                    }
+                    if (!INFLATER.finished()) {
+                        throw new DataFormatException("Zlib data ended before the stream was finished.");
+                    }
+                    break;
+                }
+                out.ensureWritable(Math.min(Math.max(1024, length), out.maxWritableBytes()));
+                int count = INFLATER.inflate(out.array(), out.arrayOffset() + out.writerIndex(), out.writableBytes());
+                if (count == 0 && (INFLATER.needsInput() || INFLATER.needsDictionary())) {
+                    throw new DataFormatException("Zlib data ended before the stream was finished.");
+                }
+                out.writerIndex(out.writerIndex() + count);
+            }
+        } catch (DataFormatException | RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            INFLATER.reset();
+            releaseScratch();
+        }
+        in.skipBytes(length);
+        return out;
+    }
+
+    private void setInput(ByteBuf in, int length, boolean deflate) {
+        byte[] array;
+        int offset;
+        if (in.hasArray()) {
+            array = in.array();
+            offset = in.arrayOffset() + in.readerIndex();
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            in.getBytes(in.readerIndex(), scratch, 0, length);
+            array = scratch;
+            offset = 0;
+        }
+        if (deflate) {
+            DEFLATER.setInput(array, offset, length);
+        } else {
+            INFLATER.setInput(array, offset, length);
+        }
+    }
+
+    private void releaseScratch() {
+        if (scratch.length > MAX_SCRATCH_SIZE) {
+            scratch = new byte[1024];
+        }
+    }
+}
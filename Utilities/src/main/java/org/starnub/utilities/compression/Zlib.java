@@ -26,6 +26,8 @@ import java.util.zip.Inflater;
 
 /**
  * Represents a Zlib Compress and Decompress
+ * <p>
+ * Notes: For packet data use {@link ByteBufZlib} which keeps its zlib streams per thread and works on buffers
  *
  * @author Daniel (Underbalanced) (www.StarNub.org)
  * @since 1.0
@@ -46,9 +48,13 @@ public class Zlib {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length);
         deflater.finish();
         byte[] buffer = new byte[1024];
-        while (!deflater.finished()) {
-            int count = deflater.deflate(buffer); // returns the generated code... index
-            outputStream.write(buffer, 0, count);
+        try {
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer); // returns the generated code... index
+                outputStream.write(buffer, 0, count);
+            }
+        } finally {
+            deflater.end();
         }
         try {
             outputStream.close();
@@ -77,6 +83,8 @@ public class Zlib {
         } catch (DataFormatException e) {
             System.err.println("Critical error decompressing data. Data returned uncompressed.");
             return data;
+        } finally {
+            inflater.end();
         }
         try {
             outputStream.close();
@@ -1,7 +1,5 @@
 package org.starnub.utilities.concurrent.task;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -19,6 +17,7 @@ public class ScheduledTask {
     protected final String NAME;
     protected final Runnable RUNNABLE;
     protected ScheduledFuture<?> scheduledFuture;
+    protected volatile String taskKey;
 
     public ScheduledTask(TaskManager TASK_MANAGER, String OWNER, String NAME, Runnable RUNNABLE, ScheduledFuture<?> scheduledFuture) {
         this.TASK_MANAGER = TASK_MANAGER;
@@ -68,19 +67,34 @@ public class ScheduledTask {
         this.scheduledFuture = scheduledFuture;
     }
 
+    public String getTaskKey() {
+        return taskKey;
+    }
+
     public void scheduleTask(long timeDelay, TimeUnit timeUnit){
-        scheduledFuture = TASK_MANAGER.schedule(RUNNABLE, timeDelay, timeUnit);
         insertTaskList();
+        scheduledFuture = TASK_MANAGER.scheduleTask(this::runOneTimeTask, timeDelay, timeUnit);
     }
 
     public void scheduleRepeatingTask(long initialDelay, long timeDelay, TimeUnit timeUnit){
-        scheduledFuture = TASK_MANAGER.scheduleAtFixedRate(RUNNABLE, initialDelay, timeDelay, timeUnit);
         insertTaskList();
+        scheduledFuture = TASK_MANAGER.scheduleTaskAtFixedRate(RUNNABLE, initialDelay, timeDelay, timeUnit);
     }
 
     public void scheduleRepeatingFixedDelayTask(long initialDelay, long timeDelay, TimeUnit timeUnit){
-        scheduledFuture = TASK_MANAGER.scheduleWithFixedDelay(RUNNABLE, initialDelay, timeDelay, timeUnit);
         insertTaskList();
+        scheduledFuture = TASK_MANAGER.scheduleTaskWithFixedDelay(RUNNABLE, initialDelay, timeDelay, timeUnit);
+    }
+
+    /**
+     * This will run a one time task and then remove it from the task list
+     */
+    private void runOneTimeTask() {
+        try {
+            RUNNABLE.run();
+        } finally {
+            removeTaskList();
+        }
     }
 
     /**
@@ -89,36 +103,19 @@ public class ScheduledTask {
      * Uses: This will insert this task into the task list
      */
     private void insertTaskList() {
-        ConcurrentHashMap<String, ConcurrentHashMap<String, ScheduledTask>> taskList = TASK_MANAGER.getTASK_LIST();
-        if (!taskList.containsKey(OWNER)){
-            taskList.put(OWNER, new ConcurrentHashMap<>());
+        taskKey = TASK_MANAGER.insertTask(this);
+    }
+
+    private void removeTaskList() {
+        String taskKey = this.taskKey;
+        if (taskKey != null) {
+            TASK_MANAGER.removeTask(OWNER, taskKey);
         }
-        ConcurrentHashMap<String, ScheduledTask> stg = taskList.get(OWNER);
-        int inc = 0;
-        do {
-            String taskNameOriginal = NAME + " - " + inc;
-            if (!stg.containsKey(taskNameOriginal)) {
-                stg.putIfAbsent(taskNameOriginal, this);
-                break;
-            }
-            inc++;
-        } while (true);
     }
 
     public void unregister(){
-        ConcurrentHashMap<String, ConcurrentHashMap<String, ScheduledTask>> taskList = TASK_MANAGER.getTASK_LIST();
-        ConcurrentHashMap<String, ScheduledTask> ownerTaskMap = taskList.get(OWNER);
-        if (ownerTaskMap != null) {
-            for (Map.Entry<String, ScheduledTask> scheduledTaskEntry : ownerTaskMap.entrySet()) {
-                String key = scheduledTaskEntry.getKey();
-                ScheduledTask scheduledTask = scheduledTaskEntry.getValue();
-                if (scheduledTask.equals(this)) {
-                    ownerTaskMap.remove(key);
-                }
-            }
-            if (ownerTaskMap.size() == 0) {
-                taskList.remove(OWNER);
-            }
+        removeTaskList();
+        if (scheduledFuture != null) {
             scheduledFuture.cancel(true);
         }
     }
@@ -2,11 +2,17 @@ package org.starnub.utilities.concurrent.task;
 
 import org.starnub.utilities.concurrent.thread.NamedThreadFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a TaskManager which will allow scheduling of one time or reoccurring task
@@ -17,31 +23,142 @@ import java.util.concurrent.TimeUnit;
 public class TaskManager extends ScheduledThreadPoolExecutor{
 
     private final ConcurrentHashMap<String, ConcurrentHashMap<String, ScheduledTask>> TASK_LIST = new ConcurrentHashMap<>();
+    private final AtomicLong TASK_SEQUENCE = new AtomicLong();
+    private final WheelTimer WHEEL_TIMER;
+    private final ThreadPoolExecutor WHEEL_EXECUTOR;
 
     public TaskManager(int TASK_THREAD_COUNT, int MAX_THREAD_COUNT, long KEEP_ALIVE, TimeUnit TIME_UNIT, String THREAD_NAMING){
         super(TASK_THREAD_COUNT, new NamedThreadFactory(THREAD_NAMING));
         super.setMaximumPoolSize(MAX_THREAD_COUNT);
         super.setKeepAliveTime(KEEP_ALIVE, TIME_UNIT);
-        Runnable runnable = TaskManager.this::oneTimeTaskPurge;
-        new ScheduledTask(this, "Utilities", "Utilities - One Time Task Purger", true, 30, 30, TimeUnit.SECONDS, runnable);
+        this.WHEEL_TIMER = null;
+        this.WHEEL_EXECUTOR = null;
+    }
+
+    /**
+     * This will create a TaskManager whose {@link ScheduledTask} are timed on a {@link WheelTimer} and run on a plain
+     * thread pool, so they are not put in this executors delay queue. Use this when there will be a high volume of short
+     * timeouts, precision is limited to the tick duration.
+     *
+     * @param TASK_THREAD_COUNT int the core thread count
+     * @param MAX_THREAD_COUNT  int the max thread count
+     * @param KEEP_ALIVE        long the keep alive of idle threads
+     * @param TIME_UNIT         TimeUnit the keep alive unit
+     * @param THREAD_NAMING     String the thread naming
+     * @param tickDuration      long the wheel tick duration in milliseconds
+     * @param ticksPerWheel     int the number of wheel buckets
+     */
+    public TaskManager(int TASK_THREAD_COUNT, int MAX_THREAD_COUNT, long KEEP_ALIVE, TimeUnit TIME_UNIT, String THREAD_NAMING, long tickDuration, int ticksPerWheel){
+        super(TASK_THREAD_COUNT, new NamedThreadFactory(THREAD_NAMING));
+        super.setMaximumPoolSize(MAX_THREAD_COUNT);
+        super.setKeepAliveTime(KEEP_ALIVE, TIME_UNIT);
+        this.WHEEL_EXECUTOR = new ThreadPoolExecutor(TASK_THREAD_COUNT, Math.max(TASK_THREAD_COUNT, MAX_THREAD_COUNT), KEEP_ALIVE, TIME_UNIT,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(THREAD_NAMING + " - Wheel"));
+        this.WHEEL_TIMER = new WheelTimer(WHEEL_EXECUTOR, tickDuration, TimeUnit.MILLISECONDS, ticksPerWheel, THREAD_NAMING);
     }
 
     public ConcurrentHashMap<String, ConcurrentHashMap<String, ScheduledTask>> getTASK_LIST() {
         return TASK_LIST;
     }
 
+    public boolean isWheelTimer() {
+        return WHEEL_TIMER != null;
+    }
+
+    /**
+     * Recommended: For internal use with {@link ScheduledTask}.
+     * <p>
+     * Uses: This will schedule a one time task on the wheel timer if one is used, else on this executor
+     *
+     * @param runnable Runnable the task
+     * @param timeDelay long the delay
+     * @param timeUnit TimeUnit the unit of the delay
+     * @return ScheduledFuture the future of this task
+     */
+    public ScheduledFuture<?> scheduleTask(Runnable runnable, long timeDelay, TimeUnit timeUnit) {
+        if (WHEEL_TIMER != null) {
+            return WHEEL_TIMER.schedule(runnable, timeDelay, 0, timeUnit);
+        }
+        return schedule(runnable, timeDelay, timeUnit);
+    }
+
+    /**
+     * Recommended: For internal use with {@link ScheduledTask}.
+     * <p>
+     * Uses: This will schedule a fixed rate task on the wheel timer if one is used, else on this executor
+     *
+     * @param runnable Runnable the task
+     * @param initialDelay long the delay before the first run
+     * @param timeDelay long the period
+     * @param timeUnit TimeUnit the unit of the delay and period
+     * @return ScheduledFuture the future of this task
+     */
+    public ScheduledFuture<?> scheduleTaskAtFixedRate(Runnable runnable, long initialDelay, long timeDelay, TimeUnit timeUnit) {
+        if (WHEEL_TIMER != null) {
+            return WHEEL_TIMER.schedule(runnable, initialDelay, Math.max(timeDelay, 1), timeUnit);
+        }
+        return scheduleAtFixedRate(runnable, initialDelay, timeDelay, timeUnit);
+    }
+
+    /**
+     * Recommended: For internal use with {@link ScheduledTask}.
+     * <p>
+     * Uses: This will schedule a fixed delay task on the wheel timer if one is used, else on this executor
+     *
+     * @param runnable Runnable the task
+     * @param initialDelay long the delay before the first run
+     * @param timeDelay long the delay between the end of one run and the start of the next
+     * @param timeUnit TimeUnit the unit of the delay and period
+     * @return ScheduledFuture the future of this task
+     */
+    public ScheduledFuture<?> scheduleTaskWithFixedDelay(Runnable runnable, long initialDelay, long timeDelay, TimeUnit timeUnit) {
+        if (WHEEL_TIMER != null) {
+            return WHEEL_TIMER.schedule(runnable, initialDelay, -Math.max(timeDelay, 1), timeUnit);
+        }
+        return scheduleWithFixedDelay(runnable, initialDelay, timeDelay, timeUnit);
+    }
+
+    /**
+     * Recommended: For internal use with {@link ScheduledTask}.
+     * <p>
+     * Uses: This will add a task to the owner task index under a unique key and return that key
+     *
+     * @param scheduledTask ScheduledTask the task to index
+     * @return String the key of the task in its owners index
+     */
+    String insertTask(ScheduledTask scheduledTask) {
+        String taskKey = scheduledTask.getNAME() + " - " + TASK_SEQUENCE.getAndIncrement();
+        TASK_LIST.computeIfAbsent(scheduledTask.getOWNER(), owner -> new ConcurrentHashMap<>()).put(taskKey, scheduledTask);
+        return taskKey;
+    }
+
+    /**
+     * Recommended: For internal use with {@link ScheduledTask}.
+     * <p>
+     * Uses: This will remove a task from the owner task index, the owner is removed once it has no task
+     *
+     * @param taskOwner String the task owner
+     * @param taskKey String the key returned by {@link #insertTask(ScheduledTask)}
+     */
+    void removeTask(String taskOwner, String taskKey) {
+        TASK_LIST.computeIfPresent(taskOwner, (owner, scheduledTaskOwner) -> {
+            scheduledTaskOwner.remove(taskKey);
+            return scheduledTaskOwner.isEmpty() ? null : scheduledTaskOwner;
+        });
+    }
+
     /**
-     * This will purge all one time task that have been completed
+     * This will purge all one time task that have been completed. One time task remove themselves once run and
+     * task canceled with {@link ScheduledTask#unregister()} are removed right away, so this is only needed for task whose
+     * future was canceled directly
      */
     public void oneTimeTaskPurge(){
         for (String taskOwner : TASK_LIST.keySet()){
             ConcurrentHashMap<String, ScheduledTask> scheduledTaskOwner = TASK_LIST.get(taskOwner);
-            scheduledTaskOwner.values().stream().filter(scheduledTask -> scheduledTask.getScheduledFuture().isDone()).forEach(scheduledTask -> {
-                scheduledTaskOwner.remove(scheduledTask.getNAME());
-                if(scheduledTaskOwner.isEmpty()){
-                    TASK_LIST.remove(taskOwner);
-                }
-            });
+            if (scheduledTaskOwner == null) {
+                continue;
+            }
+            scheduledTaskOwner.values().stream().filter(scheduledTask -> scheduledTask.getScheduledFuture().isDone()).forEach(scheduledTask -> removeTask(taskOwner, scheduledTask.getTaskKey()));
         }
     }
 
@@ -60,28 +177,20 @@ public class TaskManager extends ScheduledThreadPoolExecutor{
         }
         taskName = taskName.toLowerCase();
         for (Map.Entry<String, ScheduledTask> scheduledTaskEntry : scheduledTaskOwner.entrySet()){
-            String s = scheduledTaskEntry.getKey().toLowerCase();
             ScheduledTask st = scheduledTaskEntry.getValue();
-            if (exactMatch){
-                if (s.equals(taskName)){
-                    keysToRemove.add(taskName);
-                    st.getScheduledFuture().cancel(true);
-                }
-            } else {
-                if (s.contains(taskName)){
-                    keysToRemove.add(taskName);
-                    st.getScheduledFuture().cancel(true);
-                }
+            String s = st.getNAME().toLowerCase();
+            if (exactMatch ? s.equals(taskName) : s.contains(taskName)){
+                keysToRemove.add(scheduledTaskEntry.getKey());
+                st.getScheduledFuture().cancel(true);
             }
         }
-        keysToRemove.forEach(scheduledTaskOwner::remove);
-        if(scheduledTaskOwner.isEmpty()){
-            TASK_LIST.remove(taskOwner);
+        for (String taskKey : keysToRemove) {
+            removeTask(taskOwner, taskKey);
         }
     }
 
     /**
-     * This will purge task purge task based on the Task Owner and Task Name, exact or contains. This method is case - insensitive
+     * This will purge all task of a Task Owner
      *
      * @param taskOwner String representing the Task Owner
      */
@@ -90,11 +199,28 @@ public class TaskManager extends ScheduledThreadPoolExecutor{
         if (scheduledTaskOwner == null || scheduledTaskOwner.isEmpty()){
             return;
         }
-        for (Map.Entry<String, ScheduledTask> scheduledTaskEntry : scheduledTaskOwner.entrySet()){
-            String s = scheduledTaskEntry.getKey().toLowerCase();
-            if (s.equalsIgnoreCase(taskOwner)){
-                scheduledTaskOwner.remove(s).getScheduledFuture().cancel(true);
-            }
+        for (ScheduledTask scheduledTask : scheduledTaskOwner.values()){
+            scheduledTask.getScheduledFuture().cancel(true);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (WHEEL_TIMER != null) {
+            WHEEL_TIMER.stop();
+            WHEEL_EXECUTOR.shutdown();
+        }
+        super.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> notRun = new ArrayList<>();
+        if (WHEEL_TIMER != null) {
+            WHEEL_TIMER.stop();
+            notRun.addAll(WHEEL_EXECUTOR.shutdownNow());
         }
+        notRun.addAll(super.shutdownNow());
+        return notRun;
     }
 }
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.utilities.concurrent.task;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a WheelTimer, a hashed wheel timer for large numbers of short timeouts.
+ * <p>
+ * Notes:
+ * - Scheduling and canceling are O(1), new and canceled timeouts are queued and applied to the wheel by the timer thread each tick
+ * - The timer thread only finds expired timeouts, they are run on the executor given to this timer which should be a plain
+ * {@link ThreadPoolExecutor} so expired timeouts are not queued by time a second time
+ * - A timeout that throws is not run again and its exception is thrown by {@link WheelTimeout#get()}, like the futures of a
+ * {@link ScheduledExecutorService}
+ * - Timeouts are only as precise as the tick duration
+ * - Stopping the timer cancels every timeout that has not run, so no future is left waiting forever
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+public class WheelTimer implements Runnable {
+
+    private final long TICK_NANOS;
+    private final Bucket[] WHEEL;
+    private final int MASK;
+    private final Executor EXECUTOR;
+    private final ConcurrentLinkedQueue<WheelTimeout> PENDING = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<WheelTimeout> CANCELLED = new ConcurrentLinkedQueue<>();
+    private final long START_TIME = System.nanoTime();
+    private final Thread TIMER_THREAD;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * @param EXECUTOR      Executor the executor that expired timeouts are run on
+     * @param tickDuration  long the duration of one tick
+     * @param timeUnit      TimeUnit the unit of the tick duration
+     * @param ticksPerWheel int the number of buckets, rounded up to a power of two
+     * @param THREAD_NAMING String the timer thread name
+     */
+    public WheelTimer(Executor EXECUTOR, long tickDuration, TimeUnit timeUnit, int ticksPerWheel, String THREAD_NAMING) {
+        this.EXECUTOR = EXECUTOR;
+        this.TICK_NANOS = Math.max(timeUnit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        this.WHEEL = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            WHEEL[i] = new Bucket();
+        }
+        this.MASK = wheelSize - 1;
+        this.TIMER_THREAD = new Thread(this, THREAD_NAMING + " - Timer");
+        this.TIMER_THREAD.setDaemon(true);
+        this.TIMER_THREAD.start();
+    }
+
+    /**
+     * Recommended: For internal use with the {@link TaskManager}.
+     * <p>
+     * Uses: This will schedule a one time or repeating timeout
+     *
+     * @param runnable     Runnable the code to run
+     * @param initialDelay long the delay before the first run
+     * @param period       long 0 for a one time task, positive for a fixed rate and negative for a fixed delay between runs
+     * @param timeUnit     TimeUnit the unit of the delay and period
+     * @return WheelTimeout the timeout which can be canceled
+     */
+    public WheelTimeout schedule(Runnable runnable, long initialDelay, long period, TimeUnit timeUnit) {
+        if (!running) {
+            throw new RejectedExecutionException("Wheel timer has been stopped.");
+        }
+        WheelTimeout wheelTimeout = new WheelTimeout(runnable, nanoTime() + timeUnit.toNanos(Math.max(initialDelay, 0)), timeUnit.toNanos(period));
+        PENDING.offer(wheelTimeout);
+        if (!running) {
+            /* Stopped while this was queued, the timer thread may have already drained the queue */
+            cancelPending();
+        }
+        return wheelTimeout;
+    }
+
+    /**
+     * Recommended: For internal use with the {@link TaskManager}.
+     * <p>
+     * Uses: This will stop the timer and cancel every timeout that has not run, a running timeout finishes its run and is
+     * then canceled instead of being scheduled again. This blocks until the timer thread has canceled the wheel
+     */
+    public void stop() {
+        running = false;
+        TIMER_THREAD.interrupt();
+        if (Thread.currentThread() != TIMER_THREAD) {
+            try {
+                TIMER_THREAD.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private long nanoTime() {
+        return System.nanoTime() - START_TIME;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            long deadline = TICK_NANOS * (tick + 1);
+            long sleepNanos = deadline - nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        break;
+                    }
+                }
+                continue;
+            }
+            removeCancelled();
+            transferPending();
+            WHEEL[(int) (tick & MASK)].expire();
+            tick++;
+        }
+        for (Bucket bucket : WHEEL) {
+            bucket.cancelAll();
+        }
+        cancelPending();
+        CANCELLED.clear();
+    }
+
+    private void cancelPending() {
+        WheelTimeout wheelTimeout;
+        while ((wheelTimeout = PENDING.poll()) != null) {
+            wheelTimeout.cancel(false);
+        }
+    }
+
+    private void removeCancelled() {
+        WheelTimeout wheelTimeout;
+        while ((wheelTimeout = CANCELLED.poll()) != null) {
+            if (wheelTimeout.bucket != null) {
+                wheelTimeout.bucket.remove(wheelTimeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        WheelTimeout wheelTimeout;
+        while ((wheelTimeout = PENDING.poll()) != null) {
+            if (wheelTimeout.STATE.get() != WheelTimeout.WAITING) {
+                continue;
+            }
+            long expireTick = Math.max(wheelTimeout.deadline / TICK_NANOS, tick);
+            wheelTimeout.remainingRounds = (expireTick - tick) / WHEEL.length;
+            WHEEL[(int) (expireTick & MASK)].add(wheelTimeout);
+        }
+    }
+
+    /**
+     * Represents a bucket of the wheel, a doubly linked list only touched by the timer thread
+     */
+    private class Bucket {
+
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout wheelTimeout) {
+            wheelTimeout.bucket = this;
+            if (head == null) {
+                head = tail = wheelTimeout;
+            } else {
+                tail.next = wheelTimeout;
+                wheelTimeout.prev = tail;
+                tail = wheelTimeout;
+            }
+        }
+
+        private void remove(WheelTimeout wheelTimeout) {
+            WheelTimeout next = wheelTimeout.next;
+            if (wheelTimeout.prev != null) {
+                wheelTimeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = wheelTimeout.prev;
+            }
+            if (wheelTimeout == head) {
+                head = next;
+            }
+            if (wheelTimeout == tail) {
+                tail = wheelTimeout.prev;
+            }
+            wheelTimeout.prev = null;
+            wheelTimeout.next = null;
+            wheelTimeout.bucket = null;
+        }
+
+        private void cancelAll() {
+            while (head != null) {
+                WheelTimeout wheelTimeout = head;
+                remove(wheelTimeout);
+                wheelTimeout.cancel(false);
+            }
+        }
+
+        private void expire() {
+            WheelTimeout wheelTimeout = head;
+            while (wheelTimeout != null) {
+                WheelTimeout next = wheelTimeout.next;
+                if (wheelTimeout.remainingRounds <= 0) {
+                    remove(wheelTimeout);
+                    if (wheelTimeout.STATE.get() == WheelTimeout.WAITING) {
+                        try {
+                            EXECUTOR.execute(wheelTimeout);
+                        } catch (RejectedExecutionException e) {
+                            wheelTimeout.cancel(false);
+                        }
+                    }
+                } else {
+                    wheelTimeout.remainingRounds--;
+                }
+                wheelTimeout = next;
+            }
+        }
+    }
+
+    /**
+     * Represents a timeout on the wheel, this is handed out as a {@link ScheduledFuture} so it can be used in place of
+     * the futures returned by a {@link ScheduledExecutorService}
+     */
+    public class WheelTimeout implements ScheduledFuture<Object>, Runnable {
+
+        private static final int WAITING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final Runnable RUNNABLE;
+        private final long PERIOD;
+        private final AtomicInteger STATE = new AtomicInteger(WAITING);
+        private volatile long deadline;
+        private volatile Throwable failure;
+        private Thread runner;
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout prev;
+        private WheelTimeout next;
+
+        private WheelTimeout(Runnable RUNNABLE, long deadline, long PERIOD) {
+            this.RUNNABLE = RUNNABLE;
+            this.deadline = deadline;
+            this.PERIOD = PERIOD;
+        }
+
+        @Override
+        public void run() {
+            if (!STATE.compareAndSet(WAITING, RUNNING)) {
+                return;
+            }
+            synchronized (this) {
+                runner = Thread.currentThread();
+            }
+            try {
+                RUNNABLE.run();
+            } catch (Throwable e) {
+                failure = e;
+                e.printStackTrace();
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+            }
+            if (PERIOD == 0 || failure != null) {
+                if (STATE.compareAndSet(RUNNING, DONE)) {
+                    signalDone();
+                }
+                return;
+            }
+            deadline = PERIOD > 0 ? deadline + PERIOD : nanoTime() - PERIOD;
+            if (STATE.compareAndSet(RUNNING, WAITING)) {
+                PENDING.offer(this);
+                if (!running) {
+                    cancelPending();
+                }
+            }
+        }
+
+        private synchronized void signalDone() {
+            notifyAll();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            int state = STATE.get();
+            while (state == WAITING || state == RUNNING) {
+                if (STATE.compareAndSet(state, CANCELLED)) {
+                    WheelTimer.this.CANCELLED.offer(this);
+                    synchronized (this) {
+                        if (mayInterruptIfRunning && runner != null) {
+                            runner.interrupt();
+                        }
+                        notifyAll();
+                    }
+                    return true;
+                }
+                state = STATE.get();
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return STATE.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return STATE.get() >= DONE;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private Object report() throws ExecutionException {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return null;
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            synchronized (this) {
+                while (!isDone()) {
+                    wait();
+                }
+            }
+            return report();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            long waitUntil = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (this) {
+                while (!isDone()) {
+                    long waitNanos = waitUntil - System.nanoTime();
+                    if (waitNanos <= 0) {
+                        throw new TimeoutException();
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                }
+            }
+            return report();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.starnub.utilities.concurrent.thread;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Represents a LaneExecutor, a fixed set of worker threads (lanes) that each drain their own lock-free queue in batches.
+ * <p>
+ * Notes:
+ * - Items submitted with the same lane key always run on the same lane, in the order they were submitted
+ * - Items submitted without a lane key are spread round robin across the lanes
+ * - A lane only parks when its queue is empty, producers only unpark a lane that is parked
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+public class LaneExecutor<T> {
+
+    private final Lane[] LANES;
+    private final int BATCH_SIZE;
+    private final Consumer<T> CONSUMER;
+    private final AtomicInteger NEXT_LANE = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * @param laneCount int the number of lanes (threads), values less then 1 will use one lane per available processor
+     * @param batchSize int the maximum items a lane will drain before checking if it has been shutdown
+     * @param NAME      String the thread name
+     * @param CONSUMER  Consumer the consumer that will be handed each item
+     */
+    @SuppressWarnings("unchecked")
+    public LaneExecutor(int laneCount, int batchSize, String NAME, Consumer<T> CONSUMER) {
+        if (laneCount < 1) {
+            laneCount = Runtime.getRuntime().availableProcessors();
+        }
+        this.BATCH_SIZE = batchSize;
+        this.CONSUMER = CONSUMER;
+        this.LANES = new LaneExecutor.Lane[laneCount];
+        NamedThreadFactory namedThreadFactory = new NamedThreadFactory(NAME);
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = new Lane();
+            lane.thread = namedThreadFactory.newThread(lane);
+            LANES[i] = lane;
+        }
+        for (Lane lane : LANES) {
+            lane.thread.start();
+        }
+    }
+
+    public int getLaneCount() {
+        return LANES.length;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will queue a item on the lane selected by the lane key, items with equal keys are handled in order
+     *
+     * @param laneKey Object the key used to pick a lane
+     * @param item    T the item to handle
+     */
+    public void submit(Object laneKey, T item) {
+        int hash = laneKey.hashCode();
+        hash ^= (hash >>> 16);
+        LANES[(hash & 0x7fffffff) % LANES.length].offer(item);
+    }
+
+    /**
+     * Recommended: For Plugin Developers & Anyone else.
+     * <p>
+     * Uses: This will queue a item on the next lane, no ordering is kept between items
+     *
+     * @param item T the item to handle
+     */
+    public void submit(T item) {
+        LANES[(NEXT_LANE.getAndIncrement() & 0x7fffffff) % LANES.length].offer(item);
+    }
+
+    /**
+     * Recommended: For internal use.
+     * <p>
+     * Uses: This will stop all lanes, items still queued are dropped
+     */
+    public void shutdown() {
+        running = false;
+        for (Lane lane : LANES) {
+            LockSupport.unpark(lane.thread);
+        }
+    }
+
+    private class Lane implements Runnable {
+
+        private final ConcurrentLinkedQueue<T> QUEUE = new ConcurrentLinkedQueue<>();
+        private volatile boolean parked;
+        private Thread thread;
+
+        private void offer(T item) {
+            QUEUE.offer(item);
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                int drained = 0;
+                T item;
+                while (drained < BATCH_SIZE && (item = QUEUE.poll()) != null) {
+                    drained++;
+                    try {
+                        CONSUMER.accept(item);
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+                if (drained == 0) {
+                    parked = true;
+                    if (QUEUE.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                }
+            }
+        }
+    }
+}
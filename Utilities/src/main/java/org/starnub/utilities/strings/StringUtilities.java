@@ -20,24 +20,46 @@ package org.starnub.utilities.strings;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collections;
 import java.util.regex.Pattern;
 
 /**
  * Represents a static StringUtilities these will provide methods to manipulate strings
+ * <p>
+ * Notes: Color tags, special characters and spaces are handled by single pass character scanners that match what the
+ * original regular expressions matched, a color tag is "^" then at least one character then the first ";" on the same line,
+ * a special character is anything but a-z, A-Z, 0-9, white space and "+"
  *
  * @author Daniel (Underbalanced) (www.StarNub.org)
  * @since 1.0
  */
 public class StringUtilities {
 
+    private static final Pattern REPEATING_CHARACTERS = Pattern.compile("(?i)(.{2})(\\1)+");
+
     /**
-     * This will remove colors, special characters and spaces
+     * This will remove colors, special characters and spaces in a single pass
      *
      * @param s String s the string to be cleaned
      * @return String the cleaned string
      */
     public static String completeClean(String s){
-        return removeSpaces(removeSpecialCharacters(removeColors(s)));
+        int length = s.length();
+        StringBuilder cleaned = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '^') {
+                int colorEnd = colorEnd(s, i);
+                if (colorEnd >= 0) {
+                    i = colorEnd;
+                    continue;
+                }
+            }
+            if (c != ' ' && !isSpecialCharacter(c)) {
+                cleaned.append(c);
+            }
+        }
+        return cleaned.length() == length ? s : cleaned.toString();
     }
 
     /**
@@ -47,7 +69,13 @@ public class StringUtilities {
      * @return boolean returns true if these characters and characters between have been detected
      */
     public static boolean hasColors(String s) {
-        return patternMatcher(Pattern.compile("\\^.+?;"), s);
+        int i = -1;
+        while ((i = s.indexOf('^', i + 1)) >= 0) {
+            if (colorEnd(s, i) >= 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -57,7 +85,25 @@ public class StringUtilities {
      * @return String the cleaned string
      */
     public static String removeColors(String s) {
-        return s.replaceAll("\\^.+?;", "");
+        int i = s.indexOf('^');
+        if (i < 0) {
+            return s;
+        }
+        int length = s.length();
+        StringBuilder cleaned = new StringBuilder(length);
+        cleaned.append(s, 0, i);
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '^') {
+                int colorEnd = colorEnd(s, i);
+                if (colorEnd >= 0) {
+                    i = colorEnd;
+                    continue;
+                }
+            }
+            cleaned.append(c);
+        }
+        return cleaned.length() == length ? s : cleaned.toString();
     }
 
     /**
@@ -67,36 +113,41 @@ public class StringUtilities {
      * @return boolean returns true if special characters exist
      */
     public static boolean hasSpecialCharacters(String s) {
-        return patternMatcher(Pattern.compile("[^a-zA-Z0-9\\s+]"), s);
+        for (int i = 0; i < s.length(); i++) {
+            if (isSpecialCharacter(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * This will remove special characters but not color tags
+     * <p>
+     * Notes: When the string has colors everything from a "^" up to the next ";" is kept, a "^" with no ";" after it is removed
      *
      * @param s String the string to be cleaned
      * @return String the cleaned string
      */
     public static String removeSpecialCharacters(String s){
-        if (hasColors(s)) {
-            String newName = "";
-            for (int i = 0; i < s.length(); i++) {
-                char letter = s.charAt(i);
-                if (letter == '^') {
-                    while (letter != ';') {
-                        newName = newName + Character.toString(letter);
-                        i++;
-                        letter = s.charAt(i);
-                    }
-                    newName = newName + Character.toString(letter);
-                } else {
-                    if (!hasSpecialCharacters(Character.toString(letter)))
-                        newName = newName + Character.toString(letter);
+        boolean hasColors = hasColors(s);
+        int length = s.length();
+        StringBuilder cleaned = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (hasColors && c == '^') {
+                int tagEnd = s.indexOf(';', i);
+                if (tagEnd >= 0) {
+                    cleaned.append(s, i, tagEnd + 1);
+                    i = tagEnd;
+                    continue;
                 }
             }
-            return newName;
-        } else {
-            return s.replaceAll("[^a-zA-Z0-9\\s+]", "");
+            if (!isSpecialCharacter(c)) {
+                cleaned.append(c);
+            }
         }
+        return cleaned.length() == length ? s : cleaned.toString();
     }
 
     /**
@@ -106,7 +157,7 @@ public class StringUtilities {
      * @return boolean returns true if double spaces exist
      */
     public static boolean hasDoubleSpaced(String s) {
-        return patternMatcher(Pattern.compile(" +"), s);
+        return s.indexOf(' ') >= 0;
     }
 
     /**
@@ -136,7 +187,7 @@ public class StringUtilities {
      * @return boolean returns true if repeating characters exist
      */
     public static boolean hasRepeatingCharacters(String s) {
-        return patternMatcher(Pattern.compile("(?i)(.{2})(\\1)+"), s);
+        return patternMatcher(REPEATING_CHARACTERS, s);
     }
 
     /**
@@ -146,7 +197,7 @@ public class StringUtilities {
      * @return String the cleaned string
      */
     public static String removeRepeatingCharacters(String s) {
-        return s.replaceAll("(?i)(.{2})(\\1)+", "$1$1");
+        return REPEATING_CHARACTERS.matcher(s).replaceAll("$1$1");
     }
 
     public static String exactWordReplacement(String stringToSearch, String wordToSearch, String replacement){
@@ -176,46 +227,20 @@ public class StringUtilities {
     /**
      *
      * This will search for words and replace them if they match within a certain percentage
+     * <p>
+     * Notes: This compiles a {@link WordFilter} for the one word on every call, use a WordFilter directly when checking the same
+     * words many times. The percent sets the fuzzy edits allowed, a 6 letter word at 80 percent allows 1 edit
      *
      * @param s String to be searched
      * @param wordToSearch String the word to be matched
      * @param percentToMatch double the percent to match
-     * @param replaceWholeWord boolean replace the word with characters (true) or not (false)
+     * @param replaceWholeWord boolean replace each character of the word with the replacement (true) or the whole word once (false)
      * @param replacementChar String the character to replace the word with
      * @return String the cleaned string
      */
     public static String wordSearchReplacement(String s, String wordToSearch, double percentToMatch, boolean replaceWholeWord, String replacementChar){
-        double highEstMatch = 0;
-        boolean firstTime = true;
-        while (highEstMatch > percentToMatch || firstTime) {
-            firstTime = false;
-            int start = 0;
-            int end = wordToSearch.length();
-            int s2Len = s.length();
-            int highStart = 0;
-            int highEnd = 0;
-            highEstMatch = 0;
-            if (end <= s2Len) {
-                boolean replace = false;
-                while (end <= s2Len) {
-                    int stringsToChange = StringUtils.getLevenshteinDistance(wordToSearch.toLowerCase(), s.substring(start, end).toLowerCase());
-                    double percentMatched = (100 - ((stringsToChange * 100) / end));
-                    if (percentMatched >= percentToMatch && highEstMatch < percentMatched) {
-                        highEstMatch = percentMatched / end;
-                        highStart = start;
-                        highEnd = end;
-                        replace = true;
-                    }
-                    start++;
-                    end++;
-                }
-                String rS = "";
-                if (replaceWholeWord) {
-                    rS = StringUtils.repeat(replacementChar, s.substring(highStart, highEnd).length());
-                }
-            }
-        }
-        return s;
+        int maxEdits = (int) (wordToSearch.length() * (100 - Math.min(100D, Math.max(0D, percentToMatch))) / 100);
+        return new WordFilter(Collections.singletonList(wordToSearch), false, maxEdits).replace(s, replacementChar, replaceWholeWord);
     }
 
 
@@ -230,6 +255,43 @@ public class StringUtilities {
         return 100.00;
     }
 
+    /**
+     * This will find the end of a color tag, "^" then at least one character then the first ";", none of which may be a line
+     * terminator as the original pattern did not match across lines
+     *
+     * @param s String the string to search
+     * @param start int the index of the "^"
+     * @return int the index of the ";" ending the tag or -1 if there is no tag at this index
+     */
+    static int colorEnd(String s, int start) {
+        int length = s.length();
+        if (start + 1 >= length || isLineTerminator(s.charAt(start + 1))) {
+            return -1;
+        }
+        for (int i = start + 2; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == ';') {
+                return i;
+            }
+            if (isLineTerminator(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return boolean true if this character is not a-z, A-Z, 0-9, white space or "+"
+     */
+    private static boolean isSpecialCharacter(char c) {
+        return !((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '+'
+                || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r');
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
     /**
      * This will match a pattern
      *
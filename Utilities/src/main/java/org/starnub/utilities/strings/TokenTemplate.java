@@ -0,0 +1,163 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.utilities.strings;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Represents a string split once into its literal text and its {tokens} so it can be rendered many times without searching it again.
+ * <p>
+ * Notes:
+ * - A token is "{" then the first "}" on the same line, tokens are lower cased
+ * - Token results are appended as is, "$" and "\" in a result are not treated as group references
+ * - {@link #of(String)} keeps parsed templates in a small cache, the cache is cleared when it fills so one off strings can not grow it
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+public final class TokenTemplate {
+
+    private static final int MAX_CACHED = 512;
+    private static final ConcurrentHashMap<String, TokenTemplate> CACHE = new ConcurrentHashMap<>();
+    private static final String[] NO_TOKENS = new String[0];
+
+    private final String TEMPLATE;
+    private final String[] LITERALS;
+    private final String[] TOKENS;
+    private final int LITERAL_LENGTH;
+
+    private TokenTemplate(String TEMPLATE, String[] LITERALS, String[] TOKENS) {
+        this.TEMPLATE = TEMPLATE;
+        this.LITERALS = LITERALS;
+        this.TOKENS = TOKENS;
+        int literalLength = 0;
+        for (String literal : LITERALS) {
+            literalLength += literal.length();
+        }
+        this.LITERAL_LENGTH = literalLength;
+    }
+
+    /**
+     * Uses: This will return the parsed template for a string from the cache, parsing it if it is not cached
+     *
+     * @param template String the string with tokens
+     * @return TokenTemplate the parsed template
+     */
+    public static TokenTemplate of(String template) {
+        TokenTemplate tokenTemplate = CACHE.get(template);
+        if (tokenTemplate == null) {
+            tokenTemplate = parse(template);
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            CACHE.put(template, tokenTemplate);
+        }
+        return tokenTemplate;
+    }
+
+    /**
+     * Uses: This will parse a string into its literal text and tokens without caching it
+     *
+     * @param template String the string with tokens
+     * @return TokenTemplate the parsed template
+     */
+    public static TokenTemplate parse(String template) {
+        ArrayList<String> literals = null;
+        ArrayList<String> tokens = null;
+        int literalStart = 0;
+        int length = template.length();
+        for (int i = template.indexOf('{'); i >= 0 && i < length; i = template.indexOf('{', i + 1)) {
+            int tokenEnd = tokenEnd(template, i);
+            if (tokenEnd < 0) {
+                continue;
+            }
+            if (literals == null) {
+                literals = new ArrayList<>();
+                tokens = new ArrayList<>();
+            }
+            literals.add(template.substring(literalStart, i));
+            tokens.add(template.substring(i, tokenEnd + 1).toLowerCase());
+            literalStart = tokenEnd + 1;
+            i = tokenEnd;
+        }
+        if (literals == null) {
+            return new TokenTemplate(template, new String[]{template}, NO_TOKENS);
+        }
+        literals.add(template.substring(literalStart));
+        return new TokenTemplate(template, literals.toArray(new String[literals.size()]), tokens.toArray(new String[tokens.size()]));
+    }
+
+    /**
+     * @return int the index of the "}" closing a token started at this index or -1 if the line ends or there is no "}"
+     */
+    private static int tokenEnd(String template, int start) {
+        for (int i = start + 1; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == '}') {
+                return i;
+            }
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    public String getTEMPLATE() {
+        return TEMPLATE;
+    }
+
+    public boolean hasTokens() {
+        return TOKENS.length > 0;
+    }
+
+    /**
+     * @return String[] a copy of the lower cased tokens in the order they appear
+     */
+    public String[] getTokens() {
+        return TOKENS.clone();
+    }
+
+    /**
+     * Uses: This will build the string with each token replaced by its result, the resolver is called once per token occurrence
+     *
+     * @param resolver Function taking the lower cased token with its braces and returning the object to insert
+     * @return String the rendered string
+     */
+    public String render(Function<String, Object> resolver) {
+        if (TOKENS.length == 0) {
+            return TEMPLATE;
+        }
+        StringBuilder rendered = new StringBuilder(LITERAL_LENGTH + TOKENS.length * 16);
+        for (int i = 0; i < TOKENS.length; i++) {
+            rendered.append(LITERALS[i]).append(resolver.apply(TOKENS[i]));
+        }
+        return rendered.append(LITERALS[TOKENS.length]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenTemplate{" +
+                "TEMPLATE='" + TEMPLATE + '\'' +
+                ", TOKENS=" + TOKENS.length +
+                '}';
+    }
+}
@@ -0,0 +1,565 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.utilities.strings;
+
+import java.util.*;
+
+/**
+ * Represents a compiled list of words that can be found in or masked out of text in a single pass, an Aho-Corasick automaton
+ * over normalized text with an optional fuzzy pass that matches whole words within a few edits of a filtered word.
+ * <p>
+ * Notes:
+ * - Text is normalized as it is scanned, color tags are skipped, letters are lower cased, common leetspeak is folded
+ * (0 o, 1 i, 3 e, 4 a, 5 s, 7 t, 8 b, 9 g, @ a, $ s) and anything that is not a letter or digit separates words and is dropped,
+ * so "^red;A.d.M.1.n" matches "admin"
+ * - With whole words on, a match must start and end on a word boundary so "class" does not match "ass"
+ * - The fuzzy pass allows one edit for every 4 characters of a word up to the max edits, so short words never match fuzzily
+ * - A WordFilter never changes after it is built, build a new one and swap the reference when the words change
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+public final class WordFilter {
+
+    public static final WordFilter EMPTY = new WordFilter(Collections.emptyList(), false, 0);
+
+    private static final int ROOT = 0;
+    private static final int CHARACTERS_PER_EDIT = 4;
+
+    private final String[] WORDS;
+    private final String[] NORMALIZED_WORDS;
+    private final boolean WHOLE_WORDS;
+    private final int MAX_EDITS;
+    private final int[] ASCII_CLASSES = new int[128];
+    private final HashMap<Character, Integer> CLASSES = new HashMap<>();
+    private final int CLASS_COUNT;
+    private final int[] TRANSITIONS;
+    private final int[] OUTPUT;
+    private final int[] OUTPUT_LINK;
+    private final BkNode FUZZY_ROOT;
+
+    /**
+     * Uses: This will compile a list of words, words that are empty once normalized are ignored
+     *
+     * @param words Collection of words, each is turned into a String with toString()
+     * @param WHOLE_WORDS boolean true if a match must start and end on a word boundary, false to match inside of other words
+     * @param MAX_EDITS int the most edits allowed by the fuzzy pass, 0 turns the fuzzy pass off
+     */
+    public WordFilter(Collection<?> words, boolean WHOLE_WORDS, int MAX_EDITS) {
+        this.WHOLE_WORDS = WHOLE_WORDS;
+        this.MAX_EDITS = Math.max(0, MAX_EDITS);
+        LinkedHashMap<String, String> uniqueWords = new LinkedHashMap<>();
+        for (Object word : words) {
+            if (word != null) {
+                String normalizedWord = normalize(word.toString());
+                if (!normalizedWord.isEmpty()) {
+                    uniqueWords.putIfAbsent(normalizedWord, word.toString());
+                }
+            }
+        }
+        this.NORMALIZED_WORDS = uniqueWords.keySet().toArray(new String[uniqueWords.size()]);
+        this.WORDS = uniqueWords.values().toArray(new String[uniqueWords.size()]);
+        int classCount = 1;
+        int stateCount = 1;
+        for (String normalizedWord : NORMALIZED_WORDS) {
+            stateCount += normalizedWord.length();
+            for (int i = 0; i < normalizedWord.length(); i++) {
+                char c = normalizedWord.charAt(i);
+                if (c < 128) {
+                    if (ASCII_CLASSES[c] == 0) {
+                        ASCII_CLASSES[c] = classCount++;
+                    }
+                } else if (!CLASSES.containsKey(c)) {
+                    CLASSES.put(c, classCount++);
+                }
+            }
+        }
+        this.CLASS_COUNT = classCount;
+        this.TRANSITIONS = new int[stateCount * CLASS_COUNT];
+        this.OUTPUT = new int[stateCount];
+        this.OUTPUT_LINK = new int[stateCount];
+        Arrays.fill(TRANSITIONS, -1);
+        Arrays.fill(OUTPUT, -1);
+        Arrays.fill(OUTPUT_LINK, -1);
+        int nextState = 1;
+        for (int wordIndex = 0; wordIndex < NORMALIZED_WORDS.length; wordIndex++) {
+            String normalizedWord = NORMALIZED_WORDS[wordIndex];
+            int state = ROOT;
+            for (int i = 0; i < normalizedWord.length(); i++) {
+                int transition = state * CLASS_COUNT + classOf(normalizedWord.charAt(i));
+                if (TRANSITIONS[transition] < 0) {
+                    TRANSITIONS[transition] = nextState++;
+                }
+                state = TRANSITIONS[transition];
+            }
+            OUTPUT[state] = wordIndex;
+        }
+        buildFailureTransitions(nextState);
+        this.FUZZY_ROOT = this.MAX_EDITS > 0 ? buildFuzzyTree() : null;
+    }
+
+    /**
+     * This turns the trie into a complete automaton, every missing transition follows the failure links so scanning never backs up
+     */
+    private void buildFailureTransitions(int stateCount) {
+        int[] failure = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < CLASS_COUNT; c++) {
+            int child = TRANSITIONS[c];
+            if (child < 0) {
+                TRANSITIONS[c] = ROOT;
+            } else {
+                failure[child] = ROOT;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int c = 0; c < CLASS_COUNT; c++) {
+                int transition = state * CLASS_COUNT + c;
+                int child = TRANSITIONS[transition];
+                int fallback = TRANSITIONS[failure[state] * CLASS_COUNT + c];
+                if (child < 0) {
+                    TRANSITIONS[transition] = fallback;
+                } else {
+                    failure[child] = fallback;
+                    OUTPUT_LINK[child] = OUTPUT[fallback] >= 0 ? fallback : OUTPUT_LINK[fallback];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+
+    private BkNode buildFuzzyTree() {
+        if (NORMALIZED_WORDS.length == 0) {
+            return null;
+        }
+        BkNode root = new BkNode(0);
+        for (int wordIndex = 1; wordIndex < NORMALIZED_WORDS.length; wordIndex++) {
+            BkNode node = root;
+            while (true) {
+                int distance = editDistance(NORMALIZED_WORDS[node.WORD_INDEX], NORMALIZED_WORDS[wordIndex]);
+                BkNode child = node.CHILDREN.get(distance);
+                if (child == null) {
+                    node.CHILDREN.put(distance, new BkNode(wordIndex));
+                    break;
+                }
+                node = child;
+            }
+        }
+        return root;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return ASCII_CLASSES[c];
+        }
+        Integer characterClass = CLASSES.get(c);
+        return characterClass == null ? 0 : characterClass;
+    }
+
+    /**
+     * Uses: This will normalize text the same way the filter does before matching
+     *
+     * @param s String the text to normalize
+     * @return String the text without color tags or separators, lower cased and leetspeak folded
+     */
+    public static String normalize(String s) {
+        StringBuilder normalized = new StringBuilder(s.length());
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '^') {
+                int colorEnd = StringUtilities.colorEnd(s, i);
+                if (colorEnd >= 0) {
+                    i = colorEnd;
+                    continue;
+                }
+            }
+            char folded = fold(c);
+            if (folded != 0) {
+                normalized.append(folded);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * @return char the folded lower case letter or digit, 0 if this character separates words
+     */
+    private static char fold(char c) {
+        switch (c) {
+            case '0': return 'o';
+            case '1': return 'i';
+            case '3': return 'e';
+            case '4': case '@': return 'a';
+            case '5': case '$': return 's';
+            case '7': return 't';
+            case '8': return 'b';
+            case '9': return 'g';
+        }
+        if (c < 128) {
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') ? c : 0;
+        }
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : 0;
+    }
+
+    public boolean isEmpty() {
+        return NORMALIZED_WORDS.length == 0;
+    }
+
+    /**
+     * @return List of String the words in this filter as they were given, without duplicates
+     */
+    public List<String> getWords() {
+        return Collections.unmodifiableList(Arrays.asList(WORDS));
+    }
+
+    public boolean isWHOLE_WORDS() {
+        return WHOLE_WORDS;
+    }
+
+    public int getMAX_EDITS() {
+        return MAX_EDITS;
+    }
+
+    /**
+     * Uses: This will check if any filtered word is in the text, when whole words and the fuzzy pass are off this does not allocate
+     *
+     * @param s String the text to check
+     * @return boolean true if a filtered word was found
+     */
+    public boolean matches(String s) {
+        if (isEmpty()) {
+            return false;
+        }
+        if (WHOLE_WORDS || MAX_EDITS > 0) {
+            return !findMatches(s).isEmpty();
+        }
+        int state = ROOT;
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '^') {
+                int colorEnd = StringUtilities.colorEnd(s, i);
+                if (colorEnd >= 0) {
+                    i = colorEnd;
+                    continue;
+                }
+            }
+            char folded = fold(c);
+            if (folded != 0) {
+                state = TRANSITIONS[state * CLASS_COUNT + classOf(folded)];
+                if (OUTPUT[state] >= 0 || OUTPUT_LINK[state] >= 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Uses: This will find every filtered word in the text, exact matches may overlap each other, fuzzy matches are only made
+     * on words no exact match touches
+     *
+     * @param s String the text to search
+     * @return List of Match ordered by where they start in the text
+     */
+    public List<Match> findMatches(String s) {
+        if (isEmpty()) {
+            return Collections.emptyList();
+        }
+        return findMatches(new ScannedText(s));
+    }
+
+    private List<Match> findMatches(ScannedText text) {
+        ArrayList<Match> matches = new ArrayList<>();
+        int state = ROOT;
+        for (int position = 0; position < text.length; position++) {
+            state = TRANSITIONS[state * CLASS_COUNT + classOf(text.NORMALIZED[position])];
+            for (int outputState = OUTPUT[state] >= 0 ? state : OUTPUT_LINK[state]; outputState >= 0; outputState = OUTPUT_LINK[outputState]) {
+                int wordIndex = OUTPUT[outputState];
+                int start = position - NORMALIZED_WORDS[wordIndex].length() + 1;
+                if (!WHOLE_WORDS || (text.WORD_START[start] && text.isWordEnd(position))) {
+                    matches.add(new Match(WORDS[wordIndex], text, start, position, 0));
+                }
+            }
+        }
+        if (FUZZY_ROOT != null) {
+            findFuzzyMatches(text, matches);
+            matches.sort(Comparator.comparingInt(Match::getSTART));
+        }
+        return matches;
+    }
+
+    private void findFuzzyMatches(ScannedText text, ArrayList<Match> matches) {
+        boolean[] matched = null;
+        if (!matches.isEmpty()) {
+            matched = new boolean[text.length];
+            for (Match match : matches) {
+                Arrays.fill(matched, match.NORMALIZED_START, match.NORMALIZED_END + 1, true);
+            }
+        }
+        int wordStart = 0;
+        while (wordStart < text.length) {
+            int wordEnd = wordStart;
+            while (!text.isWordEnd(wordEnd)) {
+                wordEnd++;
+            }
+            int wordLength = wordEnd - wordStart + 1;
+            int allowedEdits = Math.min(MAX_EDITS, wordLength / CHARACTERS_PER_EDIT);
+            if (allowedEdits > 0 && !isTouched(matched, wordStart, wordEnd)) {
+                String word = new String(text.NORMALIZED, wordStart, wordLength);
+                int[] best = {-1, allowedEdits + 1};
+                searchFuzzyTree(FUZZY_ROOT, word, allowedEdits, best);
+                if (best[0] >= 0) {
+                    matches.add(new Match(WORDS[best[0]], text, wordStart, wordEnd, best[1]));
+                }
+            }
+            wordStart = wordEnd + 1;
+        }
+    }
+
+    private static boolean isTouched(boolean[] matched, int start, int end) {
+        if (matched != null) {
+            for (int i = start; i <= end; i++) {
+                if (matched[i]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This walks the BK-tree, only children whose distance is within the allowed edits of this nodes distance can hold a match
+     */
+    private void searchFuzzyTree(BkNode node, String word, int allowedEdits, int[] best) {
+        int distance = editDistance(NORMALIZED_WORDS[node.WORD_INDEX], word);
+        if (distance <= allowedEdits && distance < best[1]) {
+            best[0] = node.WORD_INDEX;
+            best[1] = distance;
+        }
+        for (Map.Entry<Integer, BkNode> child : node.CHILDREN.entrySet()) {
+            if (Math.abs(child.getKey() - distance) <= allowedEdits) {
+                searchFuzzyTree(child.getValue(), word, allowedEdits, best);
+            }
+        }
+    }
+
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Uses: This will replace the filtered words found in the text
+     *
+     * @param s String the text to clean
+     * @param replacement String what to put in place of the filtered words
+     * @param perCharacter boolean true to replace each letter and digit of a match and keep separators and color tags,
+     *                     false to replace each match and everything inside of it once
+     * @return String the cleaned text, the same String if nothing was found
+     */
+    public String replace(String s, String replacement, boolean perCharacter) {
+        if (isEmpty()) {
+            return s;
+        }
+        ScannedText text = new ScannedText(s);
+        List<Match> matches = findMatches(text);
+        if (matches.isEmpty()) {
+            return s;
+        }
+        StringBuilder cleaned = new StringBuilder(s.length() + replacement.length() * 4);
+        if (perCharacter) {
+            boolean[] masked = new boolean[s.length()];
+            for (Match match : matches) {
+                for (int position = match.NORMALIZED_START; position <= match.NORMALIZED_END; position++) {
+                    masked[text.ORIGINAL_INDEX[position]] = true;
+                }
+            }
+            for (int i = 0; i < s.length(); i++) {
+                if (masked[i]) {
+                    cleaned.append(replacement);
+                } else {
+                    cleaned.append(s.charAt(i));
+                }
+            }
+            return cleaned.toString();
+        }
+        int copied = 0;
+        int i = 0;
+        while (i < matches.size()) {
+            int start = matches.get(i).START;
+            int end = matches.get(i).END;
+            for (i++; i < matches.size() && matches.get(i).START < end; i++) {
+                end = Math.max(end, matches.get(i).END);
+            }
+            cleaned.append(s, copied, start).append(replacement);
+            copied = end;
+        }
+        return cleaned.append(s, copied, s.length()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "WordFilter{" +
+                "WORDS=" + WORDS.length +
+                ", WHOLE_WORDS=" + WHOLE_WORDS +
+                ", MAX_EDITS=" + MAX_EDITS +
+                ", STATES=" + OUTPUT.length +
+                '}';
+    }
+
+    /**
+     * Represents a filtered word found in some text
+     */
+    public static class Match {
+
+        private final String WORD;
+        private final int START;
+        private final int END;
+        private final int EDITS;
+        private final int NORMALIZED_START;
+        private final int NORMALIZED_END;
+
+        private Match(String WORD, ScannedText text, int NORMALIZED_START, int NORMALIZED_END, int EDITS) {
+            this.WORD = WORD;
+            this.START = text.ORIGINAL_INDEX[NORMALIZED_START];
+            this.END = text.ORIGINAL_INDEX[NORMALIZED_END] + 1;
+            this.EDITS = EDITS;
+            this.NORMALIZED_START = NORMALIZED_START;
+            this.NORMALIZED_END = NORMALIZED_END;
+        }
+
+        /**
+         * @return String the filtered word as it was given to the filter
+         */
+        public String getWORD() {
+            return WORD;
+        }
+
+        /**
+         * @return int the index in the text of the first character of the match
+         */
+        public int getSTART() {
+            return START;
+        }
+
+        /**
+         * @return int the index in the text after the last character of the match
+         */
+        public int getEND() {
+            return END;
+        }
+
+        /**
+         * @return int the edits the fuzzy pass needed to make this match, 0 for exact matches
+         */
+        public int getEDITS() {
+            return EDITS;
+        }
+
+        @Override
+        public String toString() {
+            return "Match{" +
+                    "WORD='" + WORD + '\'' +
+                    ", START=" + START +
+                    ", END=" + END +
+                    ", EDITS=" + EDITS +
+                    '}';
+        }
+    }
+
+    /**
+     * Represents text after normalizing, each normalized character keeps the index it came from and if it starts a word
+     */
+    private static class ScannedText {
+
+        private final char[] NORMALIZED;
+        private final int[] ORIGINAL_INDEX;
+        private final boolean[] WORD_START;
+        private int length;
+
+        private ScannedText(String s) {
+            int sLength = s.length();
+            this.NORMALIZED = new char[sLength];
+            this.ORIGINAL_INDEX = new int[sLength];
+            this.WORD_START = new boolean[sLength];
+            boolean wordStart = true;
+            for (int i = 0; i < sLength; i++) {
+                char c = s.charAt(i);
+                if (c == '^') {
+                    int colorEnd = StringUtilities.colorEnd(s, i);
+                    if (colorEnd >= 0) {
+                        i = colorEnd;
+                        continue;
+                    }
+                }
+                char folded = fold(c);
+                if (folded == 0) {
+                    wordStart = true;
+                } else {
+                    NORMALIZED[length] = folded;
+                    ORIGINAL_INDEX[length] = i;
+                    WORD_START[length] = wordStart;
+                    length++;
+                    wordStart = false;
+                }
+            }
+        }
+
+        private boolean isWordEnd(int position) {
+            return position + 1 >= length || WORD_START[position + 1];
+        }
+    }
+
+    /**
+     * Represents a BK-tree node, children are keyed by their edit distance from this nodes word
+     */
+    private static class BkNode {
+
+        private final int WORD_INDEX;
+        private final HashMap<Integer, BkNode> CHILDREN = new HashMap<>();
+
+        private BkNode(int WORD_INDEX) {
+            this.WORD_INDEX = WORD_INDEX;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+* Copyright (C) 2014 www.StarNub.org - Underbalanced
+*
+* This utilities.file is part of org.starnub a Java Wrapper for Starbound.
+*
+* This above mentioned StarNub software is free software:
+* you can redistribute it and/or modify it under the terms
+* of the GNU General Public License as published by the Free
+* Software Foundation, either version  3 of the License, or
+* any later version. This above mentioned CodeHome software
+* is distributed in the hope that it will be useful, but
+* WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+* the GNU General Public License for more details. You should
+* have received a copy of the GNU General Public License in
+* this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package org.starnub.utilities.time;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a concurrent histogram of nanosecond durations. Values are counted in log linear buckets, each power of two
+ * is split into 8 buckets so a value is reported within 12.5% of what was recorded.
+ * <p>
+ * Notes:
+ * - Recording never locks or allocates, each bucket is a {@link LongAdder} so threads recording at once do not contend
+ * - Values of 2^40 nanoseconds (about 18 minutes) and above are counted in the last bucket
+ *
+ * @author Daniel (Underbalanced) (www.StarNub.org)
+ * @since 1.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] BUCKETS = new LongAdder[BUCKET_COUNT];
+    private final LongAdder COUNT = new LongAdder();
+    private final LongAdder TOTAL = new LongAdder();
+    private final LongAccumulator MAX = new LongAccumulator(Long::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            BUCKETS[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Uses: This will count a duration
+     *
+     * @param nanos long the duration in nanoseconds, negative values are counted as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        BUCKETS[bucketIndex(nanos)].increment();
+        COUNT.increment();
+        TOTAL.add(nanos);
+        MAX.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return COUNT.sum();
+    }
+
+    public long getTotal() {
+        return TOTAL.sum();
+    }
+
+    /**
+     * Uses: This will take a copy of the counts, the copy is not atomic with recording so a few values recorded during the copy may be
+     * missing from some totals
+     *
+     * @return Snapshot the copied counts
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = BUCKETS[i].sum();
+        }
+        return new Snapshot(counts, COUNT.sum(), TOTAL.sum(), MAX.get());
+    }
+
+    public void reset() {
+        for (LongAdder bucket : BUCKETS) {
+            bucket.reset();
+        }
+        COUNT.reset();
+        TOTAL.reset();
+        MAX.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return long the largest value counted in a bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long lowerBound = (long) (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Represents a point in time copy of a {@link LatencyHistogram}
+     */
+    public static class Snapshot {
+
+        private final long[] COUNTS;
+        private final long COUNT;
+        private final long TOTAL;
+        private final long MAX;
+
+        private Snapshot(long[] COUNTS, long COUNT, long TOTAL, long MAX) {
+            this.COUNTS = COUNTS;
+            this.COUNT = COUNT;
+            this.TOTAL = TOTAL;
+            this.MAX = MAX;
+        }
+
+        public long getCount() {
+            return COUNT;
+        }
+
+        public long getTotal() {
+            return TOTAL;
+        }
+
+        public long getMax() {
+            return MAX;
+        }
+
+        public long getMean() {
+            return COUNT == 0 ? 0 : TOTAL / COUNT;
+        }
+
+        /**
+         * Uses: This will return the value at or below which a percentage of the counted values fall
+         *
+         * @param percentile double from 0 to 100
+         * @return long the upper bound of the bucket holding the percentile, never more then the max recorded
+         */
+        public long getPercentile(double percentile) {
+            long bucketTotal = 0;
+            for (long count : COUNTS) {
+                bucketTotal += count;
+            }
+            if (bucketTotal == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(bucketTotal * Math.min(100D, Math.max(0D, percentile)) / 100D));
+            long seen = 0;
+            for (int i = 0; i < COUNTS.length; i++) {
+                seen += COUNTS[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), MAX);
+                }
+            }
+            return MAX;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + COUNT +
+                    ", total_us=" + TOTAL / 1000 +
+                    ", mean_us=" + getMean() / 1000 +
+                    ", p50_us=" + getPercentile(50) / 1000 +
+                    ", p99_us=" + getPercentile(99) / 1000 +
+                    ", max_us=" + MAX / 1000;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.utilities.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class ByteBufZlibTest {
+
+    private static final ByteBufAllocator ALLOC = UnpooledByteBufAllocator.DEFAULT;
+
+    private static ByteBuf data(int length) {
+        Random random = new Random(length);
+        ByteBuf data = Unpooled.buffer(length);
+        for (int i = 0; i < length; i++) {
+            data.writeByte(random.nextInt(4) == 0 ? random.nextInt(256) : 'a');
+        }
+        return data;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (int length : new int[]{0, 1, 1023, 1024, 1025, 100000}) {
+            ByteBuf data = data(length);
+            ByteBuf compressed = ByteBufZlib.compress(data.duplicate(), ALLOC);
+            ByteBuf inflated = ByteBufZlib.decompress(compressed, ALLOC, length);
+            assertEquals(data, inflated);
+            assertFalse("the input is consumed", compressed.isReadable());
+        }
+    }
+
+    @Test
+    public void testDirectInput() throws Exception {
+        ByteBuf data = data(5000);
+        ByteBuf compressed = ByteBufZlib.compress(data.duplicate(), ALLOC);
+        ByteBuf direct = Unpooled.directBuffer(compressed.readableBytes());
+        direct.writeBytes(compressed);
+        assertEquals(data, ByteBufZlib.decompress(direct, ALLOC, 5000));
+    }
+
+    @Test
+    public void testOverMaxLength() throws Exception {
+        ByteBuf compressed = ByteBufZlib.compress(data(5000), ALLOC);
+        try {
+            ByteBufZlib.decompress(compressed, ALLOC, 4999);
+            fail("5000 bytes inflated under a 4999 byte limit");
+        } catch (DataFormatException expected) {
+        }
+    }
+
+    @Test
+    public void testBomb() throws Exception {
+        ByteBuf zeros = Unpooled.buffer(16 * 1024 * 1024);
+        zeros.writeZero(zeros.capacity());
+        ByteBuf compressed = ByteBufZlib.compress(zeros, ALLOC);
+        try {
+            ByteBufZlib.decompress(compressed, ALLOC, 64 * 1024);
+            fail("A zlib bomb inflated past the limit");
+        } catch (DataFormatException expected) {
+        }
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        ByteBuf compressed = ByteBufZlib.compress(data(5000), ALLOC);
+        try {
+            ByteBufZlib.decompress(compressed.slice(0, compressed.readableBytes() / 2), ALLOC, 5000);
+            fail("Half a zlib stream was inflated");
+        } catch (DataFormatException expected) {
+        }
+    }
+
+    @Test
+    public void testTruncatedAtMaxLength() throws Exception {
+        ByteBuf compressed = ByteBufZlib.compress(data(5000), ALLOC);
+        try {
+            ByteBufZlib.decompress(compressed.slice(0, compressed.readableBytes() - 2), ALLOC, 5000);
+            fail("A zlib stream missing its checksum was inflated");
+        } catch (DataFormatException expected) {
+        }
+    }
+
+    @Test
+    public void testGarbage() throws Exception {
+        try {
+            ByteBufZlib.decompress(Unpooled.wrappedBuffer(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), ALLOC, 1024);
+            fail("Garbage was inflated");
+        } catch (DataFormatException expected) {
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.utilities.concurrent.task;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskManagerTest {
+
+    private final List<TaskManager> taskManagers = new ArrayList<>();
+
+    /**
+     * Every test is run against the executor and the wheel timer backend
+     */
+    private List<TaskManager> taskManagers() {
+        taskManagers.add(new TaskManager(2, 4, 30, TimeUnit.SECONDS, "TaskManagerTest"));
+        taskManagers.add(new TaskManager(2, 4, 30, TimeUnit.SECONDS, "TaskManagerTest", 5, 64));
+        return taskManagers;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        taskManagers.forEach(TaskManager::shutdownNow);
+    }
+
+    @Test
+    public void testOneTimeTaskRemovesItself() throws Exception {
+        for (TaskManager taskManager : taskManagers()) {
+            CountDownLatch ran = new CountDownLatch(1);
+            ScheduledTask scheduledTask = new ScheduledTask(taskManager, "Owner", "Once", 10, TimeUnit.MILLISECONDS, ran::countDown);
+            assertTrue(taskManager.getTASK_LIST().get("Owner").containsKey(scheduledTask.getTaskKey()));
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+            await(() -> taskManager.getTASK_LIST().get("Owner") == null);
+        }
+    }
+
+    @Test
+    public void testTasksWithTheSameNameKeepTheirOwnKeys() throws Exception {
+        for (TaskManager taskManager : taskManagers()) {
+            ScheduledTask first = new ScheduledTask(taskManager, "Owner", "Same", false, 1, 1, TimeUnit.HOURS, () -> {});
+            ScheduledTask second = new ScheduledTask(taskManager, "Owner", "Same", false, 1, 1, TimeUnit.HOURS, () -> {});
+            assertFalse(first.getTaskKey().equals(second.getTaskKey()));
+            Map<String, ScheduledTask> ownerTasks = taskManager.getTASK_LIST().get("Owner");
+            assertEquals(2, ownerTasks.size());
+            first.unregister();
+            assertTrue(first.getScheduledFuture().isCancelled());
+            assertFalse(second.getScheduledFuture().isDone());
+            assertEquals(second, taskManager.getTASK_LIST().get("Owner").get(second.getTaskKey()));
+            second.unregister();
+            assertNull("the owner is removed with its last task", taskManager.getTASK_LIST().get("Owner"));
+        }
+    }
+
+    @Test
+    public void testPurgeByTaskName() throws Exception {
+        for (TaskManager taskManager : taskManagers()) {
+            ScheduledTask autoSave = new ScheduledTask(taskManager, "Owner", "Auto Save", false, 1, 1, TimeUnit.HOURS, () -> {});
+            ScheduledTask autoSaveBackup = new ScheduledTask(taskManager, "Owner", "Auto Save Backup", true, 1, 1, TimeUnit.HOURS, () -> {});
+            ScheduledTask restart = new ScheduledTask(taskManager, "Owner", "Restart", 1, TimeUnit.HOURS, () -> {});
+            taskManager.purgeByTaskName("Owner", "auto save", true);
+            assertTrue(autoSave.getScheduledFuture().isCancelled());
+            assertFalse(autoSaveBackup.getScheduledFuture().isCancelled());
+            assertEquals(2, taskManager.getTASK_LIST().get("Owner").size());
+            taskManager.purgeByTaskName("Owner", "SAVE", false);
+            assertTrue(autoSaveBackup.getScheduledFuture().isCancelled());
+            assertFalse(restart.getScheduledFuture().isCancelled());
+            assertEquals(1, taskManager.getTASK_LIST().get("Owner").size());
+            taskManager.purgeByTaskName("Nobody", "Restart", true);
+            assertFalse(restart.getScheduledFuture().isCancelled());
+        }
+    }
+
+    @Test
+    public void testPurgeByOwnerName() throws Exception {
+        for (TaskManager taskManager : taskManagers()) {
+            ScheduledTask first = new ScheduledTask(taskManager, "Owner", "First", 1, TimeUnit.HOURS, () -> {});
+            ScheduledTask second = new ScheduledTask(taskManager, "Owner", "Second", false, 1, 1, TimeUnit.HOURS, () -> {});
+            ScheduledTask other = new ScheduledTask(taskManager, "Other", "First", 1, TimeUnit.HOURS, () -> {});
+            taskManager.purgeByOwnerName("Owner");
+            assertNull(taskManager.getTASK_LIST().get("Owner"));
+            assertTrue(first.getScheduledFuture().isCancelled());
+            assertTrue(second.getScheduledFuture().isCancelled());
+            assertFalse(other.getScheduledFuture().isCancelled());
+            assertEquals(1, taskManager.getTASK_LIST().get("Other").size());
+        }
+    }
+
+    @Test
+    public void testOneTimeTaskPurge() throws Exception {
+        for (TaskManager taskManager : taskManagers()) {
+            ScheduledTask canceled = new ScheduledTask(taskManager, "Owner", "Canceled", 1, TimeUnit.HOURS, () -> {});
+            ScheduledTask waiting = new ScheduledTask(taskManager, "Owner", "Waiting", 1, TimeUnit.HOURS, () -> {});
+            canceled.getScheduledFuture().cancel(false);
+            taskManager.oneTimeTaskPurge();
+            Map<String, ScheduledTask> ownerTasks = taskManager.getTASK_LIST().get("Owner");
+            assertEquals(1, ownerTasks.size());
+            assertTrue(ownerTasks.containsKey(waiting.getTaskKey()));
+        }
+    }
+
+    @Test
+    public void testShutdownCancelsWheelTasks() throws Exception {
+        TaskManager taskManager = new TaskManager(2, 4, 30, TimeUnit.SECONDS, "TaskManagerTest", 5, 64);
+        taskManagers.add(taskManager);
+        ScheduledTask once = new ScheduledTask(taskManager, "Owner", "Once", 1, TimeUnit.HOURS, () -> {});
+        ScheduledTask repeating = new ScheduledTask(taskManager, "Owner", "Repeating", true, 1, 1, TimeUnit.HOURS, () -> {});
+        taskManager.shutdown();
+        assertTrue(once.getScheduledFuture().isDone());
+        assertTrue(repeating.getScheduledFuture().isDone());
+        assertTrue(taskManager.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long waitUntil = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("condition not met within 5 seconds", System.currentTimeMillis() < waitUntil);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.starnub.utilities.concurrent.task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WheelTimerTest {
+
+    private static final long TICK_MILLIS = 5;
+
+    private ExecutorService executor;
+    private WheelTimer wheelTimer;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        wheelTimer = new WheelTimer(executor, TICK_MILLIS, TimeUnit.MILLISECONDS, 4, "WheelTimerTest");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        wheelTimer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOneShot() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        long start = System.nanoTime();
+        ScheduledFuture<?> future = wheelTimer.schedule(runs::incrementAndGet, 30, 0, TimeUnit.MILLISECONDS);
+        assertNull(future.get(5, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("ran after " + elapsedMillis + "ms", elapsedMillis >= 30 - TICK_MILLIS);
+        assertTrue(future.isDone());
+        assertFalse(future.isCancelled());
+        Thread.sleep(50);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testDelayLongerThanOneRound() throws Exception {
+        long start = System.nanoTime();
+        ScheduledFuture<?> future = wheelTimer.schedule(() -> {}, 150, 0, TimeUnit.MILLISECONDS);
+        future.get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("the wheel is 20ms around, ran after " + elapsedMillis + "ms", elapsedMillis >= 150 - TICK_MILLIS);
+    }
+
+    @Test
+    public void testZeroAndNegativeDelay() throws Exception {
+        wheelTimer.schedule(() -> {}, 0, 0, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+        wheelTimer.schedule(() -> {}, -10, 0, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFixedRate() throws Exception {
+        CountDownLatch fiveRuns = new CountDownLatch(5);
+        AtomicInteger runs = new AtomicInteger();
+        long start = System.nanoTime();
+        ScheduledFuture<?> future = wheelTimer.schedule(() -> {
+            runs.incrementAndGet();
+            fiveRuns.countDown();
+        }, 10, 10, TimeUnit.MILLISECONDS);
+        assertTrue(fiveRuns.await(5, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("five runs 10ms apart took " + elapsedMillis + "ms", elapsedMillis >= 50 - TICK_MILLIS);
+        assertFalse(future.isDone());
+        assertTrue(future.cancel(false));
+        assertStopped(runs);
+    }
+
+    @Test
+    public void testFixedDelay() throws Exception {
+        List<Long> starts = new CopyOnWriteArrayList<>();
+        ScheduledFuture<?> future = wheelTimer.schedule(() -> {
+            starts.add(System.nanoTime());
+            sleep(20);
+        }, 0, -10, TimeUnit.MILLISECONDS);
+        while (starts.size() < 4) {
+            Thread.sleep(10);
+        }
+        future.cancel(false);
+        for (int i = 1; i < starts.size(); i++) {
+            long gapMillis = TimeUnit.NANOSECONDS.toMillis(starts.get(i) - starts.get(i - 1));
+            assertTrue("runs of 20ms with a 10ms delay started " + gapMillis + "ms apart", gapMillis >= 30 - TICK_MILLIS);
+        }
+    }
+
+    @Test
+    public void testCancelWhilePending() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = wheelTimer.schedule(runs::incrementAndGet, 20, 0, TimeUnit.MILLISECONDS);
+        assertTrue(future.cancel(false));
+        assertFalse("a timeout is only canceled once", future.cancel(false));
+        assertCancelled(future);
+        Thread.sleep(60);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testCancelWhileOnTheWheel() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = wheelTimer.schedule(runs::incrementAndGet, 100, 0, TimeUnit.MILLISECONDS);
+        Thread.sleep(40);
+        assertTrue(future.cancel(false));
+        assertCancelled(future);
+        Thread.sleep(120);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testCancelWhileRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = wheelTimer.schedule(() -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        assertCancelled(future);
+        long waitUntil = System.currentTimeMillis() + 5000;
+        while (!interrupted.get() && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(5);
+        }
+        assertTrue("cancel(true) interrupts the running thread", interrupted.get());
+        Thread.sleep(50);
+        assertEquals("a canceled periodic timeout is not run again", 1, runs.get());
+    }
+
+    @Test
+    public void testFailureEndsTimeout() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = wheelTimer.schedule(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("test failure");
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The failure was not reported");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertTrue(future.isDone());
+        assertFalse(future.isCancelled());
+        Thread.sleep(50);
+        assertEquals("a periodic timeout that throws is not run again", 1, runs.get());
+    }
+
+    @Test
+    public void testStopCancelsWaitingTimeouts() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> onTheWheel = wheelTimer.schedule(runs::incrementAndGet, 1, 0, TimeUnit.HOURS);
+        ScheduledFuture<?> periodic = wheelTimer.schedule(runs::incrementAndGet, 1, 1, TimeUnit.HOURS);
+        Thread.sleep(30);
+        ScheduledFuture<?> pending = wheelTimer.schedule(runs::incrementAndGet, 1, 0, TimeUnit.HOURS);
+        wheelTimer.stop();
+        assertCancelled(onTheWheel);
+        assertCancelled(periodic);
+        assertCancelled(pending);
+        assertEquals(0, runs.get());
+        try {
+            wheelTimer.schedule(runs::incrementAndGet, 0, 0, TimeUnit.MILLISECONDS);
+            fail("A stopped timer accepted a timeout");
+        } catch (RejectedExecutionException expected) {
+        }
+    }
+
+    @Test
+    public void testStopWhileRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = wheelTimer.schedule(() -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        wheelTimer.stop();
+        release.countDown();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("A periodic timeout finished normally");
+        } catch (CancellationException expected) {
+        }
+        Thread.sleep(50);
+        assertEquals("a running timeout is not scheduled again once stopped", 1, runs.get());
+    }
+
+    private static void assertCancelled(ScheduledFuture<?> future) throws Exception {
+        assertTrue(future.isCancelled());
+        assertTrue(future.isDone());
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("A canceled timeout returned a result");
+        } catch (CancellationException expected) {
+        }
+    }
+
+    private static void assertStopped(AtomicInteger runs) throws Exception {
+        int runsAtCancel = runs.get();
+        Thread.sleep(50);
+        assertTrue("a canceled timeout may only finish the run in progress", runs.get() <= runsAtCancel + 1);
+        int runsAfter = runs.get();
+        Thread.sleep(50);
+        assertEquals(runsAfter, runs.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2014 www.StarNub.org - Underbalanced
+ *
+ * This file is part of org.starnub a Java Wrapper for Starbound.
+ *
+ * This above mentioned StarNub software is free software:
+ * you can redistribute it and/or modify it under the terms
+ * of the GNU General Public License as published by the Free
+ * Software Foundation, either version  3 of the License, or
+ * any later version. This above mentioned CodeHome software
+ * is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See
+ * the GNU General Public License for more details. You should
+ * have received a copy of the GNU General Public License in
+ * this StarNub Software.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.starnub.utilities.strings;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WordFilterTest {
+
+    private static WordFilter filter(boolean wholeWords, int maxEdits, String... words) {
+        return new WordFilter(Arrays.asList(words), wholeWords, maxEdits);
+    }
+
+    private static void assertMatch(WordFilter.Match match, String word, int start, int end, int edits) {
+        assertEquals(word, match.getWORD());
+        assertEquals(start, match.getSTART());
+        assertEquals(end, match.getEND());
+        assertEquals(edits, match.getEDITS());
+    }
+
+    @Test
+    public void testOverlappingAndSuffixMatches() {
+        WordFilter wordFilter = filter(false, 0, "he", "she", "his", "hers");
+        List<WordFilter.Match> matches = wordFilter.findMatches("ushers");
+        assertEquals(3, matches.size());
+        assertMatch(matches.get(0), "she", 1, 4, 0);
+        assertMatch(matches.get(1), "he", 2, 4, 0);
+        assertMatch(matches.get(2), "hers", 2, 6, 0);
+        assertTrue(wordFilter.matches("ushers"));
+        assertFalse(wordFilter.matches("usurp"));
+    }
+
+    @Test
+    public void testOutputLinkChain() {
+        WordFilter wordFilter = filter(false, 0, "a", "aa", "aaa");
+        List<WordFilter.Match> matches = wordFilter.findMatches("aaa");
+        assertEquals(6, matches.size());
+        assertMatch(matches.get(3), "aaa", 0, 3, 0);
+        assertMatch(matches.get(4), "aa", 1, 3, 0);
+        assertMatch(matches.get(5), "a", 2, 3, 0);
+    }
+
+    @Test
+    public void testWholeWords() {
+        WordFilter wordFilter = filter(true, 0, "ass");
+        assertFalse(wordFilter.matches("class"));
+        assertFalse(wordFilter.matches("asses"));
+        assertTrue(wordFilter.matches("ass"));
+        List<WordFilter.Match> matches = wordFilter.findMatches("you ass!");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "ass", 4, 7, 0);
+        assertTrue(wordFilter.matches("a.s.s"));
+        assertTrue(filter(false, 0, "ass").matches("class"));
+    }
+
+    @Test
+    public void testWholeWordsAcrossSeparatedWords() {
+        WordFilter wordFilter = filter(true, 0, "admin", "owner");
+        assertFalse(wordFilter.matches("Badminton"));
+        assertFalse(wordFilter.matches("Throw Nerf"));
+        assertTrue(wordFilter.matches("Server Admin"));
+        assertTrue(filter(false, 0, "owner").matches("Throw Nerf"));
+    }
+
+    @Test
+    public void testColorTagsAndSeparators() {
+        WordFilter wordFilter = filter(false, 0, "admin");
+        assertEquals("admin", WordFilter.normalize("^red;A.d.M.1.n"));
+        List<WordFilter.Match> matches = wordFilter.findMatches("^red;A.d.M.1.n");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "admin", 5, 14, 0);
+        matches = wordFilter.findMatches("ad^#ff0000;min");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "admin", 0, 14, 0);
+        assertTrue(filter(true, 0, "admin").matches("hi ad^red;min"));
+    }
+
+    @Test
+    public void testReplacePerCharacter() {
+        WordFilter wordFilter = filter(false, 0, "abc", "bcd", "admin");
+        assertEquals("x****x", wordFilter.replace("xabcdx", "*", true));
+        assertEquals("hi *.*.*.*.*!", wordFilter.replace("hi a.d.m.i.n!", "*", true));
+        assertEquals("**^red;***", wordFilter.replace("ad^red;min", "*", true));
+    }
+
+    @Test
+    public void testReplaceWholeMatch() {
+        WordFilter wordFilter = filter(false, 0, "abc", "bcd", "admin");
+        assertEquals("x#x", wordFilter.replace("xabcdx", "#", false));
+        assertEquals("# #", wordFilter.replace("abc abc", "#", false));
+        assertEquals("hi #!", wordFilter.replace("hi a.d.m.i.n!", "#", false));
+        assertEquals("#", wordFilter.replace("ad^red;min", "#", false));
+    }
+
+    @Test
+    public void testReplaceWithoutMatchReturnsSameString() {
+        String s = "nothing to see";
+        assertSame(s, filter(false, 0, "admin").replace(s, "*", true));
+        assertSame(s, filter(false, 0, "admin").replace(s, "*", false));
+        assertSame(s, WordFilter.EMPTY.replace(s, "*", false));
+        assertFalse(WordFilter.EMPTY.matches(s));
+    }
+
+    @Test
+    public void testFuzzyEditLimits() {
+        WordFilter wordFilter = filter(true, 2, "cat", "banana", "elephants");
+        assertTrue(wordFilter.findMatches("cot").isEmpty());
+        List<WordFilter.Match> matches = wordFilter.findMatches("a bananx");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "banana", 2, 8, 1);
+        assertTrue(wordFilter.findMatches("bxnxna").isEmpty());
+        matches = wordFilter.findMatches("elefants");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "elephants", 0, 8, 2);
+        assertTrue(filter(true, 1, "elephants").findMatches("elefants").isEmpty());
+        matches = wordFilter.findMatches("banana");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "banana", 0, 6, 0);
+    }
+
+    @Test
+    public void testNonAsciiCharacterClass() {
+        WordFilter wordFilter = filter(true, 0, "\u00dcBER", "\u043f\u0440\u0438\u0432\u0435\u0442");
+        List<WordFilter.Match> matches = wordFilter.findMatches("\u00fcber alles");
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), "\u00dcBER", 0, 4, 0);
+        assertTrue(wordFilter.matches("\u041f\u0440\u0438\u0432\u0435\u0442, \u043c\u0438\u0440"));
+        assertTrue(wordFilter.matches("\u00fc\u00b7b\u00b7e\u00b7r"));
+        assertFalse(wordFilter.matches("\u00fcbel"));
+        assertFalse(wordFilter.matches("\u00fcber\u00e9"));
+        assertTrue(filter(false, 0, "\u00dcBER").matches("\u00fcber\u00e9"));
+    }
+
+    @Test
+    public void testDuplicateWords() {
+        WordFilter wordFilter = filter(false, 0, "Admin", "admin", "a.d.m.i.n", "");
+        assertEquals(Collections.singletonList("Admin"), wordFilter.getWords());
+        assertTrue(filter(false, 0, "", "^red;").isEmpty());
+    }
+}